@@ -0,0 +1,122 @@
+package duke.task;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long deleting tasks from the front of a large task list takes with each backend, as scripted
+ * clean-ups do, without the cost of writing to storage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class TaskListBackendBenchmark {
+    private static final int DELETE_COUNT = 10000;
+
+    @Param({"100000", "1000000"})
+    private int taskCount;
+
+    @Param({"ARRAY", "COLUMNAR", "CHUNKED", "PERSISTENT"})
+    private TaskList.Backend backend;
+
+    private List<Task> loadedTasks;
+    private SlottedTaskList tasks;
+
+    /**
+     * Creates the tasks of the task list once, as loading them from storage is not measured.
+     */
+    @Setup(Level.Trial)
+    public void createTasks() {
+        loadedTasks = new ArrayList<Task>(taskCount);
+        for (int i = 1; i <= taskCount; ++i) {
+            loadedTasks.add(new ToDo(false, "task " + i).withId(i));
+        }
+    }
+
+    /**
+     * Fills a new task list before each deletion run, as each run deletes tasks from it.
+     */
+    @Setup(Level.Invocation)
+    public void fillTaskList() {
+        List<Task> copy = new ArrayList<Task>(loadedTasks);
+
+        switch (backend) {
+        case COLUMNAR:
+            tasks = new SlottedTaskList(new ColumnarTaskList(copy), 1);
+            break;
+        case CHUNKED:
+            tasks = new SlottedTaskList(new ChunkedTaskList(copy), 1);
+            break;
+        case PERSISTENT:
+            tasks = new SlottedTaskList(new PersistentTaskList(copy), 1);
+            break;
+        default:
+            tasks = new SlottedTaskList(copy, 1);
+            break;
+        }
+    }
+
+    /**
+     * Deletes tasks one at a time from the front of the task list, as {@code delete 1} repeated does.
+     *
+     * @return The number of tasks left.
+     */
+    @Benchmark
+    public int deleteFromFront() {
+        for (int i = 0; i < DELETE_COUNT; ++i) {
+            tasks.remove(0);
+        }
+
+        return tasks.size();
+    }
+
+    /**
+     * Deletes tasks from the front of the task list and puts each back, as {@link TaskList#removeAt(int)} does when
+     * writing the deletion to storage fails.
+     *
+     * @return The number of tasks left.
+     */
+    @Benchmark
+    public int deleteFromFrontAndRollBack() {
+        for (int i = 0; i < DELETE_COUNT; ++i) {
+            Task task = tasks.remove(i);
+            tasks.add(i, task);
+        }
+
+        return tasks.size();
+    }
+
+    /**
+     * Deletes tasks from the front of the task list while reading the task after each, as listing the first page of
+     * tasks between deletions does.
+     *
+     * @return The sum of the IDs of the tasks read.
+     */
+    @Benchmark
+    public long deleteFromFrontAndGet() {
+        long idSum = 0;
+        for (int i = 0; i < DELETE_COUNT; ++i) {
+            tasks.remove(0);
+            idSum += tasks.get(0).getId();
+        }
+
+        return idSum;
+    }
+}
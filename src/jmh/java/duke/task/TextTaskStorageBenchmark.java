@@ -0,0 +1,99 @@
+package duke.task;
+
+import duke.exception.DukeException;
+import duke.io.FileStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long loading a text save file takes in each load mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+public class TextTaskStorageBenchmark {
+    @Param({"100000", "1000000", "5000000"})
+    private int lineCount;
+
+    @Param({"SERIAL", "PARALLEL", "LAZY"})
+    private TextTaskStorage.LoadMode loadMode;
+
+    private Path path;
+
+    /**
+     * Writes a save file with the benchmarked number of tasks, cycling through each kind of task.
+     *
+     * @throws IOException Indicates failure to write the save file.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        path = Files.createTempFile("task-list", ".csv");
+
+        LocalDateTime dateTime = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < lineCount; ++i) {
+                Task task;
+                switch (i % 3) {
+                case 0:
+                    task = new ToDo(i % 2 == 0, "Read chapter " + i);
+                    break;
+                case 1:
+                    task = new Deadline(i % 2 == 0, "Submit report " + i, dateTime.plusHours(i));
+                    break;
+                default:
+                    task = new Event(i % 2 == 0, "Attend meeting " + i, dateTime.plusHours(i),
+                            dateTime.plusHours(i + 1));
+                    break;
+                }
+
+                writer.write(task.getStorageStr());
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Deletes the save file.
+     *
+     * @throws IOException Indicates failure to delete the save file.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Loads the save file.
+     *
+     * @return The loaded tasks, so that loading them is not optimised away.
+     * @throws DukeException Indicates failure to load the save file.
+     */
+    @Benchmark
+    public List<Task> load() throws DukeException {
+        return new TextTaskStorage(new FileStorage(path), loadMode).load();
+    }
+}
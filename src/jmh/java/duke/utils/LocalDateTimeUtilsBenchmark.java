@@ -0,0 +1,77 @@
+package duke.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long parsing a date and time takes with the formatters of {@link java.time} and with the parsers of
+ * {@link LocalDateTimeUtils}, for both the input format and the format of the text save file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LocalDateTimeUtilsBenchmark {
+    private String input = "29/02/2024 2359";
+    private String storedDateTime = "2024-02-29T23:59";
+
+    /**
+     * Checks and parses the input as the commands used to, with the input regex and formatter.
+     *
+     * @return The date and time in the input.
+     */
+    @Benchmark
+    public LocalDateTime parseInputWithFormatter() {
+        if (!input.matches(LocalDateTimeUtils.INPUT_DATE_TIME_REGEX)) {
+            return null;
+        }
+
+        return LocalDateTime.parse(input, LocalDateTimeUtils.INPUT_DATE_TIME_FORMATTER);
+    }
+
+    /**
+     * Checks and parses the input as the commands do, with the hand-written parser.
+     *
+     * @return The date and time in the input.
+     */
+    @Benchmark
+    public LocalDateTime parseInputByHand() {
+        if (!LocalDateTimeUtils.isInputDateTimeFormat(input)) {
+            return null;
+        }
+
+        return LocalDateTimeUtils.parseInputDateTime(input);
+    }
+
+    /**
+     * Reads a stored date and time as loading a task used to, through a {@link LocalDateTime} object.
+     *
+     * @return The stored date and time, in seconds from the epoch.
+     */
+    @Benchmark
+    public long parseStoredWithFormatter() {
+        return LocalDateTimeUtils.toEpochSecond(LocalDateTime.parse(storedDateTime));
+    }
+
+    /**
+     * Reads a stored date and time as loading a task does, straight into seconds from the epoch.
+     *
+     * @return The stored date and time, in seconds from the epoch.
+     */
+    @Benchmark
+    public long parseStoredByHand() {
+        return LocalDateTimeUtils.parseIsoEpochSecond(storedDateTime);
+    }
+}
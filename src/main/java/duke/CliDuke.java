@@ -17,15 +17,16 @@ public class CliDuke {
     private Ui ui;
 
     private boolean didSetupFail;
+    private boolean canExit;
 
     private TaskList tasks;
 
-    private CliDuke() {
+    private CliDuke(LaunchOptions options) {
         parser = new Parser();
-        ui = (Ui) (new Cli(System.out, System.in, this::handleInput, parser::isByeCommand));
+        ui = (Ui) (new Cli(System.out, System.in, this::handleInput, input -> canExit));
 
         try {
-            tasks = DukeUtils.loadTasks();
+            tasks = DukeUtils.loadTasks(options);
         } catch (DukeException e) {
             ui.print(e.getMessage());
             didSetupFail = true;
@@ -34,9 +35,13 @@ public class CliDuke {
 
     /**
      * Launches the CLI version of the app.
+     *
+     * @param options The options the app was launched with.
      */
-    public static void launch() {
-        CliDuke duke = new CliDuke();
+    public static void launch(LaunchOptions options) {
+        assert options != null;
+
+        CliDuke duke = new CliDuke(options);
         if (duke.didSetupFail) {
             return;
         }
@@ -45,11 +50,21 @@ public class CliDuke {
     }
 
     private void handleInput(String input, Consumer<String> printer) {
+        if (parser.isByeCommand(input)) {
+            // Stays open if the changes could not be written, the same as the GUI, so that they are not lost
+            canExit = DukeUtils.flushBeforeExit(tasks, printer);
+            if (!canExit) {
+                return;
+            }
+        }
+
         DukeUtils.handleInput(input, tasks, parser, printer);
     }
 
     private void run() {
         ui.print(DukeUtils.getGreetingMessage());
+        DukeUtils.printRecoveryMessage(tasks, ui::print);
+        tasks.watchWriteFailures(e -> ui.print(e.getMessage()));
         ui.start();
     }
 }
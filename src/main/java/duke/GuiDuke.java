@@ -10,15 +10,31 @@ import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.stage.Stage;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 
 /**
  * Main class of the GUI version of the app.
+ * <p>
+ * Loading the task list and running commands, along with the storage I/O they do, happens one at a time on a
+ * background thread, so the JavaFX application thread never waits on the disk. Messages are printed back on the
+ * JavaFX application thread once each command completes, in the order the inputs were entered.
+ * </p>
  */
 public class GuiDuke extends Application {
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "duke-command-runner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private Parser parser;
     private Ui ui;
 
+    // Only accessed on the command runner thread after setup
     private boolean didSetupFail;
 
     private TaskList tasks;
@@ -38,41 +54,110 @@ public class GuiDuke extends Application {
         run();
     }
 
+    @Override
+    public void stop() {
+        // Waits for the commands still queued, as their changes would otherwise be lost
+        runInBackground(() -> {
+            // Best effort, as the app is closing and there is nowhere left to report a failure
+            if (tasks != null) {
+                try {
+                    tasks.flush();
+                } catch (DukeException e) {
+                    System.err.println(e.getMessage());
+                }
+            }
+        }).join();
+
+        commandExecutor.shutdown();
+    }
+
     private void setup(Stage stage) {
         parser = new Parser();
         ui = (Ui) (new Gui(stage, this::handleInput));
 
+        LaunchOptions options = LaunchOptions.parse(getParameters().getRaw().toArray(new String[0]));
+        Consumer<String> printer = printLater(ui::print);
+
+        runInBackground(() -> {
+            try {
+                tasks = DukeUtils.loadTasks(options);
+                printer.accept(DukeUtils.getGreetingMessage());
+                DukeUtils.printRecoveryMessage(tasks, printer);
+                tasks.watchWriteFailures(e -> printer.accept(e.getMessage()));
+            } catch (DukeException e) {
+                handleSetupFailure(e.getMessage(), printer);
+                return;
+            }
+
+            watchExternalChanges(printer);
+        });
+    }
+
+    private void watchExternalChanges(Consumer<String> printer) {
         try {
-            tasks = DukeUtils.loadTasks();
+            // Changes are merged on the command runner thread, as that is the only thread that touches the task list
+            tasks.watchExternalChanges(() -> runInBackground(() -> DukeUtils.printExternalChange(tasks, printer)));
         } catch (DukeException e) {
-            handleSetupFailure(e.getMessage());
+            // Changes are still merged before each command, so only the prompt merging is lost
+            printer.accept(e.getMessage());
         }
     }
 
     private void handleInput(String input, Consumer<String> printer) {
-        if (shouldExit(input)) {
-            Platform.exit();
+        Consumer<String> backgroundPrinter = printLater(printer);
+
+        runInBackground(() -> {
+            if (shouldExit(input)) {
+                exit(backgroundPrinter);
+                return;
+            }
+
+            DukeUtils.handleInput(input, tasks, parser, backgroundPrinter);
+        });
+    }
+
+    private void exit(Consumer<String> printer) {
+        if (!didSetupFail && !DukeUtils.flushBeforeExit(tasks, printer)) {
             return;
         }
 
-        DukeUtils.handleInput(input, tasks, parser, printer);
+        Platform.exit();
+    }
+
+    /**
+     * Runs the specified job on the command runner thread after every job submitted before it.
+     * <p>
+     * Failures other than those already handled by the job are shown in the dialog like any other error, so that the
+     * user knows the command did not complete.
+     * </p>
+     */
+    private CompletableFuture<Void> runInBackground(Runnable job) {
+        return CompletableFuture.runAsync(job, commandExecutor).exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            printLater(ui::print).accept(new DukeException(String.format("Something went wrong on my end: %s",
+                    cause)).getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Returns a printer that prints with the specified printer on the JavaFX application thread.
+     */
+    private static Consumer<String> printLater(Consumer<String> printer) {
+        return message -> Platform.runLater(() -> printer.accept(message));
     }
 
     private boolean shouldExit(String input) {
         return didSetupFail || parser.isByeCommand(input);
     }
 
-    private void handleSetupFailure(String errorMessage) {
+    private void handleSetupFailure(String errorMessage, Consumer<String> printer) {
         didSetupFail = true;
-        ui.print(errorMessage);
-        ui.print("Duke will exit on the next input ...");
+        printer.accept(errorMessage);
+        printer.accept("Duke will exit on the next input ...");
     }
 
     private void run() {
-        if (!didSetupFail) {
-            ui.print(DukeUtils.getGreetingMessage());
-        }
-
         ui.start();
     }
 }
@@ -0,0 +1,300 @@
+package duke;
+
+/**
+ * Represents the options the app was launched with.
+ */
+public class LaunchOptions {
+    private static final String CLI_ARG = "--cli";
+    private static final String STORAGE_ARG_PREFIX = "--storage=";
+    private static final String DURABILITY_ARG_PREFIX = "--durability=";
+    private static final String ATOMIC_WRITES_ARG = "--atomic-writes";
+    private static final String BACKUPS_ARG_PREFIX = "--backups=";
+    private static final String PARALLEL_LOAD_ARG = "--parallel-load";
+    private static final String LAZY_LOAD_ARG = "--lazy-load";
+    private static final String HOT_RELOAD_ARG = "--hot-reload";
+    private static final String SHARED_SAVE_ARG = "--shared-save";
+    private static final String COMPACT_MEMORY_ARG = "--compact-memory";
+    private static final String CHUNKED_LIST_ARG = "--chunked-list";
+    private static final String PERSISTENT_LIST_ARG = "--persistent-list";
+
+    private static final int DEFAULT_BACKUP_COUNT = 3;
+
+    private static final String SYNC_DURABILITY = "sync";
+    private static final String BATCHED_DURABILITY_PREFIX = "batched:";
+    private static final String ON_EXIT_DURABILITY = "on-exit";
+
+    /**
+     * Represents the ways the task list can be kept in storage.
+     */
+    public enum StorageMode {
+        /** Rewrite the whole save file on every change. */
+        TEXT,
+        /** Append each change to a journal that is folded into the save file in the background. */
+        JOURNAL,
+        /** Rewrite the whole save file on every change, using a compact binary format. */
+        BINARY,
+        /** Split the task list across binary segment files that are loaded in parallel and written separately. */
+        SEGMENTED
+    }
+
+    /**
+     * Represents when changes to the task list are written to storage.
+     */
+    public enum Durability {
+        /** Write each change before acknowledging it. */
+        SYNC,
+        /** Acknowledge changes immediately and write all changes made within a batch window together. */
+        BATCHED,
+        /** Acknowledge changes immediately and only write them when the app exits. */
+        ON_EXIT
+    }
+
+    private boolean isCli;
+    private StorageMode storageMode = StorageMode.TEXT;
+    private Durability durability = Durability.SYNC;
+    private long batchWindowMillis;
+    private boolean hasAtomicWrites;
+    private int backupCount = DEFAULT_BACKUP_COUNT;
+    private boolean isParallelLoad;
+    private boolean isLazyLoad;
+    private boolean isHotReload;
+    private boolean isSharedSave;
+    private boolean isCompactMemory;
+    private boolean isChunkedList;
+    private boolean isPersistentList;
+
+    private LaunchOptions() {
+    }
+
+    /**
+     * Returns the launch options specified in the command-line arguments.
+     * <p>
+     * Arguments that are not launch options are ignored, as they may be meant for JavaFX.
+     * </p>
+     *
+     * @param args Command-line arguments.
+     * @return The launch options specified in the command-line arguments.
+     * @throws IllegalArgumentException Indicates an unknown value for a launch option.
+     */
+    public static LaunchOptions parse(String[] args) {
+        assert args != null;
+
+        LaunchOptions options = new LaunchOptions();
+
+        for (String arg : args) {
+            if (arg.equals(CLI_ARG)) {
+                options.isCli = true;
+            } else if (arg.startsWith(STORAGE_ARG_PREFIX)) {
+                options.storageMode = parseStorageMode(arg.substring(STORAGE_ARG_PREFIX.length()));
+            } else if (arg.startsWith(DURABILITY_ARG_PREFIX)) {
+                options.parseDurability(arg.substring(DURABILITY_ARG_PREFIX.length()));
+            } else if (arg.equals(ATOMIC_WRITES_ARG)) {
+                options.hasAtomicWrites = true;
+            } else if (arg.startsWith(BACKUPS_ARG_PREFIX)) {
+                options.backupCount = parseBackupCount(arg.substring(BACKUPS_ARG_PREFIX.length()));
+            } else if (arg.equals(PARALLEL_LOAD_ARG)) {
+                options.isParallelLoad = true;
+            } else if (arg.equals(LAZY_LOAD_ARG)) {
+                options.isLazyLoad = true;
+            } else if (arg.equals(HOT_RELOAD_ARG)) {
+                options.isHotReload = true;
+            } else if (arg.equals(SHARED_SAVE_ARG)) {
+                options.isSharedSave = true;
+            } else if (arg.equals(COMPACT_MEMORY_ARG)) {
+                options.isCompactMemory = true;
+            } else if (arg.equals(CHUNKED_LIST_ARG)) {
+                options.isChunkedList = true;
+            } else if (arg.equals(PERSISTENT_LIST_ARG)) {
+                options.isPersistentList = true;
+            }
+        }
+
+        return options;
+    }
+
+    /**
+     * Returns true if the app should run via a CLI. Otherwise, returns false.
+     *
+     * @return True if the app should run via a CLI. False otherwise.
+     */
+    public boolean isCli() {
+        return isCli;
+    }
+
+    public StorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Returns how long changes are batched for before being written when the durability is
+     * {@link Durability#BATCHED}.
+     *
+     * @return How long changes are batched for, in milliseconds.
+     */
+    public long getBatchWindowMillis() {
+        return batchWindowMillis;
+    }
+
+    /**
+     * Returns true if the text save file should be written atomically, keeping backups of what it replaces.
+     * Otherwise, returns false.
+     *
+     * @return True if the text save file should be written atomically. False otherwise.
+     */
+    public boolean hasAtomicWrites() {
+        return hasAtomicWrites;
+    }
+
+    /**
+     * Returns the number of backups of the text save file to keep when it is written atomically.
+     *
+     * @return The number of backups to keep.
+     */
+    public int getBackupCount() {
+        return backupCount;
+    }
+
+    /**
+     * Returns true if the text save file should be parsed in parallel when loading. Otherwise, returns false.
+     *
+     * @return True if the text save file should be parsed in parallel when loading. False otherwise.
+     */
+    public boolean isParallelLoad() {
+        return isParallelLoad;
+    }
+
+    /**
+     * Returns true if each task in the text save file should only be parsed when first accessed. Otherwise, returns
+     * false.
+     *
+     * @return True if tasks should only be parsed when first accessed. False otherwise.
+     */
+    public boolean isLazyLoad() {
+        return isLazyLoad;
+    }
+
+    /**
+     * Returns true if changes made to the text save file outside of the app should be merged into the task list while
+     * the app is running. Otherwise, returns false.
+     *
+     * @return True if changes made to the text save file outside of the app should be merged. False otherwise.
+     */
+    public boolean isHotReload() {
+        return isHotReload;
+    }
+
+    /**
+     * Returns true if the text save file may be changed by other processes running the app at the same time, such as
+     * scripts running the CLI while the GUI is open. Otherwise, returns false.
+     * <p>
+     * Changes made by other processes are merged into the task list as with {@link #isHotReload()}.
+     * </p>
+     *
+     * @return True if the text save file may be changed by other processes running the app. False otherwise.
+     */
+    public boolean isSharedSave() {
+        return isSharedSave;
+    }
+
+    /**
+     * Returns true if the task list should be kept in memory as columns of primitives rather than as task objects.
+     * Otherwise, returns false.
+     * <p>
+     * Every task is parsed when loading, so tasks are not loaded lazily even if {@link #isLazyLoad()} is true.
+     * </p>
+     *
+     * @return True if the task list should be kept in memory as columns of primitives. False otherwise.
+     */
+    public boolean isCompactMemory() {
+        return isCompactMemory;
+    }
+
+    /**
+     * Returns true if the task list should be kept in memory as a sequence of small arrays, so that deleting tasks
+     * from anywhere in a large task list stays fast. Otherwise, returns false.
+     * <p>
+     * {@link #isCompactMemory()} takes precedence. Every task is parsed when loading, so tasks are not loaded lazily
+     * even if {@link #isLazyLoad()} is true.
+     * </p>
+     *
+     * @return True if the task list should be kept in memory as a sequence of small arrays. False otherwise.
+     */
+    public boolean isChunkedList() {
+        return isChunkedList;
+    }
+
+    /**
+     * Returns true if the task list should be kept in memory as a persistent trie whose versions share most of their
+     * nodes, so that changes can be undone. Otherwise, returns false.
+     * <p>
+     * {@link #isCompactMemory()} and {@link #isChunkedList()} take precedence. Every task is parsed when loading, so
+     * tasks are not loaded lazily even if {@link #isLazyLoad()} is true.
+     * </p>
+     *
+     * @return True if the task list should be kept in memory as a persistent trie. False otherwise.
+     */
+    public boolean isPersistentList() {
+        return isPersistentList;
+    }
+
+    private static StorageMode parseStorageMode(String value) {
+        assert value != null;
+
+        try {
+            return StorageMode.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Unknown storage mode: %s", value));
+        }
+    }
+
+    private void parseDurability(String value) {
+        assert value != null;
+
+        if (value.equals(SYNC_DURABILITY)) {
+            durability = Durability.SYNC;
+        } else if (value.equals(ON_EXIT_DURABILITY)) {
+            durability = Durability.ON_EXIT;
+        } else if (value.startsWith(BATCHED_DURABILITY_PREFIX)) {
+            durability = Durability.BATCHED;
+            batchWindowMillis = parseBatchWindowMillis(value.substring(BATCHED_DURABILITY_PREFIX.length()));
+        } else {
+            throw new IllegalArgumentException(String.format("Unknown durability: %s", value));
+        }
+    }
+
+    private static long parseBatchWindowMillis(String value) {
+        assert value != null;
+
+        try {
+            long millis = Long.parseLong(value);
+            if (millis >= 0) {
+                return millis;
+            }
+        } catch (NumberFormatException e) {
+            // Handled below along with negative values
+        }
+
+        throw new IllegalArgumentException(String.format("The batch window must be a non-negative number of "
+                + "milliseconds: %s", value));
+    }
+
+    private static int parseBackupCount(String value) {
+        assert value != null;
+
+        try {
+            int count = Integer.parseInt(value);
+            if (count >= 0) {
+                return count;
+            }
+        } catch (NumberFormatException e) {
+            // Handled below along with negative values
+        }
+
+        throw new IllegalArgumentException(String.format("The number of backups must be a non-negative integer: %s",
+                value));
+    }
+}
@@ -9,7 +9,8 @@ import duke.task.TaskList;
  */
 public abstract class AddCommand implements Command {
     /**
-     * Creates a task using the specified input, adds it to tasks, and returns an acknowledgement message.
+     * Creates a task using the specified input, adds it to tasks, and returns an acknowledgement message showing the
+     * ID the task was given.
      *
      * @param input {@inheritDoc}
      * @param tasks {@inheritDoc}
@@ -20,11 +21,14 @@ public abstract class AddCommand implements Command {
     public String run(String input, TaskList tasks) throws DukeException {
         assert tasks != null;
 
-        Task task = createTask(input);
-        tasks.add(task);
+        tasks.add(createTask(input));
 
-        return String.format("A perfect task for a simpleton like you. I've added this task:\n  %s\nNow you have %d "
-                + "tasks in the list.", task.toString(), tasks.size());
+        // The task list gives the task its ID when adding it, so the added task is read back to show the ID
+        int size = tasks.size();
+        Task task = tasks.get(size - 1);
+
+        return String.format("A perfect task for a simpleton like you. I've added this task:\n  %s (#%d)\nNow you "
+                + "have %d tasks in the list.", task.toString(), task.getId(), size);
     }
 
     /**
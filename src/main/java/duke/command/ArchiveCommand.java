@@ -1,16 +1,35 @@
 package duke.command;
 
 import duke.exception.DukeException;
-import duke.io.FileStorage;
-import duke.io.Storage;
+import duke.task.ArchiveStore;
+import duke.task.ArchiveTaskStorage;
 import duke.task.TaskList;
+import duke.task.TaskStorage;
 
 import java.nio.file.Path;
 
 /**
  * Represents an archive command for archiving the task list into a file and deleting all tasks tracked by the app.
+ * <p>
+ * Tasks are streamed to the archive one at a time, and compressed with gzip if the path ends with
+ * {@value ArchiveTaskStorage#GZIP_EXTENSION}. The archive is added to an archive store so that it can be searched
+ * later.
+ * </p>
  */
 public class ArchiveCommand implements Command {
+    private final ArchiveStore archiveStore;
+
+    /**
+     * Creates an ArchiveCommand object.
+     *
+     * @param archiveStore The archive store to add archives to.
+     */
+    public ArchiveCommand(ArchiveStore archiveStore) {
+        assert archiveStore != null;
+
+        this.archiveStore = archiveStore;
+    }
+
     /**
      * Archives the task list to a file at the path specified in input, then clears the task list.
      *
@@ -21,18 +40,18 @@ public class ArchiveCommand implements Command {
      */
     @Override
     public String run(String input, TaskList tasks) throws DukeException {
-        Storage storage = createStorage(input);
+        Path path = Path.of(extractSavePath(input));
+        TaskStorage storage = createStorage(path);
 
         tasks.save(storage);
+        archiveStore.register(path);
         tasks.clear();
 
         return "And poof! All gone! All your tasks are gone.";
     }
 
-    private Storage createStorage(String input) throws DukeException {
-        String path = extractSavePath(input);
-
-        Storage storage = new FileStorage(Path.of(path));
+    private TaskStorage createStorage(Path path) throws DukeException {
+        TaskStorage storage = new ArchiveTaskStorage(path);
         storage.create();
 
         return storage;
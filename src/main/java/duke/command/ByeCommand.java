@@ -1,5 +1,6 @@
 package duke.command;
 
+import duke.exception.DukeException;
 import duke.task.TaskList;
 
 /**
@@ -7,14 +8,19 @@ import duke.task.TaskList;
  */
 public class ByeCommand implements Command {
     /**
-     * Returns a farewell message.
+     * Writes any changes to tasks that are yet to be written to storage and returns a farewell message.
      *
      * @param input {@inheritDoc}
      * @param tasks {@inheritDoc}
      * @return A farewell message.
+     * @throws DukeException Indicates failure to write to storage.
      */
     @Override
-    public String run(String input, TaskList tasks) {
+    public String run(String input, TaskList tasks) throws DukeException {
+        assert tasks != null;
+
+        tasks.flush();
+
         return "Finally! I thought you'd never leave.";
     }
 }
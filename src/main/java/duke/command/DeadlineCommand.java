@@ -102,7 +102,7 @@ public class DeadlineCommand extends AddCommand {
         assert args != null;
         assert args.length >= CUTOFF_ARG_INDEX + 1;
 
-        if (!args[CUTOFF_ARG_INDEX].matches(LocalDateTimeUtils.INPUT_DATE_TIME_REGEX)) {
+        if (!LocalDateTimeUtils.isInputDateTimeFormat(args[CUTOFF_ARG_INDEX])) {
             throw new DukeException(String.format("The cutoff format should be:\n  %s",
                     LocalDateTimeUtils.INPUT_DATE_TIME_FORMAT));
         }
@@ -123,7 +123,7 @@ public class DeadlineCommand extends AddCommand {
         assert args.length >= CUTOFF_ARG_INDEX + 1;
 
         try {
-            return LocalDateTime.parse(args[CUTOFF_ARG_INDEX], LocalDateTimeUtils.INPUT_DATE_TIME_FORMATTER);
+            return LocalDateTimeUtils.parseInputDateTime(args[CUTOFF_ARG_INDEX]);
         } catch (DateTimeParseException e) {
             throw new DukeException("The cutoff provided is an invalid date and time!");
         }
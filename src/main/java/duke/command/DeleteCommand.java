@@ -6,6 +6,10 @@ import duke.task.TaskList;
 
 /**
  * Represents a delete command for a deleting a task from a task list.
+ * <p>
+ * The task is specified by its position in the list, such as {@code delete 3}, or by its ID, such as
+ * {@code delete #1234}.
+ * </p>
  */
 public class DeleteCommand implements Command {
     /**
@@ -14,7 +18,8 @@ public class DeleteCommand implements Command {
      * @param input {@inheritDoc}
      * @param tasks {@inheritDoc}
      * @return An acknowledgement message.
-     * @throws DukeException Indicates missing index or non-integer index or out of bound index in input.
+     * @throws DukeException Indicates missing index or non-integer index or out of bound index in input, or an ID in
+     *                       input that no task has.
      */
     @Override
     public String run(String input, TaskList tasks) throws DukeException {
@@ -31,38 +36,7 @@ public class DeleteCommand implements Command {
 
         String argStr = input.replaceFirst("delete", "").trim();
 
-        validateNonEmptyArg(argStr);
-
-        int index = extractIntegerArg(argStr);
-        validateIndexRange(index, tasks);
-
-        return index;
-    }
-
-    private void validateNonEmptyArg(String argStr) throws DukeException {
-        assert argStr != null;
-
-        if (argStr.isEmpty()) {
-            throw new DukeException("The task to be deleted must be specified!");
-        }
-    }
-
-    private int extractIntegerArg(String argStr) throws DukeException {
-        assert argStr != null;
-
-        try {
-            return Integer.parseInt(argStr) - 1;
-        } catch (NumberFormatException e) {
-            throw new DukeException("The index of the task to be deleted must be an integer!");
-        }
-    }
-
-    private void validateIndexRange(int index, TaskList tasks) throws DukeException {
-        assert tasks != null;
-
-        if (index >= tasks.size() || index < 0) {
-            throw new DukeException("The task to be deleted doesn't exist!");
-        }
+        return TaskIndexUtils.extractValidIndex(argStr, tasks, "to be deleted");
     }
 
     private String getMessage(TaskList tasks, Task task) {
@@ -112,8 +112,8 @@ public class EventCommand extends AddCommand {
         assert args != null;
         assert args.length >= END_ARG_INDEX + 1;
 
-        if (!args[START_ARG_INDEX].matches(LocalDateTimeUtils.INPUT_DATE_TIME_REGEX)
-                || !args[END_ARG_INDEX].matches(LocalDateTimeUtils.INPUT_DATE_TIME_REGEX)) {
+        if (!LocalDateTimeUtils.isInputDateTimeFormat(args[START_ARG_INDEX])
+                || !LocalDateTimeUtils.isInputDateTimeFormat(args[END_ARG_INDEX])) {
 
             throw new DukeException(String.format("Start and end of event should be of the format:\n  %s",
                     LocalDateTimeUtils.INPUT_DATE_TIME_FORMAT));
@@ -136,7 +136,7 @@ public class EventCommand extends AddCommand {
         assert args.length >= START_ARG_INDEX + 1;
 
         try {
-            return LocalDateTime.parse(args[START_ARG_INDEX], LocalDateTimeUtils.INPUT_DATE_TIME_FORMATTER);
+            return LocalDateTimeUtils.parseInputDateTime(args[START_ARG_INDEX]);
         } catch (DateTimeParseException e) {
             throw new DukeException("The start of the event provided is an invalid date and time!");
         }
@@ -147,7 +147,7 @@ public class EventCommand extends AddCommand {
         assert args.length >= END_ARG_INDEX + 1;
 
         try {
-            return LocalDateTime.parse(args[END_ARG_INDEX], LocalDateTimeUtils.INPUT_DATE_TIME_FORMATTER);
+            return LocalDateTimeUtils.parseInputDateTime(args[END_ARG_INDEX]);
         } catch (DateTimeParseException e) {
             throw new DukeException("The end of the event provided is an invalid date and time!");
         }
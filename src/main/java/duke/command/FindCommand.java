@@ -1,6 +1,7 @@
 package duke.command;
 
 import duke.exception.DukeException;
+import duke.task.Task;
 import duke.task.TaskList;
 
 import java.util.ArrayList;
@@ -22,11 +23,13 @@ public class FindCommand implements Command {
      */
     @Override
     public String run(String input, TaskList tasks) throws DukeException {
-        List<Integer> matchedTaskIndexes = getMatchedTaskIndexes(input, tasks);
-        return getMessage(tasks, matchedTaskIndexes);
+        // Scanned as a snapshot, so that the indexes stay consistent even if the task list is changed meanwhile
+        List<Task> snapshot = tasks.getSnapshot();
+        List<Integer> matchedTaskIndexes = getMatchedTaskIndexes(input, snapshot);
+        return getMessage(snapshot, matchedTaskIndexes);
     }
 
-    private List<Integer> getMatchedTaskIndexes(String input, TaskList tasks) throws DukeException {
+    private List<Integer> getMatchedTaskIndexes(String input, List<Task> tasks) throws DukeException {
         String keyphrase = extractValidKeyphrase(input);
         return filterTasksByKeyphrase(tasks, keyphrase);
     }
@@ -53,7 +56,7 @@ public class FindCommand implements Command {
         }
     }
 
-    private List<Integer> filterTasksByKeyphrase(TaskList tasks, String keyphrase) {
+    private List<Integer> filterTasksByKeyphrase(List<Task> tasks, String keyphrase) {
         assert tasks != null;
         assert keyphrase != null;
 
@@ -67,7 +70,7 @@ public class FindCommand implements Command {
         return taskIndexes;
     }
 
-    private String getMessage(TaskList tasks, List<Integer> matchedTaskIndexes) {
+    private String getMessage(List<Task> tasks, List<Integer> matchedTaskIndexes) {
         assert matchedTaskIndexes != null;
 
         if (matchedTaskIndexes.isEmpty()) {
@@ -79,13 +82,13 @@ public class FindCommand implements Command {
         }
     }
 
-    private String getMatchedTaskListStr(TaskList tasks, List<Integer> matchedTasks) {
+    private String getMatchedTaskListStr(List<Task> tasks, List<Integer> matchedTasks) {
         assert tasks != null;
         assert matchedTasks != null;
 
         StringBuilder stringBuilder = new StringBuilder();
         for (Integer index : matchedTasks) {
-            stringBuilder.append(String.format("%d.%s\n", index + 1, tasks.get(index).toString()));
+            stringBuilder.append(TaskList.getListItemStr(index, tasks.get(index))).append('\n');
         }
 
         return stringBuilder.toString().trim();
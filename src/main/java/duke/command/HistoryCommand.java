@@ -0,0 +1,69 @@
+package duke.command;
+
+import duke.exception.DukeException;
+import duke.task.TaskList;
+
+/**
+ * Represents a command that moves the task list back or forward through the versions it keeps of itself.
+ * <p>
+ * Versions are only kept when the app is launched with {@code --persistent-list}.
+ * </p>
+ */
+public abstract class HistoryCommand implements Command {
+    /**
+     * Restores the version of the task list that the command moves to and returns an acknowledgement message.
+     *
+     * @param input {@inheritDoc}
+     * @param tasks {@inheritDoc}
+     * @return An acknowledgement message.
+     * @throws DukeException Indicates that the task list keeps no versions or there is no version to move to, or
+     *                       failure to write to storage.
+     */
+    @Override
+    public String run(String input, TaskList tasks) throws DukeException {
+        assert tasks != null;
+
+        if (!tasks.keepsHistory()) {
+            throw new DukeException(String.format("I can only %s changes when launched with --persistent-list!",
+                    getCommand()));
+        }
+
+        if (!canMove(tasks)) {
+            throw new DukeException(String.format("There's nothing to %s!", getCommand()));
+        }
+
+        move(tasks);
+
+        return getSuccessMessage();
+    }
+
+    /**
+     * Returns the name of the command.
+     *
+     * @return Name of the command.
+     */
+    protected abstract String getCommand();
+
+    /**
+     * Returns true if there is a version of the specified task list to move to. Otherwise, returns false.
+     *
+     * @param tasks The task list.
+     * @return True if there is a version to move to. False otherwise.
+     */
+    protected abstract boolean canMove(TaskList tasks);
+
+    /**
+     * Restores the version of the specified task list to move to.
+     *
+     * @param tasks The task list.
+     * @throws DukeException Indicates failure to write to storage.
+     */
+    protected abstract void move(TaskList tasks) throws DukeException;
+
+    /**
+     * Returns the response message when the command succeeds.
+     *
+     * @return The response message when the command succeeds.
+     */
+    protected abstract String getSuccessMessage();
+}
@@ -1,7 +1,9 @@
 package duke.command;
 
 import duke.exception.DukeException;
+import duke.task.ArchiveStore;
 
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -9,12 +11,25 @@ import java.util.Map;
  * Handles parsing of user inputs to determine the command to execute.
  */
 public class Parser {
+    private static final Path ARCHIVE_REGISTRY_PATH = Path.of("./save-data/archives.txt");
+
     private final Map<String, Command> strToCommand;
 
     /**
      * Creates a Parser object.
      */
     public Parser() {
+        this(new ArchiveStore(ARCHIVE_REGISTRY_PATH));
+    }
+
+    /**
+     * Creates a Parser object whose archive and search commands use the specified archive store.
+     *
+     * @param archiveStore The archive store to add archives to and search.
+     */
+    public Parser(ArchiveStore archiveStore) {
+        assert archiveStore != null;
+
         strToCommand = new HashMap<String, Command>();
 
         strToCommand.put("todo", new ToDoCommand());
@@ -25,7 +40,11 @@ public class Parser {
         strToCommand.put("unmark", new UnmarkCommand());
         strToCommand.put("find", new FindCommand());
         strToCommand.put("list", new ListCommand());
-        strToCommand.put("archive", new ArchiveCommand());
+        strToCommand.put("archive", new ArchiveCommand(archiveStore));
+        strToCommand.put("search", new SearchCommand(archiveStore));
+        strToCommand.put("verify", new VerifyCommand());
+        strToCommand.put("undo", new UndoCommand());
+        strToCommand.put("redo", new RedoCommand());
         strToCommand.put("bye", new ByeCommand());
     }
 
@@ -0,0 +1,29 @@
+package duke.command;
+
+import duke.exception.DukeException;
+import duke.task.TaskList;
+
+/**
+ * Represents a redo command for redoing the last change to the task list that was undone.
+ */
+public class RedoCommand extends HistoryCommand {
+    @Override
+    protected String getCommand() {
+        return "redo";
+    }
+
+    @Override
+    protected boolean canMove(TaskList tasks) {
+        return tasks.canRedo();
+    }
+
+    @Override
+    protected void move(TaskList tasks) throws DukeException {
+        tasks.redo();
+    }
+
+    @Override
+    protected String getSuccessMessage() {
+        return "Make up your mind! I've redone the change you undid.";
+    }
+}
@@ -0,0 +1,163 @@
+package duke.command;
+
+import duke.exception.DukeException;
+import duke.task.ArchiveStore;
+import duke.task.Task;
+import duke.task.TaskList;
+import duke.utils.LocalDateTimeUtils;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a search command for finding tasks across all archives by keywords, a date range, or both.
+ */
+public class SearchCommand implements Command {
+    private static final int KEYPHRASE_ARG_INDEX = 0;
+    private static final int FROM_ARG_INDEX = 1;
+    private static final int TO_ARG_INDEX = 2;
+
+    private final ArchiveStore archiveStore;
+
+    /**
+     * Creates a SearchCommand object.
+     *
+     * @param archiveStore The archive store to search.
+     */
+    public SearchCommand(ArchiveStore archiveStore) {
+        assert archiveStore != null;
+
+        this.archiveStore = archiveStore;
+    }
+
+    /**
+     * Returns a message listing out each archived task whose description has all the keywords specified in input and,
+     * if a date range is specified in input, that has a date and time within the range.
+     *
+     * @param input {@inheritDoc}
+     * @param tasks {@inheritDoc}
+     * @return A message listing out each matching archived task, grouped by archive.
+     * @throws DukeException Indicates an error in the input caused by one of the following: missing keywords and date
+     *                       range, incorrect format, invalid date range. Also indicates failure to read an archive.
+     */
+    @Override
+    public String run(String input, TaskList tasks) throws DukeException {
+        String[] args = extractValidArgs(input);
+
+        String keyphrase = args[KEYPHRASE_ARG_INDEX];
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+
+        if (args.length > FROM_ARG_INDEX) {
+            from = extractValidDateTime(args[FROM_ARG_INDEX], "start");
+            to = extractValidDateTime(args[TO_ARG_INDEX], "end");
+            validateRange(from, to);
+        }
+
+        return getMessage(archiveStore.search(keyphrase, from, to));
+    }
+
+    private String[] extractValidArgs(String input) throws DukeException {
+        validateCommandFormat(input);
+
+        String[] args = extractArgs(input);
+
+        validateNonEmptyQuery(args);
+        if (args.length > FROM_ARG_INDEX) {
+            validateDateTimeFormat(args);
+        }
+
+        return args;
+    }
+
+    private void validateCommandFormat(String input) throws DukeException {
+        assert input != null;
+
+        boolean hasRange = input.contains(" /from") || input.contains(" /to");
+
+        if (hasRange && !input.matches("search (.* )?/from .+ /to .+")) {
+            throw new DukeException("The search command format should be:\n  search <keywords> /from <start of range> "
+                    + "/to <end of range>\nEither the keywords or the range can be left out.");
+        }
+    }
+
+    private String[] extractArgs(String input) {
+        assert input != null;
+
+        String argStr = input.replaceFirst("search", "");
+        String[] args = argStr.split("(^| )/from | /to ", 3);
+
+        for (int i = 0; i < args.length; ++i) {
+            args[i] = args[i].trim();
+        }
+
+        return args;
+    }
+
+    private void validateNonEmptyQuery(String[] args) throws DukeException {
+        assert args != null;
+
+        if (args.length == KEYPHRASE_ARG_INDEX + 1 && args[KEYPHRASE_ARG_INDEX].isEmpty()) {
+            throw new DukeException("You didn't tell me what to search the archives for!");
+        }
+    }
+
+    private void validateDateTimeFormat(String[] args) throws DukeException {
+        assert args != null;
+        assert args.length >= TO_ARG_INDEX + 1;
+
+        if (!LocalDateTimeUtils.isInputDateTimeFormat(args[FROM_ARG_INDEX])
+                || !LocalDateTimeUtils.isInputDateTimeFormat(args[TO_ARG_INDEX])) {
+
+            throw new DukeException(String.format("Start and end of range should be of the format:\n  %s",
+                    LocalDateTimeUtils.INPUT_DATE_TIME_FORMAT));
+        }
+    }
+
+    private LocalDateTime extractValidDateTime(String arg, String name) throws DukeException {
+        assert arg != null;
+
+        try {
+            return LocalDateTimeUtils.parseInputDateTime(arg);
+        } catch (DateTimeParseException e) {
+            throw new DukeException(String.format("The %s of the range provided is an invalid date and time!", name));
+        }
+    }
+
+    private void validateRange(LocalDateTime from, LocalDateTime to) throws DukeException {
+        assert from != null;
+        assert to != null;
+
+        if (from.isAfter(to)) {
+            throw new DukeException("The start of the range cannot be after its end!");
+        }
+    }
+
+    private String getMessage(Map<Path, List<Task>> archiveToTasks) {
+        assert archiveToTasks != null;
+
+        if (archiveToTasks.isEmpty()) {
+            return "None of your archives have the task you're searching for!";
+        }
+
+        int matchedTaskCount = 0;
+        StringBuilder stringBuilder = new StringBuilder();
+
+        for (Map.Entry<Path, List<Task>> entry : archiveToTasks.entrySet()) {
+            stringBuilder.append(String.format("In %s:\n", entry.getKey()));
+
+            List<Task> matchedTasks = entry.getValue();
+            for (int i = 0; i < matchedTasks.size(); ++i) {
+                stringBuilder.append(String.format("%d.%s\n", i + 1, matchedTasks.get(i).toString()));
+            }
+
+            matchedTaskCount += matchedTasks.size();
+        }
+
+        return String.format("It seems that there are %d matching archived tasks:\n%s", matchedTaskCount,
+                stringBuilder.toString().trim());
+    }
+}
@@ -6,6 +6,10 @@ import duke.task.TaskList;
 
 /**
  * Represents a command that sets the done status of a task.
+ * <p>
+ * The task is specified by its position in the list, such as {@code mark 3}, or by its ID, such as
+ * {@code mark #1234}.
+ * </p>
  */
 public abstract class SetDoneCommand implements Command {
     /**
@@ -14,18 +18,18 @@ public abstract class SetDoneCommand implements Command {
      * @param input {@inheritDoc}
      * @param tasks {@inheritDoc}
      * @return An acknowledgement message.
-     * @throws DukeException Indicates missing index or non-integer index or out of bound index in input.
+     * @throws DukeException Indicates missing index or non-integer index or out of bound index in input, or an ID in
+     *                       input that no task has.
      */
     @Override
     public String run(String input, TaskList tasks) throws DukeException {
         assert tasks != null;
 
         int index = extractValidIndex(input, tasks);
-        Task task = tasks.get(index).setDone(shouldBeDone());
 
-        tasks.update(index, task);
+        tasks.setDone(index, shouldBeDone());
 
-        return getMessage(task);
+        return getMessage(tasks.get(index));
     }
 
     /**
@@ -50,46 +54,11 @@ public abstract class SetDoneCommand implements Command {
     protected abstract String getSuccessMessagePrefix();
 
     private int extractValidIndex(String input, TaskList tasks) throws DukeException {
-        String argStr = extractArgStr(input);
-
-        validateNonEmptyArg(argStr);
-
-        int index = extractIntegerArg(argStr);
-        validateIndexRange(index, tasks);
-
-        return index;
-    }
-
-    private String extractArgStr(String input) {
         assert input != null;
 
-        return input.replaceFirst(getCommand(), "").trim();
-    }
-
-    private void validateNonEmptyArg(String argStr) throws DukeException {
-        assert argStr != null;
-
-        if (argStr.isEmpty()) {
-            throw new DukeException(String.format("The task to %s must be specified!", getCommand()));
-        }
-    }
-
-    private int extractIntegerArg(String argStr) throws DukeException {
-        assert argStr != null;
-
-        try {
-            return Integer.parseInt(argStr) - 1;
-        } catch (NumberFormatException e) {
-            throw new DukeException(String.format("The index of the task to %s must be an integer!", getCommand()));
-        }
-    }
-
-    private void validateIndexRange(int index, TaskList tasks) throws DukeException {
-        assert tasks != null;
+        String argStr = input.replaceFirst(getCommand(), "").trim();
 
-        if (index >= tasks.size() || index < 0) {
-            throw new DukeException(String.format("The task to %s doesn't exist!", getCommand()));
-        }
+        return TaskIndexUtils.extractValidIndex(argStr, tasks, "to " + getCommand());
     }
 
     private String getMessage(Task task) {
@@ -0,0 +1,69 @@
+package duke.command;
+
+import duke.exception.DukeException;
+import duke.task.TaskList;
+
+/**
+ * Handles parsing of the argument that specifies a task for commands that act on a single task.
+ * <p>
+ * The task is specified by its position in the list, such as {@code 3}, or by its ID, such as {@code #1234}.
+ * </p>
+ */
+abstract class TaskIndexUtils {
+    private static final String ID_PREFIX = "#";
+
+    /**
+     * Returns the index of the task specified by the argument.
+     *
+     * @param argStr The argument specifying the task.
+     * @param tasks The task list holding the task.
+     * @param purpose What is done to the task, such as "to be deleted", for use in error messages.
+     * @return The index of the task in the task list.
+     * @throws DukeException Indicates a missing or non-integer index or ID, an index that is out of range, or an ID
+     *                       that no task has.
+     */
+    static int extractValidIndex(String argStr, TaskList tasks, String purpose) throws DukeException {
+        assert argStr != null;
+        assert tasks != null;
+        assert purpose != null;
+
+        if (argStr.isEmpty()) {
+            throw new DukeException(String.format("The task %s must be specified!", purpose));
+        }
+
+        if (argStr.startsWith(ID_PREFIX)) {
+            return extractIdArgIndex(argStr, tasks, purpose);
+        }
+
+        int index = extractIntegerArg(argStr, purpose);
+        if (index >= tasks.size() || index < 0) {
+            throw new DukeException(String.format("The task %s doesn't exist!", purpose));
+        }
+
+        return index;
+    }
+
+    private static int extractIntegerArg(String argStr, String purpose) throws DukeException {
+        try {
+            return Integer.parseInt(argStr) - 1;
+        } catch (NumberFormatException e) {
+            throw new DukeException(String.format("The index of the task %s must be an integer!", purpose));
+        }
+    }
+
+    private static int extractIdArgIndex(String argStr, TaskList tasks, String purpose) throws DukeException {
+        long id;
+        try {
+            id = Long.parseLong(argStr.substring(ID_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new DukeException(String.format("The ID of the task %s must be an integer!", purpose));
+        }
+
+        int index = tasks.indexOfId(id);
+        if (index < 0) {
+            throw new DukeException(String.format("No task has the ID %d!", id));
+        }
+
+        return index;
+    }
+}
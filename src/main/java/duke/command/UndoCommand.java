@@ -0,0 +1,29 @@
+package duke.command;
+
+import duke.exception.DukeException;
+import duke.task.TaskList;
+
+/**
+ * Represents an undo command for undoing the latest change to the task list.
+ */
+public class UndoCommand extends HistoryCommand {
+    @Override
+    protected String getCommand() {
+        return "undo";
+    }
+
+    @Override
+    protected boolean canMove(TaskList tasks) {
+        return tasks.canUndo();
+    }
+
+    @Override
+    protected void move(TaskList tasks) throws DukeException {
+        tasks.undo();
+    }
+
+    @Override
+    protected String getSuccessMessage() {
+        return "Changed your mind again? Fine, I've undone your last change.";
+    }
+}
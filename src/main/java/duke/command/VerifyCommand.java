@@ -0,0 +1,64 @@
+package duke.command;
+
+import duke.exception.DukeException;
+import duke.io.RecordCheck;
+import duke.task.TaskList;
+
+import java.util.List;
+
+/**
+ * Represents a verify command for checking the save file for corrupted tasks using their checksums.
+ */
+public class VerifyCommand implements Command {
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /**
+     * Checks the checksum of every task in the save file and returns a message describing the outcome.
+     *
+     * @param input {@inheritDoc}
+     * @param tasks {@inheritDoc}
+     * @return A message describing how many tasks were checked and which of them are corrupted.
+     * @throws DukeException Indicates failure to read the save file, or that the save file does not keep checksums.
+     */
+    @Override
+    public String run(String input, TaskList tasks) throws DukeException {
+        assert tasks != null;
+
+        long startTime = System.nanoTime();
+        RecordCheck check = tasks.checkRecords();
+        double seconds = (System.nanoTime() - startTime) / NANOS_PER_SECOND;
+
+        StringBuilder message = new StringBuilder(String.format("I checked the %d tasks in the save file in %.2f "
+                + "seconds.", check.getRecordCount(), seconds));
+
+        if (check.getCorruptCount() == 0) {
+            message.append(" None of them are corrupted!");
+        } else {
+            message.append(String.format("\n%d of them are corrupted, on lines %s.", check.getCorruptCount(),
+                    getLineNumbersStr(check)));
+        }
+
+        if (check.getUncheckedCount() > 0) {
+            message.append(String.format("\n%d of them were saved before I kept checksums, so I couldn't check them.",
+                    check.getUncheckedCount()));
+        }
+
+        return message.toString();
+    }
+
+    private String getLineNumbersStr(RecordCheck check) {
+        assert check != null;
+
+        List<Long> lineNumbers = check.getCorruptLineNumbers();
+
+        StringBuilder stringBuilder = new StringBuilder();
+        for (int i = 0; i < lineNumbers.size(); ++i) {
+            stringBuilder.append(i == 0 ? "" : ", ").append(lineNumbers.get(i));
+        }
+        if (check.getCorruptCount() > lineNumbers.size()) {
+            stringBuilder.append(", ...");
+        }
+
+        return stringBuilder.toString();
+    }
+}
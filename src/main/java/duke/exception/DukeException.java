@@ -12,4 +12,14 @@ public class DukeException extends Exception {
     public DukeException(String message) {
         super(String.format("Do you take me for a FOOL?!\n%s", message));
     }
+
+    /**
+     * Creates a DukeException object that adds a detail to the error message of the specified exception.
+     *
+     * @param cause The exception whose error message the detail is added to.
+     * @param detail The detail to be printed after the error message.
+     */
+    public DukeException(DukeException cause, String detail) {
+        super(String.format("%s\n%s", cause.getMessage(), detail), cause);
+    }
 }
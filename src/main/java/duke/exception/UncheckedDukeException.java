@@ -0,0 +1,21 @@
+package duke.exception;
+
+/**
+ * An unchecked exception that wraps a DukeException, for errors that occur where a DukeException cannot be thrown,
+ * such as when a task that was loaded lazily is first accessed.
+ */
+public class UncheckedDukeException extends RuntimeException {
+    /**
+     * Creates an UncheckedDukeException object.
+     *
+     * @param cause The DukeException to be wrapped.
+     */
+    public UncheckedDukeException(DukeException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized DukeException getCause() {
+        return (DukeException) super.getCause();
+    }
+}
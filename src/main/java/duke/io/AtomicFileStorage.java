@@ -0,0 +1,208 @@
+package duke.io;
+
+import duke.exception.DukeException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Represents a file storage that never leaves the file partially written.
+ * <p>
+ * Data is written to a temporary file next to the file, forced to disk and then atomically moved over the file, so
+ * the file always holds either the old data or the new data in full. The data replaced by each of the latest writes is
+ * kept in numbered backup files, with backup 1 being the most recent. If the file goes missing, it is restored from
+ * the most recent backup.
+ * </p>
+ */
+public class AtomicFileStorage extends FileStorage {
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String BACKUP_SUFFIX = ".bak.";
+
+    private final Path path;
+    private final Path tempPath;
+    private final int backupCount;
+
+    /**
+     * Creates an AtomicFileStorage object.
+     *
+     * @param path The path of the file to use for storage. Temporary and backup files are kept next to it.
+     * @param backupCount The number of backups to keep.
+     */
+    public AtomicFileStorage(Path path, int backupCount) {
+        super(path);
+
+        assert backupCount >= 0;
+
+        this.path = path;
+        this.tempPath = Path.of(path.toString() + TEMP_SUFFIX);
+        this.backupCount = backupCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Also cleans up after any write that was interrupted, and restores the file from the most recent backup if it is
+     * missing.
+     * </p>
+     *
+     * @return {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public boolean doesExist() throws DukeException {
+        try {
+            // A leftover temporary file is from a write that never committed, so the file still holds the old data
+            Files.deleteIfExists(tempPath);
+
+            if (!Files.exists(path) && backupCount > 0 && Files.exists(getBackupPath(1))) {
+                Files.copy(getBackupPath(1), tempPath);
+                commit();
+            }
+
+            return Files.exists(path);
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when recovering the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to check for the save file's existence!");
+        }
+    }
+
+    @Override
+    public synchronized void write(String data) throws DukeException {
+        assert data != null;
+
+        try {
+            writeDurably(tempPath, data.getBytes(StandardCharsets.UTF_8));
+            backUpAndCommit();
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when writing to the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to write to the save file!");
+        }
+    }
+
+    @Override
+    public synchronized void writeLines(LineSource source) throws DukeException {
+        assert source != null;
+
+        try {
+            writeLinesDurably(tempPath, source);
+            backUpAndCommit();
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when writing to the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to write to the save file!");
+        }
+    }
+
+    /**
+     * Writes the specified bytes to the specified file and forces them to disk, replacing what was in the file.
+     *
+     * @param path The path of the file to write to.
+     * @param bytes The bytes to be written.
+     * @throws IOException Indicates failure to write to the file.
+     */
+    static void writeDurably(Path path, byte[] bytes) throws IOException {
+        assert path != null;
+        assert bytes != null;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Writes the lines produced by the specified source to the specified file, each followed by a line break, and
+     * forces them to disk, replacing what was in the file.
+     *
+     * @param path The path of the file to write to.
+     * @param source Produces the lines to be written.
+     * @throws IOException Indicates failure to write to the file.
+     * @throws DukeException Indicates failure to write to the file or that the source failed to produce a line.
+     */
+    static void writeLinesDurably(Path path, LineSource source) throws IOException, DukeException {
+        assert path != null;
+        assert source != null;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeLines(channel, source);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Atomically moves the specified source file over the specified target file, then forces the move to disk where
+     * the platform allows it.
+     *
+     * @param source The path of the file to be moved.
+     * @param target The path of the file to be replaced.
+     * @throws IOException Indicates failure to move the file.
+     */
+    public static void moveDurably(Path source, Path target) throws IOException {
+        assert source != null;
+        assert target != null;
+
+        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        Path dir = target.toAbsolutePath().getParent();
+        if (dir == null) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Some platforms, such as Windows, cannot open directories, in which case the move is left to the
+            // file system to persist
+        }
+    }
+
+    private void backUpAndCommit() throws IOException {
+        if (backupCount > 0 && Files.exists(path)) {
+            rotateBackups();
+        }
+
+        commit();
+    }
+
+    private void commit() throws IOException {
+        moveDurably(tempPath, path);
+    }
+
+    private void rotateBackups() throws IOException {
+        Files.deleteIfExists(getBackupPath(backupCount));
+
+        for (int i = backupCount - 1; i >= 1; --i) {
+            Path backupPath = getBackupPath(i);
+            if (Files.exists(backupPath)) {
+                Files.move(backupPath, getBackupPath(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        try {
+            // Linking keeps the old data as the backup without copying it
+            Files.createLink(getBackupPath(1), path);
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            Files.copy(path, getBackupPath(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path getBackupPath(int number) {
+        assert number >= 1 && number <= backupCount;
+
+        return Path.of(path.toString() + BACKUP_SUFFIX + number);
+    }
+}
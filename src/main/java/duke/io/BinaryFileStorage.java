@@ -0,0 +1,438 @@
+package duke.io;
+
+import duke.exception.DukeException;
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Task;
+import duke.task.TaskStorage;
+import duke.task.ToDo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a file storage that keeps tasks in a compact binary format.
+ * <p>
+ * The file starts with a magic number, a format version and the next ID, followed by one record per task. Each record
+ * starts with the symbol of the task as a byte and the done status as a byte, followed by the length-prefixed UTF-8
+ * description, for deadlines and events, their dates and times as seconds from the epoch, and the ID of the task.
+ * Files in older format versions, whose headers have no next ID or whose records have no IDs, are still loaded, and
+ * are rewritten in the current format version on the next change.
+ * </p>
+ * <p>
+ * The position of each record is kept in memory once the file has been loaded or written, so a task that is added to
+ * the end, removed from the end, or updated without changing the length of its record, such as by marking it as done,
+ * is written by only touching the bytes of its record, and of the next ID if it has grown. Any other change rewrites
+ * the whole file.
+ * </p>
+ */
+public class BinaryFileStorage implements TaskStorage {
+    /** The bytes "DUKB" read as an int. */
+    private static final int MAGIC_NUMBER = 0x44554b42;
+    private static final int FORMAT_VERSION = 3;
+
+    /** The format version from before tasks had IDs. */
+    private static final int FORMAT_VERSION_WITHOUT_IDS = 1;
+
+    /** The format version from before the next ID was kept. */
+    private static final int FORMAT_VERSION_WITHOUT_NEXT_ID = 2;
+
+    private static final int NEXT_ID_POSITION = Integer.BYTES + Byte.BYTES;
+    private static final int HEADER_LENGTH = NEXT_ID_POSITION + Long.BYTES;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path path;
+
+    /** The positions of the records in the file, or null if they are unknown. */
+    private OffsetTable offsets;
+
+    /** The next ID in the header of the file, as last read or written. */
+    private long storedNextId = Task.NO_ID;
+
+    private long nextId = Task.NO_ID;
+
+    /**
+     * Creates a BinaryFileStorage object.
+     *
+     * @param path The path of the file to use for storage.
+     */
+    public BinaryFileStorage(Path path) {
+        assert path != null;
+
+        this.path = path;
+    }
+
+    @Override
+    public boolean doesExist() throws DukeException {
+        try {
+            return Files.exists(path);
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to check for the save file's existence!");
+        }
+    }
+
+    @Override
+    public void create() throws DukeException {
+        try {
+            Path parentDir = path.getParent();
+            if (parentDir != null) {
+                Files.createDirectories(parentDir);
+            }
+        } catch (FileAlreadyExistsException e) {
+            // Nothing to do as the directories already exist
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when creating the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to create the save file!");
+        }
+
+        write(new ArrayList<Task>());
+    }
+
+    @Override
+    public synchronized List<Task> load() throws DukeException {
+        List<Task> tasks = new ArrayList<Task>();
+
+        offsets = null;
+        OffsetTable newOffsets = new OffsetTable(HEADER_LENGTH);
+
+        try (CountingInputStream countingIn = new CountingInputStream(new BufferedInputStream(
+                Files.newInputStream(path), BUFFER_SIZE)); DataInputStream in = new DataInputStream(countingIn)) {
+            int formatVersion = readValidHeader(in);
+            storedNextId = formatVersion == FORMAT_VERSION ? in.readLong() : Task.NO_ID;
+
+            for (int symbol = in.read(); symbol >= 0; symbol = in.read()) {
+                Task task = readTask(in, symbol);
+                if (formatVersion != FORMAT_VERSION_WITHOUT_IDS) {
+                    task = readValidId(in, task);
+                }
+
+                tasks.add(task);
+                newOffsets.add(countingIn.getCount() - newOffsets.getEnd());
+            }
+
+            // Records and headers in old format versions cannot be mixed with those in the current one
+            if (formatVersion != FORMAT_VERSION) {
+                return tasks;
+            }
+        } catch (EOFException e) {
+            throw new DukeException("A task in storage has missing data!");
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when reading the save file!");
+        } catch (OutOfMemoryError e) {
+            throw new DukeException("I need more memory to read the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to read the save file!");
+        }
+
+        offsets = newOffsets;
+        return tasks;
+    }
+
+    @Override
+    public synchronized void write(List<Task> tasks) throws DukeException {
+        assert tasks != null;
+
+        offsets = null;
+        OffsetTable newOffsets = new OffsetTable(HEADER_LENGTH);
+        long newNextId = Math.max(storedNextId, nextId);
+
+        try (CountingOutputStream countingOut = new CountingOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(path), BUFFER_SIZE)); DataOutputStream out = new DataOutputStream(countingOut)) {
+            out.writeInt(MAGIC_NUMBER);
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(newNextId);
+
+            for (Task task : tasks) {
+                task.writeBinary(out);
+                out.writeLong(task.getId());
+                newOffsets.add(countingOut.getCount() - newOffsets.getEnd());
+            }
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when writing to the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to write to the save file!");
+        }
+
+        offsets = newOffsets;
+        storedNextId = newNextId;
+    }
+
+    @Override
+    public synchronized long loadNextId() {
+        return storedNextId;
+    }
+
+    @Override
+    public synchronized void setNextId(long nextId) {
+        this.nextId = nextId;
+    }
+
+    /**
+     * Appends the record of the added task to the file if it was added to the end. Otherwise, rewrites the whole file.
+     *
+     * @param tasks {@inheritDoc}
+     * @param index {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public synchronized void writeAdded(List<Task> tasks, int index) throws DukeException {
+        assert tasks != null;
+
+        if (!hasOffsetsFor(tasks.size() - 1) || index != tasks.size() - 1) {
+            write(tasks);
+            return;
+        }
+
+        byte[] record = toRecord(tasks.get(index));
+        writeRecord(offsets.getEnd(), record);
+        offsets.add(record.length);
+    }
+
+    /**
+     * Truncates the record of the removed task from the file if it was removed from the end. Otherwise, rewrites the
+     * whole file.
+     *
+     * @param tasks {@inheritDoc}
+     * @param index {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public synchronized void writeRemoved(List<Task> tasks, int index) throws DukeException {
+        assert tasks != null;
+
+        if (!hasOffsetsFor(tasks.size() + 1) || index != tasks.size()) {
+            write(tasks);
+            return;
+        }
+
+        truncate(offsets.getStart(index));
+        offsets.removeLast(1);
+    }
+
+    /**
+     * Overwrites the record of the updated task in place if its length is unchanged. Otherwise, rewrites the whole
+     * file.
+     *
+     * @param tasks {@inheritDoc}
+     * @param index {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public synchronized void writeUpdated(List<Task> tasks, int index) throws DukeException {
+        assert tasks != null;
+
+        if (!hasOffsetsFor(tasks.size())) {
+            write(tasks);
+            return;
+        }
+
+        byte[] record = toRecord(tasks.get(index));
+
+        if (record.length != offsets.getLength(index)) {
+            write(tasks);
+            return;
+        }
+
+        writeRecord(offsets.getStart(index), record);
+    }
+
+    /**
+     * Replaces the contents of this storage with the tasks loaded from the specified task storage.
+     * <p>
+     * Used to convert a save file from another format, such as the text format, into the binary format. The next ID
+     * kept by the task storage is carried over.
+     * </p>
+     *
+     * @param source The task storage to convert from.
+     * @throws DukeException Indicates failure to load from the source or to write to this storage.
+     */
+    public void convertFrom(TaskStorage source) throws DukeException {
+        assert source != null;
+
+        List<Task> tasks = source.load();
+        setNextId(source.loadNextId());
+        write(tasks);
+    }
+
+    private boolean hasOffsetsFor(int taskCount) {
+        return offsets != null && offsets.getRecordCount() == taskCount;
+    }
+
+    private byte[] toRecord(Task task) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try {
+            DataOutputStream out = new DataOutputStream(bytes);
+            task.writeBinary(out);
+            out.writeLong(task.getId());
+        } catch (IOException e) {
+            throw new AssertionError("Writing to a byte array cannot fail", e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private void writeRecord(long position, byte[] record) throws DukeException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            writeFully(channel, position, ByteBuffer.wrap(record));
+            writeNextId(channel);
+        } catch (IOException e) {
+            // The record may be partially written, so the next change has to rewrite the whole file
+            offsets = null;
+            throw new DukeException("I encountered an I/O error when writing to the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to write to the save file!");
+        }
+    }
+
+    private void truncate(long size) throws DukeException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+            writeNextId(channel);
+        } catch (IOException e) {
+            offsets = null;
+            throw new DukeException("I encountered an I/O error when writing to the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to write to the save file!");
+        }
+    }
+
+    /**
+     * Overwrites the next ID in the header of the file if it has grown since it was last written.
+     */
+    private void writeNextId(FileChannel channel) throws IOException {
+        if (nextId <= storedNextId) {
+            return;
+        }
+
+        writeFully(channel, NEXT_ID_POSITION, ByteBuffer.allocate(Long.BYTES).putLong(0, nextId));
+        storedNextId = nextId;
+    }
+
+    private static void writeFully(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private int readValidHeader(DataInputStream in) throws IOException, DukeException {
+        try {
+            if (in.readInt() != MAGIC_NUMBER) {
+                throw new DukeException("The save file is not in a format I recognise!");
+            }
+        } catch (EOFException e) {
+            throw new DukeException("The save file is not in a format I recognise!");
+        }
+
+        int formatVersion = in.readUnsignedByte();
+        if (formatVersion != FORMAT_VERSION && formatVersion != FORMAT_VERSION_WITHOUT_NEXT_ID
+                && formatVersion != FORMAT_VERSION_WITHOUT_IDS) {
+            throw new DukeException("The save file is in a format version I do not recognise!");
+        }
+
+        return formatVersion;
+    }
+
+    private Task readValidId(DataInputStream in, Task task) throws IOException, DukeException {
+        long id = in.readLong();
+
+        if (id < Task.NO_ID) {
+            throw new DukeException("A task in storage has an incorrect ID!");
+        }
+
+        return id == Task.NO_ID ? task : task.withId(id);
+    }
+
+    private Task readTask(DataInputStream in, int symbol) throws IOException, DukeException {
+        switch (symbol) {
+        case 'T':
+            return ToDo.createFromBinaryStorage(in);
+        case 'D':
+            return Deadline.createFromBinaryStorage(in);
+        case 'E':
+            return Event.createFromBinaryStorage(in);
+        default:
+            throw new DukeException("An unknown task type was found in storage.");
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                ++count;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int readCount = super.read(bytes, offset, length);
+            if (readCount > 0) {
+                count += readCount;
+            }
+            return readCount;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipCount = super.skip(n);
+            count += skipCount;
+            return skipCount;
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            ++count;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            count += length;
+        }
+    }
+}
@@ -2,15 +2,25 @@ package duke.io;
 
 import duke.exception.DukeException;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Represents a file storage.
  */
 public class FileStorage implements Storage {
+    private static final int BUFFER_SIZE = 1 << 16;
+
     private final Path path;
 
     /**
@@ -61,6 +71,56 @@ public class FileStorage implements Storage {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The file is memory-mapped and each line is decoded directly from the mapping, so the contents of the file are
+     * never held in memory all at once.
+     * </p>
+     *
+     * @param handler {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public void readLines(LineHandler handler) throws DukeException {
+        assert handler != null;
+
+        try {
+            new MappedLineReader(path).readLines(handler);
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when reading the save file!");
+        } catch (OutOfMemoryError e) {
+            throw new DukeException("I need more memory to read the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to read the save file!");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The file is memory-mapped and each record is checksummed directly from the mapping without being decoded, so
+     * checking is usually limited by how fast the file can be read from disk.
+     * </p>
+     *
+     * @return {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public RecordCheck checkRecords() throws DukeException {
+        RecordCheck check = new RecordCheck();
+
+        try {
+            new MappedLineReader(path).readRawLines(check::checkLine);
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when reading the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to read the save file!");
+        }
+
+        return check;
+    }
+
     @Override
     public void write(String data) throws DukeException {
         assert data != null;
@@ -74,6 +134,121 @@ public class FileStorage implements Storage {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Lines are encoded into a buffer that is written to the file whenever it fills up, so the lines are never held in
+     * memory all at once.
+     * </p>
+     *
+     * @param source {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public void writeLines(LineSource source) throws DukeException {
+        assert source != null;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeLines(channel, source);
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when writing to the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to write to the save file!");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The file is opened for appending, so the lines already in it are neither read nor written again. A line break
+     * is added first if the file does not end with one.
+     * </p>
+     *
+     * @param source {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public void appendLines(LineSource source) throws DukeException {
+        assert source != null;
+
+        try {
+            ensureDirectoriesExist();
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                channel.position(channel.size());
+                if (channel.size() > 0 && !endsWithLineBreak(channel)) {
+                    channel.write(ByteBuffer.wrap(new byte[] {'\n'}));
+                }
+                writeLines(channel, source);
+            }
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when writing to the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to write to the save file!");
+        }
+    }
+
+    /**
+     * Writes the lines produced by the specified source to the specified channel from its current position, each
+     * followed by a line break, and flushes them to the channel.
+     *
+     * @param channel The channel to write to.
+     * @param source Produces the lines to be written.
+     * @throws IOException Indicates failure to write to the channel.
+     * @throws DukeException Indicates failure to write to the channel or that the source failed to produce a line.
+     */
+    static void writeLines(FileChannel channel, LineSource source) throws IOException, DukeException {
+        assert channel != null;
+        assert source != null;
+
+        // The channel is closed by the caller, so the writer is only flushed
+        Writer writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel),
+                StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        char[] chars = new char[BUFFER_SIZE];
+
+        source.writeTo(line -> {
+            assert line != null;
+
+            try {
+                writeChars(writer, line, chars);
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new DukeException("I encountered an I/O error when writing to the save file!");
+            }
+        });
+
+        writer.flush();
+    }
+
+    /**
+     * Writes the specified characters to the specified writer, copying them through the specified array unless they
+     * are a string, as {@link Writer#append(CharSequence)} would convert them to a string first.
+     */
+    private static void writeChars(Writer writer, CharSequence chars, char[] buffer) throws IOException {
+        if (chars instanceof String) {
+            writer.write((String) chars);
+            return;
+        }
+
+        for (int start = 0; start < chars.length(); start += buffer.length) {
+            int end = Math.min(chars.length(), start + buffer.length);
+            for (int i = start; i < end; ++i) {
+                buffer[i - start] = chars.charAt(i);
+            }
+            writer.write(buffer, 0, end - start);
+        }
+    }
+
+    private static boolean endsWithLineBreak(FileChannel channel) throws IOException {
+        ByteBuffer lastByte = ByteBuffer.allocate(1);
+        channel.read(lastByte, channel.size() - 1);
+
+        return lastByte.get(0) == '\n';
+    }
+
     private void ensureDirectoriesExist() throws IOException {
         try {
             Path parentDir = path.getParent();
@@ -0,0 +1,400 @@
+package duke.io;
+
+import duke.exception.DukeException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Represents a file storage made up of a snapshot file and journal files.
+ * <p>
+ * Instead of rewriting the whole snapshot on every change, entries describing each change are appended to the current
+ * journal. Compaction folds the journals into a fresh snapshot in the background.
+ * </p>
+ * <p>
+ * Journals are numbered by generation and the snapshot starts with a header recording the first generation that is
+ * not yet folded into it, so a crash at any point leaves exactly one correct way to replay the journals. The header
+ * also keeps the next ID set when the snapshot was written.
+ * </p>
+ */
+public class JournalFileStorage implements Storage {
+    private static final String HEADER_PREFIX = "# journal ";
+    private static final String NEXT_ID_HEADER_SEPARATOR = " next-id ";
+    private static final String JOURNAL_SUFFIX = ".journal.";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path path;
+    private final Path tempPath;
+
+    private final ExecutorService compactor;
+    private Future<?> compaction;
+
+    private boolean didRecover;
+    private volatile long snapshotGeneration;
+    private long currentGeneration;
+
+    /** The next ID kept in the header of the snapshot. */
+    private volatile long snapshotNextId;
+
+    /** The next ID to be kept in the header of the next snapshot written. */
+    private volatile long nextId;
+
+    /**
+     * Creates a JournalFileStorage object.
+     *
+     * @param path The path of the snapshot file. Journal files are kept next to it.
+     */
+    public JournalFileStorage(Path path) {
+        assert path != null;
+
+        this.path = path;
+        this.tempPath = Path.of(path.toString() + TEMP_SUFFIX);
+
+        compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public boolean doesExist() throws DukeException {
+        try {
+            return Files.exists(path);
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to check for the save file's existence!");
+        }
+    }
+
+    @Override
+    public synchronized void create() throws DukeException {
+        new FileStorage(path).create();
+
+        try {
+            // Journals without a snapshot belong to a save file that no longer exists
+            deleteJournals(findJournals());
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when creating the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to create the save file!");
+        }
+
+        snapshotGeneration = 0;
+        currentGeneration = 0;
+        snapshotNextId = 0;
+        didRecover = true;
+    }
+
+    /**
+     * Returns the contents of the snapshot, without the journal entries that are yet to be folded into it.
+     *
+     * @return The contents of the snapshot.
+     * @throws DukeException Indicates failure to read from storage.
+     */
+    @Override
+    public String read() throws DukeException {
+        recover();
+
+        String data = new FileStorage(path).read();
+
+        if (!data.startsWith(HEADER_PREFIX)) {
+            return data;
+        }
+
+        int headerEnd = data.indexOf('\n');
+        return headerEnd < 0 ? "" : data.substring(headerEnd + 1);
+    }
+
+    /**
+     * Reads the contents of the snapshot line by line, without the journal entries that are yet to be folded into it.
+     *
+     * @param handler {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public void readLines(LineHandler handler) throws DukeException {
+        assert handler != null;
+
+        recover();
+
+        new FileStorage(path).readLines(new LineHandler() {
+            private boolean isFirstLine = true;
+
+            @Override
+            public void handle(String line) throws DukeException {
+                boolean isHeader = isFirstLine && line.startsWith(HEADER_PREFIX);
+                isFirstLine = false;
+
+                if (!isHeader) {
+                    handler.handle(line);
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes the lines to the storage as a fresh snapshot, discarding all journal entries.
+     *
+     * @param source {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public synchronized void writeLines(LineSource source) throws DukeException {
+        assert source != null;
+
+        recover();
+        awaitCompaction();
+
+        ++currentGeneration;
+        writeSnapshot(source, currentGeneration, nextId);
+    }
+
+    @Override
+    public boolean keepsNextId() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A snapshot without a next ID in its header, such as one written before next IDs were kept, has a next ID of 0.
+     * </p>
+     *
+     * @return {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public long readNextId() throws DukeException {
+        recover();
+
+        return snapshotNextId;
+    }
+
+    @Override
+    public void setNextId(long nextId) {
+        this.nextId = nextId;
+    }
+
+    /**
+     * Returns the journal entries that are yet to be folded into the snapshot, in the order they were appended.
+     *
+     * @return The journal entries that are yet to be folded into the snapshot.
+     * @throws DukeException Indicates failure to read the journals.
+     */
+    public List<String> readJournal() throws DukeException {
+        recover();
+
+        List<String> entries = new ArrayList<String>();
+
+        try {
+            for (Path journalPath : findJournals().tailMap(snapshotGeneration).values()) {
+                for (String entry : Files.readAllLines(journalPath, StandardCharsets.UTF_8)) {
+                    if (!entry.isEmpty()) {
+                        entries.add(entry);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when reading the save file's journal!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to read the save file's journal!");
+        }
+
+        return entries;
+    }
+
+    /**
+     * Appends an entry to the current journal.
+     *
+     * @param entry The entry to be appended. Must not contain line breaks.
+     * @throws DukeException Indicates failure to write to the journal.
+     */
+    public synchronized void append(String entry) throws DukeException {
+        assert entry != null;
+        assert entry.indexOf('\n') < 0;
+
+        recover();
+
+        try {
+            Files.writeString(getJournalPath(currentGeneration), entry + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when writing to the save file's journal!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to write to the save file's journal!");
+        }
+    }
+
+    /**
+     * Starts folding all the journal entries appended so far into a fresh snapshot in the background.
+     * <p>
+     * Entries appended after this call go into a new journal. Does nothing if a compaction is still in progress.
+     * </p>
+     *
+     * @param snapshotSource Produces the lines of the fresh snapshot. Called on the background thread, so it must not
+     *                       depend on anything that changes after this call.
+     * @return True if a compaction was started. False otherwise.
+     */
+    public synchronized boolean compact(LineSource snapshotSource) {
+        assert snapshotSource != null;
+        assert didRecover;
+
+        if (compaction != null && !compaction.isDone()) {
+            return false;
+        }
+
+        long generation = ++currentGeneration;
+        long snapshotNextIdToWrite = nextId;
+
+        compaction = compactor.submit(() -> {
+            try {
+                writeSnapshot(snapshotSource, generation, snapshotNextIdToWrite);
+            } catch (DukeException e) {
+                // Journals are only deleted after their entries are in the snapshot, so nothing is lost and the
+                // next compaction will fold them in instead
+            }
+        });
+
+        return true;
+    }
+
+    private void recover() throws DukeException {
+        if (didRecover) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(tempPath);
+
+            snapshotGeneration = 0;
+            snapshotNextId = 0;
+            if (Files.exists(path)) {
+                readHeader();
+            }
+
+            TreeMap<Long, Path> journals = findJournals();
+            deleteJournals(journals.headMap(snapshotGeneration));
+
+            currentGeneration = journals.isEmpty() ? snapshotGeneration
+                    : Math.max(snapshotGeneration, journals.lastKey());
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when recovering the save file's journal!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to recover the save file's journal!");
+        }
+
+        didRecover = true;
+    }
+
+    /**
+     * Reads the generation and next ID in the header of the snapshot, if it has a header.
+     */
+    private void readHeader() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int maxLongLength = Long.toString(Long.MAX_VALUE).length();
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_PREFIX.length() + NEXT_ID_HEADER_SEPARATOR.length()
+                    + 2 * maxLongLength);
+            channel.read(buffer);
+
+            String start = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+            if (!start.startsWith(HEADER_PREFIX)) {
+                return;
+            }
+
+            String[] fields = start.substring(HEADER_PREFIX.length()).split("\n", 2)[0]
+                    .split(NEXT_ID_HEADER_SEPARATOR, 2);
+            try {
+                snapshotGeneration = Long.parseLong(fields[0]);
+                snapshotNextId = fields.length > 1 ? Long.parseLong(fields[1]) : 0;
+            } catch (NumberFormatException e) {
+                throw new IOException("Incorrectly formatted journal header.");
+            }
+        }
+    }
+
+    private void writeSnapshot(LineSource source, long generation, long newNextId) throws DukeException {
+        // The next ID never goes back, even if the one set is older than the one in the snapshot
+        long headerNextId = Math.max(snapshotNextId, newNextId);
+
+        try {
+            AtomicFileStorage.writeLinesDurably(tempPath, writer -> {
+                writer.writeLine(HEADER_PREFIX + generation + NEXT_ID_HEADER_SEPARATOR + headerNextId);
+                source.writeTo(writer);
+            });
+
+            // The snapshot is committed once it replaces the old one, after which older journals are redundant
+            AtomicFileStorage.moveDurably(tempPath, path);
+            snapshotGeneration = generation;
+            snapshotNextId = headerNextId;
+
+            deleteJournals(findJournals().headMap(generation));
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when writing to the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to write to the save file!");
+        }
+    }
+
+    private void awaitCompaction() throws DukeException {
+        if (compaction == null) {
+            return;
+        }
+
+        try {
+            compaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DukeException("I was interrupted while waiting for the save file to be compacted!");
+        } catch (ExecutionException e) {
+            // Compaction failures leave the journals untouched, so there is nothing to handle
+        }
+    }
+
+    private TreeMap<Long, Path> findJournals() throws IOException {
+        TreeMap<Long, Path> journals = new TreeMap<Long, Path>();
+
+        Path dir = path.toAbsolutePath().getParent();
+        String prefix = path.getFileName().toString() + JOURNAL_SUFFIX;
+
+        if (dir == null || !Files.isDirectory(dir)) {
+            return journals;
+        }
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, prefix + "*")) {
+            for (Path journalPath : stream) {
+                String generationStr = journalPath.getFileName().toString().substring(prefix.length());
+                try {
+                    journals.put(Long.parseLong(generationStr), journalPath);
+                } catch (NumberFormatException e) {
+                    // Not a journal, so leave it alone
+                }
+            }
+        }
+
+        return journals;
+    }
+
+    private void deleteJournals(Map<Long, Path> journals) throws IOException {
+        for (Path journalPath : journals.values()) {
+            Files.deleteIfExists(journalPath);
+        }
+    }
+
+    private Path getJournalPath(long generation) {
+        return Path.of(path.toString() + JOURNAL_SUFFIX + generation);
+    }
+}
@@ -0,0 +1,89 @@
+package duke.io;
+
+import duke.utils.ChecksumUtils;
+
+import java.util.List;
+
+/**
+ * Represents a change made to the lines of a storage outside of the app, as a single run of changed lines between
+ * runs of unchanged lines.
+ * <p>
+ * Empty lines are ignored, so line indexes only count non-empty lines. Lines are compared using
+ * {@link #hashLine(CharSequence)}.
+ * </p>
+ */
+public class LineChange {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long[] baseLineHashes;
+    private final int unchangedPrefixLength;
+    private final int unchangedSuffixLength;
+    private final List<String> changedLines;
+    private final long[] changedLineNumbers;
+
+    /**
+     * Creates a LineChange object.
+     *
+     * @param baseLineHashes The hashes of the lines before the change.
+     * @param unchangedPrefixLength The number of lines at the start that are unchanged.
+     * @param unchangedSuffixLength The number of lines at the end that are unchanged.
+     * @param changedLines The lines that replaced the lines between the unchanged lines.
+     * @param changedLineNumbers The line numbers of the changed lines in the storage, starting from 1.
+     */
+    public LineChange(long[] baseLineHashes, int unchangedPrefixLength, int unchangedSuffixLength,
+            List<String> changedLines, long[] changedLineNumbers) {
+        assert baseLineHashes != null;
+        assert unchangedPrefixLength >= 0 && unchangedSuffixLength >= 0;
+        assert unchangedPrefixLength + unchangedSuffixLength <= baseLineHashes.length;
+        assert changedLines != null && changedLineNumbers != null;
+        assert changedLines.size() == changedLineNumbers.length;
+
+        this.baseLineHashes = baseLineHashes;
+        this.unchangedPrefixLength = unchangedPrefixLength;
+        this.unchangedSuffixLength = unchangedSuffixLength;
+        this.changedLines = changedLines;
+        this.changedLineNumbers = changedLineNumbers;
+    }
+
+    /**
+     * Returns a 64-bit FNV-1a hash of the characters of the specified line.
+     * <p>
+     * A checksum at the start of the line, as described by {@link ChecksumUtils}, is not hashed, so a line hashes the
+     * same whether or not it was saved with a checksum.
+     * </p>
+     *
+     * @param line The line to hash, without its line break.
+     * @return The hash of the line.
+     */
+    public static long hashLine(CharSequence line) {
+        assert line != null;
+
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = ChecksumUtils.getChecksumLength(line); i < line.length(); ++i) {
+            hash = (hash ^ line.charAt(i)) * FNV_PRIME;
+        }
+
+        return hash;
+    }
+
+    public long[] getBaseLineHashes() {
+        return baseLineHashes;
+    }
+
+    public int getUnchangedPrefixLength() {
+        return unchangedPrefixLength;
+    }
+
+    public int getUnchangedSuffixLength() {
+        return unchangedSuffixLength;
+    }
+
+    public List<String> getChangedLines() {
+        return changedLines;
+    }
+
+    public long[] getChangedLineNumbers() {
+        return changedLineNumbers;
+    }
+}
@@ -0,0 +1,17 @@
+package duke.io;
+
+import duke.exception.DukeException;
+
+/**
+ * Handles the lines read from a storage one at a time.
+ */
+@FunctionalInterface
+public interface LineHandler {
+    /**
+     * Handles a line read from a storage.
+     *
+     * @param line The line, without its line break.
+     * @throws DukeException Indicates that the line could not be handled.
+     */
+    void handle(String line) throws DukeException;
+}
@@ -0,0 +1,17 @@
+package duke.io;
+
+import duke.exception.DukeException;
+
+/**
+ * Produces the lines to be written to a storage one at a time.
+ */
+@FunctionalInterface
+public interface LineSource {
+    /**
+     * Writes every line, in order, to the specified writer.
+     *
+     * @param writer Writes each line to the storage.
+     * @throws DukeException Indicates failure to produce a line or to write it to the storage.
+     */
+    void writeTo(LineWriter writer) throws DukeException;
+}
@@ -0,0 +1,20 @@
+package duke.io;
+
+import duke.exception.DukeException;
+
+/**
+ * Writes lines to a storage one at a time.
+ */
+@FunctionalInterface
+public interface LineWriter {
+    /**
+     * Writes a line to a storage, followed by a line break.
+     * <p>
+     * The line may be changed by the caller once this returns, so it must be copied if it is to be kept.
+     * </p>
+     *
+     * @param line The line, without its line break. Must not contain line breaks.
+     * @throws DukeException Indicates failure to write to the storage.
+     */
+    void writeLine(CharSequence line) throws DukeException;
+}
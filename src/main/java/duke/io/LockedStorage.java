@@ -0,0 +1,317 @@
+package duke.io;
+
+import duke.exception.DukeException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Represents a storage that can be shared by several processes at once.
+ * <p>
+ * Every read and write holds an exclusive lock on a lock file next to the file, so no process sees another's write
+ * half done. The first line of the file is a header holding its generation, which every write increases by one, so a
+ * process can tell that another process wrote the file without comparing its contents. The header also keeps the
+ * largest next ID set by any process that wrote the file, so an ID is not given again after the record holding it is
+ * removed, even by another process. The header is hidden from readers of the storage.
+ * </p>
+ * <p>
+ * Locks are reentrant, so a process can hold the lock across several reads and writes with {@link #lock()}.
+ * </p>
+ */
+public class LockedStorage implements Storage {
+    /** The suffix added to the path of the file to get the path of its lock file. */
+    public static final String LOCK_FILE_SUFFIX = ".lock";
+
+    private static final String GENERATION_HEADER_PREFIX = "# generation ";
+    private static final String NEXT_ID_HEADER_SEPARATOR = " next-id ";
+
+    private static final long LOCK_TIMEOUT_MILLIS = 10_000;
+    private static final long LOCK_RETRY_DELAY_MILLIS = 10;
+
+    private final Storage storage;
+    private final Path path;
+    private final Path lockPath;
+
+    /** Keeps threads of this process from sharing the file lock, which is held by the process as a whole. */
+    private final ReentrantLock threadLock = new ReentrantLock();
+
+    private FileChannel lockChannel;
+    private FileLock fileLock;
+
+    private volatile long nextId;
+
+    /**
+     * Represents the header of the file.
+     */
+    private static class Header {
+        private final long generation;
+        private final long nextId;
+
+        private Header(long generation, long nextId) {
+            this.generation = generation;
+            this.nextId = nextId;
+        }
+    }
+
+    /**
+     * Creates a LockedStorage object.
+     *
+     * @param storage The storage to read from and write to.
+     * @param path The path of the file the storage keeps its contents in.
+     */
+    public LockedStorage(Storage storage, Path path) {
+        assert storage != null;
+        assert path != null;
+
+        this.storage = storage;
+        this.path = path;
+        this.lockPath = Path.of(path.toString() + LOCK_FILE_SUFFIX);
+    }
+
+    @Override
+    public boolean doesExist() throws DukeException {
+        return storage.doesExist();
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public void create() throws DukeException {
+        try (StorageLock lock = lock()) {
+            storage.create();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public void readLines(LineHandler handler) throws DukeException {
+        assert handler != null;
+
+        try (StorageLock lock = lock()) {
+            storage.readLines(new LineHandler() {
+                private boolean isFirstLine = true;
+
+                @Override
+                public void handle(String line) throws DukeException {
+                    boolean isHeader = isFirstLine && line.startsWith(GENERATION_HEADER_PREFIX);
+                    isFirstLine = false;
+
+                    if (!isHeader) {
+                        handler.handle(line);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The header is written before the lines, with the generation of the file increased by one, and the larger of the
+     * next ID in the file and the next ID set.
+     * </p>
+     *
+     * @param source {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("try")
+    public void writeLines(LineSource source) throws DukeException {
+        assert source != null;
+
+        try (StorageLock lock = lock()) {
+            Header header = readHeader();
+            long generation = header.generation + 1;
+            long newNextId = Math.max(header.nextId, nextId);
+
+            storage.writeLines(writer -> {
+                writer.writeLine(GENERATION_HEADER_PREFIX + generation + NEXT_ID_HEADER_SEPARATOR + newNextId);
+                source.writeTo(writer);
+            });
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the header is read. A file without a header, such as one written before the storage was shared, is of
+     * generation 0.
+     * </p>
+     *
+     * @return {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public long readGeneration() throws DukeException {
+        return readHeader().generation;
+    }
+
+    @Override
+    public boolean keepsNextId() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the header is read. A file without a next ID in its header, such as one written before next IDs were kept,
+     * has a next ID of 0.
+     * </p>
+     *
+     * @return {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public long readNextId() throws DukeException {
+        return readHeader().nextId;
+    }
+
+    @Override
+    public void setNextId(long nextId) {
+        this.nextId = nextId;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Waits for other processes to release the lock, giving up if they hold it for too long.
+     * </p>
+     *
+     * @return {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public StorageLock lock() throws DukeException {
+        threadLock.lock();
+
+        if (threadLock.getHoldCount() == 1) {
+            try {
+                acquireFileLock();
+            } catch (DukeException e) {
+                threadLock.unlock();
+                throw e;
+            }
+        }
+
+        return this::unlock;
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public RecordCheck checkRecords() throws DukeException {
+        try (StorageLock lock = lock()) {
+            return storage.checkRecords();
+        }
+    }
+
+    @Override
+    public LineChange pollExternalChange() throws DukeException {
+        return storage.pollExternalChange();
+    }
+
+    @Override
+    public void watch(Runnable listener) throws DukeException {
+        storage.watch(listener);
+    }
+
+    @SuppressWarnings("try")
+    private Header readHeader() throws DukeException {
+        try (StorageLock lock = lock(); BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null || !header.startsWith(GENERATION_HEADER_PREFIX)) {
+                return new Header(0, 0);
+            }
+
+            String[] fields = header.substring(GENERATION_HEADER_PREFIX.length()).split(NEXT_ID_HEADER_SEPARATOR, 2);
+            long generation = Long.parseLong(fields[0].trim());
+            long headerNextId = fields.length > 1 ? Long.parseLong(fields[1].trim()) : 0;
+
+            return new Header(generation, headerNextId);
+        } catch (NoSuchFileException e) {
+            return new Header(0, 0);
+        } catch (NumberFormatException e) {
+            throw new DukeException("The header of the save file is corrupted!");
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when reading the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to read the save file!");
+        }
+    }
+
+    private void acquireFileLock() throws DukeException {
+        assert threadLock.isHeldByCurrentThread();
+
+        try {
+            if (lockChannel == null) {
+                ensureDirectoriesExist();
+                lockChannel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            }
+
+            long deadline = System.currentTimeMillis() + LOCK_TIMEOUT_MILLIS;
+            while (fileLock == null) {
+                fileLock = tryLock();
+
+                if (fileLock == null) {
+                    if (System.currentTimeMillis() >= deadline) {
+                        throw new DukeException("Another Duke has been holding on to the save file for too long!");
+                    }
+
+                    Thread.sleep(LOCK_RETRY_DELAY_MILLIS);
+                }
+            }
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when locking the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to lock the save file!");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DukeException("I was interrupted while waiting to lock the save file!");
+        }
+    }
+
+    private FileLock tryLock() throws IOException {
+        try {
+            return lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Another storage in this process holds the lock, which is waited for like any other process
+            return null;
+        }
+    }
+
+    private void unlock() throws DukeException {
+        assert threadLock.isHeldByCurrentThread();
+
+        try {
+            if (threadLock.getHoldCount() == 1) {
+                FileLock heldLock = fileLock;
+                fileLock = null;
+                heldLock.release();
+            }
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when unlocking the save file!");
+        } finally {
+            threadLock.unlock();
+        }
+    }
+
+    private void ensureDirectoriesExist() throws IOException {
+        try {
+            Path parentDir = lockPath.getParent();
+
+            if (parentDir != null) {
+                Files.createDirectories(parentDir);
+            }
+        } catch (FileAlreadyExistsException e) {
+            // Nothing to do as the directories already exist
+        }
+    }
+}
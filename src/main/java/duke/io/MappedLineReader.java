@@ -0,0 +1,186 @@
+package duke.io;
+
+import duke.exception.DukeException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a UTF-8 file line by line by memory-mapping it one window at a time.
+ * <p>
+ * Only the bytes of the line being decoded are copied out of the mapping, so reading a file needs memory
+ * proportional to its longest line rather than its size.
+ * </p>
+ * <p>
+ * Windows does not allow a file to be replaced while any part of it is still mapped, and a mapping is only released
+ * when it is garbage collected. On Windows, each window is therefore read into a reused buffer instead of mapped.
+ * </p>
+ */
+class MappedLineReader {
+    private static final int MAX_WINDOW_SIZE = 1 << 28;
+    private static final int MAX_LINE_LENGTH = Integer.MAX_VALUE - 8;
+    private static final int INITIAL_LINE_BUFFER_SIZE = 1 << 10;
+
+    private static final boolean CAN_MAP = !System.getProperty("os.name", "").startsWith("Windows");
+
+    private final Path path;
+
+    private ByteBuffer readBuffer;
+    private byte[] lineBuffer = new byte[INITIAL_LINE_BUFFER_SIZE];
+
+    /**
+     * Creates a MappedLineReader object.
+     *
+     * @param path The path of the file to read.
+     */
+    MappedLineReader(Path path) {
+        assert path != null;
+
+        this.path = path;
+    }
+
+    /**
+     * Reads the file line by line, passing each line to the specified handler in order.
+     *
+     * @param handler Handles each line read.
+     * @throws IOException Indicates failure to read the file.
+     * @throws DukeException Indicates that the handler failed to handle a line.
+     */
+    void readLines(LineHandler handler) throws IOException, DukeException {
+        assert handler != null;
+
+        readLinesFrom(0, handler);
+    }
+
+    /**
+     * Reads the file line by line from the specified position, passing each line to the specified handler in order.
+     *
+     * @param position The position of the first byte of the first line to read.
+     * @param handler Handles each line read.
+     * @throws IOException Indicates failure to read the file.
+     * @throws DukeException Indicates that the handler failed to handle a line.
+     */
+    void readLinesFrom(long position, LineHandler handler) throws IOException, DukeException {
+        assert position >= 0;
+        assert handler != null;
+
+        readRawLinesFrom(position, (window, start, end) -> handler.handle(decode(window, start, end)));
+    }
+
+    /**
+     * Reads the file line by line without decoding it, passing the range of bytes of each line to the specified
+     * handler in order.
+     *
+     * @param handler Handles each line read.
+     * @throws IOException Indicates failure to read the file.
+     * @throws DukeException Indicates that the handler failed to handle a line.
+     */
+    void readRawLines(RawLineHandler handler) throws IOException, DukeException {
+        assert handler != null;
+
+        readRawLinesFrom(0, handler);
+    }
+
+    private void readRawLinesFrom(long start, RawLineHandler handler) throws IOException, DukeException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = start;
+            int windowSize = (int) Math.min(Math.max(size - start, 0), MAX_WINDOW_SIZE);
+
+            while (position < size) {
+                int length = (int) Math.min(size - position, windowSize);
+                ByteBuffer window = loadWindow(channel, position, length);
+                boolean isLastWindow = position + length == size;
+
+                int consumed = handleLines(window, length, isLastWindow, handler);
+
+                if (consumed == 0 && !isLastWindow) {
+                    // A single line does not fit in the window
+                    if (windowSize == MAX_LINE_LENGTH) {
+                        throw new IOException("A line in the file is too long to be read.");
+                    }
+                    windowSize = (int) Math.min((long) windowSize * 2, MAX_LINE_LENGTH);
+                }
+
+                position += consumed;
+            }
+        }
+    }
+
+    private int handleLines(ByteBuffer window, int length, boolean isLastWindow, RawLineHandler handler)
+            throws DukeException {
+        int lineStart = 0;
+
+        for (int i = 0; i < length; ++i) {
+            if (window.get(i) == '\n') {
+                handler.handle(window, lineStart, i);
+                // The handler may have moved the limit, which bounds the indexes that can be read
+                window.limit(length);
+                lineStart = i + 1;
+            }
+        }
+
+        if (isLastWindow && lineStart < length) {
+            handler.handle(window, lineStart, length);
+            return length;
+        }
+
+        // The incomplete line at the end of the window is read again from the start of the next window
+        return lineStart;
+    }
+
+    private String decode(ByteBuffer window, int start, int end) {
+        int length = end - start;
+
+        if (lineBuffer.length < length) {
+            lineBuffer = new byte[Math.max(length, lineBuffer.length * 2)];
+        }
+
+        window.position(start);
+        window.get(lineBuffer, 0, length);
+
+        return new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private ByteBuffer loadWindow(FileChannel channel, long position, int length) throws IOException {
+        if (CAN_MAP) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        }
+
+        if (readBuffer == null || readBuffer.capacity() < length) {
+            readBuffer = ByteBuffer.allocate(length);
+        }
+
+        readBuffer.clear();
+        readBuffer.limit(length);
+
+        while (readBuffer.hasRemaining()) {
+            if (channel.read(readBuffer, position + readBuffer.position()) < 0) {
+                throw new IOException("The file was truncated while it was being read.");
+            }
+        }
+
+        return readBuffer;
+    }
+
+    /**
+     * Handles the bytes of each line read from a file.
+     */
+    @FunctionalInterface
+    interface RawLineHandler {
+        /**
+         * Handles the line in the specified range of the window, which may change the position and limit of the
+         * window.
+         *
+         * @param window The window of the file holding the line.
+         * @param start The index of the first byte of the line in the window.
+         * @param end The index just after the last byte of the line in the window, excluding the line break.
+         * @throws DukeException Indicates failure to handle the line.
+         */
+        void handle(ByteBuffer window, int start, int end) throws DukeException;
+    }
+}
@@ -0,0 +1,94 @@
+package duke.io;
+
+import java.util.Arrays;
+
+/**
+ * Represents the positions in a file at which each record starts, along with the position at which the last record
+ * ends.
+ */
+class OffsetTable {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] offsets = new long[INITIAL_CAPACITY];
+    private int recordCount;
+
+    /**
+     * Creates an OffsetTable object with no records.
+     *
+     * @param start The position at which the first record would start.
+     */
+    OffsetTable(long start) {
+        assert start >= 0;
+
+        offsets[0] = start;
+    }
+
+    /**
+     * Returns the number of records.
+     *
+     * @return The number of records.
+     */
+    int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the position at which the record at the specified index starts.
+     *
+     * @param index The index of the record.
+     * @return The position at which the record starts.
+     */
+    long getStart(int index) {
+        assert index >= 0 && index <= recordCount;
+
+        return offsets[index];
+    }
+
+    /**
+     * Returns the length of the record at the specified index.
+     *
+     * @param index The index of the record.
+     * @return The length of the record.
+     */
+    long getLength(int index) {
+        assert index >= 0 && index < recordCount;
+
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * Returns the position at which the last record ends.
+     *
+     * @return The position at which the last record ends.
+     */
+    long getEnd() {
+        return offsets[recordCount];
+    }
+
+    /**
+     * Adds a record that starts where the last record ends.
+     *
+     * @param length The length of the record.
+     */
+    void add(long length) {
+        assert length >= 0;
+
+        if (recordCount + 1 == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+
+        offsets[recordCount + 1] = offsets[recordCount] + length;
+        ++recordCount;
+    }
+
+    /**
+     * Removes the specified number of records from the end.
+     *
+     * @param count The number of records to remove.
+     */
+    void removeLast(int count) {
+        assert count >= 0 && count <= recordCount;
+
+        recordCount -= count;
+    }
+}
@@ -0,0 +1,124 @@
+package duke.io;
+
+import duke.utils.ChecksumUtils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Represents the outcome of checking the checksum of every record in a storage, one line at a time.
+ * <p>
+ * Empty lines and lines starting with {@value #COMMENT_PREFIX}, such as the header of a shared save file, are not
+ * records and are skipped. Only the line numbers of the first few corrupted records are kept.
+ * </p>
+ */
+public class RecordCheck {
+    private static final char COMMENT_PREFIX = '#';
+    private static final int MAX_KEPT_LINE_NUMBERS = 10;
+
+    private final CRC32C crc = new CRC32C();
+    private final List<Long> corruptLineNumbers = new ArrayList<Long>();
+
+    private long lineCount;
+    private long recordCount;
+    private long corruptCount;
+    private long uncheckedCount;
+
+    /**
+     * Checks the specified line, which is the line after the last line checked.
+     *
+     * @param line The line to check, without its line break.
+     */
+    public void checkLine(String line) {
+        assert line != null;
+
+        ++lineCount;
+
+        if (line.isEmpty() || line.charAt(0) == COMMENT_PREFIX) {
+            return;
+        }
+
+        count(ChecksumUtils.check(line));
+    }
+
+    /**
+     * Checks the line in the specified range of the buffer, which is the line after the last line checked.
+     * <p>
+     * The position of the buffer is changed.
+     * </p>
+     *
+     * @param buffer The buffer holding the UTF-8 bytes of the line.
+     * @param start The index of the first byte of the line in the buffer.
+     * @param end The index just after the last byte of the line in the buffer, excluding the line break.
+     */
+    public void checkLine(ByteBuffer buffer, int start, int end) {
+        assert buffer != null;
+
+        ++lineCount;
+
+        if (start == end || buffer.get(start) == COMMENT_PREFIX) {
+            return;
+        }
+
+        count(ChecksumUtils.check(buffer, start, end, crc));
+    }
+
+    /**
+     * Returns the number of records checked.
+     *
+     * @return The number of records checked.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the number of records whose checksums do not match.
+     *
+     * @return The number of corrupted records.
+     */
+    public long getCorruptCount() {
+        return corruptCount;
+    }
+
+    /**
+     * Returns the number of records without checksums, which could not be checked.
+     *
+     * @return The number of records without checksums.
+     */
+    public long getUncheckedCount() {
+        return uncheckedCount;
+    }
+
+    /**
+     * Returns the line numbers of the first few corrupted records, starting from 1.
+     *
+     * @return The line numbers of the first few corrupted records.
+     */
+    public List<Long> getCorruptLineNumbers() {
+        return Collections.unmodifiableList(corruptLineNumbers);
+    }
+
+    private void count(ChecksumUtils.Status status) {
+        ++recordCount;
+
+        switch (status) {
+        case VALID:
+            break;
+        case INVALID:
+            ++corruptCount;
+            if (corruptLineNumbers.size() < MAX_KEPT_LINE_NUMBERS) {
+                corruptLineNumbers.add(lineCount);
+            }
+            break;
+        case MISSING:
+            ++uncheckedCount;
+            break;
+        default:
+            throw new AssertionError(status);
+        }
+    }
+}
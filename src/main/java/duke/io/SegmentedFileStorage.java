@@ -0,0 +1,308 @@
+package duke.io;
+
+import duke.exception.DukeException;
+import duke.task.Task;
+import duke.task.TaskStorage;
+import duke.utils.ParallelUtils;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+
+/**
+ * Represents a storage that splits tasks across segment files in a directory.
+ * <p>
+ * Every segment holds a fixed number of consecutive tasks, apart from the last which may hold fewer, and is a
+ * {@link BinaryFileStorage} file with a header of its own. Segments are loaded and written in parallel, and a change
+ * to the task list only writes the segments holding tasks whose positions changed.
+ * </p>
+ * <p>
+ * Every segment written keeps the next ID in its header, and the largest next ID of all the segments is the next ID of
+ * the storage. The first segment is kept even when there are no tasks, so the next ID is not lost.
+ * </p>
+ */
+public class SegmentedFileStorage implements TaskStorage {
+    /** The number of tasks in every segment but the last. */
+    public static final int DEFAULT_SEGMENT_SIZE = 10000;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".bin";
+
+    private final Path dir;
+    private final int segmentSize;
+
+    private final List<BinaryFileStorage> segments = new ArrayList<BinaryFileStorage>();
+
+    private long nextId = Task.NO_ID;
+
+    /**
+     * Creates a SegmentedFileStorage object with segments of the default size.
+     *
+     * @param dir The path of the directory to keep the segment files in.
+     */
+    public SegmentedFileStorage(Path dir) {
+        this(dir, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates a SegmentedFileStorage object.
+     *
+     * @param dir The path of the directory to keep the segment files in.
+     * @param segmentSize The number of tasks in every segment but the last.
+     */
+    public SegmentedFileStorage(Path dir, int segmentSize) {
+        assert dir != null;
+        assert segmentSize > 0;
+
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+    }
+
+    @Override
+    public boolean doesExist() throws DukeException {
+        try {
+            return Files.isDirectory(dir);
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to check for the save file's existence!");
+        }
+    }
+
+    @Override
+    public synchronized void create() throws DukeException {
+        try {
+            Files.createDirectories(dir);
+        } catch (FileAlreadyExistsException e) {
+            // Nothing to do as the directory already exists
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when creating the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to create the save file!");
+        }
+
+        write(new ArrayList<Task>());
+    }
+
+    @Override
+    public synchronized List<Task> load() throws DukeException {
+        List<Callable<List<Task>>> loads = new ArrayList<Callable<List<Task>>>();
+
+        segments.clear();
+        for (Path segmentPath : findSegments().values()) {
+            BinaryFileStorage segment = createSegment(segmentPath);
+            segments.add(segment);
+            loads.add(segment::load);
+        }
+
+        List<List<Task>> segmentTasks = ParallelUtils.runInParallel(loads);
+
+        int taskCount = 0;
+        for (List<Task> tasks : segmentTasks) {
+            taskCount += tasks.size();
+        }
+
+        List<Task> tasks = new ArrayList<Task>(taskCount);
+        boolean isSegmentedCorrectly = true;
+
+        for (int i = 0; i < segmentTasks.size(); ++i) {
+            tasks.addAll(segmentTasks.get(i));
+
+            // Only the first segment may be empty, when there are no tasks
+            boolean isLastSegment = i == segmentTasks.size() - 1;
+            int size = segmentTasks.get(i).size();
+            isSegmentedCorrectly &= isLastSegment ? (size > 0 || i == 0) && size <= segmentSize : size == segmentSize;
+        }
+
+        // Segments written with a different segment size, or left uneven by a crash, are evened out
+        if (!isSegmentedCorrectly) {
+            write(tasks);
+        }
+
+        return tasks;
+    }
+
+    @Override
+    public synchronized long loadNextId() {
+        long largestNextId = Task.NO_ID;
+        for (BinaryFileStorage segment : segments) {
+            largestNextId = Math.max(largestNextId, segment.loadNextId());
+        }
+
+        return largestNextId;
+    }
+
+    @Override
+    public synchronized void setNextId(long nextId) {
+        this.nextId = nextId;
+
+        for (BinaryFileStorage segment : segments) {
+            segment.setNextId(nextId);
+        }
+    }
+
+    @Override
+    public synchronized void write(List<Task> tasks) throws DukeException {
+        assert tasks != null;
+
+        writeSegmentsFrom(tasks, 0);
+    }
+
+    @Override
+    public synchronized void writeAdded(List<Task> tasks, int index) throws DukeException {
+        assert tasks != null;
+
+        int segmentIndex = index / segmentSize;
+
+        if (index != tasks.size() - 1 || segmentIndex > segments.size()) {
+            writeSegmentsFrom(tasks, segmentIndex);
+            return;
+        }
+
+        if (segmentIndex == segments.size()) {
+            segments.add(createSegment(getSegmentPath(segmentIndex)));
+        }
+
+        segments.get(segmentIndex).writeAdded(getSegmentTasks(tasks, segmentIndex), index % segmentSize);
+    }
+
+    @Override
+    public synchronized void writeRemoved(List<Task> tasks, int index) throws DukeException {
+        assert tasks != null;
+
+        int segmentIndex = index / segmentSize;
+
+        if (index != tasks.size() || index % segmentSize == 0 || segmentIndex != segments.size() - 1) {
+            writeSegmentsFrom(tasks, segmentIndex);
+            return;
+        }
+
+        segments.get(segmentIndex).writeRemoved(getSegmentTasks(tasks, segmentIndex), index % segmentSize);
+    }
+
+    @Override
+    public synchronized void writeUpdated(List<Task> tasks, int index) throws DukeException {
+        assert tasks != null;
+
+        int segmentIndex = index / segmentSize;
+
+        if (segmentIndex >= segments.size()) {
+            writeSegmentsFrom(tasks, segmentIndex);
+            return;
+        }
+
+        segments.get(segmentIndex).writeUpdated(getSegmentTasks(tasks, segmentIndex), index % segmentSize);
+    }
+
+    /**
+     * Replaces the contents of this storage with the tasks loaded from the specified task storage, carrying over the
+     * next ID it keeps.
+     *
+     * @param source The task storage to convert from.
+     * @throws DukeException Indicates failure to load from the source or to write to this storage.
+     */
+    public void convertFrom(TaskStorage source) throws DukeException {
+        assert source != null;
+
+        List<Task> tasks = source.load();
+        setNextId(source.loadNextId());
+
+        create();
+        write(tasks);
+    }
+
+    /**
+     * Writes the segments from the specified segment onwards, and deletes any segments that are no longer needed.
+     * <p>
+     * The last segment is always written, so that the next ID is kept even if the segments deleted held the largest.
+     * </p>
+     */
+    private void writeSegmentsFrom(List<Task> tasks, int firstSegmentIndex) throws DukeException {
+        int segmentCount = Math.max(1, (tasks.size() + segmentSize - 1) / segmentSize);
+
+        List<Callable<Void>> writes = new ArrayList<Callable<Void>>();
+
+        for (int i = Math.min(firstSegmentIndex, segmentCount - 1); i < segmentCount; ++i) {
+            if (i == segments.size()) {
+                segments.add(createSegment(getSegmentPath(i)));
+            }
+
+            BinaryFileStorage segment = segments.get(i);
+            List<Task> segmentTasks = getSegmentTasks(tasks, i);
+
+            writes.add(() -> {
+                segment.write(segmentTasks);
+                return null;
+            });
+        }
+
+        ParallelUtils.runInParallel(writes);
+
+        try {
+            // Segments beyond the last one in use are stale, including any not loaded by this storage
+            for (Path segmentPath : findSegments().tailMap(segmentCount).values()) {
+                Files.deleteIfExists(segmentPath);
+            }
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when writing to the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to write to the save file!");
+        }
+
+        while (segments.size() > segmentCount) {
+            segments.remove(segments.size() - 1);
+        }
+    }
+
+    private BinaryFileStorage createSegment(Path segmentPath) {
+        BinaryFileStorage segment = new BinaryFileStorage(segmentPath);
+        segment.setNextId(nextId);
+
+        return segment;
+    }
+
+    private List<Task> getSegmentTasks(List<Task> tasks, int segmentIndex) {
+        int start = segmentIndex * segmentSize;
+        return tasks.subList(start, Math.min(tasks.size(), start + segmentSize));
+    }
+
+    private TreeMap<Integer, Path> findSegments() throws DukeException {
+        TreeMap<Integer, Path> segmentPaths = new TreeMap<Integer, Path>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path segmentPath : stream) {
+                String fileName = segmentPath.getFileName().toString();
+                String indexStr = fileName.substring(SEGMENT_PREFIX.length(),
+                        fileName.length() - SEGMENT_SUFFIX.length());
+                try {
+                    segmentPaths.put(Integer.parseInt(indexStr), segmentPath);
+                } catch (NumberFormatException e) {
+                    // Not a segment, so leave it alone
+                }
+            }
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when reading the save file!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to read the save file!");
+        }
+
+        // A gap means the segments after it were not written by this storage, so they cannot be placed
+        int expectedIndex = 0;
+        for (int index : segmentPaths.keySet()) {
+            if (index != expectedIndex) {
+                throw new DukeException("A segment of the save file is missing!");
+            }
+            ++expectedIndex;
+        }
+
+        return segmentPaths;
+    }
+
+    private Path getSegmentPath(int segmentIndex) {
+        return dir.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segmentIndex, SEGMENT_SUFFIX));
+    }
+}
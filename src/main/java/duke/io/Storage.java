@@ -2,6 +2,9 @@ package duke.io;
 
 import duke.exception.DukeException;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Represents a readable and writable storage.
  */
@@ -23,17 +26,200 @@ public interface Storage {
 
     /**
      * Returns the contents stored in the storage.
+     * <p>
+     * By default, the contents are read line by line and every line, including the last, is followed by a line break.
+     * </p>
      *
      * @return The contents stored in the storage.
      * @throws DukeException Indicates failure to read from storage.
      */
-    String read() throws DukeException;
+    default String read() throws DukeException {
+        StringBuilder data = new StringBuilder();
+        readLines(line -> data.append(line).append('\n'));
+
+        return data.toString();
+    }
+
+    /**
+     * Reads the contents stored in the storage line by line, passing each line to the specified handler in order.
+     * <p>
+     * Implementations should avoid holding all the contents in memory at once.
+     * </p>
+     *
+     * @param handler Handles each line read.
+     * @throws DukeException Indicates failure to read from storage or that the handler failed to handle a line.
+     */
+    void readLines(LineHandler handler) throws DukeException;
 
     /**
      * Writes data to the storage.
+     * <p>
+     * By default, the data is written line by line, and the last line is followed by a line break even if it was not
+     * in the data.
+     * </p>
      *
      * @param data The data to be written to the storage.
      * @throws DukeException Indicates failure to write to storage.
      */
-    void write(String data) throws DukeException;
+    default void write(String data) throws DukeException {
+        assert data != null;
+
+        writeLines(writer -> {
+            int lineStart = 0;
+            while (lineStart < data.length()) {
+                int lineEnd = data.indexOf('\n', lineStart);
+                if (lineEnd < 0) {
+                    lineEnd = data.length();
+                }
+
+                writer.writeLine(data.subSequence(lineStart, lineEnd));
+                lineStart = lineEnd + 1;
+            }
+        });
+    }
+
+    /**
+     * Replaces the contents of the storage with the lines produced by the specified source, one line at a time.
+     * <p>
+     * Implementations should avoid holding all the lines in memory at once.
+     * </p>
+     *
+     * @param source Produces the lines to be written to the storage.
+     * @throws DukeException Indicates failure to write to storage or that the source failed to produce a line.
+     */
+    void writeLines(LineSource source) throws DukeException;
+
+    /**
+     * Adds the lines produced by the specified source to the end of the storage, creating the storage if it does not
+     * exist.
+     * <p>
+     * By default, the lines already in the storage are read and written again before the new lines.
+     * </p>
+     *
+     * @param source Produces the lines to be added to the storage.
+     * @throws DukeException Indicates failure to read from or write to storage or that the source failed to produce a
+     *                       line.
+     */
+    default void appendLines(LineSource source) throws DukeException {
+        assert source != null;
+
+        List<String> lines = new ArrayList<String>();
+        if (doesExist()) {
+            readLines(lines::add);
+        }
+
+        writeLines(writer -> {
+            for (String line : lines) {
+                writer.writeLine(line);
+            }
+            source.writeTo(writer);
+        });
+    }
+
+    /**
+     * Returns the change made to the storage outside of the app since it was last read or written, or null if there
+     * is none.
+     * <p>
+     * By default, changes made outside of the app are not looked for, so null is always returned.
+     * </p>
+     *
+     * @return The change made to the storage outside of the app, or null if there is none.
+     * @throws DukeException Indicates failure to read from storage.
+     */
+    default LineChange pollExternalChange() throws DukeException {
+        return null;
+    }
+
+    /**
+     * Starts calling the specified listener on a background thread whenever the storage may have been changed outside
+     * of the app.
+     * <p>
+     * By default, changes made outside of the app are not looked for, so the listener is never called.
+     * </p>
+     *
+     * @param listener Called whenever the storage may have been changed.
+     * @throws DukeException Indicates failure to watch the storage.
+     */
+    default void watch(Runnable listener) throws DukeException {
+    }
+
+    /**
+     * Checks the checksum of every record in the storage and returns the outcome.
+     * <p>
+     * By default, the storage is read line by line and each line is checked as it is read.
+     * </p>
+     *
+     * @return The outcome of checking every record.
+     * @throws DukeException Indicates failure to read from storage.
+     */
+    default RecordCheck checkRecords() throws DukeException {
+        RecordCheck check = new RecordCheck();
+        readLines(check::checkLine);
+
+        return check;
+    }
+
+    /**
+     * Returns the generation of the storage, which increases every time any process writes to the storage.
+     * <p>
+     * By default, generations are not kept, so 0 is always returned.
+     * </p>
+     *
+     * @return The generation of the storage.
+     * @throws DukeException Indicates failure to read from storage.
+     */
+    default long readGeneration() throws DukeException {
+        return 0;
+    }
+
+    /**
+     * Returns true if the storage keeps a next ID in its header, which is the smallest ID that may be given to a new
+     * record. Otherwise, returns false.
+     * <p>
+     * By default, the storage has no header, so false is always returned.
+     * </p>
+     *
+     * @return True if the storage keeps a next ID. False otherwise.
+     */
+    default boolean keepsNextId() {
+        return false;
+    }
+
+    /**
+     * Returns the next ID kept in the header of the storage, or 0 if there is none.
+     * <p>
+     * By default, the storage has no header, so 0 is always returned.
+     * </p>
+     *
+     * @return The next ID kept in the header of the storage.
+     * @throws DukeException Indicates failure to read from storage.
+     */
+    default long readNextId() throws DukeException {
+        return 0;
+    }
+
+    /**
+     * Sets the next ID to be kept in the header of the storage when lines are next written to it.
+     * <p>
+     * By default, the storage has no header, so the next ID is not kept.
+     * </p>
+     *
+     * @param nextId The smallest ID that may be given to a new record.
+     */
+    default void setNextId(long nextId) {
+    }
+
+    /**
+     * Locks the storage, keeping other processes from reading or writing it until the returned lock is closed.
+     * <p>
+     * By default, the storage is not shared with other processes, so nothing is locked.
+     * </p>
+     *
+     * @return The held lock.
+     * @throws DukeException Indicates failure to lock the storage.
+     */
+    default StorageLock lock() throws DukeException {
+        return () -> {
+        };
+    }
 }
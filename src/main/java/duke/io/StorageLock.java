@@ -0,0 +1,17 @@
+package duke.io;
+
+import duke.exception.DukeException;
+
+/**
+ * Represents a held lock on a storage, which keeps other processes from changing the storage until it is closed.
+ */
+@FunctionalInterface
+public interface StorageLock extends AutoCloseable {
+    /**
+     * Releases the lock. Should be called exactly once.
+     *
+     * @throws DukeException Indicates failure to release the lock.
+     */
+    @Override
+    void close() throws DukeException;
+}
@@ -0,0 +1,629 @@
+package duke.io;
+
+import duke.exception.DukeException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents a storage that notices when its file is changed outside of the app.
+ * <p>
+ * The hash of every line read from or written to the file is kept, along with the size, last modified time and
+ * generation of the file. When any of them differs from what this storage last read or wrote, the file was changed
+ * outside of the app, and the hashes of its lines are compared with the ones kept to find the run of lines that
+ * changed. Only those lines are kept in memory and passed on, so the change can be merged without parsing the whole
+ * file again.
+ * </p>
+ * <p>
+ * When the file grew and still has the last line kept right where it ended, the file was appended to, as another
+ * process saving new tasks does, so only the bytes after the old end of the file are read. Any other change falls
+ * back to reading the whole file to compare the hashes of every line. The wrapped storage must keep its contents in
+ * the file as UTF-8 lines for the appended lines to be read directly.
+ * </p>
+ * <p>
+ * Writes are refused while there is an unmerged change, so changes made outside of the app are never overwritten.
+ * Every read and write holds the lock of the wrapped storage, if it has one, so another process cannot write the file
+ * between this storage checking it for changes and writing it. The lock is always taken before synchronizing on this
+ * storage, the same order as callers that hold the lock themselves, so the two never wait on each other.
+ * </p>
+ */
+public class WatchedStorage implements Storage {
+    /** Reads are retried when the file changes while it is read, such as when another app is still writing it. */
+    private static final int MAX_READ_ATTEMPTS = 3;
+
+    /** The end of the file is read in chunks of growing size until the last line kept is found. */
+    private static final int INITIAL_TAIL_SIZE = 1 << 12;
+    private static final int MAX_TAIL_SIZE = 1 << 28;
+
+    private final Storage storage;
+    private final Path path;
+
+    private long[] baseLineHashes = new long[0];
+    private long baseLineCount;
+    private FileState baseState;
+
+    private Thread watcher;
+
+    /**
+     * Creates a WatchedStorage object.
+     *
+     * @param storage The storage to read from and write to.
+     * @param path The path of the file the storage keeps its contents in.
+     */
+    public WatchedStorage(Storage storage, Path path) {
+        assert storage != null;
+        assert path != null;
+
+        this.storage = storage;
+        this.path = path;
+    }
+
+    @Override
+    public boolean doesExist() throws DukeException {
+        return storage.doesExist();
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public void create() throws DukeException {
+        try (StorageLock lock = storage.lock()) {
+            synchronized (this) {
+                storage.create();
+                updateBaseFromFile();
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public String read() throws DukeException {
+        try (StorageLock lock = storage.lock()) {
+            synchronized (this) {
+                String data = storage.read();
+
+                updateBase(hashLines(data));
+
+                return data;
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public void readLines(LineHandler handler) throws DukeException {
+        assert handler != null;
+
+        try (StorageLock lock = storage.lock()) {
+            synchronized (this) {
+                LineHashes lineHashes = new LineHashes();
+                storage.readLines(line -> {
+                    lineHashes.add(line);
+                    handler.handle(line);
+                });
+
+                updateBase(lineHashes);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public void write(String data) throws DukeException {
+        assert data != null;
+
+        try (StorageLock lock = storage.lock()) {
+            synchronized (this) {
+                validateNoExternalChange();
+
+                try {
+                    storage.write(data);
+                } catch (DukeException e) {
+                    updateBaseFromFileQuietly();
+                    throw e;
+                }
+
+                updateBase(hashLines(data));
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public void writeLines(LineSource source) throws DukeException {
+        assert source != null;
+
+        try (StorageLock lock = storage.lock()) {
+            synchronized (this) {
+                validateNoExternalChange();
+
+                LineHashes lineHashes = new LineHashes();
+                try {
+                    storage.writeLines(writer -> source.writeTo(line -> {
+                        lineHashes.add(line);
+                        writer.writeLine(line);
+                    }));
+                } catch (DukeException e) {
+                    updateBaseFromFileQuietly();
+                    throw e;
+                }
+
+                updateBase(lineHashes);
+            }
+        }
+    }
+
+    /**
+     * Returns the change made to the file outside of the app since this storage last read, wrote or returned a change,
+     * or null if there is none.
+     * <p>
+     * A file that no longer exists is not treated as changed, as writing to it recreates it.
+     * </p>
+     *
+     * @return {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("try")
+    public LineChange pollExternalChange() throws DukeException {
+        try (StorageLock lock = storage.lock()) {
+            synchronized (this) {
+                return pollExternalChangeWhileLocked();
+            }
+        }
+    }
+
+    @Override
+    public RecordCheck checkRecords() throws DukeException {
+        return storage.checkRecords();
+    }
+
+    @Override
+    public long readGeneration() throws DukeException {
+        return storage.readGeneration();
+    }
+
+    @Override
+    public boolean keepsNextId() {
+        return storage.keepsNextId();
+    }
+
+    @Override
+    public long readNextId() throws DukeException {
+        return storage.readNextId();
+    }
+
+    @Override
+    public void setNextId(long nextId) {
+        storage.setNextId(nextId);
+    }
+
+    @Override
+    public StorageLock lock() throws DukeException {
+        return storage.lock();
+    }
+
+    private LineChange pollExternalChangeWhileLocked() throws DukeException {
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; ++attempt) {
+            FileState state = readFileState();
+            if (state == null || state.equals(baseState)) {
+                return null;
+            }
+
+            long[] oldBaseLineHashes = baseLineHashes;
+            long oldBaseLineCount = baseLineCount;
+            LineChange change = baseState != null && state.size > baseState.size && isAppendedTo(baseState.size)
+                    ? readAppendedChange(baseState.size)
+                    : readChange();
+
+            // Another app is still writing the file, so what was read may be a mix of old and new lines
+            if (!state.equals(readFileState())) {
+                baseLineHashes = oldBaseLineHashes;
+                baseLineCount = oldBaseLineCount;
+                continue;
+            }
+
+            baseState = state;
+
+            // The file was rewritten with the same lines, such as by an editor saving without changes
+            if (change.getUnchangedPrefixLength() + change.getUnchangedSuffixLength()
+                    == change.getBaseLineHashes().length && change.getChangedLines().isEmpty()) {
+                return null;
+            }
+
+            return change;
+        }
+
+        throw new DukeException("The save file keeps changing while I'm reading it!");
+    }
+
+    /**
+     * Returns the change found by comparing the hashes of every line of the file with the ones kept, and keeps the
+     * hashes of the lines of the file in their place.
+     */
+    private LineChange readChange() throws DukeException {
+        LineHashes newLineHashes = readLineHashes();
+        long[] lineHashes = newLineHashes.toArray();
+
+        int prefixLength = 0;
+        int maxMatchLength = Math.min(baseLineHashes.length, lineHashes.length);
+        while (prefixLength < maxMatchLength && lineHashes[prefixLength] == baseLineHashes[prefixLength]) {
+            ++prefixLength;
+        }
+
+        int suffixLength = 0;
+        while (suffixLength < maxMatchLength - prefixLength && lineHashes[lineHashes.length - suffixLength - 1]
+                == baseLineHashes[baseLineHashes.length - suffixLength - 1]) {
+            ++suffixLength;
+        }
+
+        List<String> changedLines = new ArrayList<String>();
+        List<Long> changedLineNumbers = new ArrayList<Long>();
+        readLinesBetween(prefixLength, lineHashes.length - suffixLength, changedLines, changedLineNumbers);
+
+        LineChange change = new LineChange(baseLineHashes, prefixLength, suffixLength, changedLines,
+                toArray(changedLineNumbers));
+
+        baseLineHashes = lineHashes;
+        baseLineCount = newLineHashes.getLineCount();
+
+        return change;
+    }
+
+    /**
+     * Returns the lines appended after the specified size of the file as a change, reading only from there, and adds
+     * their hashes to the ones kept.
+     */
+    private LineChange readAppendedChange(long baseSize) throws DukeException {
+        LineHashes appendedLineHashes = new LineHashes();
+        List<String> appendedLines = new ArrayList<String>();
+        List<Long> appendedLineNumbers = new ArrayList<Long>();
+
+        try {
+            new MappedLineReader(path).readLinesFrom(baseSize, line -> {
+                appendedLineHashes.add(line);
+
+                if (!line.isEmpty()) {
+                    appendedLines.add(line);
+                    appendedLineNumbers.add(baseLineCount + appendedLineHashes.getLineCount());
+                }
+            });
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when checking the save file for changes!");
+        } catch (OutOfMemoryError e) {
+            throw new DukeException("I need more memory to check the save file for changes!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to check the save file for changes!");
+        }
+
+        LineChange change = new LineChange(baseLineHashes, baseLineHashes.length, 0, appendedLines,
+                toArray(appendedLineNumbers));
+
+        long[] appendedHashes = appendedLineHashes.toArray();
+        long[] lineHashes = Arrays.copyOf(baseLineHashes, baseLineHashes.length + appendedHashes.length);
+        System.arraycopy(appendedHashes, 0, lineHashes, baseLineHashes.length, appendedHashes.length);
+
+        baseLineHashes = lineHashes;
+        baseLineCount += appendedLineHashes.getLineCount();
+
+        return change;
+    }
+
+    /**
+     * Returns true if the file still ends its first specified number of bytes with a line break right after the last
+     * non-empty line kept, in which case the file is taken to have only been appended to after them. Otherwise,
+     * returns false.
+     * <p>
+     * Only the end of the kept lines is checked, the same way tools that follow a growing log file do, so an edit to an
+     * earlier line made together with an append is only noticed on a later change that is not an append.
+     * </p>
+     */
+    private boolean isAppendedTo(long baseSize) throws DukeException {
+        if (baseSize == 0) {
+            return true;
+        }
+
+        if (baseLineHashes.length == 0) {
+            return false;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int length = (int) Math.min(baseSize, INITIAL_TAIL_SIZE);
+
+            while (true) {
+                long start = baseSize - length;
+                ByteBuffer tail = ByteBuffer.allocate(length);
+                while (tail.hasRemaining()) {
+                    if (channel.read(tail, start + tail.position()) < 0) {
+                        return false;
+                    }
+                }
+
+                byte[] bytes = tail.array();
+                if (bytes[length - 1] != '\n') {
+                    return false;
+                }
+
+                int lineEnd = length - 1;
+                while (lineEnd > 0 && bytes[lineEnd - 1] == '\n') {
+                    --lineEnd;
+                }
+
+                int lineStart = lineEnd;
+                while (lineStart > 0 && bytes[lineStart - 1] != '\n') {
+                    --lineStart;
+                }
+
+                if (lineStart > 0 || start == 0) {
+                    String line = new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8);
+                    return !line.isEmpty() && LineChange.hashLine(line) == baseLineHashes[baseLineHashes.length - 1];
+                }
+
+                // The last line does not fit in what was read
+                if ((long) length * 2 > MAX_TAIL_SIZE) {
+                    return false;
+                }
+                length = (int) Math.min(baseSize, (long) length * 2);
+            }
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when checking the save file for changes!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to check the save file for changes!");
+        }
+    }
+
+    /**
+     * Starts watching the directory of the file on a background thread, calling the specified listener whenever the
+     * file may have been changed.
+     * <p>
+     * The listener is also called for changes made by this storage, and should call {@link #pollExternalChange()} to
+     * find out whether anything changed outside of the app. Does nothing if the storage is already being watched.
+     * </p>
+     *
+     * @param listener Called on the background thread whenever the file may have been changed.
+     * @throws DukeException Indicates failure to watch the directory of the file.
+     */
+    @Override
+    public synchronized void watch(Runnable listener) throws DukeException {
+        assert listener != null;
+
+        if (watcher != null) {
+            return;
+        }
+
+        Path dir = path.toAbsolutePath().getParent();
+        assert dir != null;
+
+        WatchService watchService;
+        try {
+            watchService = dir.getFileSystem().newWatchService();
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when watching the save file for changes!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to watch the save file for changes!");
+        }
+
+        watcher = new Thread(() -> runWatcher(watchService, listener), "save-file-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void runWatcher(WatchService watchService, Runnable listener) {
+        Path fileName = path.getFileName();
+
+        try (watchService) {
+            while (true) {
+                WatchKey key = watchService.take();
+
+                boolean isFileEvent = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    // Events are dropped when too many happen at once, in which case the file may be among them
+                    isFileEvent |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                            || fileName.equals(event.context());
+                }
+
+                if (isFileEvent) {
+                    listener.run();
+                }
+
+                if (!key.reset()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Nothing to do as the watcher is stopping
+        } catch (IOException e) {
+            // Closing the watch service failed, which leaves nothing else to clean up
+        }
+    }
+
+    private void validateNoExternalChange() throws DukeException {
+        FileState state = readFileState();
+
+        if (state != null && !state.equals(baseState)) {
+            throw new DukeException("Someone changed the save file behind my back just now! Try that again after I "
+                    + "merge in their changes.");
+        }
+    }
+
+    private void updateBaseFromFile() throws DukeException {
+        updateBase(readLineHashes());
+    }
+
+    private void updateBase(LineHashes lineHashes) throws DukeException {
+        baseLineHashes = lineHashes.toArray();
+        baseLineCount = lineHashes.getLineCount();
+        baseState = readFileState();
+    }
+
+    private void updateBaseFromFileQuietly() {
+        try {
+            updateBaseFromFile();
+        } catch (DukeException e) {
+            // The file cannot be read, so any change to it will be noticed when it can
+            baseState = null;
+        }
+    }
+
+    private LineHashes readLineHashes() throws DukeException {
+        LineHashes lineHashes = new LineHashes();
+        storage.readLines(lineHashes::add);
+
+        return lineHashes;
+    }
+
+    /**
+     * Reads the non-empty lines whose indexes are from start, inclusive, to end, exclusive, along with their line
+     * numbers.
+     */
+    private void readLinesBetween(int start, int end, List<String> lines, List<Long> lineNumbers)
+            throws DukeException {
+        if (start >= end) {
+            return;
+        }
+
+        storage.readLines(new LineHandler() {
+            private long lineNumber;
+            private int index;
+
+            @Override
+            public void handle(String line) {
+                ++lineNumber;
+
+                if (line.isEmpty()) {
+                    return;
+                }
+
+                if (index >= start && index < end) {
+                    lines.add(line);
+                    lineNumbers.add(lineNumber);
+                }
+                ++index;
+            }
+        });
+    }
+
+    private static long[] toArray(List<Long> values) {
+        long[] array = new long[values.size()];
+        for (int i = 0; i < array.length; ++i) {
+            array[i] = values.get(i);
+        }
+
+        return array;
+    }
+
+    private FileState readFileState() throws DukeException {
+        try {
+            return new FileState(Files.size(path), Files.getLastModifiedTime(path), storage.readGeneration());
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when checking the save file for changes!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to check the save file for changes!");
+        }
+    }
+
+    private static LineHashes hashLines(String data) {
+        LineHashes lineHashes = new LineHashes();
+
+        int lineStart = 0;
+        while (lineStart < data.length()) {
+            int lineEnd = data.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = data.length();
+            }
+
+            lineHashes.add(data.subSequence(lineStart, lineEnd));
+            lineStart = lineEnd + 1;
+        }
+
+        return lineHashes;
+    }
+
+    /**
+     * Represents a growable list of the hashes of non-empty lines, along with the number of lines including empty ones.
+     */
+    private static class LineHashes {
+        private static final int INITIAL_CAPACITY = 1 << 10;
+
+        private long[] hashes = new long[INITIAL_CAPACITY];
+        private int count;
+        private long lineCount;
+
+        void add(CharSequence line) {
+            ++lineCount;
+
+            if (line.length() == 0) {
+                return;
+            }
+
+            if (count == hashes.length) {
+                hashes = Arrays.copyOf(hashes, hashes.length * 2);
+            }
+
+            hashes[count++] = LineChange.hashLine(line);
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(hashes, count);
+        }
+
+        long getLineCount() {
+            return lineCount;
+        }
+    }
+
+    /**
+     * Represents the size, last modified time and generation of a file, which change whenever the file is written.
+     * <p>
+     * The generation catches writes that the size and last modified time miss, such as two writes of the same size
+     * within the precision of the last modified time, when the storage keeps generations.
+     * </p>
+     */
+    private static class FileState {
+        private final long size;
+        private final FileTime lastModifiedTime;
+        private final long generation;
+
+        FileState(long size, FileTime lastModifiedTime, long generation) {
+            this.size = size;
+            this.lastModifiedTime = lastModifiedTime;
+            this.generation = generation;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof FileState)) {
+                return false;
+            }
+
+            FileState other = (FileState) obj;
+            return size == other.size && lastModifiedTime.equals(other.lastModifiedTime)
+                    && generation == other.generation;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(size, lastModifiedTime, generation);
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package duke.task;
+
+import duke.exception.DukeException;
+import duke.utils.LocalDateTimeUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents an index of an archive, used to find the blocks of the archive that may hold matching tasks without
+ * reading the whole archive.
+ * <p>
+ * The archive is split into blocks of consecutive tasks. For each block, the index records where the block starts in
+ * the archive and the earliest and latest dates and times of its tasks. For each term in the descriptions of the
+ * tasks, the index records the blocks holding a task with that term.
+ * </p>
+ * <p>
+ * The terms are written in sorted order, followed by a directory of every {@value #DIRECTORY_INTERVAL}th term. An index
+ * read from a file only holds the blocks and the directory in memory, and reads the entries of the terms being searched
+ * for from the file, so an index with millions of terms is still quick to search.
+ * </p>
+ */
+class ArchiveIndex {
+    /** The suffix added to the path of an archive to get the path of its index. */
+    static final String INDEX_SUFFIX = ".idx";
+
+    /** The bytes "DUKI" read as an int. */
+    private static final int MAGIC_NUMBER = 0x44554b49;
+    private static final int FORMAT_VERSION = 1;
+
+    /** Longer terms are indexed by their first characters only, which keeps the index small. */
+    private static final int MAX_TERM_LENGTH = 64;
+
+    private static final String TERM_SEPARATOR_REGEX = "[^\\p{L}\\p{N}]+";
+
+    private static final long NO_DATE_TIME = Long.MIN_VALUE;
+
+    /** The number of terms between consecutive terms in the directory. */
+    private static final int DIRECTORY_INTERVAL = 128;
+
+    /** The length of the trailer, which holds where the directory starts and the number of terms in it. */
+    private static final int TRAILER_LENGTH = Long.BYTES + Integer.BYTES;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final List<Long> blockStarts = new ArrayList<Long>();
+    private final List<Long> blockFirstEpochSeconds = new ArrayList<Long>();
+    private final List<Long> blockLastEpochSeconds = new ArrayList<Long>();
+    private long end;
+
+    /** The blocks holding each term, if the index is being built rather than read from a file. */
+    private final Map<String, List<Integer>> termToBlocks = new HashMap<String, List<Integer>>();
+
+    /** The file the index was read from, or null if the index is being built. */
+    private Path path;
+    private String[] directoryTerms;
+    private long[] directoryOffsets;
+    private long directoryStart;
+
+    /**
+     * Returns the distinct terms in the specified text, which are its runs of letters and digits in lowercase.
+     *
+     * @param text The text to extract terms from.
+     * @return The distinct terms in the text.
+     */
+    static Set<String> extractTerms(String text) {
+        assert text != null;
+
+        Set<String> terms = new LinkedHashSet<String>();
+
+        for (String term : text.toLowerCase(Locale.ROOT).split(TERM_SEPARATOR_REGEX)) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+
+        return terms;
+    }
+
+    /**
+     * Starts a new block at the specified position in the archive. Tasks added after this belong to the new block.
+     *
+     * @param start The position in the archive at which the block starts.
+     */
+    void startBlock(long start) {
+        assert blockStarts.isEmpty() || start >= blockStarts.get(blockStarts.size() - 1);
+
+        blockStarts.add(start);
+        blockFirstEpochSeconds.add(NO_DATE_TIME);
+        blockLastEpochSeconds.add(NO_DATE_TIME);
+    }
+
+    /**
+     * Adds the specified task to the current block.
+     *
+     * @param task The task to be added.
+     */
+    void addTask(Task task) {
+        assert task != null;
+        assert !blockStarts.isEmpty();
+
+        int block = blockStarts.size() - 1;
+
+        for (String term : extractTerms(task.getDescription())) {
+            List<Integer> blocks = termToBlocks.computeIfAbsent(toIndexedTerm(term), key -> new ArrayList<Integer>());
+            if (blocks.isEmpty() || blocks.get(blocks.size() - 1) != block) {
+                blocks.add(block);
+            }
+        }
+
+        LocalDateTime first = task.getFirstDateTime();
+        if (first == null) {
+            return;
+        }
+
+        long firstEpochSecond = LocalDateTimeUtils.toEpochSecond(first);
+        long lastEpochSecond = LocalDateTimeUtils.toEpochSecond(task.getLastDateTime());
+
+        if (blockFirstEpochSeconds.get(block) == NO_DATE_TIME) {
+            blockFirstEpochSeconds.set(block, firstEpochSecond);
+            blockLastEpochSeconds.set(block, lastEpochSecond);
+        } else {
+            blockFirstEpochSeconds.set(block, Math.min(blockFirstEpochSeconds.get(block), firstEpochSecond));
+            blockLastEpochSeconds.set(block, Math.max(blockLastEpochSeconds.get(block), lastEpochSecond));
+        }
+    }
+
+    /**
+     * Records where the last block ends, after all tasks have been added.
+     *
+     * @param end The position in the archive at which the last block ends.
+     */
+    void finish(long end) {
+        this.end = end;
+    }
+
+    /**
+     * Returns the position in the archive at which the last block ends, which is the size of the archive.
+     *
+     * @return The position in the archive at which the last block ends.
+     */
+    long getEnd() {
+        return end;
+    }
+
+    int getBlockCount() {
+        return blockStarts.size();
+    }
+
+    long getBlockStart(int block) {
+        return blockStarts.get(block);
+    }
+
+    long getBlockEnd(int block) {
+        return block + 1 < blockStarts.size() ? blockStarts.get(block + 1) : end;
+    }
+
+    /**
+     * Returns the blocks that may hold a task with all the specified terms and a date and time within the specified
+     * range, in order.
+     *
+     * @param terms The terms that matching tasks must have, which may be empty.
+     * @param from The start of the range, or null if matching tasks do not need a date and time within a range.
+     * @param to The end of the range, or null if matching tasks do not need a date and time within a range.
+     * @return The blocks that may hold a matching task.
+     * @throws IOException Indicates failure to read from the file the index was read from.
+     * @throws DukeException Indicates incorrect data in the file the index was read from.
+     */
+    List<Integer> findCandidateBlocks(Set<String> terms, LocalDateTime from, LocalDateTime to)
+            throws IOException, DukeException {
+        assert terms != null;
+        assert (from == null) == (to == null);
+
+        boolean[] isCandidate = new boolean[getBlockCount()];
+        Arrays.fill(isCandidate, true);
+
+        for (String term : terms) {
+            boolean[] hasTerm = new boolean[getBlockCount()];
+            for (int block : getBlocks(toIndexedTerm(term))) {
+                hasTerm[block] = true;
+            }
+
+            for (int block = 0; block < isCandidate.length; ++block) {
+                isCandidate[block] &= hasTerm[block];
+            }
+        }
+
+        List<Integer> candidates = new ArrayList<Integer>();
+
+        for (int block = 0; block < isCandidate.length; ++block) {
+            if (isCandidate[block] && (from == null || isBlockDuring(block, from, to))) {
+                candidates.add(block);
+            }
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Writes the index to the specified file.
+     *
+     * @param path The path of the file to write to.
+     * @throws IOException Indicates failure to write to the file.
+     */
+    void write(Path path) throws IOException {
+        assert path != null;
+        assert this.path == null;
+
+        List<String> terms = new ArrayList<String>(termToBlocks.keySet());
+        Collections.sort(terms);
+
+        List<String> directoryTerms = new ArrayList<String>();
+        List<Long> directoryOffsets = new ArrayList<Long>();
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path),
+                BUFFER_SIZE))) {
+            out.writeInt(MAGIC_NUMBER);
+            out.writeByte(FORMAT_VERSION);
+
+            out.writeInt(getBlockCount());
+            for (int block = 0; block < getBlockCount(); ++block) {
+                out.writeLong(blockStarts.get(block));
+                out.writeLong(blockFirstEpochSeconds.get(block));
+                out.writeLong(blockLastEpochSeconds.get(block));
+            }
+            out.writeLong(end);
+
+            for (int i = 0; i < terms.size(); ++i) {
+                if (i % DIRECTORY_INTERVAL == 0) {
+                    directoryTerms.add(terms.get(i));
+                    directoryOffsets.add(getPosition(out));
+                }
+
+                List<Integer> blocks = termToBlocks.get(terms.get(i));
+                out.writeUTF(terms.get(i));
+                out.writeInt(blocks.size());
+                for (int block : blocks) {
+                    out.writeInt(block);
+                }
+            }
+
+            long directoryStart = getPosition(out);
+            for (int i = 0; i < directoryTerms.size(); ++i) {
+                out.writeUTF(directoryTerms.get(i));
+                out.writeLong(directoryOffsets.get(i));
+            }
+
+            out.writeLong(directoryStart);
+            out.writeInt(directoryTerms.size());
+        }
+    }
+
+    /**
+     * Returns the index read from the specified file.
+     * <p>
+     * Only the blocks and the directory of terms are read. The entries of terms are read from the file when searching.
+     * </p>
+     *
+     * @param path The path of the file to read from.
+     * @return The index read from the file.
+     * @throws IOException Indicates failure to read from the file.
+     * @throws DukeException Indicates that the file is not an index in a format that is recognised.
+     */
+    static ArchiveIndex read(Path path) throws IOException, DukeException {
+        assert path != null;
+
+        ArchiveIndex index = new ArchiveIndex();
+        index.path = path;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel),
+                    BUFFER_SIZE));
+            if (in.readInt() != MAGIC_NUMBER || in.readUnsignedByte() != FORMAT_VERSION) {
+                throw new DukeException("An archive index is not in a format I recognise!");
+            }
+
+            int blockCount = in.readInt();
+            for (int block = 0; block < blockCount; ++block) {
+                index.blockStarts.add(in.readLong());
+                index.blockFirstEpochSeconds.add(in.readLong());
+                index.blockLastEpochSeconds.add(in.readLong());
+            }
+            index.end = in.readLong();
+
+            if (size < TRAILER_LENGTH) {
+                throw new EOFException();
+            }
+
+            DataInputStream trailer = new DataInputStream(new ByteArrayInputStream(
+                    readBytes(channel, size - TRAILER_LENGTH, size)));
+            index.directoryStart = trailer.readLong();
+            int directoryCount = trailer.readInt();
+
+            if (index.directoryStart < 0 || index.directoryStart > size - TRAILER_LENGTH || directoryCount < 0) {
+                throw new DukeException("An archive index is not in a format I recognise!");
+            }
+
+            DataInputStream directory = new DataInputStream(new ByteArrayInputStream(
+                    readBytes(channel, index.directoryStart, size - TRAILER_LENGTH)));
+            index.directoryTerms = new String[directoryCount];
+            index.directoryOffsets = new long[directoryCount];
+            for (int i = 0; i < directoryCount; ++i) {
+                index.directoryTerms[i] = directory.readUTF();
+                index.directoryOffsets[i] = directory.readLong();
+            }
+        } catch (EOFException e) {
+            throw new DukeException("An archive index has missing data!");
+        }
+
+        return index;
+    }
+
+    private List<Integer> getBlocks(String term) throws IOException, DukeException {
+        if (path == null) {
+            return termToBlocks.getOrDefault(term, List.of());
+        }
+
+        // The term can only be in the run of terms that starts at the last directory term not after it
+        int runIndex = Arrays.binarySearch(directoryTerms, term);
+        if (runIndex < 0) {
+            runIndex = -runIndex - 2;
+        }
+        if (runIndex < 0) {
+            return List.of();
+        }
+
+        long runStart = directoryOffsets[runIndex];
+        long runEnd = runIndex + 1 < directoryOffsets.length ? directoryOffsets[runIndex + 1] : directoryStart;
+        if (runStart < 0 || runStart > runEnd || runEnd > directoryStart) {
+            throw new DukeException("An archive index is not in a format I recognise!");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(readBytes(channel, runStart, runEnd)));
+
+            while (in.available() > 0) {
+                String runTerm = in.readUTF();
+                int blockCount = in.readInt();
+
+                if (!runTerm.equals(term)) {
+                    in.skipBytes(blockCount * Integer.BYTES);
+                    continue;
+                }
+
+                List<Integer> blocks = new ArrayList<Integer>(blockCount);
+                for (int i = 0; i < blockCount; ++i) {
+                    int block = in.readInt();
+                    if (block < 0 || block >= getBlockCount()) {
+                        throw new DukeException("An archive index refers to a part of the archive that doesn't exist!");
+                    }
+                    blocks.add(block);
+                }
+
+                return blocks;
+            }
+        } catch (EOFException e) {
+            throw new DukeException("An archive index has missing data!");
+        }
+
+        return List.of();
+    }
+
+    private static long getPosition(DataOutputStream out) {
+        // DataOutputStream stops counting at Integer.MAX_VALUE, which is far larger than any index
+        assert out.size() < Integer.MAX_VALUE;
+
+        return out.size();
+    }
+
+    private static byte[] readBytes(FileChannel channel, long start, long end) throws IOException {
+        assert end - start <= Integer.MAX_VALUE;
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+
+        return buffer.array();
+    }
+
+    private boolean isBlockDuring(int block, LocalDateTime from, LocalDateTime to) {
+        long first = blockFirstEpochSeconds.get(block);
+        long last = blockLastEpochSeconds.get(block);
+
+        return first != NO_DATE_TIME && first <= LocalDateTimeUtils.toEpochSecond(to)
+                && last >= LocalDateTimeUtils.toEpochSecond(from);
+    }
+
+    private static String toIndexedTerm(String term) {
+        return term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term;
+    }
+}
@@ -0,0 +1,143 @@
+package duke.task;
+
+import duke.exception.DukeException;
+import duke.utils.ParallelUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Represents the collection of archives created by the app, which can be searched all at once.
+ * <p>
+ * The paths of the archives are kept in a registry file, one path per line. Archives are searched in parallel, each
+ * through its own index.
+ * </p>
+ */
+public class ArchiveStore {
+    private final Path registryPath;
+
+    /**
+     * Creates an ArchiveStore object.
+     *
+     * @param registryPath The path of the file listing the paths of the archives.
+     */
+    public ArchiveStore(Path registryPath) {
+        assert registryPath != null;
+
+        this.registryPath = registryPath;
+    }
+
+    /**
+     * Adds the archive at the specified path to the store, if it is not already in the store.
+     *
+     * @param archivePath The path of the archive.
+     * @throws DukeException Indicates failure to read from or write to the registry file.
+     */
+    public synchronized void register(Path archivePath) throws DukeException {
+        assert archivePath != null;
+
+        String archivePathStr = archivePath.toAbsolutePath().normalize().toString();
+        if (getArchivePaths().contains(Path.of(archivePathStr))) {
+            return;
+        }
+
+        try {
+            Path parentDir = registryPath.getParent();
+            if (parentDir != null) {
+                Files.createDirectories(parentDir);
+            }
+
+            Files.writeString(registryPath, archivePathStr + "\n", StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (FileAlreadyExistsException e) {
+            throw new DukeException("I can't keep track of archives as their directory is a file!");
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when keeping track of the archive!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to keep track of the archive!");
+        }
+    }
+
+    /**
+     * Returns the paths of the archives in the store, in the order they were added.
+     *
+     * @return The paths of the archives in the store.
+     * @throws DukeException Indicates failure to read from the registry file.
+     */
+    public synchronized List<Path> getArchivePaths() throws DukeException {
+        Set<Path> archivePaths = new LinkedHashSet<Path>();
+
+        try {
+            if (!Files.exists(registryPath)) {
+                return new ArrayList<Path>();
+            }
+
+            for (String line : Files.readAllLines(registryPath, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    archivePaths.add(Path.of(line.trim()));
+                }
+            }
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when reading the list of archives!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to read the list of archives!");
+        }
+
+        return new ArrayList<Path>(archivePaths);
+    }
+
+    /**
+     * Returns the matching tasks in each archive in the store, as found by
+     * {@link ArchiveTaskStorage#search(String, LocalDateTime, LocalDateTime)}.
+     * <p>
+     * Archives that no longer exist are skipped.
+     * </p>
+     *
+     * @param keyphrase The keyphrase whose words matching tasks must have, which may be empty.
+     * @param from The start of the range, or null if matching tasks do not need a date and time within a range.
+     * @param to The end of the range, or null if matching tasks do not need a date and time within a range.
+     * @return The matching tasks of each archive with any, in the order the archives were added.
+     * @throws DukeException Indicates failure to read from an archive or its index, or incorrect data in them.
+     */
+    public Map<Path, List<Task>> search(String keyphrase, LocalDateTime from, LocalDateTime to)
+            throws DukeException {
+        assert keyphrase != null;
+        assert (from == null) == (to == null);
+
+        List<Path> archivePaths = new ArrayList<Path>();
+        List<Callable<List<Task>>> searches = new ArrayList<Callable<List<Task>>>();
+
+        for (Path archivePath : getArchivePaths()) {
+            ArchiveTaskStorage archive = new ArchiveTaskStorage(archivePath);
+            if (!archive.doesExist()) {
+                continue;
+            }
+
+            archivePaths.add(archivePath);
+            searches.add(() -> archive.search(keyphrase, from, to));
+        }
+
+        List<List<Task>> results = ParallelUtils.runInParallel(searches);
+
+        Map<Path, List<Task>> archiveToTasks = new LinkedHashMap<Path, List<Task>>();
+        for (int i = 0; i < results.size(); ++i) {
+            if (!results.get(i).isEmpty()) {
+                archiveToTasks.put(archivePaths.get(i), results.get(i));
+            }
+        }
+
+        return archiveToTasks;
+    }
+}
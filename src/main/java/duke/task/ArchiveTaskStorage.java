@@ -0,0 +1,305 @@
+package duke.task;
+
+import duke.exception.DukeException;
+import duke.io.AtomicFileStorage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Represents a task storage for archives, keeping each task as a line of text in a file.
+ * <p>
+ * Tasks are streamed to and from the file a block of tasks at a time, so the contents of the file are never held in
+ * memory all at once. Archives whose path ends with {@value #GZIP_EXTENSION} are compressed with gzip, one gzip member
+ * per block, which standard gzip tools read as a single stream.
+ * </p>
+ * <p>
+ * Each archive has an {@link ArchiveIndex} next to it, so searching it only reads the blocks that may hold matching
+ * tasks.
+ * </p>
+ */
+public class ArchiveTaskStorage implements TaskStorage {
+    /** The file extension of archives that are compressed with gzip. */
+    public static final String GZIP_EXTENSION = ".gz";
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** The number of tasks in each block. */
+    private static final int BLOCK_SIZE = 256;
+
+    private final Path path;
+    private final Path tempPath;
+    private final Path indexPath;
+    private final boolean isCompressed;
+
+    /**
+     * Creates an ArchiveTaskStorage object.
+     *
+     * @param path The path of the archive file.
+     */
+    public ArchiveTaskStorage(Path path) {
+        assert path != null;
+
+        this.path = path;
+        this.tempPath = Path.of(path.toString() + TEMP_SUFFIX);
+        this.indexPath = Path.of(path.toString() + ArchiveIndex.INDEX_SUFFIX);
+        this.isCompressed = path.getFileName() != null && path.getFileName().toString().endsWith(GZIP_EXTENSION);
+    }
+
+    @Override
+    public boolean doesExist() throws DukeException {
+        try {
+            return Files.exists(path);
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to check for the archive's existence!");
+        }
+    }
+
+    @Override
+    public void create() throws DukeException {
+        try {
+            Path parentDir = path.getParent();
+            if (parentDir != null) {
+                Files.createDirectories(parentDir);
+            }
+        } catch (FileAlreadyExistsException e) {
+            // Nothing to do as the directories already exist
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when creating the archive!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to create the archive!");
+        }
+
+        write(new ArrayList<Task>());
+    }
+
+    @Override
+    public List<Task> load() throws DukeException {
+        List<Task> tasks = new ArrayList<Task>();
+
+        try (BufferedReader reader = new BufferedReader(openReader(), BUFFER_SIZE)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.isEmpty()) {
+                    tasks.add(TextTaskStorage.parseTask(line));
+                }
+            }
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when reading the archive!");
+        } catch (OutOfMemoryError e) {
+            throw new DukeException("I need more memory to read the archive!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to read the archive!");
+        }
+
+        return tasks;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Also writes the index of the archive, which needs the description and dates of every task, so every task is
+     * parsed. The archive is written to a temporary file that replaces it once complete, so a write that fails
+     * partway through, such as on a lazily loaded task that is incorrect, leaves the archive as it was.
+     * </p>
+     *
+     * @param tasks {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public void write(List<Task> tasks) throws DukeException {
+        assert tasks != null;
+
+        ArchiveIndex index = new ArchiveIndex();
+
+        try {
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeBlocks(channel, tasks, index);
+                channel.force(true);
+            }
+
+            AtomicFileStorage.moveDurably(tempPath, path);
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when writing to the archive!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to write to the archive!");
+        } finally {
+            deleteTempFile();
+        }
+
+        try {
+            index.write(indexPath);
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when writing the archive's index!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to write the archive's index!");
+        }
+    }
+
+    /**
+     * Returns the tasks in the archive whose descriptions have all the words in the specified keyphrase and, if a
+     * range is specified, that have a date and time within the range.
+     * <p>
+     * Words are matched in full, ignoring case. Only the blocks that the index of the archive points to are read. If
+     * the archive has no index, or the archive was changed since it was indexed, the whole archive is read instead.
+     * </p>
+     *
+     * @param keyphrase The keyphrase whose words matching tasks must have, which may be empty.
+     * @param from The start of the range, or null if matching tasks do not need a date and time within a range.
+     * @param to The end of the range, or null if matching tasks do not need a date and time within a range.
+     * @return The matching tasks, in the order they were archived.
+     * @throws DukeException Indicates failure to read from the archive or its index, or incorrect data in them.
+     */
+    public List<Task> search(String keyphrase, LocalDateTime from, LocalDateTime to) throws DukeException {
+        assert keyphrase != null;
+        assert (from == null) == (to == null);
+
+        Set<String> terms = ArchiveIndex.extractTerms(keyphrase);
+        List<Task> matchedTasks = new ArrayList<Task>();
+
+        for (Task task : readCandidateTasks(terms, from, to)) {
+            boolean hasTerms = ArchiveIndex.extractTerms(task.getDescription()).containsAll(terms);
+            if (hasTerms && (from == null || task.isDuring(from, to))) {
+                matchedTasks.add(task);
+            }
+        }
+
+        return matchedTasks;
+    }
+
+    private void writeBlocks(FileChannel channel, List<Task> tasks, ArchiveIndex index) throws IOException {
+        StringBuilder block = new StringBuilder();
+
+        for (int blockStart = 0; blockStart < tasks.size(); blockStart += BLOCK_SIZE) {
+            index.startBlock(channel.position());
+
+            block.setLength(0);
+            for (int i = blockStart; i < Math.min(tasks.size(), blockStart + BLOCK_SIZE); ++i) {
+                Task task = tasks.get(i);
+                block.append(TextTaskStorage.toRecord(task)).append('\n');
+                index.addTask(task);
+            }
+
+            writeBlock(channel, block.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        // An empty file is not valid gzip, so an empty archive still gets a gzip member of its own
+        if (tasks.isEmpty() && isCompressed) {
+            writeBlock(channel, new byte[0]);
+        }
+
+        index.finish(channel.position());
+    }
+
+    private void writeBlock(FileChannel channel, byte[] bytes) throws IOException {
+        if (isCompressed) {
+            ByteArrayOutputStream compressedBytes = new ByteArrayOutputStream(bytes.length / 2);
+            try (GZIPOutputStream out = new GZIPOutputStream(compressedBytes)) {
+                out.write(bytes);
+            }
+            bytes = compressedBytes.toByteArray();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private List<Task> readCandidateTasks(Set<String> terms, LocalDateTime from, LocalDateTime to)
+            throws DukeException {
+        try {
+            ArchiveIndex index = Files.exists(indexPath) ? ArchiveIndex.read(indexPath) : null;
+
+            if (index == null || index.getEnd() != Files.size(path)) {
+                return load();
+            }
+
+            List<Task> tasks = new ArrayList<Task>();
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                for (int block : index.findCandidateBlocks(terms, from, to)) {
+                    readBlock(channel, index.getBlockStart(block), index.getBlockEnd(block), tasks);
+                }
+            }
+
+            return tasks;
+        } catch (IOException e) {
+            throw new DukeException("I encountered an I/O error when reading the archive!");
+        } catch (SecurityException e) {
+            throw new DukeException("I do not have enough permissions to read the archive!");
+        }
+    }
+
+    private void readBlock(FileChannel channel, long start, long end, List<Task> tasks)
+            throws IOException, DukeException {
+        assert end - start <= Integer.MAX_VALUE;
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                throw new DukeException("The archive is missing data its index refers to!");
+            }
+        }
+
+        byte[] bytes = buffer.array();
+        if (isCompressed) {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                bytes = in.readAllBytes();
+            }
+        }
+
+        for (String line : new String(bytes, StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                tasks.add(TextTaskStorage.parseTask(line));
+            }
+        }
+    }
+
+    private Reader openReader() throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE);
+
+        if (isCompressed) {
+            try {
+                in = new GZIPInputStream(in, BUFFER_SIZE);
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Deletes the temporary file if a write left it behind.
+     */
+    private void deleteTempFile() {
+        try {
+            Files.deleteIfExists(tempPath);
+        } catch (IOException | SecurityException e) {
+            // The temporary file is replaced by the next write, so leaving it behind loses nothing
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package duke.task;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Represents a list of tasks that keeps its tasks in a sequence of small arrays, or chunks, instead of one large array.
+ * <p>
+ * Inserting or removing a task only shifts the tasks in its chunk, and the chunk holding an index is found using a
+ * Fenwick tree that counts the tasks in each chunk, so getting, inserting and removing a task at any index all take
+ * logarithmic time. Removing tasks from the front of a large list, which shifts every later task in an array list,
+ * therefore stays cheap.
+ * </p>
+ * <p>
+ * A full chunk is split in two, unless the task is added to the end of the list, in which case a new chunk is started
+ * so that appended tasks fill their chunks. A chunk that becomes small enough to fit in its neighbour is merged into
+ * it, so the chunks never become mostly empty.
+ * </p>
+ * <p>
+ * The chunk holding each task with an ID is kept in a {@link TaskIdIndex}, so the index of a task can be found from
+ * its ID without searching the whole list. IDs other than {@link Task#NO_ID} must not be held by more than one task.
+ * </p>
+ */
+class ChunkedTaskList extends AbstractList<Task> implements IndexedTaskList, RandomAccess {
+    /** The most tasks a chunk holds, which bounds how many tasks are shifted by an insertion or removal. */
+    static final int MAX_CHUNK_SIZE = 512;
+
+    private static final int INITIAL_CHUNK_CAPACITY = 16;
+
+    /**
+     * Represents a chunk of consecutive tasks.
+     */
+    private static class Chunk {
+        /** Identifies the chunk in the ID index, and stays the same for as long as the chunk is kept. */
+        private final int serial;
+
+        private final Task[] tasks = new Task[MAX_CHUNK_SIZE];
+        private int size;
+
+        /** The position of the chunk in the list of chunks. */
+        private int position;
+
+        private Chunk(int serial) {
+            this.serial = serial;
+        }
+    }
+
+    private final List<Chunk> chunks = new ArrayList<Chunk>();
+    private int size;
+
+    /** The Fenwick tree counting the tasks in each chunk, starting from 1. */
+    private int[] chunkSizes = new int[INITIAL_CHUNK_CAPACITY + 1];
+
+    private final TaskIdIndex chunkSerials = new TaskIdIndex();
+    private Chunk[] chunksBySerial = new Chunk[INITIAL_CHUNK_CAPACITY];
+    private final BitSet usedSerials = new BitSet();
+
+    /**
+     * Creates an empty ChunkedTaskList object.
+     */
+    ChunkedTaskList() {
+    }
+
+    /**
+     * Creates a ChunkedTaskList object holding the specified tasks, with every chunk but the last one full.
+     *
+     * @param tasks The tasks to be held.
+     */
+    ChunkedTaskList(Collection<? extends Task> tasks) {
+        assert tasks != null;
+
+        addAll(tasks);
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+
+        Chunk chunk = findChunk(index);
+        return chunk.tasks[index - countTasksBefore(chunk.position)];
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        assert task != null;
+
+        Objects.checkIndex(index, size);
+
+        Chunk chunk = findChunk(index);
+        int offset = index - countTasksBefore(chunk.position);
+
+        Task oldTask = chunk.tasks[offset];
+        chunk.tasks[offset] = task;
+
+        removeSerial(oldTask);
+        putSerial(task, chunk);
+
+        return oldTask;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        assert task != null;
+
+        Objects.checkIndex(index, size + 1);
+
+        Chunk chunk;
+        int offset;
+        if (index == size) {
+            // Appended tasks start a new chunk instead of splitting the last one, so that they fill their chunks
+            chunk = chunks.isEmpty() || getLast().size == MAX_CHUNK_SIZE ? addChunk(chunks.size()) : getLast();
+            offset = chunk.size;
+        } else {
+            chunk = findChunk(index);
+            offset = index - countTasksBefore(chunk.position);
+
+            if (chunk.size == MAX_CHUNK_SIZE) {
+                Chunk secondHalf = split(chunk);
+                if (offset > chunk.size) {
+                    offset -= chunk.size;
+                    chunk = secondHalf;
+                }
+            }
+        }
+
+        System.arraycopy(chunk.tasks, offset, chunk.tasks, offset + 1, chunk.size - offset);
+        chunk.tasks[offset] = task;
+        ++chunk.size;
+        updateChunkSize(chunk.position, 1);
+        putSerial(task, chunk);
+
+        ++size;
+        ++modCount;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Objects.checkIndex(index, size);
+
+        Chunk chunk = findChunk(index);
+        int offset = index - countTasksBefore(chunk.position);
+
+        Task task = chunk.tasks[offset];
+        System.arraycopy(chunk.tasks, offset + 1, chunk.tasks, offset, chunk.size - offset - 1);
+        --chunk.size;
+        chunk.tasks[chunk.size] = null;
+        updateChunkSize(chunk.position, -1);
+        removeSerial(task);
+
+        --size;
+        ++modCount;
+
+        mergeIfSmall(chunk);
+
+        return task;
+    }
+
+    @Override
+    public void clear() {
+        chunks.clear();
+        size = 0;
+        Arrays.fill(chunkSizes, 0);
+        chunkSerials.clear();
+        Arrays.fill(chunksBySerial, null);
+        usedSerials.clear();
+        ++modCount;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the chunk holding the task is searched, so this takes time proportional to the size of a chunk rather than
+     * to the size of the list.
+     * </p>
+     *
+     * @param id {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int indexOfId(long id) {
+        if (id <= Task.NO_ID) {
+            return -1;
+        }
+
+        int serial = chunkSerials.get(id);
+        if (serial == TaskIdIndex.NO_SLOT) {
+            return -1;
+        }
+
+        Chunk chunk = chunksBySerial[serial];
+        for (int offset = 0; offset < chunk.size; ++offset) {
+            if (chunk.tasks[offset].getId() == id) {
+                return countTasksBefore(chunk.position) + offset;
+            }
+        }
+
+        assert false : "A task in the ID index is not in its chunk";
+        return -1;
+    }
+
+    private Chunk getLast() {
+        return chunks.get(chunks.size() - 1);
+    }
+
+    /**
+     * Returns the chunk holding the task at the specified index.
+     */
+    private Chunk findChunk(int index) {
+        // Finds the last position of the tree whose prefix still holds fewer than index + 1 tasks
+        int position = 0;
+        int remaining = index + 1;
+        for (int step = Integer.highestOneBit(chunks.size()); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= chunks.size() && chunkSizes[next] < remaining) {
+                position = next;
+                remaining -= chunkSizes[next];
+            }
+        }
+
+        return chunks.get(position);
+    }
+
+    private int countTasksBefore(int position) {
+        int count = 0;
+        for (int i = position; i > 0; i -= Integer.lowestOneBit(i)) {
+            count += chunkSizes[i];
+        }
+
+        return count;
+    }
+
+    private void updateChunkSize(int position, int change) {
+        for (int i = position + 1; i <= chunks.size(); i += Integer.lowestOneBit(i)) {
+            chunkSizes[i] += change;
+        }
+    }
+
+    /**
+     * Moves the second half of the specified chunk into a new chunk after it, and returns the new chunk.
+     */
+    private Chunk split(Chunk chunk) {
+        Chunk secondHalf = addChunk(chunk.position + 1);
+
+        moveTasksFrom(chunk, chunk.size / 2, secondHalf);
+        rebuildChunkSizes();
+
+        return secondHalf;
+    }
+
+    /**
+     * Merges the specified chunk into its next or previous chunk if it fits, or removes it if it is empty.
+     */
+    private void mergeIfSmall(Chunk chunk) {
+        if (chunk.size == 0) {
+            removeChunk(chunk);
+            return;
+        }
+
+        // Merged chunks are at most half full, so that a split chunk is not merged back by the next removal
+        int position = chunk.position;
+        if (position + 1 < chunks.size() && chunk.size + chunks.get(position + 1).size <= MAX_CHUNK_SIZE / 2) {
+            Chunk next = chunks.get(position + 1);
+            moveTasksFrom(next, 0, chunk);
+            removeChunk(next);
+        } else if (position > 0 && chunks.get(position - 1).size + chunk.size <= MAX_CHUNK_SIZE / 2) {
+            moveTasksFrom(chunk, 0, chunks.get(position - 1));
+            removeChunk(chunk);
+        }
+    }
+
+    /**
+     * Moves the tasks of the source chunk from the specified offset onwards to the end of the destination chunk,
+     * without updating the Fenwick tree.
+     */
+    private void moveTasksFrom(Chunk source, int start, Chunk destination) {
+        int count = source.size - start;
+        assert destination.size + count <= MAX_CHUNK_SIZE;
+
+        System.arraycopy(source.tasks, start, destination.tasks, destination.size, count);
+        Arrays.fill(source.tasks, start, source.size, null);
+        source.size = start;
+
+        for (int i = destination.size; i < destination.size + count; ++i) {
+            putSerial(destination.tasks[i], destination);
+        }
+        destination.size += count;
+    }
+
+    private Chunk addChunk(int position) {
+        int serial = usedSerials.nextClearBit(0);
+        usedSerials.set(serial);
+        if (serial >= chunksBySerial.length) {
+            chunksBySerial = Arrays.copyOf(chunksBySerial, chunksBySerial.length * 2);
+        }
+
+        Chunk chunk = new Chunk(serial);
+        chunksBySerial[serial] = chunk;
+        chunks.add(position, chunk);
+
+        rebuildChunkSizes();
+
+        return chunk;
+    }
+
+    private void removeChunk(Chunk chunk) {
+        assert chunk.size == 0;
+
+        chunks.remove(chunk.position);
+        chunksBySerial[chunk.serial] = null;
+        usedSerials.clear(chunk.serial);
+
+        rebuildChunkSizes();
+    }
+
+    /**
+     * Rebuilds the Fenwick tree and the positions of the chunks after chunks were added or removed, which happens
+     * once for every many insertions or removals.
+     */
+    private void rebuildChunkSizes() {
+        if (chunkSizes.length <= chunks.size()) {
+            chunkSizes = new int[chunks.size() * 2 + 1];
+        } else {
+            Arrays.fill(chunkSizes, 0);
+        }
+
+        for (int i = 1; i <= chunks.size(); ++i) {
+            Chunk chunk = chunks.get(i - 1);
+            chunk.position = i - 1;
+            chunkSizes[i] += chunk.size;
+
+            int parent = i + Integer.lowestOneBit(i);
+            if (parent <= chunks.size()) {
+                chunkSizes[parent] += chunkSizes[i];
+            }
+        }
+    }
+
+    private void putSerial(Task task, Chunk chunk) {
+        if (task.getId() != Task.NO_ID) {
+            chunkSerials.put(task.getId(), chunk.serial);
+        }
+    }
+
+    private void removeSerial(Task task) {
+        if (task.getId() != Task.NO_ID) {
+            chunkSerials.remove(task.getId());
+        }
+    }
+}
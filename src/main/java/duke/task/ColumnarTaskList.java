@@ -0,0 +1,404 @@
+package duke.task;
+
+import duke.utils.LocalDateTimeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Represents a list of tasks that keeps each field of the tasks in a column of primitives, instead of keeping a task
+ * object for each task.
+ * <p>
+ * The type of each task is kept in a byte array, whether it is done in a bit set, and its ID and its dates and times
+ * as seconds from the epoch in long arrays. The descriptions are kept as UTF-8 bytes, one after another, in a single
+ * byte array. A task object is only created when a task is accessed, so holding millions of tasks takes a fraction of
+ * the memory of holding their task objects.
+ * </p>
+ */
+class ColumnarTaskList extends AbstractList<Task> implements RandomAccess {
+    private static final byte TODO_TYPE = 0;
+    private static final byte DEADLINE_TYPE = 1;
+    private static final byte EVENT_TYPE = 2;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int INITIAL_DESCRIPTIONS_CAPACITY = 256;
+
+    /** Some VMs cannot allocate arrays quite as long as the maximum array index. */
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private byte[] types;
+    private long[] ids;
+    private final BitSet doneFlags;
+
+    /** The cutoff of each deadline or the start of each event, in seconds from the epoch. */
+    private long[] firstEpochSeconds;
+
+    /** The end of each event, in seconds from the epoch. */
+    private long[] lastEpochSeconds;
+
+    /** The UTF-8 bytes of the descriptions, including those of removed or replaced tasks until they are compacted. */
+    private byte[] descriptions;
+    private int[] descriptionStarts;
+    private int[] descriptionLengths;
+
+    private int size;
+    private int descriptionsLength;
+
+    /** The number of bytes of descriptions that belong to removed or replaced tasks. */
+    private int unusedDescriptionsLength;
+
+    /**
+     * Creates an empty ColumnarTaskList object.
+     */
+    ColumnarTaskList() {
+        types = new byte[INITIAL_CAPACITY];
+        ids = new long[INITIAL_CAPACITY];
+        doneFlags = new BitSet();
+        firstEpochSeconds = new long[INITIAL_CAPACITY];
+        lastEpochSeconds = new long[INITIAL_CAPACITY];
+        descriptions = new byte[INITIAL_DESCRIPTIONS_CAPACITY];
+        descriptionStarts = new int[INITIAL_CAPACITY];
+        descriptionLengths = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Creates a ColumnarTaskList object holding the specified tasks, in order.
+     *
+     * @param tasks The tasks to be held.
+     */
+    ColumnarTaskList(Collection<? extends Task> tasks) {
+        this();
+
+        assert tasks != null;
+
+        addAll(tasks);
+    }
+
+    private ColumnarTaskList(ColumnarTaskList other) {
+        int capacity = Math.max(other.size, INITIAL_CAPACITY);
+
+        types = Arrays.copyOf(other.types, capacity);
+        ids = Arrays.copyOf(other.ids, capacity);
+        // Not cloned, as cloning a bit set trims the one being cloned, which a copy taken by a concurrent reader of the
+        // task list must not change
+        doneFlags = BitSet.valueOf(other.doneFlags.toLongArray());
+        firstEpochSeconds = Arrays.copyOf(other.firstEpochSeconds, capacity);
+        lastEpochSeconds = Arrays.copyOf(other.lastEpochSeconds, capacity);
+        descriptions = Arrays.copyOf(other.descriptions, Math.max(other.descriptionsLength,
+                INITIAL_DESCRIPTIONS_CAPACITY));
+        descriptionStarts = Arrays.copyOf(other.descriptionStarts, capacity);
+        descriptionLengths = Arrays.copyOf(other.descriptionLengths, capacity);
+        size = other.size;
+        descriptionsLength = other.descriptionsLength;
+        unusedDescriptionsLength = other.unusedDescriptionsLength;
+    }
+
+    /**
+     * Returns a copy of the specified tasks that is not affected by later changes to them.
+     * <p>
+     * The columns are copied as they are, without creating a task object for each task.
+     * </p>
+     *
+     * @param tasks The tasks to be copied.
+     * @return A copy of the tasks.
+     */
+    static List<Task> copyOf(ColumnarTaskList tasks) {
+        assert tasks != null;
+
+        return new ColumnarTaskList(tasks);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A new task object is created on every call, so the task returned has the same fields as the task that was
+     * added, but is not the same object.
+     * </p>
+     *
+     * @param index {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+
+        long id = ids[index];
+        boolean isDone = doneFlags.get(index);
+        String description = new String(descriptions, descriptionStarts[index], descriptionLengths[index],
+                StandardCharsets.UTF_8);
+
+        switch (types[index]) {
+        case TODO_TYPE:
+            return new ToDo(id, isDone, description);
+        case DEADLINE_TYPE:
+            return new Deadline(id, isDone, description, firstEpochSeconds[index]);
+        case EVENT_TYPE:
+            return new Event(id, isDone, description, firstEpochSeconds[index], lastEpochSeconds[index]);
+        default:
+            throw new AssertionError(types[index]);
+        }
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        assert task != null;
+
+        Task oldTask = get(index);
+
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        int start = descriptionStarts[index];
+        int end = start + descriptionLengths[index];
+
+        // Marking a task done keeps its description, so there is no need to store the description again
+        if (!Arrays.equals(descriptions, start, end, description, 0, description.length)) {
+            unusedDescriptionsLength += descriptionLengths[index];
+            setDescription(index, description);
+        }
+        setFields(index, task);
+
+        compactIfWasteful();
+
+        return oldTask;
+    }
+
+    /**
+     * Returns the ID of the task at the specified index, without creating any task object.
+     *
+     * @param index The index of the task.
+     * @return The ID of the task, or {@link Task#NO_ID} if it has none.
+     * @throws IndexOutOfBoundsException Indicates that the index is out of range.
+     */
+    long getId(int index) {
+        Objects.checkIndex(index, size);
+
+        return ids[index];
+    }
+
+    /**
+     * Sets whether the task at the specified index is done, in place, without creating any task object.
+     *
+     * @param index The index of the task.
+     * @param isDone Whether the task is done.
+     * @return Whether the task was done before.
+     * @throws IndexOutOfBoundsException Indicates that the index is out of range.
+     */
+    boolean setDone(int index, boolean isDone) {
+        Objects.checkIndex(index, size);
+
+        boolean wasDone = doneFlags.get(index);
+        doneFlags.set(index, isDone);
+
+        return wasDone;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        assert task != null;
+
+        addAll(index, List.of(task));
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Task> tasks) {
+        return addAll(size, tasks);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends Task> tasks) {
+        assert tasks != null;
+
+        Objects.checkIndex(index, size + 1);
+
+        int count = tasks.size();
+        if (count == 0) {
+            return false;
+        }
+
+        ensureCapacity(size + count);
+        moveTasks(index, index + count);
+
+        int i = index;
+        for (Task task : tasks) {
+            assert task != null;
+
+            setDescription(i, task.getDescription().getBytes(StandardCharsets.UTF_8));
+            setFields(i, task);
+            ++i;
+        }
+
+        size += count;
+        ++modCount;
+
+        return true;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task task = get(index);
+
+        removeRange(index, index + 1);
+
+        return task;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        assert 0 <= fromIndex && fromIndex <= toIndex && toIndex <= size;
+
+        for (int i = fromIndex; i < toIndex; ++i) {
+            unusedDescriptionsLength += descriptionLengths[i];
+        }
+
+        moveTasks(toIndex, fromIndex);
+
+        size -= toIndex - fromIndex;
+        ++modCount;
+
+        compactIfWasteful();
+    }
+
+    /**
+     * Removes the tasks at the indexes set in the specified bit set, in a single pass over the columns, without
+     * creating any task object.
+     *
+     * @param marked The indexes of the tasks to be removed.
+     */
+    void removeMarked(BitSet marked) {
+        assert marked != null;
+
+        int keptCount = 0;
+        for (int i = 0; i < size; ++i) {
+            if (marked.get(i)) {
+                unusedDescriptionsLength += descriptionLengths[i];
+                continue;
+            }
+
+            types[keptCount] = types[i];
+            ids[keptCount] = ids[i];
+            doneFlags.set(keptCount, doneFlags.get(i));
+            firstEpochSeconds[keptCount] = firstEpochSeconds[i];
+            lastEpochSeconds[keptCount] = lastEpochSeconds[i];
+            descriptionStarts[keptCount] = descriptionStarts[i];
+            descriptionLengths[keptCount] = descriptionLengths[i];
+            ++keptCount;
+        }
+
+        doneFlags.clear(keptCount, size);
+        size = keptCount;
+        ++modCount;
+
+        compactIfWasteful();
+    }
+
+    /**
+     * Moves the tasks from the specified index to the end of the list so that they start at the specified new index,
+     * leaving the columns of any tasks moved over unchanged.
+     */
+    private void moveTasks(int fromIndex, int toIndex) {
+        int count = size - fromIndex;
+
+        System.arraycopy(types, fromIndex, types, toIndex, count);
+        System.arraycopy(ids, fromIndex, ids, toIndex, count);
+        System.arraycopy(firstEpochSeconds, fromIndex, firstEpochSeconds, toIndex, count);
+        System.arraycopy(lastEpochSeconds, fromIndex, lastEpochSeconds, toIndex, count);
+        System.arraycopy(descriptionStarts, fromIndex, descriptionStarts, toIndex, count);
+        System.arraycopy(descriptionLengths, fromIndex, descriptionLengths, toIndex, count);
+
+        BitSet movedDoneFlags = doneFlags.get(fromIndex, size);
+        doneFlags.clear(Math.min(fromIndex, toIndex), Math.max(size, toIndex + count));
+        for (int i = movedDoneFlags.nextSetBit(0); i >= 0; i = movedDoneFlags.nextSetBit(i + 1)) {
+            doneFlags.set(toIndex + i);
+        }
+    }
+
+    private void setFields(int index, Task task) {
+        ids[index] = task.getId();
+        doneFlags.set(index, task.isDone());
+
+        if (task instanceof ToDo) {
+            types[index] = TODO_TYPE;
+        } else if (task instanceof Deadline) {
+            types[index] = DEADLINE_TYPE;
+        } else if (task instanceof Event) {
+            types[index] = EVENT_TYPE;
+        } else {
+            throw new AssertionError(task.getClass());
+        }
+
+        LocalDateTime first = task.getFirstDateTime();
+        LocalDateTime last = task.getLastDateTime();
+        firstEpochSeconds[index] = first == null ? 0 : LocalDateTimeUtils.toEpochSecond(first);
+        lastEpochSeconds[index] = last == null ? 0 : LocalDateTimeUtils.toEpochSecond(last);
+    }
+
+    private void setDescription(int index, byte[] description) {
+        ensureDescriptionsCapacity((long) descriptionsLength + description.length);
+
+        System.arraycopy(description, 0, descriptions, descriptionsLength, description.length);
+        descriptionStarts[index] = descriptionsLength;
+        descriptionLengths[index] = description.length;
+        descriptionsLength += description.length;
+    }
+
+    /**
+     * Drops the descriptions of removed or replaced tasks once they take up more than half of the descriptions.
+     */
+    private void compactIfWasteful() {
+        if (unusedDescriptionsLength <= descriptionsLength / 2) {
+            return;
+        }
+
+        byte[] compacted = new byte[Math.max(descriptionsLength - unusedDescriptionsLength,
+                INITIAL_DESCRIPTIONS_CAPACITY)];
+
+        int compactedLength = 0;
+        for (int i = 0; i < size; ++i) {
+            System.arraycopy(descriptions, descriptionStarts[i], compacted, compactedLength, descriptionLengths[i]);
+            descriptionStarts[i] = compactedLength;
+            compactedLength += descriptionLengths[i];
+        }
+
+        descriptions = compacted;
+        descriptionsLength = compactedLength;
+        unusedDescriptionsLength = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= types.length) {
+            return;
+        }
+
+        int newCapacity = (int) Math.min(Math.max(capacity, types.length * 2L), MAX_ARRAY_LENGTH);
+        types = Arrays.copyOf(types, newCapacity);
+        ids = Arrays.copyOf(ids, newCapacity);
+        firstEpochSeconds = Arrays.copyOf(firstEpochSeconds, newCapacity);
+        lastEpochSeconds = Arrays.copyOf(lastEpochSeconds, newCapacity);
+        descriptionStarts = Arrays.copyOf(descriptionStarts, newCapacity);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, newCapacity);
+    }
+
+    private void ensureDescriptionsCapacity(long capacity) {
+        if (capacity <= descriptions.length) {
+            return;
+        }
+
+        if (capacity > MAX_ARRAY_LENGTH) {
+            throw new OutOfMemoryError("The descriptions of the tasks are too long to be kept together");
+        }
+
+        int newCapacity = (int) Math.min(Math.max(capacity, descriptions.length * 2L), MAX_ARRAY_LENGTH);
+        descriptions = Arrays.copyOf(descriptions, newCapacity);
+    }
+}
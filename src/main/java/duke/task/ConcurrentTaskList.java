@@ -0,0 +1,326 @@
+package duke.task;
+
+import duke.exception.DukeException;
+import duke.io.StorageLock;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Represents a task list that can be read and changed from several threads at once, such as by a background
+ * autosaver or search indexer running alongside the UI.
+ * <p>
+ * Changes are made one at a time, each while holding the storage lock and then a change lock, so every change is
+ * applied to memory and storage as a whole before the next one starts. The write lock of a {@link StampedLock} is only
+ * held while a change is applied to memory, and is released before the change is written to storage, so readers are
+ * never held up by storage. Readers may see a change before it is written, and a change that could not be written is
+ * taken back as a change of its own.
+ * </p>
+ * <p>
+ * Readers do not lock. Reading a task, the size, an ID or the version is done optimistically and retried if a change
+ * was made meanwhile, and only falls back to a short read lock after several retries under heavy contention. Reading
+ * the whole task list, as {@link #toString()} and scans such as the find command do, goes through an immutable
+ * snapshot that is taken in the same way and reused until the task list changes.
+ * </p>
+ * <p>
+ * Reading a lazily loaded task parses it and keeps it in the task list, which a reader must not do while a change is
+ * being made, so every task is parsed, and incorrect tasks are set aside, when the task list is created. In the same
+ * way, the slots of tasks that moved are recorded in the ID index as part of each change, rather than on the next
+ * lookup of an ID.
+ * </p>
+ */
+public class ConcurrentTaskList extends TaskList {
+    private static final int MAX_OPTIMISTIC_READS = 8;
+
+    private final StampedLock rwLock = new StampedLock();
+
+    /** Held while a change is applied to memory and written to storage, so that changes are made one at a time. */
+    private final ReentrantLock changeLock = new ReentrantLock();
+
+    /** The latest snapshot taken, which is only used while its version is still the version of the task list. */
+    private volatile Snapshot snapshot;
+
+    /**
+     * Represents the tasks in the task list as of a version of it.
+     */
+    private static class Snapshot {
+        private final long version;
+        private final List<Task> tasks;
+
+        private Snapshot(long version, List<Task> tasks) {
+            this.version = version;
+            this.tasks = tasks;
+        }
+    }
+
+    /**
+     * Represents a change to the task list, made while holding the change lock.
+     *
+     * @param <T> The type of the result of the change.
+     */
+    private interface Change<T> {
+        T apply() throws DukeException;
+    }
+
+    /**
+     * Creates a ConcurrentTaskList object.
+     * <p>
+     * Fills the task list using the tasks from the specified task storage if it exist. If the task storage does not
+     * exist, create it.
+     * </p>
+     *
+     * @param storage The task storage to load the task list from and write changes to the task list to.
+     * @throws DukeException Indicates an error in loading from the task storage or creating the task storage.
+     */
+    public ConcurrentTaskList(TaskStorage storage) throws DukeException {
+        this(storage, Backend.ARRAY);
+    }
+
+    /**
+     * Creates a ConcurrentTaskList object that keeps its tasks in memory using the specified backend.
+     * <p>
+     * Fills the task list using the tasks from the specified task storage if it exist. If the task storage does not
+     * exist, create it.
+     * </p>
+     *
+     * @param storage The task storage to load the task list from and write changes to the task list to.
+     * @param backend How to keep the tasks in memory.
+     * @throws DukeException Indicates an error in loading from the task storage or creating the task storage, or that
+     *                       a lazily loaded task is incorrect and cannot be set aside.
+     */
+    @SuppressWarnings("try")
+    public ConcurrentTaskList(TaskStorage storage, Backend backend) throws DukeException {
+        super(storage, backend);
+
+        try (StorageLock lock = lock()) {
+            super.setAsideIncorrectTasks();
+        }
+        indexAllIds();
+    }
+
+    @Override
+    public String toString() {
+        return toListStr(getSnapshot());
+    }
+
+    @Override
+    public Task get(int index) {
+        return readOptimistically(() -> super.get(index));
+    }
+
+    @Override
+    public int indexOfId(long id) {
+        return readOptimistically(() -> super.indexOfId(id));
+    }
+
+    @Override
+    public int size() {
+        return readOptimistically(super::size);
+    }
+
+    @Override
+    public void add(Task task) throws DukeException {
+        change(() -> {
+            super.add(task);
+            return null;
+        });
+    }
+
+    @Override
+    public Task removeAt(int index) throws DukeException {
+        return change(() -> super.removeAt(index));
+    }
+
+    @Override
+    public void update(int index, Task task) throws DukeException {
+        change(() -> {
+            super.update(index, task);
+            return null;
+        });
+    }
+
+    @Override
+    public void setDone(int index, boolean isDone) throws DukeException {
+        change(() -> {
+            super.setDone(index, isDone);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean canUndo() {
+        return readOptimistically(super::canUndo);
+    }
+
+    @Override
+    public boolean canRedo() {
+        return readOptimistically(super::canRedo);
+    }
+
+    @Override
+    public void undo() throws DukeException {
+        change(() -> {
+            super.undo();
+            return null;
+        });
+    }
+
+    @Override
+    public void redo() throws DukeException {
+        change(() -> {
+            super.redo();
+            return null;
+        });
+    }
+
+    @Override
+    public long getVersion() {
+        return readOptimistically(super::getVersion);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The snapshot is taken without holding up changes, and may be taken again if the task list changes while it is
+     * being taken.
+     * </p>
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public List<Task> getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.version == getVersion()) {
+            return current.tasks;
+        }
+
+        // Another thread may publish an older snapshot over this one, which is only wasteful, as versions are checked
+        Snapshot taken = readOptimistically(() -> new Snapshot(super.getVersion(), copyTasks()));
+        snapshot = taken;
+
+        return taken.tasks;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The tasks written are a snapshot, so changes made while writing are not held up.
+     * </p>
+     *
+     * @param storage {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public void save(TaskStorage storage) throws DukeException {
+        assert storage != null;
+
+        storage.write(getSnapshot());
+    }
+
+    @Override
+    public void clear() throws DukeException {
+        change(() -> {
+            super.clear();
+            return null;
+        });
+    }
+
+    @Override
+    public String setAsideIncorrectTasks() throws DukeException {
+        return change(super::setAsideIncorrectTasks);
+    }
+
+    @Override
+    public String mergeExternalChange() throws DukeException {
+        return change(super::mergeExternalChange);
+    }
+
+    /**
+     * Returns the result of the specified read, retrying it if the task list was changed while it was being read.
+     * <p>
+     * A read that overlaps a change may see the task list half changed and fail in any way, so failures are only
+     * thrown if no change was made during the read.
+     * </p>
+     */
+    private <T> T readOptimistically(Supplier<T> read) {
+        for (int attempt = 0; attempt < MAX_OPTIMISTIC_READS; ++attempt) {
+            long stamp = rwLock.tryOptimisticRead();
+            if (stamp == 0) {
+                // A change is being made, so reading now would only be wasted
+                Thread.onSpinWait();
+                continue;
+            }
+
+            T result;
+            try {
+                result = read.get();
+            } catch (RuntimeException | AssertionError e) {
+                if (rwLock.validate(stamp)) {
+                    throw e;
+                }
+                continue;
+            }
+
+            if (rwLock.validate(stamp)) {
+                return result;
+            }
+        }
+
+        long stamp = rwLock.readLock();
+        try {
+            return read.get();
+        } finally {
+            rwLock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The change is made while holding the write lock, and the slots of any tasks it moved are recorded in the ID
+     * index before the write lock is released.
+     * </p>
+     *
+     * @param change {@inheritDoc}
+     * @param <T> {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected <T> T changeInMemory(Supplier<T> change) {
+        long stamp = rwLock.writeLock();
+        try {
+            T result = super.changeInMemory(change);
+            indexAllIds();
+            return result;
+        } finally {
+            rwLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the result of the specified change, made while holding the storage lock and then the change lock.
+     * <p>
+     * The storage lock is taken first, as {@link TaskList#lock()} may already be held by the calling thread, and
+     * taking it after the change lock could otherwise deadlock with such a thread. A change made while the current
+     * thread is already making one, such as the update made by {@link TaskList#setDone(int, boolean)}, is part of it,
+     * and is made directly.
+     * </p>
+     */
+    @SuppressWarnings("try")
+    private <T> T change(Change<T> change) throws DukeException {
+        if (changeLock.isHeldByCurrentThread()) {
+            return change.apply();
+        }
+
+        try (StorageLock storageLock = lock()) {
+            changeLock.lock();
+            try {
+                return change.apply();
+            } finally {
+                changeLock.unlock();
+            }
+        }
+    }
+}
@@ -4,11 +4,17 @@ import duke.exception.DukeException;
 import duke.utils.BooleanUtils;
 import duke.utils.LocalDateTimeUtils;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 
 /**
  * Represents a deadline task.
+ * <p>
+ * The cutoff is kept as the number of seconds from the epoch, so any fraction of a second is dropped.
+ * </p>
  */
 public class Deadline extends Task {
     private static final char SYMBOL = 'D';
@@ -19,7 +25,8 @@ public class Deadline extends Task {
     private static final int DESCRIPTION_ARG_INDEX = 2;
     private static final int CUTOFF_ARG_INDEX = 3;
 
-    private final LocalDateTime cutoff;
+    /** The cutoff, in seconds from the epoch of 1970-01-01T00:00. */
+    private final long cutoff;
 
     /**
      * Creates a Deadline object.
@@ -29,9 +36,22 @@ public class Deadline extends Task {
      * @param cutoff Cutoff of the deadline.
      */
     public Deadline(boolean isDone, String description, LocalDateTime cutoff) {
-        super(isDone, description);
+        this(NO_ID, isDone, description, LocalDateTimeUtils.toEpochSecond(cutoff));
+    }
 
-        assert cutoff != null;
+    /**
+     * Creates a Deadline object with the specified ID and the cutoff as the number of seconds from the epoch of
+     * 1970-01-01T00:00.
+     *
+     * @param id ID of the deadline, or {@link #NO_ID} if it has none yet.
+     * @param isDone Is the deadline over.
+     * @param description Description of the deadline.
+     * @param cutoff Cutoff of the deadline, in seconds from the epoch.
+     */
+    Deadline(long id, boolean isDone, String description, long cutoff) {
+        super(id, isDone, description);
+
+        assert LocalDateTimeUtils.isSupportedEpochSecond(cutoff);
 
         this.cutoff = cutoff;
     }
@@ -49,27 +69,66 @@ public class Deadline extends Task {
         String[] formattedArgs = Task.formatStrsFromStorage(args);
 
         boolean isDone = extractValidIsDone(formattedArgs);
-        LocalDateTime cutoff = extractValidCutoff(formattedArgs);
+        long cutoff = extractValidCutoff(formattedArgs);
+
+        return new Deadline(NO_ID, isDone, formattedArgs[DESCRIPTION_ARG_INDEX], cutoff);
+    }
+
+    /**
+     * Returns a Deadline object created using the data read from the specified binary input.
+     * <p>
+     * The symbol of the deadline is expected to have been read already.
+     * </p>
+     *
+     * @param in The input to read data about the deadline from.
+     * @return The Deadline object created using the data read.
+     * @throws IOException Indicates failure to read from the input, including reaching its end.
+     * @throws DukeException Indicates incorrect data type or format in the data read.
+     */
+    public static Deadline createFromBinaryStorage(DataInput in) throws IOException, DukeException {
+        boolean isDone = readValidBinaryIsDone(in);
+        String description = Task.readBinaryStr(in);
+        long cutoff = readValidBinaryCutoff(in);
+
+        return new Deadline(NO_ID, isDone, description, cutoff);
+    }
+
+    @Override
+    LocalDateTime getFirstDateTime() {
+        return LocalDateTimeUtils.fromEpochSecond(cutoff);
+    }
 
-        return new Deadline(isDone, formattedArgs[DESCRIPTION_ARG_INDEX], cutoff);
+    @Override
+    LocalDateTime getLastDateTime() {
+        return LocalDateTimeUtils.fromEpochSecond(cutoff);
     }
 
     @Override
-    public String getStorageStr() {
-        return String.format("%c %c %s %c %s", SYMBOL, FIELD_DIVIDER, super.getStorageStr(), FIELD_DIVIDER,
-                Task.formatStrForStorage(cutoff.toString()));
+    protected void appendStorageFields(StringBuilder out) {
+        out.append(SYMBOL).append(FIELD_SEPARATOR);
+        super.appendStorageFields(out);
+        out.append(FIELD_SEPARATOR);
+        LocalDateTimeUtils.appendIsoDateTime(out, cutoff);
     }
 
     @Override
-    public String toString() {
-        String cutoffStr = cutoff.format(LocalDateTimeUtils.OUTPUT_DATE_TIME_FORMATTER);
+    public void writeBinary(DataOutput out) throws IOException {
+        out.writeByte(SYMBOL);
+        super.writeBinary(out);
+        out.writeLong(cutoff);
+    }
 
-        return String.format("[%c]%s (by: %s)", SYMBOL, super.toString(), cutoffStr);
+    @Override
+    protected String createDisplayStr() {
+        String cutoffStr = LocalDateTimeUtils.fromEpochSecond(cutoff).format(
+                LocalDateTimeUtils.OUTPUT_DATE_TIME_FORMATTER);
+
+        return String.format("[%c]%s (by: %s)", SYMBOL, super.createDisplayStr(), cutoffStr);
     }
 
     @Override
     protected Task createCopy() {
-        return new Deadline(isDone(), getDescription(), cutoff);
+        return new Deadline(getId(), isDone(), getDescription(), cutoff);
     }
 
     private static void validateNoMissingData(String[] args) throws DukeException {
@@ -91,14 +150,38 @@ public class Deadline extends Task {
         return Boolean.parseBoolean(formattedArgs[DONE_ARG_INDEX]);
     }
 
-    private static LocalDateTime extractValidCutoff(String[] formattedArgs) throws DukeException {
+    private static long extractValidCutoff(String[] formattedArgs) throws DukeException {
         assert formattedArgs != null;
         assert formattedArgs.length >= CUTOFF_ARG_INDEX + 1;
 
         try {
-            return LocalDateTime.parse(formattedArgs[CUTOFF_ARG_INDEX]);
+            return LocalDateTimeUtils.parseIsoEpochSecond(formattedArgs[CUTOFF_ARG_INDEX]);
         } catch (DateTimeParseException e) {
             throw new DukeException("A deadline in storage has an incorrectly formatted cutoff date and time!");
         }
     }
+
+    private static boolean readValidBinaryIsDone(DataInput in) throws IOException, DukeException {
+        assert in != null;
+
+        int doneByte = in.readUnsignedByte();
+
+        if (!BooleanUtils.isBooleanByte(doneByte)) {
+            throw new DukeException("A deadline in storage has an incorrect data type!");
+        }
+
+        return doneByte == 1;
+    }
+
+    private static long readValidBinaryCutoff(DataInput in) throws IOException, DukeException {
+        assert in != null;
+
+        long cutoff = in.readLong();
+
+        if (!LocalDateTimeUtils.isSupportedEpochSecond(cutoff)) {
+            throw new DukeException("A deadline in storage has an incorrectly formatted cutoff date and time!");
+        }
+
+        return cutoff;
+    }
 }
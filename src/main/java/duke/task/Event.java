@@ -4,11 +4,17 @@ import duke.exception.DukeException;
 import duke.utils.BooleanUtils;
 import duke.utils.LocalDateTimeUtils;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 
 /**
  * Represents an event task.
+ * <p>
+ * The start and end are kept as the number of seconds from the epoch, so any fraction of a second is dropped.
+ * </p>
  */
 public class Event extends Task {
     private static final char SYMBOL = 'E';
@@ -20,8 +26,11 @@ public class Event extends Task {
     private static final int START_ARG_INDEX = 3;
     private static final int END_ARG_INDEX = 4;
 
-    private final LocalDateTime start;
-    private final LocalDateTime end;
+    /** When the event starts, in seconds from the epoch of 1970-01-01T00:00. */
+    private final long start;
+
+    /** When the event ends, in seconds from the epoch of 1970-01-01T00:00. */
+    private final long end;
 
     /**
      * Creates an Event object.
@@ -32,10 +41,25 @@ public class Event extends Task {
      * @param end When the event ends.
      */
     public Event(boolean isDone, String description, LocalDateTime start, LocalDateTime end) {
-        super(isDone, description);
+        this(NO_ID, isDone, description, LocalDateTimeUtils.toEpochSecond(start),
+                LocalDateTimeUtils.toEpochSecond(end));
+    }
 
-        assert start != null;
-        assert end != null;
+    /**
+     * Creates an Event object with the specified ID and the start and end as the number of seconds from the epoch of
+     * 1970-01-01T00:00.
+     *
+     * @param id ID of the event, or {@link #NO_ID} if it has none yet.
+     * @param isDone Is the event done.
+     * @param description Description of the event.
+     * @param start When the event starts, in seconds from the epoch.
+     * @param end When the event ends, in seconds from the epoch.
+     */
+    Event(long id, boolean isDone, String description, long start, long end) {
+        super(id, isDone, description);
+
+        assert LocalDateTimeUtils.isSupportedEpochSecond(start);
+        assert LocalDateTimeUtils.isSupportedEpochSecond(end);
 
         this.start = start;
         this.end = end;
@@ -55,32 +79,71 @@ public class Event extends Task {
 
         boolean isDone = extactValidIsDone(formattedArgs);
         String description = formattedArgs[DESCRIPTION_ARG_INDEX];
-        LocalDateTime start = extractValidStart(formattedArgs);
-        LocalDateTime end = extactValidEnd(formattedArgs);
+        long start = extractValidStart(formattedArgs);
+        long end = extactValidEnd(formattedArgs);
+
+        return new Event(NO_ID, isDone, description, start, end);
+    }
+
+    /**
+     * Returns an Event object created using the data read from the specified binary input.
+     * <p>
+     * The symbol of the event is expected to have been read already.
+     * </p>
+     *
+     * @param in The input to read data about the event from.
+     * @return The Event object created using the data read.
+     * @throws IOException Indicates failure to read from the input, including reaching its end.
+     * @throws DukeException Indicates incorrect data type or format in the data read.
+     */
+    public static Event createFromBinaryStorage(DataInput in) throws IOException, DukeException {
+        boolean isDone = readValidBinaryIsDone(in);
+        String description = Task.readBinaryStr(in);
+        long start = readValidBinaryDateTime(in, "start of event");
+        long end = readValidBinaryDateTime(in, "end of event");
 
-        return new Event(isDone, description, start, end);
+        return new Event(NO_ID, isDone, description, start, end);
     }
 
     @Override
-    public String getStorageStr() {
-        String startStr = Task.formatStrForStorage(start.toString());
-        String endStr = Task.formatStrForStorage(end.toString());
+    LocalDateTime getFirstDateTime() {
+        return LocalDateTimeUtils.fromEpochSecond(start);
+    }
 
-        return String.format("%c %c %s %c %s %c %s", SYMBOL, FIELD_DIVIDER, super.getStorageStr(), FIELD_DIVIDER,
-                startStr, FIELD_DIVIDER, endStr);
+    @Override
+    LocalDateTime getLastDateTime() {
+        return LocalDateTimeUtils.fromEpochSecond(end);
     }
 
     @Override
-    public String toString() {
-        String startStr = start.format(LocalDateTimeUtils.OUTPUT_DATE_TIME_FORMATTER);
-        String endStr = end.format(LocalDateTimeUtils.OUTPUT_DATE_TIME_FORMATTER);
+    protected void appendStorageFields(StringBuilder out) {
+        out.append(SYMBOL).append(FIELD_SEPARATOR);
+        super.appendStorageFields(out);
+        out.append(FIELD_SEPARATOR);
+        LocalDateTimeUtils.appendIsoDateTime(out, start);
+        out.append(FIELD_SEPARATOR);
+        LocalDateTimeUtils.appendIsoDateTime(out, end);
+    }
 
-        return String.format("[%c]%s (from: %s to: %s)", SYMBOL, super.toString(), startStr, endStr);
+    @Override
+    public void writeBinary(DataOutput out) throws IOException {
+        out.writeByte(SYMBOL);
+        super.writeBinary(out);
+        out.writeLong(start);
+        out.writeLong(end);
+    }
+
+    @Override
+    protected String createDisplayStr() {
+        String startStr = getFirstDateTime().format(LocalDateTimeUtils.OUTPUT_DATE_TIME_FORMATTER);
+        String endStr = getLastDateTime().format(LocalDateTimeUtils.OUTPUT_DATE_TIME_FORMATTER);
+
+        return String.format("[%c]%s (from: %s to: %s)", SYMBOL, super.createDisplayStr(), startStr, endStr);
     }
 
     @Override
     protected Task createCopy() {
-        return new Event(isDone(), getDescription(), start, end);
+        return new Event(getId(), isDone(), getDescription(), start, end);
     }
 
     private static void validateNoMissingData(String[] args) throws DukeException {
@@ -91,23 +154,23 @@ public class Event extends Task {
         }
     }
 
-    private static LocalDateTime extractValidStart(String[] formattedArgs) throws DukeException {
+    private static long extractValidStart(String[] formattedArgs) throws DukeException {
         assert formattedArgs != null;
         assert formattedArgs.length >= START_ARG_INDEX + 1;
 
         try {
-            return LocalDateTime.parse(formattedArgs[START_ARG_INDEX]);
+            return LocalDateTimeUtils.parseIsoEpochSecond(formattedArgs[START_ARG_INDEX]);
         } catch (DateTimeParseException e) {
             throw new DukeException("An event in storage has an incorrectly formatted start of event!");
         }
     }
 
-    private static LocalDateTime extactValidEnd(String[] formattedArgs) throws DukeException {
+    private static long extactValidEnd(String[] formattedArgs) throws DukeException {
         assert formattedArgs != null;
         assert formattedArgs.length >= END_ARG_INDEX + 1;
 
         try {
-            return LocalDateTime.parse(formattedArgs[END_ARG_INDEX]);
+            return LocalDateTimeUtils.parseIsoEpochSecond(formattedArgs[END_ARG_INDEX]);
         } catch (DateTimeParseException e) {
             throw new DukeException("An event in storage has an incorrectly formatted end of event!");
         }
@@ -123,4 +186,29 @@ public class Event extends Task {
 
         return Boolean.parseBoolean(formattedArgs[DONE_ARG_INDEX]);
     }
+
+    private static boolean readValidBinaryIsDone(DataInput in) throws IOException, DukeException {
+        assert in != null;
+
+        int doneByte = in.readUnsignedByte();
+
+        if (!BooleanUtils.isBooleanByte(doneByte)) {
+            throw new DukeException("An event in storage has an incorrect data type!");
+        }
+
+        return doneByte == 1;
+    }
+
+    private static long readValidBinaryDateTime(DataInput in, String fieldName) throws IOException, DukeException {
+        assert in != null;
+        assert fieldName != null;
+
+        long epochSecond = in.readLong();
+
+        if (!LocalDateTimeUtils.isSupportedEpochSecond(epochSecond)) {
+            throw new DukeException(String.format("An event in storage has an incorrectly formatted %s!", fieldName));
+        }
+
+        return epochSecond;
+    }
 }
@@ -0,0 +1,20 @@
+package duke.task;
+
+import java.util.List;
+
+/**
+ * Represents a list of tasks that inserts and removes tasks anywhere without shifting every later task, and finds the
+ * index of a task from its ID itself.
+ * <p>
+ * IDs other than {@link Task#NO_ID} must not be held by more than one task in the list.
+ * </p>
+ */
+interface IndexedTaskList extends List<Task> {
+    /**
+     * Returns the index of the task with the specified ID, or -1 if there is none.
+     *
+     * @param id The ID of the task.
+     * @return The index of the task, or -1 if there is none.
+     */
+    int indexOfId(long id);
+}
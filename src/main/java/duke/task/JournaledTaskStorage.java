@@ -0,0 +1,219 @@
+package duke.task;
+
+import duke.exception.DukeException;
+import duke.io.JournalFileStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a task storage that appends a journal entry for each change instead of rewriting every task.
+ * <p>
+ * Once the journal has at least as many entries as there are tasks, it is folded into a fresh snapshot in the
+ * background, so the cost of rewriting every task is spread across the changes that made it necessary.
+ * </p>
+ */
+public class JournaledTaskStorage implements TaskStorage {
+    private static final int MIN_ENTRIES_BEFORE_COMPACTION = 1024;
+
+    private static final String ADDED_SYMBOL = "A";
+    private static final String REMOVED_SYMBOL = "R";
+    private static final String UPDATED_SYMBOL = "U";
+
+    private static final int SYMBOL_ARG_INDEX = 0;
+    private static final int INDEX_ARG_INDEX = 1;
+    private static final int TASK_ARG_INDEX = 2;
+
+    private final JournalFileStorage storage;
+    private final TextTaskStorage snapshotStorage;
+
+    private int entryCount;
+
+    /** The smallest ID larger than the ID of every task in the journal entries replayed when loading. */
+    private long replayedNextId = Task.NO_ID;
+
+    /**
+     * Creates a JournaledTaskStorage object.
+     *
+     * @param storage The storage to keep the snapshot and journal in.
+     */
+    public JournaledTaskStorage(JournalFileStorage storage) {
+        assert storage != null;
+
+        this.storage = storage;
+        this.snapshotStorage = new TextTaskStorage(storage);
+    }
+
+    @Override
+    public boolean doesExist() throws DukeException {
+        return storage.doesExist();
+    }
+
+    @Override
+    public void create() throws DukeException {
+        storage.create();
+    }
+
+    /**
+     * Returns the tasks in the snapshot with every journal entry replayed on top of them.
+     *
+     * @return {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public List<Task> load() throws DukeException {
+        List<Task> tasks = snapshotStorage.load();
+        List<String> entries = storage.readJournal();
+
+        replayedNextId = Task.NO_ID;
+        for (String entry : entries) {
+            replay(tasks, entry);
+        }
+
+        entryCount = entries.size();
+
+        return tasks;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The next ID in the header of the snapshot is raised above the ID of every task added or updated in the journal
+     * since, including tasks that were removed again.
+     * </p>
+     *
+     * @return {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public long loadNextId() throws DukeException {
+        return Math.max(snapshotStorage.loadNextId(), replayedNextId);
+    }
+
+    @Override
+    public void setNextId(long nextId) {
+        snapshotStorage.setNextId(nextId);
+    }
+
+    @Override
+    public void write(List<Task> tasks) throws DukeException {
+        snapshotStorage.write(tasks);
+        entryCount = 0;
+    }
+
+    @Override
+    public void writeAdded(List<Task> tasks, int index) throws DukeException {
+        append(tasks, String.format("%s %d %s", ADDED_SYMBOL, index, TextTaskStorage.toRecord(tasks.get(index))));
+    }
+
+    @Override
+    public void writeRemoved(List<Task> tasks, int index) throws DukeException {
+        append(tasks, String.format("%s %d", REMOVED_SYMBOL, index));
+    }
+
+    @Override
+    public void writeUpdated(List<Task> tasks, int index) throws DukeException {
+        append(tasks, String.format("%s %d %s", UPDATED_SYMBOL, index, TextTaskStorage.toRecord(tasks.get(index))));
+    }
+
+    /**
+     * Replaces the contents of this storage with the tasks loaded from the specified task storage, as a fresh
+     * snapshot.
+     * <p>
+     * Used to carry over a save file in another format, such as the text format, the first time the journal is used.
+     * The next ID kept by the task storage is carried over.
+     * </p>
+     *
+     * @param source The task storage to convert from.
+     * @throws DukeException Indicates failure to load from the source or to write to this storage.
+     */
+    public void convertFrom(TaskStorage source) throws DukeException {
+        assert source != null;
+
+        List<Task> tasks = source.load();
+        setNextId(source.loadNextId());
+        write(tasks);
+    }
+
+    private void append(List<Task> tasks, String entry) throws DukeException {
+        assert tasks != null;
+
+        storage.append(entry);
+        ++entryCount;
+
+        if (entryCount < Math.max(MIN_ENTRIES_BEFORE_COMPACTION, tasks.size())) {
+            return;
+        }
+
+        // Tasks are immutable, so copying the references is enough to keep the snapshot stable
+        List<Task> snapshot = new ArrayList<Task>(tasks);
+        if (storage.compact(writer -> TextTaskStorage.writeStorageStrs(snapshot, writer))) {
+            entryCount = 0;
+        }
+    }
+
+    private void replay(List<Task> tasks, String entry) throws DukeException {
+        assert tasks != null;
+        assert entry != null;
+
+        String[] args = entry.split(" ", TASK_ARG_INDEX + 1);
+        int index = extractValidIndex(args);
+
+        switch (args[SYMBOL_ARG_INDEX]) {
+        case ADDED_SYMBOL:
+            validateIndexRange(index, tasks.size() + 1);
+            tasks.add(index, extractReplayedTask(args));
+            break;
+        case REMOVED_SYMBOL:
+            validateIndexRange(index, tasks.size());
+            tasks.remove(index);
+            break;
+        case UPDATED_SYMBOL:
+            validateIndexRange(index, tasks.size());
+            tasks.set(index, extractReplayedTask(args));
+            break;
+        default:
+            throw new DukeException("An unknown change was found in the save file's journal.");
+        }
+    }
+
+    private int extractValidIndex(String[] args) throws DukeException {
+        assert args != null;
+
+        if (args.length < INDEX_ARG_INDEX + 1) {
+            throw new DukeException("A change in the save file's journal has missing data!");
+        }
+
+        try {
+            return Integer.parseInt(args[INDEX_ARG_INDEX]);
+        } catch (NumberFormatException e) {
+            throw new DukeException("A change in the save file's journal has an incorrect data type!");
+        }
+    }
+
+    /**
+     * Returns the task in the specified journal entry, counting its ID towards the next ID.
+     */
+    private Task extractReplayedTask(String[] args) throws DukeException {
+        Task task = extractValidTask(args);
+        replayedNextId = Math.max(replayedNextId, task.getId() + 1);
+
+        return task;
+    }
+
+    private Task extractValidTask(String[] args) throws DukeException {
+        assert args != null;
+
+        if (args.length < TASK_ARG_INDEX + 1) {
+            throw new DukeException("A change in the save file's journal has missing data!");
+        }
+
+        return TextTaskStorage.parseTask(args[TASK_ARG_INDEX]);
+    }
+
+    private void validateIndexRange(int index, int size) throws DukeException {
+        if (index >= size || index < 0) {
+            throw new DukeException("A change in the save file's journal refers to a task that doesn't exist!");
+        }
+    }
+}
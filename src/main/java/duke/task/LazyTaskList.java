@@ -0,0 +1,387 @@
+package duke.task;
+
+import duke.exception.DukeException;
+import duke.exception.UncheckedDukeException;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Represents a list of tasks that are only parsed from their lines of text when first accessed.
+ * <p>
+ * Loading only indexes where each line starts, so its cost does not depend on how long parsing the tasks takes.
+ * Tasks that have not been replaced are written back as their original lines of text, without being parsed.
+ * </p>
+ * <p>
+ * As parsing happens on access, an incorrect line is reported by {@link #get(int)} throwing an
+ * {@link UncheckedDukeException}. Every incorrect line can then be found and set aside at once by
+ * {@link #setAsideIncorrectRecords()}, after which the tasks of those lines can be removed.
+ * </p>
+ */
+class LazyTaskList extends AbstractList<Task> implements RandomAccess {
+    private static final int NO_RECORD = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final String data;
+
+    /** The parsed or added tasks, with null for tasks yet to be parsed. */
+    private Task[] tasks;
+
+    /** Where the line of each task starts in the data, or {@link #NO_RECORD} if the task was added or replaced. */
+    private int[] recordStarts;
+
+    /** The IDs given to tasks whose lines have not been replaced, with {@link Task#NO_ID} for the others. */
+    private long[] givenIds;
+
+    private int size;
+
+    /** Sets aside the incorrect lines found, or null if incorrect lines cannot be set aside. */
+    private final IncorrectLineHandler incorrectLineHandler;
+
+    /**
+     * Represents a way of setting aside incorrect lines, such as by moving them to a quarantine.
+     */
+    interface IncorrectLineHandler {
+        /**
+         * Sets aside the specified incorrect lines.
+         *
+         * @param incorrectLines The incorrect lines, in the order they appear in the data.
+         * @throws DukeException Indicates failure to set aside the incorrect lines.
+         */
+        void setAside(List<TextTaskStorage.IncorrectLine> incorrectLines) throws DukeException;
+    }
+
+    /**
+     * Creates a LazyTaskList object holding a task for each line of the specified data that is neither empty nor a
+     * comment.
+     *
+     * @param data Lines of text that were created by {@link Task#getStorageStr()}.
+     */
+    LazyTaskList(String data) {
+        this(data, null);
+    }
+
+    /**
+     * Creates a LazyTaskList object holding a task for each line of the specified data that is neither empty nor a
+     * comment, which sets aside incorrect lines using the specified handler.
+     *
+     * @param data Lines of text that were created by {@link Task#getStorageStr()}.
+     * @param incorrectLineHandler Sets aside the incorrect lines found by {@link #setAsideIncorrectRecords()}, or null
+     *                             if incorrect lines cannot be set aside.
+     */
+    LazyTaskList(String data, IncorrectLineHandler incorrectLineHandler) {
+        assert data != null;
+
+        this.data = data;
+        this.incorrectLineHandler = incorrectLineHandler;
+        tasks = new Task[INITIAL_CAPACITY];
+        recordStarts = new int[INITIAL_CAPACITY];
+        givenIds = new long[INITIAL_CAPACITY];
+
+        int lineStart = 0;
+        while (lineStart < data.length()) {
+            int lineEnd = findLineEnd(lineStart);
+
+            if (TextTaskStorage.isRecord(data, lineStart, lineEnd)) {
+                ensureCapacity(size + 1);
+                recordStarts[size] = lineStart;
+                ++size;
+            }
+
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    private LazyTaskList(LazyTaskList other) {
+        data = other.data;
+        tasks = Arrays.copyOf(other.tasks, Math.max(other.size, INITIAL_CAPACITY));
+        recordStarts = Arrays.copyOf(other.recordStarts, Math.max(other.size, INITIAL_CAPACITY));
+        givenIds = Arrays.copyOf(other.givenIds, Math.max(other.size, INITIAL_CAPACITY));
+        size = other.size;
+        incorrectLineHandler = other.incorrectLineHandler;
+    }
+
+    /**
+     * Returns a copy of the specified tasks that is not affected by later changes to them.
+     * <p>
+     * Tasks in a LazyTaskList are copied without being parsed, and tasks in a {@link ColumnarTaskList} are copied
+     * without creating a task object for each task. Tasks in a {@link PersistentTaskList} are not copied at all, as its
+     * current version never changes. Tasks in a {@link SlottedTaskList} are copied in the same way as the list holding
+     * their slots.
+     * </p>
+     *
+     * @param tasks The tasks to be copied.
+     * @return A copy of the tasks.
+     */
+    static List<Task> copyOf(List<Task> tasks) {
+        assert tasks != null;
+
+        if (tasks instanceof LazyTaskList) {
+            return new LazyTaskList((LazyTaskList) tasks);
+        }
+
+        if (tasks instanceof ColumnarTaskList) {
+            return ColumnarTaskList.copyOf((ColumnarTaskList) tasks);
+        }
+
+        if (tasks instanceof PersistentTaskList) {
+            return ((PersistentTaskList) tasks).snapshot();
+        }
+
+        if (tasks instanceof SlottedTaskList) {
+            return ((SlottedTaskList) tasks).copyTasks();
+        }
+
+        return new ArrayList<Task>(tasks);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param index {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws UncheckedDukeException Indicates that the line of the task is incorrect.
+     */
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+
+        if (tasks[index] == null) {
+            try {
+                tasks[index] = parseRecord(index);
+            } catch (DukeException e) {
+                long lineNumber = countLineBreaks(0, recordStarts[index]) + 1;
+                throw new UncheckedDukeException(TextTaskStorage.createLineException(e, lineNumber));
+            }
+        }
+
+        return tasks[index];
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        assert task != null;
+
+        Task oldTask = get(index);
+
+        tasks[index] = task;
+        recordStarts[index] = NO_RECORD;
+        givenIds[index] = Task.NO_ID;
+
+        return oldTask;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        assert task != null;
+
+        Objects.checkIndex(index, size + 1);
+
+        ensureCapacity(size + 1);
+        System.arraycopy(tasks, index, tasks, index + 1, size - index);
+        System.arraycopy(recordStarts, index, recordStarts, index + 1, size - index);
+        System.arraycopy(givenIds, index, givenIds, index + 1, size - index);
+
+        tasks[index] = task;
+        recordStarts[index] = NO_RECORD;
+        givenIds[index] = Task.NO_ID;
+        ++size;
+        ++modCount;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task task = get(index);
+
+        System.arraycopy(tasks, index + 1, tasks, index, size - index - 1);
+        System.arraycopy(recordStarts, index + 1, recordStarts, index, size - index - 1);
+        System.arraycopy(givenIds, index + 1, givenIds, index, size - index - 1);
+
+        --size;
+        tasks[size] = null;
+        ++modCount;
+
+        return task;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the ID of the task at the specified index, without parsing the task.
+     *
+     * @param index The index of the task.
+     * @return The ID of the task, or {@link Task#NO_ID} if it has none.
+     */
+    long getId(int index) {
+        Objects.checkIndex(index, size);
+
+        if (tasks[index] != null) {
+            return tasks[index].getId();
+        }
+
+        if (givenIds[index] != Task.NO_ID) {
+            return givenIds[index];
+        }
+
+        int recordStart = recordStarts[index];
+        return TextTaskStorage.extractId(data, recordStart, findLineEnd(recordStart));
+    }
+
+    /**
+     * Gives the specified ID to the task at the specified index, without parsing the task.
+     * <p>
+     * The line of the task is kept, and is written with the ID in place of the one it had, if any.
+     * </p>
+     *
+     * @param index The index of the task.
+     * @param id The ID to be given to the task.
+     */
+    void setId(int index, long id) {
+        Objects.checkIndex(index, size);
+        assert id > Task.NO_ID;
+
+        if (tasks[index] != null) {
+            tasks[index] = tasks[index].withId(id);
+        }
+
+        if (recordStarts[index] == NO_RECORD) {
+            return;
+        }
+
+        givenIds[index] = id;
+    }
+
+    /**
+     * Removes the tasks at the indexes set in the specified bit set, in a single pass over the list, without parsing
+     * any task.
+     *
+     * @param marked The indexes of the tasks to be removed.
+     */
+    void removeMarked(BitSet marked) {
+        assert marked != null;
+
+        int keptCount = 0;
+        for (int i = 0; i < size; ++i) {
+            if (!marked.get(i)) {
+                tasks[keptCount] = tasks[i];
+                recordStarts[keptCount] = recordStarts[i];
+                givenIds[keptCount] = givenIds[i];
+                ++keptCount;
+            }
+        }
+
+        Arrays.fill(tasks, keptCount, size, null);
+        size = keptCount;
+        ++modCount;
+    }
+
+    /**
+     * Returns the task at the specified index as a line of text, without the line break.
+     * <p>
+     * Tasks that have not been replaced are returned as their original line of text, without being parsed, with the ID
+     * given by {@link #setId(int, long)} if any. Other tasks are returned as created by
+     * {@link TextTaskStorage#toRecord(Task)}.
+     * </p>
+     *
+     * @param index The index of the task.
+     * @return The task as a line of text.
+     */
+    String getStorageStr(int index) {
+        Objects.checkIndex(index, size);
+
+        if (recordStarts[index] == NO_RECORD) {
+            return TextTaskStorage.toRecord(tasks[index]);
+        }
+
+        String record = data.substring(recordStarts[index], findLineEnd(recordStarts[index]));
+        return givenIds[index] == Task.NO_ID ? record : TextTaskStorage.replaceId(record, givenIds[index]);
+    }
+
+    /**
+     * Parses every task yet to be parsed, sets aside the lines of the tasks that are incorrect, and returns the indexes
+     * of those tasks, so that they can be removed.
+     * <p>
+     * The lines are set aside together using the handler given when loading, as incorrect lines are when loading
+     * eagerly. Line numbers are counted in a single pass over the data, as the lines of the tasks are in order.
+     * </p>
+     *
+     * @return The indexes of the tasks whose lines are incorrect.
+     * @throws DukeException Indicates failure to set aside the incorrect lines. Without a handler, the error message
+     *                       includes the line number of the first incorrect line.
+     */
+    BitSet setAsideIncorrectRecords() throws DukeException {
+        BitSet incorrectIndexes = new BitSet();
+        List<TextTaskStorage.IncorrectLine> incorrectLines = new ArrayList<TextTaskStorage.IncorrectLine>();
+        long lineNumber = 1;
+        int countedUpTo = 0;
+
+        for (int i = 0; i < size; ++i) {
+            if (tasks[i] != null) {
+                continue;
+            }
+
+            try {
+                tasks[i] = parseRecord(i);
+            } catch (DukeException e) {
+                int recordStart = recordStarts[i];
+                assert recordStart >= countedUpTo;
+                lineNumber += countLineBreaks(countedUpTo, recordStart);
+                countedUpTo = recordStart;
+
+                if (incorrectLineHandler == null) {
+                    throw TextTaskStorage.createLineException(e, lineNumber);
+                }
+
+                incorrectIndexes.set(i);
+                incorrectLines.add(new TextTaskStorage.IncorrectLine(lineNumber,
+                        data.substring(recordStart, findLineEnd(recordStart)), e));
+            }
+        }
+
+        if (!incorrectLines.isEmpty()) {
+            incorrectLineHandler.setAside(incorrectLines);
+        }
+
+        return incorrectIndexes;
+    }
+
+    private Task parseRecord(int index) throws DukeException {
+        int recordStart = recordStarts[index];
+        assert recordStart != NO_RECORD;
+
+        Task task = TextTaskStorage.parseTask(data.substring(recordStart, findLineEnd(recordStart)));
+        return givenIds[index] == Task.NO_ID ? task : task.withId(givenIds[index]);
+    }
+
+    private int findLineEnd(int lineStart) {
+        int lineEnd = data.indexOf('\n', lineStart);
+        return lineEnd < 0 ? data.length() : lineEnd;
+    }
+
+    private long countLineBreaks(int start, int end) {
+        long count = 0;
+        for (int i = data.indexOf('\n', start); i >= 0 && i < end; i = data.indexOf('\n', i + 1)) {
+            ++count;
+        }
+        return count;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= tasks.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, tasks.length * 2);
+        tasks = Arrays.copyOf(tasks, newCapacity);
+        recordStarts = Arrays.copyOf(recordStarts, newCapacity);
+        givenIds = Arrays.copyOf(givenIds, newCapacity);
+    }
+}
@@ -0,0 +1,204 @@
+package duke.task;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Represents a list of tasks whose every version is a {@link PersistentTaskVector}, so that any version can be taken
+ * as a snapshot in constant time, and later restored.
+ * <p>
+ * Getting, setting, appending and removing a task take logarithmic time. A task inserted right after a removed task,
+ * such as a removed task being put back, takes over its slot. Any other insertion before the end of the list rebuilds
+ * the list, as do removals once the slots of removed tasks outnumber the tasks, which gives versions kept from before
+ * then no nodes in common with later ones.
+ * </p>
+ * <p>
+ * The slot holding each task with an ID is kept in a {@link TaskIdIndex}, which is rebuilt whenever a version is
+ * restored or the list is rebuilt, so both take time linear in the number of tasks.
+ * </p>
+ */
+class PersistentTaskList extends AbstractList<Task> implements IndexedTaskList, RandomAccess {
+    private PersistentTaskVector tasks;
+    private final TaskIdIndex slotsById = new TaskIdIndex();
+
+    /**
+     * Creates an empty PersistentTaskList object.
+     */
+    PersistentTaskList() {
+        this(List.of());
+    }
+
+    /**
+     * Creates a PersistentTaskList object holding the specified tasks.
+     *
+     * @param tasks The tasks to be held.
+     */
+    PersistentTaskList(Collection<? extends Task> tasks) {
+        restore(PersistentTaskVector.of(tasks));
+    }
+
+    @Override
+    public Task get(int index) {
+        return tasks.get(index);
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        assert task != null;
+
+        int slot = tasks.toSlot(index);
+        Task oldTask = tasks.getSlot(slot);
+
+        tasks = tasks.withSlot(slot, task);
+        removeSlotId(oldTask);
+        putSlotId(task, slot);
+
+        return oldTask;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        assert task != null;
+
+        Objects.checkIndex(index, size() + 1);
+
+        ++modCount;
+
+        if (index == size()) {
+            putSlotId(task, tasks.getSlotCount());
+            tasks = tasks.withAppended(task);
+            return;
+        }
+
+        int slot = tasks.toSlot(index) - 1;
+        if (slot >= 0 && tasks.getSlot(slot) == null) {
+            tasks = tasks.withSlot(slot, task);
+            putSlotId(task, slot);
+            return;
+        }
+
+        List<Task> newTasks = tasks.toArrayList();
+        newTasks.add(index, task);
+        restore(PersistentTaskVector.of(newTasks));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The list is rebuilt once with all the tasks instead of adding them one at a time.
+     * </p>
+     *
+     * @param index {@inheritDoc}
+     * @param tasks {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends Task> tasks) {
+        assert tasks != null;
+
+        Objects.checkIndex(index, size() + 1);
+
+        if (tasks.isEmpty()) {
+            return false;
+        }
+
+        List<Task> newTasks = this.tasks.toArrayList();
+        newTasks.addAll(index, tasks);
+        restore(PersistentTaskVector.of(newTasks));
+
+        return true;
+    }
+
+    @Override
+    public Task remove(int index) {
+        int slot = tasks.toSlot(index);
+        Task task = tasks.getSlot(slot);
+
+        tasks = tasks.withSlot(slot, null);
+        removeSlotId(task);
+        ++modCount;
+
+        if (tasks.getSlotCount() - tasks.size() > tasks.size()) {
+            restore(tasks.compact());
+        }
+
+        return task;
+    }
+
+    @Override
+    public void clear() {
+        restore(PersistentTaskVector.of(List.of()));
+    }
+
+    @Override
+    public int size() {
+        return tasks.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The slot of the task is looked up in a hash index, and its index is counted along a single path of the trie, so
+     * this takes logarithmic time.
+     * </p>
+     *
+     * @param id {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int indexOfId(long id) {
+        if (id <= Task.NO_ID) {
+            return -1;
+        }
+
+        int slot = slotsById.get(id);
+        return slot == TaskIdIndex.NO_SLOT ? -1 : tasks.countTasksBefore(slot);
+    }
+
+    /**
+     * Returns the current version of the list, which later changes to the list do not affect.
+     *
+     * @return The current version of the list.
+     */
+    PersistentTaskVector snapshot() {
+        return tasks;
+    }
+
+    /**
+     * Makes the specified version the current version of the list.
+     * <p>
+     * The tasks in the version must not hold IDs that tasks added to the list since may also hold.
+     * </p>
+     *
+     * @param version The version to be restored.
+     */
+    void restore(PersistentTaskVector version) {
+        assert version != null;
+
+        tasks = version;
+        ++modCount;
+
+        slotsById.clear();
+        for (int slot = 0; slot < tasks.getSlotCount(); ++slot) {
+            Task task = tasks.getSlot(slot);
+            if (task != null) {
+                putSlotId(task, slot);
+            }
+        }
+    }
+
+    private void putSlotId(Task task, int slot) {
+        if (task.getId() != Task.NO_ID) {
+            slotsById.put(task.getId(), slot);
+        }
+    }
+
+    private void removeSlotId(Task task) {
+        if (task.getId() != Task.NO_ID) {
+            slotsById.remove(task.getId());
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package duke.task;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Represents an immutable list of tasks, kept in slots of a 32-way trie so that changed versions of it share all but a
+ * few of its nodes.
+ * <p>
+ * Changing a slot copies only the nodes on the path from the root to it, which is at most four nodes for a million
+ * tasks, so every version of a large list can be kept for little more memory than one. Removing a task empties its
+ * slot instead of shifting every later task, and each node counts the tasks under it, so the slot holding an index and
+ * the index of a slot are both found along a single path. Slots are therefore stable, which lets the slot of a task be
+ * looked up from its ID, until {@link #compact()} drops the empty slots.
+ * </p>
+ */
+final class PersistentTaskVector extends AbstractList<Task> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final PersistentTaskVector EMPTY = new PersistentTaskVector(new Node(new Object[WIDTH], 0), 0, 0);
+
+    /**
+     * Represents a node of the trie, which is never changed once created.
+     */
+    private static class Node {
+        /** The tasks in the slots of a leaf, with null for empty slots, or the child nodes of any other node. */
+        private final Object[] children;
+
+        /** The number of tasks under the node. */
+        private final int taskCount;
+
+        private Node(Object[] children, int taskCount) {
+            this.children = children;
+            this.taskCount = taskCount;
+        }
+    }
+
+    private final Node root;
+
+    /** The number of bits the slot is shifted by to get the child of the root holding it, which is 0 for a leaf. */
+    private final int shift;
+
+    private final int slotCount;
+
+    private PersistentTaskVector(Node root, int shift, int slotCount) {
+        this.root = root;
+        this.shift = shift;
+        this.slotCount = slotCount;
+    }
+
+    /**
+     * Returns a PersistentTaskVector object holding the specified tasks in consecutive slots, building the trie
+     * bottom-up in a single pass.
+     *
+     * @param tasks The tasks to be held.
+     * @return A PersistentTaskVector object holding the tasks.
+     */
+    static PersistentTaskVector of(Collection<? extends Task> tasks) {
+        assert tasks != null;
+
+        if (tasks.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<Node> nodes = new ArrayList<Node>((tasks.size() + MASK) / WIDTH);
+        Object[] children = new Object[WIDTH];
+        int childCount = 0;
+        for (Task task : tasks) {
+            assert task != null;
+
+            children[childCount++] = task;
+            if (childCount == WIDTH) {
+                nodes.add(new Node(children, WIDTH));
+                children = new Object[WIDTH];
+                childCount = 0;
+            }
+        }
+        if (childCount > 0) {
+            nodes.add(new Node(children, childCount));
+        }
+
+        int shift = 0;
+        while (nodes.size() > 1) {
+            nodes = groupNodes(nodes);
+            shift += BITS;
+        }
+
+        return new PersistentTaskVector(nodes.get(0), shift, tasks.size());
+    }
+
+    @Override
+    public Task get(int index) {
+        return getSlot(toSlot(index));
+    }
+
+    @Override
+    public int size() {
+        return root.taskCount;
+    }
+
+    /**
+     * Returns the number of slots, including empty ones.
+     *
+     * @return The number of slots.
+     */
+    int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Returns the task in the specified slot, or null if the slot is empty.
+     *
+     * @param slot The slot.
+     * @return The task in the slot, or null if the slot is empty.
+     * @throws IndexOutOfBoundsException Indicates that the slot is out of range.
+     */
+    Task getSlot(int slot) {
+        Objects.checkIndex(slot, slotCount);
+
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.children[(slot >>> level) & MASK];
+        }
+
+        return (Task) node.children[slot & MASK];
+    }
+
+    /**
+     * Returns the slot holding the task at the specified index.
+     *
+     * @param index The index of the task.
+     * @return The slot holding the task.
+     * @throws IndexOutOfBoundsException Indicates that the index is out of range.
+     */
+    int toSlot(int index) {
+        Objects.checkIndex(index, size());
+
+        if (size() == slotCount) {
+            return index;
+        }
+
+        Node node = root;
+        int slot = 0;
+        int remaining = index;
+        for (int level = shift; level > 0; level -= BITS) {
+            int child = 0;
+            while (remaining >= ((Node) node.children[child]).taskCount) {
+                remaining -= ((Node) node.children[child]).taskCount;
+                ++child;
+            }
+
+            slot |= child << level;
+            node = (Node) node.children[child];
+        }
+
+        for (int child = 0; ; ++child) {
+            if (node.children[child] != null && remaining-- == 0) {
+                return slot | child;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of tasks in the slots before the specified slot, which is the index of the task in it.
+     *
+     * @param slot The slot.
+     * @return The number of tasks before the slot.
+     */
+    int countTasksBefore(int slot) {
+        Objects.checkIndex(slot, slotCount);
+
+        if (size() == slotCount) {
+            return slot;
+        }
+
+        int count = 0;
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            int child = (slot >>> level) & MASK;
+            for (int i = 0; i < child; ++i) {
+                count += ((Node) node.children[i]).taskCount;
+            }
+
+            node = (Node) node.children[child];
+        }
+
+        for (int i = 0; i < (slot & MASK); ++i) {
+            count += node.children[i] == null ? 0 : 1;
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns a version of this list with the specified task in the specified slot.
+     *
+     * @param slot The slot.
+     * @param task The task to put in the slot, or null to empty it.
+     * @return The changed version of this list.
+     * @throws IndexOutOfBoundsException Indicates that the slot is out of range.
+     */
+    PersistentTaskVector withSlot(int slot, Task task) {
+        Objects.checkIndex(slot, slotCount);
+
+        return new PersistentTaskVector(setSlot(root, shift, slot, task), shift, slotCount);
+    }
+
+    /**
+     * Returns a version of this list with the specified task in a new slot after every other slot.
+     *
+     * @param task The task to be added.
+     * @return The changed version of this list.
+     */
+    PersistentTaskVector withAppended(Task task) {
+        assert task != null;
+
+        Node newRoot = root;
+        int newShift = shift;
+        if (slotCount == 1 << (shift + BITS)) {
+            // The trie is full, so it becomes the first child of a new root one level higher
+            Object[] children = new Object[WIDTH];
+            children[0] = root;
+            newRoot = new Node(children, root.taskCount);
+            newShift += BITS;
+        }
+
+        return new PersistentTaskVector(setSlot(newRoot, newShift, slotCount, task), newShift, slotCount + 1);
+    }
+
+    /**
+     * Returns a version of this list without its empty slots, which renumbers the slots after them.
+     * <p>
+     * The whole trie is rebuilt, so no node is shared with this list.
+     * </p>
+     *
+     * @return This list if it has no empty slots, or a version of it without them.
+     */
+    PersistentTaskVector compact() {
+        if (size() == slotCount) {
+            return this;
+        }
+
+        return of(toArrayList());
+    }
+
+    /**
+     * Returns the tasks in a new array list, collected in a single walk of the trie.
+     *
+     * @return The tasks in a new array list.
+     */
+    List<Task> toArrayList() {
+        List<Task> tasks = new ArrayList<Task>(size());
+        collectTasks(root, shift, tasks);
+
+        return tasks;
+    }
+
+    /**
+     * Returns a copy of the specified node, which may be missing, with the specified task in the specified slot.
+     */
+    private static Node setSlot(Node node, int level, int slot, Task task) {
+        Object[] children = node == null ? new Object[WIDTH] : node.children.clone();
+        int taskCount = node == null ? 0 : node.taskCount;
+        int child = (slot >>> level) & MASK;
+
+        if (level == 0) {
+            taskCount += (task == null ? 0 : 1) - (children[child] == null ? 0 : 1);
+            children[child] = task;
+            return new Node(children, taskCount);
+        }
+
+        Node oldChild = (Node) children[child];
+        Node newChild = setSlot(oldChild, level - BITS, slot, task);
+        children[child] = newChild;
+
+        return new Node(children, taskCount - (oldChild == null ? 0 : oldChild.taskCount) + newChild.taskCount);
+    }
+
+    /**
+     * Returns the parents of the specified nodes, with every parent but the last one full.
+     */
+    private static List<Node> groupNodes(List<Node> nodes) {
+        List<Node> parents = new ArrayList<Node>((nodes.size() + MASK) / WIDTH);
+        for (int start = 0; start < nodes.size(); start += WIDTH) {
+            int end = Math.min(start + WIDTH, nodes.size());
+
+            Object[] children = new Object[WIDTH];
+            int taskCount = 0;
+            for (int i = start; i < end; ++i) {
+                children[i - start] = nodes.get(i);
+                taskCount += nodes.get(i).taskCount;
+            }
+            parents.add(new Node(children, taskCount));
+        }
+
+        return parents;
+    }
+
+    private static void collectTasks(Node node, int level, List<Task> out) {
+        for (Object child : node.children) {
+            if (child == null) {
+                // Children are filled in order, except for the empty slots of leaves
+                if (level > 0) {
+                    return;
+                }
+            } else if (level == 0) {
+                out.add((Task) child);
+            } else {
+                collectTasks((Node) child, level - BITS, out);
+            }
+        }
+    }
+}
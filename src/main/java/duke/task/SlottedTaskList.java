@@ -0,0 +1,604 @@
+package duke.task;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Represents a list of tasks that are held in slots of another list, and can be found by their IDs.
+ * <p>
+ * Every task is given an ID when it is added, unless it already has one that no other task in the list has. IDs are
+ * given in increasing order, starting after the largest ID in the list, and are looked up using a
+ * {@link TaskIdIndex}.
+ * </p>
+ * <p>
+ * Removing a task only marks its slot as removed instead of shifting every later task, so removing a task from the
+ * middle of a large list takes logarithmic time. A single task inserted before the end of the list takes over the
+ * removed slot nearest to it, shifting only the tasks in between, so a removed task being put back takes over its own
+ * slot. Otherwise, the slots of removed tasks are dropped all at once when they make up more than half of the slots,
+ * or when several tasks are inserted before the end of the list. While any slot is marked as removed, indexes are
+ * converted to slots and back using a Fenwick tree that counts the slots still holding tasks.
+ * </p>
+ * <p>
+ * Inserting a task before the end of the list, or dropping the slots of removed tasks, moves later tasks to other
+ * slots. The slots recorded for their IDs are only brought up to date when a task is next looked up by an ID recorded
+ * as being in one of those slots, so that a run of such changes renumbers the slots once instead of once per change.
+ * </p>
+ * <p>
+ * An {@link IndexedTaskList}, such as a {@link ChunkedTaskList} or a {@link PersistentTaskList}, already inserts and
+ * removes tasks anywhere without shifting every later task, and finds tasks by their IDs itself, so tasks are inserted
+ * into and removed from it directly, without marking any slot.
+ * </p>
+ */
+class SlottedTaskList extends AbstractList<Task> implements RandomAccess {
+    private final List<Task> slots;
+
+    /** The list of slots if it is an {@link IndexedTaskList}, or null otherwise. */
+    private final IndexedTaskList indexedSlots;
+
+    private final BitSet removedSlots = new BitSet();
+    private int removedCount;
+
+    /**
+     * The Fenwick tree counting the slots that still hold tasks, starting from 1, or null if no slot is marked as
+     * removed.
+     */
+    private int[] keptCounts;
+
+    private final TaskIdIndex idIndex = new TaskIdIndex();
+
+    /**
+     * The range of slots whose tasks may have moved since the slots holding them were recorded in the ID index, from
+     * the first slot to the slot after the last. Every slot recorded wrongly is in the range, as are the slots the
+     * tasks actually are in. The IDs themselves are always indexed, so whether an ID is taken is known either way.
+     */
+    private int staleSlotsFrom = Integer.MAX_VALUE;
+    private int staleSlotsTo = Integer.MIN_VALUE;
+
+    private long nextId;
+    private long assignedIdCount;
+
+    /**
+     * Creates a SlottedTaskList object holding the tasks in the specified list, giving an ID to each task without one.
+     *
+     * @param slots The list whose elements are used as the slots of the tasks.
+     * @param minNextId The smallest ID that may be given to a task, which keeps IDs from being given again after the
+     *                  tasks holding them were removed.
+     */
+    SlottedTaskList(List<Task> slots, long minNextId) {
+        assert slots != null;
+        assert minNextId > Task.NO_ID;
+
+        this.slots = slots;
+        indexedSlots = slots instanceof IndexedTaskList ? (IndexedTaskList) slots : null;
+
+        long maxId = Task.NO_ID;
+        for (int slot = 0; slot < slots.size(); ++slot) {
+            maxId = Math.max(maxId, getId(slot));
+        }
+        nextId = Math.max(minNextId, maxId + 1);
+
+        if (indexedSlots != null) {
+            // The tasks are given unique IDs before being put back, so that the IDs the indexed list indexes are unique
+            List<Task> tasks = new ArrayList<Task>(slots.size());
+            TaskIdIndex givenIds = new TaskIdIndex();
+            for (Task task : slots) {
+                Task newTask = task;
+                if (task.getId() == Task.NO_ID || givenIds.get(task.getId()) != TaskIdIndex.NO_SLOT) {
+                    newTask = task.withId(nextId++);
+                    ++assignedIdCount;
+                }
+                givenIds.put(newTask.getId(), tasks.size());
+                tasks.add(newTask);
+            }
+
+            slots.clear();
+            slots.addAll(tasks);
+            return;
+        }
+
+        for (int slot = 0; slot < slots.size(); ++slot) {
+            long id = getId(slot);
+            if (id == Task.NO_ID || idIndex.get(id) != TaskIdIndex.NO_SLOT) {
+                id = nextId++;
+                setId(slot, id);
+                ++assignedIdCount;
+            }
+            idIndex.put(id, slot);
+        }
+    }
+
+    /**
+     * Returns a copy of the tasks that is not affected by later changes to them.
+     * <p>
+     * The list of slots is copied as by {@link LazyTaskList#copyOf(List)}, and the slots of removed tasks are dropped
+     * from the copy.
+     * </p>
+     *
+     * @return A copy of the tasks.
+     */
+    List<Task> copyTasks() {
+        List<Task> copy = LazyTaskList.copyOf(slots);
+        if (removedCount > 0) {
+            removeMarked(copy, removedSlots);
+        }
+
+        return copy;
+    }
+
+    @Override
+    public Task get(int index) {
+        return slots.get(toSlot(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the task has no ID, it is given the ID of the task it replaces.
+     * </p>
+     *
+     * @param index {@inheritDoc}
+     * @param task {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Task set(int index, Task task) {
+        assert task != null;
+
+        int slot = toSlot(index);
+
+        // Read first, so that a lazily loaded task that is incorrect fails the change before anything is changed
+        slots.get(slot);
+        long oldId = getId(slot);
+
+        Task newTask = task;
+        if (task.getId() == Task.NO_ID) {
+            newTask = task.withId(oldId);
+        } else if (task.getId() != oldId) {
+            unindexId(oldId);
+            newTask = prepareForAdding(task);
+            indexId(newTask.getId(), slot);
+        }
+
+        return slots.set(slot, newTask);
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        assert task != null;
+
+        addAll(index, List.of(task));
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends Task> tasks) {
+        assert tasks != null;
+
+        Objects.checkIndex(index, size() + 1);
+
+        if (tasks.isEmpty()) {
+            return false;
+        }
+
+        if (indexedSlots != null) {
+            int slot = index;
+            for (Task task : tasks) {
+                assert task != null;
+
+                slots.add(slot++, prepareForAdding(task));
+            }
+
+            ++modCount;
+            return true;
+        }
+
+        if (tasks.size() == 1 && index < size() && fillNearestRemovedSlot(index, tasks.iterator().next())) {
+            return true;
+        }
+
+        // Slots after the index would shift, so the slots of removed tasks are dropped instead of being kept track of
+        boolean isAppending = index == size();
+        if (!isAppending) {
+            compact();
+        }
+
+        List<Task> newTasks = new ArrayList<Task>(tasks.size());
+        int slot = isAppending ? slots.size() : index;
+        for (Task task : tasks) {
+            assert task != null;
+
+            Task newTask = prepareForAdding(task);
+            idIndex.put(newTask.getId(), slot++);
+            newTasks.add(newTask);
+        }
+
+        ++modCount;
+
+        if (!isAppending) {
+            slots.addAll(index, newTasks);
+            markStale(index, Integer.MAX_VALUE);
+            return true;
+        }
+
+        for (Task task : newTasks) {
+            slots.add(task);
+            if (keptCounts != null) {
+                addKeptCount(slots.size() - 1);
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public Task remove(int index) {
+        int slot = toSlot(index);
+        Task task = slots.get(slot);
+
+        unindexId(getId(slot));
+        ++modCount;
+
+        // Nothing comes after the last slot, so it is cheaper to drop it than to mark it, as it is for indexed lists
+        if (slot == slots.size() - 1 || indexedSlots != null) {
+            slots.remove(slot);
+            return task;
+        }
+
+        if (keptCounts == null) {
+            buildKeptCounts();
+        }
+        removedSlots.set(slot);
+        ++removedCount;
+        updateKeptCount(slot, -1);
+
+        if (removedCount > slots.size() / 2) {
+            compact();
+        }
+
+        return task;
+    }
+
+    @Override
+    public int size() {
+        return slots.size() - removedCount;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        for (int i = toIndex - 1; i >= fromIndex; --i) {
+            remove(i);
+        }
+    }
+
+    /**
+     * Returns the index of the task with the specified ID, or -1 if there is none.
+     *
+     * @param id The ID of the task.
+     * @return The index of the task, or -1 if there is none.
+     */
+    int indexOfId(long id) {
+        if (id <= Task.NO_ID) {
+            return -1;
+        }
+
+        if (indexedSlots != null) {
+            return indexedSlots.indexOfId(id);
+        }
+
+        int slot = idIndex.get(id);
+        if (slot == TaskIdIndex.NO_SLOT) {
+            return -1;
+        }
+
+        if (slot >= staleSlotsFrom && slot < staleSlotsTo) {
+            indexStaleSlots();
+            slot = idIndex.get(id);
+        }
+
+        return removedCount == 0 ? slot : countKeptBefore(slot);
+    }
+
+    /**
+     * Records the slots of the tasks that may have moved in the ID index right away, after which looking up an ID does
+     * not change the task list until it is changed again.
+     */
+    void indexStaleSlots() {
+        if (staleSlotsFrom >= staleSlotsTo) {
+            return;
+        }
+
+        indexIds(staleSlotsFrom, Math.min(staleSlotsTo, slots.size()));
+        staleSlotsFrom = Integer.MAX_VALUE;
+        staleSlotsTo = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Returns the list whose elements are used as the slots of the tasks, including the slots of removed tasks.
+     *
+     * @return The list of slots.
+     */
+    List<Task> getSlots() {
+        return slots;
+    }
+
+    /**
+     * Returns the slot holding the task at the specified index.
+     *
+     * @param index The index of the task.
+     * @return The slot holding the task.
+     * @throws IndexOutOfBoundsException Indicates that the index is out of range.
+     */
+    int toSlot(int index) {
+        Objects.checkIndex(index, size());
+
+        if (removedCount == 0) {
+            return index;
+        }
+
+        // Finds the last position of the tree whose prefix still holds fewer than index + 1 tasks
+        int position = 0;
+        int remaining = index + 1;
+        for (int step = Integer.highestOneBit(slots.size()); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= slots.size() && keptCounts[next] < remaining) {
+                position = next;
+                remaining -= keptCounts[next];
+            }
+        }
+
+        return position;
+    }
+
+    /**
+     * Returns the number of IDs given to tasks that had none, or whose IDs were already taken, since the list was
+     * created.
+     *
+     * @return The number of IDs given to tasks.
+     */
+    long getAssignedIdCount() {
+        return assignedIdCount;
+    }
+
+    /**
+     * Returns the smallest ID that may be given to the next task.
+     *
+     * @return The smallest ID that may be given to the next task.
+     */
+    long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Removes the tasks in the slots set in the specified bit set without reading them, and drops the slots of every
+     * removed task.
+     *
+     * @param marked The slots of the tasks to be removed, none of which may hold a removed task.
+     */
+    void removeSlots(BitSet marked) {
+        assert marked != null;
+        assert indexedSlots == null;
+
+        for (int slot = marked.nextSetBit(0); slot >= 0; slot = marked.nextSetBit(slot + 1)) {
+            assert !removedSlots.get(slot);
+            unindexId(getId(slot));
+        }
+
+        removedSlots.or(marked);
+        removedCount += marked.cardinality();
+        ++modCount;
+
+        compact();
+    }
+
+    /**
+     * Drops the slots of removed tasks, renumbering the slots of the remaining tasks.
+     */
+    void compact() {
+        if (removedCount == 0) {
+            return;
+        }
+
+        int firstRemovedSlot = removedSlots.nextSetBit(0);
+
+        removeMarked(slots, removedSlots);
+        removedSlots.clear();
+        removedCount = 0;
+        keptCounts = null;
+
+        // The IDs of removed tasks are no longer indexed, and the slots before the first of them did not move
+        markStale(firstRemovedSlot, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the specified task, or a copy of it with a new ID if it has no ID or its ID is already taken.
+     */
+    private Task prepareForAdding(Task task) {
+        long id = task.getId();
+
+        if (id == Task.NO_ID || hasId(id)) {
+            ++assignedIdCount;
+            return task.withId(nextId++);
+        }
+
+        nextId = Math.max(nextId, id + 1);
+        return task;
+    }
+
+    private boolean hasId(long id) {
+        return indexedSlots != null ? indexedSlots.indexOfId(id) >= 0 : idIndex.get(id) != TaskIdIndex.NO_SLOT;
+    }
+
+    /**
+     * Records the slot holding the task with the specified ID, unless the indexed list of slots records it itself.
+     */
+    private void indexId(long id, int slot) {
+        if (indexedSlots == null) {
+            idIndex.put(id, slot);
+        }
+    }
+
+    private void unindexId(long id) {
+        if (indexedSlots == null) {
+            idIndex.remove(id);
+        }
+    }
+
+    /**
+     * Inserts the specified task at the specified index by shifting the tasks between it and the nearest removed slot
+     * into that slot, if any slot is marked as removed. A removed task put back where it was, or a task inserted just
+     * after the slot of a removed task, takes over the removed slot without shifting any task. Returns true if the task
+     * was inserted.
+     */
+    private boolean fillNearestRemovedSlot(int index, Task task) {
+        assert task != null;
+
+        if (removedCount == 0) {
+            return false;
+        }
+
+        int slot = toSlot(index);
+        int removedAfter = removedSlots.nextSetBit(slot);
+        int removedBefore = removedSlots.previousSetBit(slot - 1);
+
+        // The tasks between the slot and the removed slot chosen all shift by one towards the removed slot
+        int removedSlot;
+        int newSlot;
+        if (removedBefore >= 0 && (removedAfter < 0 || slot - removedBefore <= removedAfter - slot)) {
+            removedSlot = removedBefore;
+            newSlot = slot - 1;
+        } else {
+            removedSlot = removedAfter;
+            newSlot = slot;
+        }
+
+        Task newTask = prepareForAdding(task);
+        if (removedSlot == newSlot) {
+            slots.set(newSlot, newTask);
+        } else {
+            slots.remove(removedSlot);
+            slots.add(newSlot, newTask);
+            markStale(Math.min(removedSlot, newSlot), Math.max(removedSlot, newSlot) + 1);
+        }
+        idIndex.put(newTask.getId(), newSlot);
+
+        // Every slot from the one chosen to the one the task is in now holds a task, as the removed slot was nearest
+        removedSlots.clear(removedSlot);
+        --removedCount;
+        updateKeptCount(removedSlot, 1);
+        ++modCount;
+
+        return true;
+    }
+
+    private long getId(int slot) {
+        if (slots instanceof ColumnarTaskList) {
+            return ((ColumnarTaskList) slots).getId(slot);
+        }
+
+        if (slots instanceof LazyTaskList) {
+            return ((LazyTaskList) slots).getId(slot);
+        }
+
+        return slots.get(slot).getId();
+    }
+
+    private void setId(int slot, long id) {
+        if (slots instanceof LazyTaskList) {
+            ((LazyTaskList) slots).setId(slot, id);
+            return;
+        }
+
+        slots.set(slot, slots.get(slot).withId(id));
+    }
+
+    /**
+     * Records that the tasks in the specified range of slots may have moved since the slots holding them were
+     * recorded.
+     */
+    private void markStale(int fromSlot, int toSlot) {
+        staleSlotsFrom = Math.min(staleSlotsFrom, fromSlot);
+        staleSlotsTo = Math.max(staleSlotsTo, toSlot);
+    }
+
+    /**
+     * Records the slots holding the tasks in the specified range of slots, skipping the slots of removed tasks, whose
+     * IDs are no longer indexed.
+     */
+    private void indexIds(int fromSlot, int toSlot) {
+        for (int slot = fromSlot; slot < toSlot; ++slot) {
+            if (!removedSlots.get(slot)) {
+                idIndex.put(getId(slot), slot);
+            }
+        }
+    }
+
+    private void buildKeptCounts() {
+        keptCounts = new int[Math.max(slots.size(), 1) * 2];
+
+        for (int i = 1; i <= slots.size(); ++i) {
+            keptCounts[i] += removedSlots.get(i - 1) ? 0 : 1;
+
+            int parent = i + Integer.lowestOneBit(i);
+            if (parent <= slots.size()) {
+                keptCounts[parent] += keptCounts[i];
+            }
+        }
+    }
+
+    /**
+     * Adds the newly added last slot to the Fenwick tree.
+     */
+    private void addKeptCount(int slot) {
+        int position = slot + 1;
+        if (position >= keptCounts.length) {
+            keptCounts = Arrays.copyOf(keptCounts, keptCounts.length * 2);
+        }
+
+        // The node covers the slot and the slots just before it, which are all already counted
+        keptCounts[position] = 1 + countKeptBefore(slot) - countKeptBefore(position - Integer.lowestOneBit(position));
+    }
+
+    private void updateKeptCount(int slot, int change) {
+        for (int i = slot + 1; i < keptCounts.length; i += Integer.lowestOneBit(i)) {
+            keptCounts[i] += change;
+        }
+    }
+
+    private int countKeptBefore(int slot) {
+        int count = 0;
+        for (int i = slot; i > 0; i -= Integer.lowestOneBit(i)) {
+            count += keptCounts[i];
+        }
+
+        return count;
+    }
+
+    /**
+     * Removes the elements at the indexes set in the specified bit set from the specified list, in a single pass.
+     */
+    private static void removeMarked(List<Task> tasks, BitSet marked) {
+        if (tasks instanceof ColumnarTaskList) {
+            ((ColumnarTaskList) tasks).removeMarked(marked);
+            return;
+        }
+
+        if (tasks instanceof LazyTaskList) {
+            ((LazyTaskList) tasks).removeMarked(marked);
+            return;
+        }
+
+        int keptCount = 0;
+        for (int i = 0; i < tasks.size(); ++i) {
+            if (!marked.get(i)) {
+                tasks.set(keptCount, tasks.get(i));
+                ++keptCount;
+            }
+        }
+        tasks.subList(keptCount, tasks.size()).clear();
+    }
+}
@@ -1,20 +1,45 @@
 package duke.task;
 
+import duke.exception.DukeException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Represents a task.
  */
 public abstract class Task {
+    /** The ID of a task that has not been given one yet. IDs given to tasks start from 1. */
+    public static final long NO_ID = 0;
+
     /** Use to divide the fields of the task when writing to storage. */
     protected static final char FIELD_DIVIDER = '|';
 
-    /** Use to split a task storage string into it's fields.*/
-    static final String FIELD_SPLIT_REGEX = String.format(" \\%c ", Task.FIELD_DIVIDER);
+    /** Separates the fields of a task storage string. */
+    protected static final String FIELD_SEPARATOR = String.format(" %c ", FIELD_DIVIDER);
 
     private static final String FIELD_DIVIDER_SUBSTITUTE = "\\|";
 
+    private static final int VAR_INT_PAYLOAD_BITS = 7;
+    private static final int VAR_INT_PAYLOAD_MASK = 0x7f;
+    private static final int VAR_INT_CONTINUE_BIT = 0x80;
+    private static final int VAR_INT_MAX_BYTES = 5;
+
+    private long id;
     private boolean isDone;
     private final String description;
 
+    /** The display string of the task, created when first needed. */
+    private String displayStr;
+
+    /** The storage string of the task, created when first needed. */
+    private String storageStr;
+
     /**
      * Creates a Task object.
      *
@@ -22,14 +47,74 @@ public abstract class Task {
      * @param description Description of the task.
      */
     public Task(boolean isDone, String description) {
+        this(NO_ID, isDone, description);
+    }
+
+    /**
+     * Creates a Task object with the specified ID.
+     *
+     * @param id ID of the task, or {@link #NO_ID} if it has none yet.
+     * @param isDone Is the task done.
+     * @param description Description of the task.
+     */
+    Task(long id, boolean isDone, String description) {
+        assert id >= NO_ID;
+
+        this.id = id;
         this.isDone = isDone;
         this.description = description;
     }
 
+    /**
+     * Returns the ID of the task, which stays the same for as long as the task is kept, or {@link #NO_ID} if the task
+     * has not been added to a task list yet.
+     *
+     * @return The ID of the task, or {@link #NO_ID} if it has none yet.
+     */
+    public long getId() {
+        return id;
+    }
+
     public String getDescription() {
         return description;
     }
 
+    /**
+     * Returns the earliest date and time of the task, or null if the task has no date and time.
+     *
+     * @return The earliest date and time of the task, or null if the task has no date and time.
+     */
+    LocalDateTime getFirstDateTime() {
+        return null;
+    }
+
+    /**
+     * Returns the latest date and time of the task, or null if the task has no date and time.
+     *
+     * @return The latest date and time of the task, or null if the task has no date and time.
+     */
+    LocalDateTime getLastDateTime() {
+        return null;
+    }
+
+    /**
+     * Returns true if any date and time of the task falls within the specified range, inclusive. Otherwise, returns
+     * false.
+     *
+     * @param from The start of the range.
+     * @param to The end of the range.
+     * @return True if any date and time of the task falls within the range. False otherwise.
+     */
+    boolean isDuring(LocalDateTime from, LocalDateTime to) {
+        assert from != null;
+        assert to != null;
+
+        LocalDateTime first = getFirstDateTime();
+        LocalDateTime last = getLastDateTime();
+
+        return first != null && !first.isAfter(to) && !last.isBefore(from);
+    }
+
     /**
      * Returns a copy of this Task object with isDone set to the specified value.
      *
@@ -43,40 +128,212 @@ public abstract class Task {
         return task;
     }
 
+    /**
+     * Returns a copy of this Task object with its ID set to the specified value.
+     *
+     * @param id The value to set the ID to, which must be positive.
+     * @return Copy of this Task object with its ID set to the specified value.
+     */
+    public Task withId(long id) {
+        assert id > NO_ID;
+
+        Task task = createCopy();
+        task.id = id;
+
+        return task;
+    }
+
+    /**
+     * Returns the string displayed to the user for the task.
+     * <p>
+     * The string is only created the first time it is needed, as a task never changes once it is shared.
+     * </p>
+     *
+     * @return The string displayed to the user for the task.
+     */
     @Override
-    public String toString() {
-        String doneStatusStr = isDone ? "X" : " ";
+    public final String toString() {
+        if (displayStr == null) {
+            displayStr = createDisplayStr();
+        }
 
-        return String.format("[%s] %s", doneStatusStr, description);
+        return displayStr;
     }
 
     /**
      * Returns a string containing data about the task. This string is formatted for writing to storage.
+     * <p>
+     * The string starts with the ID of the task, unless it has none yet. It is only created the first time it is
+     * needed, as a task never changes once it is shared.
+     * </p>
      *
      * @return A string containing data about the task.
      */
-    public String getStorageStr() {
-        return String.format("%b %s %s", isDone, FIELD_DIVIDER, formatStrForStorage(description));
+    public final String getStorageStr() {
+        if (storageStr == null) {
+            StringBuilder stringBuilder = new StringBuilder();
+            appendIdField(stringBuilder);
+            appendStorageFields(stringBuilder);
+            storageStr = stringBuilder.toString();
+        }
+
+        return storageStr;
+    }
+
+    /**
+     * Appends the string returned by {@link #getStorageStr()} to the specified builder.
+     * <p>
+     * The fields of the task are appended one at a time, without creating any intermediate strings, so writing many
+     * tasks through the same builder creates next to no garbage.
+     * </p>
+     *
+     * @param out The builder to append to.
+     */
+    public final void appendStorageStr(StringBuilder out) {
+        assert out != null;
+
+        if (storageStr != null) {
+            out.append(storageStr);
+        } else {
+            appendIdField(out);
+            appendStorageFields(out);
+        }
     }
 
     /**
-     * Formats a string to be suited for writing to storage and returns the formatted string.
+     * Writes data about the task to the specified output in binary form.
      *
+     * @param out The output to write to.
+     * @throws IOException Indicates failure to write to the output.
+     */
+    public void writeBinary(DataOutput out) throws IOException {
+        assert out != null;
+
+        out.writeBoolean(isDone);
+        writeBinaryStr(out, description);
+    }
+
+    /**
+     * Writes a string to the specified output as its length in UTF-8 bytes followed by the bytes.
+     * <p>
+     * The length is written in 7-bit groups, so short strings only need a single byte for it.
+     * </p>
+     *
+     * @param out The output to write to.
+     * @param str The string to write.
+     * @throws IOException Indicates failure to write to the output.
+     */
+    protected static void writeBinaryStr(DataOutput out, String str) throws IOException {
+        assert out != null;
+        assert str != null;
+
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+
+        int length = bytes.length;
+        while ((length & ~VAR_INT_PAYLOAD_MASK) != 0) {
+            out.writeByte((length & VAR_INT_PAYLOAD_MASK) | VAR_INT_CONTINUE_BIT);
+            length >>>= VAR_INT_PAYLOAD_BITS;
+        }
+        out.writeByte(length);
+
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeBinaryStr} from the specified input and returns it.
+     *
+     * @param in The input to read from.
+     * @return The string read.
+     * @throws IOException Indicates failure to read from the input.
+     * @throws DukeException Indicates an incorrectly formatted length.
+     */
+    protected static String readBinaryStr(DataInput in) throws IOException, DukeException {
+        assert in != null;
+
+        int length = 0;
+        for (int i = 0; ; ++i) {
+            if (i == VAR_INT_MAX_BYTES) {
+                throw new DukeException("A task in storage has an incorrectly formatted description!");
+            }
+
+            int lengthByte = in.readUnsignedByte();
+            length |= (lengthByte & VAR_INT_PAYLOAD_MASK) << (VAR_INT_PAYLOAD_BITS * i);
+
+            if ((lengthByte & VAR_INT_CONTINUE_BIT) == 0) {
+                break;
+            }
+        }
+
+        if (length < 0) {
+            throw new DukeException("A task in storage has an incorrectly formatted description!");
+        }
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Formats a string to be suited for writing to storage and appends the formatted string to the specified builder,
+     * in a single pass over the string.
+     *
+     * @param out The builder to append to.
      * @param str The string to be formatted.
-     * @return The string formatted to be suited for writing to storage.
      */
-    protected static String formatStrForStorage(String str) {
+    protected static void appendStrForStorage(StringBuilder out, String str) {
+        assert out != null;
         assert str != null;
 
-        return str.replace(Character.toString(FIELD_DIVIDER), FIELD_DIVIDER_SUBSTITUTE);
+        int runStart = 0;
+        for (int i = str.indexOf(FIELD_DIVIDER); i >= 0; i = str.indexOf(FIELD_DIVIDER, i + 1)) {
+            out.append(str, runStart, i).append(FIELD_DIVIDER_SUBSTITUTE);
+            runStart = i + 1;
+        }
+        out.append(str, runStart, str.length());
+    }
+
+    /**
+     * Splits a task storage string into its fields and returns them.
+     * <p>
+     * Behaves like splitting on the regex {@code " \\| "} with {@link String#split(String)}, without the cost of
+     * matching a regex.
+     * </p>
+     *
+     * @param taskStorageStr The task storage string to split.
+     * @return The fields of the task storage string.
+     */
+    static String[] splitStorageStr(String taskStorageStr) {
+        assert taskStorageStr != null;
+
+        List<String> fields = new ArrayList<String>();
+
+        int fieldStart = 0;
+        int separatorIndex = taskStorageStr.indexOf(FIELD_SEPARATOR);
+
+        while (separatorIndex >= 0) {
+            fields.add(taskStorageStr.substring(fieldStart, separatorIndex));
+            fieldStart = separatorIndex + FIELD_SEPARATOR.length();
+            separatorIndex = taskStorageStr.indexOf(FIELD_SEPARATOR, fieldStart);
+        }
+
+        fields.add(taskStorageStr.substring(fieldStart));
+
+        // Like String#split, drop trailing empty fields unless the string is not split at all
+        int fieldCount = fields.size();
+        while (fieldCount > 1 && fields.get(fieldCount - 1).isEmpty()) {
+            --fieldCount;
+        }
+
+        return fields.subList(0, fieldCount).toArray(new String[0]);
     }
 
     /**
      * Takes an array of strings that were loaded from storage, undo the formatting from
-     * {@link duke.task.Task#formatStrForStorage}, and return the strings.
+     * {@link #appendStrForStorage(StringBuilder, String)}, and return the strings.
      *
      * @param strs The strings that are to be formatted.
-     * @return The strings with formatting from {@link duke.task.Task#formatStrForStorage} undone.
+     * @return The strings with the formatting of {@link #getStorageStr()} undone.
      */
     protected static String[] formatStrsFromStorage(String[] strs) {
         assert strs != null;
@@ -100,7 +357,34 @@ public abstract class Task {
     }
 
     /**
-     * Creates a copy of this task and returns it.
+     * Creates the string displayed to the user for the task and returns it.
+     *
+     * @return The string displayed to the user for the task.
+     */
+    protected String createDisplayStr() {
+        String doneStatusStr = isDone ? "X" : " ";
+
+        return String.format("[%s] %s", doneStatusStr, description);
+    }
+
+    /**
+     * Appends the fields of the task, formatted for writing to storage, to the specified builder.
+     *
+     * @param out The builder to append to.
+     */
+    protected void appendStorageFields(StringBuilder out) {
+        out.append(isDone).append(FIELD_SEPARATOR);
+        appendStrForStorage(out, description);
+    }
+
+    private void appendIdField(StringBuilder out) {
+        if (id != NO_ID) {
+            out.append(id).append(FIELD_SEPARATOR);
+        }
+    }
+
+    /**
+     * Creates a copy of this task, including its ID, and returns it.
      *
      * @return A copy of this task.
      */
@@ -0,0 +1,61 @@
+package duke.task;
+
+import java.util.List;
+
+/**
+ * Represents a change made to the tasks in a storage outside of the app, as a single run of changed tasks between runs
+ * of unchanged tasks.
+ */
+public class TaskChange {
+    private final long[] baseTaskHashes;
+    private final int unchangedPrefixLength;
+    private final int unchangedSuffixLength;
+    private final List<Task> changedTasks;
+
+    /**
+     * Creates a TaskChange object.
+     *
+     * @param baseTaskHashes The hashes of the storage strings of the tasks before the change, as returned by
+     *                       {@link duke.io.LineChange#hashLine(CharSequence)}.
+     * @param unchangedPrefixLength The number of tasks at the start that are unchanged.
+     * @param unchangedSuffixLength The number of tasks at the end that are unchanged.
+     * @param changedTasks The tasks that replaced the tasks between the unchanged tasks.
+     */
+    public TaskChange(long[] baseTaskHashes, int unchangedPrefixLength, int unchangedSuffixLength,
+            List<Task> changedTasks) {
+        assert baseTaskHashes != null;
+        assert unchangedPrefixLength >= 0 && unchangedSuffixLength >= 0;
+        assert unchangedPrefixLength + unchangedSuffixLength <= baseTaskHashes.length;
+        assert changedTasks != null;
+
+        this.baseTaskHashes = baseTaskHashes;
+        this.unchangedPrefixLength = unchangedPrefixLength;
+        this.unchangedSuffixLength = unchangedSuffixLength;
+        this.changedTasks = changedTasks;
+    }
+
+    public long[] getBaseTaskHashes() {
+        return baseTaskHashes;
+    }
+
+    public int getUnchangedPrefixLength() {
+        return unchangedPrefixLength;
+    }
+
+    public int getUnchangedSuffixLength() {
+        return unchangedSuffixLength;
+    }
+
+    public List<Task> getChangedTasks() {
+        return changedTasks;
+    }
+
+    /**
+     * Returns the index just after the last task replaced by the change, counting the tasks before the change.
+     *
+     * @return The index just after the last replaced task.
+     */
+    public int getReplacedEnd() {
+        return baseTaskHashes.length - unchangedSuffixLength;
+    }
+}
@@ -0,0 +1,169 @@
+package duke.task;
+
+import java.util.Arrays;
+
+/**
+ * Represents a hash index from the IDs of tasks to the slots holding them.
+ * <p>
+ * The IDs and slots are kept in primitive arrays using open addressing with linear probing, so looking up an ID takes
+ * constant time and no object is created per task. Removing an ID shifts the IDs after it back instead of leaving a
+ * marker behind, so lookups never slow down as tasks come and go.
+ * </p>
+ */
+class TaskIdIndex {
+    /** The value of a bucket that holds no ID. */
+    private static final long EMPTY = Task.NO_ID;
+
+    /** Not found when looking up an ID. */
+    static final int NO_SLOT = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The multiplier of Fibonacci hashing, which spreads consecutive IDs across the buckets. */
+    private static final long HASH_MULTIPLIER = 0x9e3779b97f4a7c15L;
+
+    private long[] ids;
+    private int[] slots;
+    private int size;
+
+    /** The number of bits the hash is shifted by to get a bucket, which is 64 less the log of the capacity. */
+    private int hashShift;
+
+    /**
+     * Creates an empty TaskIdIndex object.
+     */
+    TaskIdIndex() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Returns the slot holding the task with the specified ID, or {@link #NO_SLOT} if there is none.
+     *
+     * @param id The ID of the task.
+     * @return The slot holding the task, or {@link #NO_SLOT} if there is none.
+     */
+    int get(long id) {
+        assert id != EMPTY;
+
+        for (int bucket = getBucket(id); ids[bucket] != EMPTY; bucket = (bucket + 1) & (ids.length - 1)) {
+            if (ids[bucket] == id) {
+                return slots[bucket];
+            }
+        }
+
+        return NO_SLOT;
+    }
+
+    /**
+     * Records that the task with the specified ID is held in the specified slot, replacing any slot recorded for the
+     * ID before.
+     *
+     * @param id The ID of the task.
+     * @param slot The slot holding the task.
+     */
+    void put(long id, int slot) {
+        assert id != EMPTY;
+        assert slot >= 0;
+
+        // The table is kept at most three quarters full, so that probes stay short
+        if ((size + 1) * 4L > ids.length * 3L) {
+            rehash(ids.length * 2);
+        }
+
+        int bucket = getBucket(id);
+        while (ids[bucket] != EMPTY && ids[bucket] != id) {
+            bucket = (bucket + 1) & (ids.length - 1);
+        }
+
+        if (ids[bucket] == EMPTY) {
+            ids[bucket] = id;
+            ++size;
+        }
+        slots[bucket] = slot;
+    }
+
+    /**
+     * Removes the specified ID from the index.
+     *
+     * @param id The ID of the task.
+     * @return True if the ID was in the index. False otherwise.
+     */
+    boolean remove(long id) {
+        assert id != EMPTY;
+
+        int mask = ids.length - 1;
+
+        int bucket = getBucket(id);
+        while (ids[bucket] != id) {
+            if (ids[bucket] == EMPTY) {
+                return false;
+            }
+            bucket = (bucket + 1) & mask;
+        }
+
+        // Shifts back any ID after the emptied bucket that would otherwise no longer be found from its home bucket
+        int emptied = bucket;
+        for (int next = (emptied + 1) & mask; ids[next] != EMPTY; next = (next + 1) & mask) {
+            int home = getBucket(ids[next]);
+            boolean isReachable = emptied <= next ? emptied < home && home <= next : emptied < home || home <= next;
+            if (!isReachable) {
+                ids[emptied] = ids[next];
+                slots[emptied] = slots[next];
+                emptied = next;
+            }
+        }
+        ids[emptied] = EMPTY;
+        --size;
+
+        return true;
+    }
+
+    /**
+     * Removes every ID from the index.
+     */
+    void clear() {
+        Arrays.fill(ids, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * Returns the number of IDs in the index.
+     *
+     * @return The number of IDs in the index.
+     */
+    int size() {
+        return size;
+    }
+
+    private int getBucket(long id) {
+        return (int) ((id * HASH_MULTIPLIER) >>> hashShift);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldIds = ids;
+        int[] oldSlots = slots;
+
+        allocate(capacity);
+
+        for (int i = 0; i < oldIds.length; ++i) {
+            if (oldIds[i] == EMPTY) {
+                continue;
+            }
+
+            int bucket = getBucket(oldIds[i]);
+            while (ids[bucket] != EMPTY) {
+                bucket = (bucket + 1) & (ids.length - 1);
+            }
+            ids[bucket] = oldIds[i];
+            slots[bucket] = oldSlots[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        assert Integer.bitCount(capacity) == 1;
+
+        ids = new long[capacity];
+        slots = new int[capacity];
+        hashShift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+    }
+}
@@ -1,20 +1,76 @@
 package duke.task;
 
 import duke.exception.DukeException;
+import duke.exception.UncheckedDukeException;
+import duke.io.LineChange;
+import duke.io.LineWriter;
+import duke.io.RecordCheck;
 import duke.io.Storage;
+import duke.io.StorageLock;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Represents a task list.
+ * <p>
+ * Every task in the task list has an ID, which stays the same for as long as the task is kept and is saved along
+ * with it. Tasks loaded without IDs, such as those saved before tasks had them, are given IDs and saved again. The
+ * next ID is kept by the storage where it can, so an ID is never given again, even after a restart.
+ * </p>
+ * <p>
+ * If the tasks are kept in a persistent list, the versions of the task list before its last 100 changes are kept, so
+ * that changes can be undone and redone.
+ * </p>
  */
 public class TaskList {
-    private static final int TASK_SYMBOL_ARG_INDEX = 0;
+    private static final long FIRST_ID = 1;
 
-    private List<Task> tasks;
+    /** The most changes that can be undone, which bounds the memory taken by the versions kept. */
+    private static final int MAX_UNDO_COUNT = 100;
 
-    private final Storage storage;
+    /**
+     * Represents the ways the tasks can be kept in memory.
+     */
+    public enum Backend {
+        /** Keep a task object for each task in an array. */
+        ARRAY,
+        /** Keep each field of the tasks in a column of primitives, which takes far less memory for large lists. */
+        COLUMNAR,
+        /**
+         * Keep a task object for each task in a sequence of small arrays, so that inserting or removing a task anywhere
+         * takes logarithmic time.
+         */
+        CHUNKED,
+        /**
+         * Keep a task object for each task in a persistent trie whose versions share most of their nodes, so that
+         * taking a snapshot takes constant time and changes can be undone.
+         */
+        PERSISTENT
+    }
+
+    private SlottedTaskList tasks;
+
+    private final TaskStorage storage;
+    private final Backend backend;
+
+    /** Counts the changes made to the task list, so that unchanged snapshots can be reused. */
+    private long version;
+
+    private List<Task> snapshot;
+    private long snapshotVersion;
+
+    /** The versions of the task list before the changes that can be undone, from the latest change. */
+    private final Deque<PersistentTaskVector> undoHistory = new ArrayDeque<PersistentTaskVector>();
+
+    /** The versions of the task list before the changes that were undone, from the last change undone. */
+    private final Deque<PersistentTaskVector> redoHistory = new ArrayDeque<PersistentTaskVector>();
 
     /**
      * Creates a TaskList object.
@@ -27,26 +83,88 @@ public class TaskList {
      * @throws DukeException Indicates an error in loading from storage or creating the storage.
      */
     public TaskList(Storage storage) throws DukeException {
+        this(new TextTaskStorage(storage));
+    }
+
+    /**
+     * Creates a TaskList object.
+     * <p>
+     * Fills the task list using the tasks from the specified task storage if it exist. If the task storage does not
+     * exist, create it.
+     * </p>
+     *
+     * @param storage The task storage to load the task list from and write changes to the task list to.
+     * @throws DukeException Indicates an error in loading from the task storage or creating the task storage.
+     */
+    public TaskList(TaskStorage storage) throws DukeException {
+        this(storage, false);
+    }
+
+    /**
+     * Creates a TaskList object that keeps its tasks in memory as columns of primitives if specified.
+     * <p>
+     * Fills the task list using the tasks from the specified task storage if it exist. If the task storage does not
+     * exist, create it.
+     * </p>
+     *
+     * @param storage The task storage to load the task list from and write changes to the task list to.
+     * @param isCompact Whether to keep the tasks as columns of primitives, which takes far less memory for large task
+     *                  lists, rather than as task objects.
+     * @throws DukeException Indicates an error in loading from the task storage or creating the task storage.
+     */
+    public TaskList(TaskStorage storage, boolean isCompact) throws DukeException {
+        this(storage, isCompact ? Backend.COLUMNAR : Backend.ARRAY);
+    }
+
+    /**
+     * Creates a TaskList object that keeps its tasks in memory using the specified backend.
+     * <p>
+     * Fills the task list using the tasks from the specified task storage if it exist. If the task storage does not
+     * exist, create it.
+     * </p>
+     *
+     * @param storage The task storage to load the task list from and write changes to the task list to.
+     * @param backend How to keep the tasks in memory.
+     * @throws DukeException Indicates an error in loading from the task storage or creating the task storage.
+     */
+    @SuppressWarnings("try")
+    public TaskList(TaskStorage storage, Backend backend) throws DukeException {
         assert storage != null;
+        assert backend != null;
 
         this.storage = storage;
-
-        if (storage.doesExist()) {
-            loadFromStorage();
-        } else {
-            createNewTaskListAndStorage();
+        this.backend = backend;
+
+        // Another process may otherwise create and fill the storage between checking for it and creating it
+        try (StorageLock lock = storage.lock()) {
+            if (storage.doesExist()) {
+                loadFromStorage();
+            } else {
+                createNewTaskListAndStorage();
+            }
         }
     }
 
     @Override
     public String toString() {
+        return toListStr(tasks);
+    }
+
+    /**
+     * Returns the specified task as an item of a list shown to the user, with its position in the task list, starting
+     * from 1, and its ID.
+     *
+     * @param index The index of the task in the task list, or in a snapshot of it.
+     * @param task The task.
+     * @return The task as an item of a list.
+     */
+    public static String getListItemStr(int index, Task task) {
+        assert task != null;
+
         StringBuilder stringBuilder = new StringBuilder();
-        for (int i = 0; i < tasks.size(); ++i) {
-            String taskStr = String.format("%d.%s\n", i + 1, tasks.get(i).toString());
-            stringBuilder.append(taskStr);
-        }
+        appendListItem(stringBuilder, index, task);
 
-        return stringBuilder.toString().trim();
+        return stringBuilder.toString();
     }
 
     /**
@@ -60,6 +178,19 @@ public class TaskList {
         return tasks.get(index);
     }
 
+    /**
+     * Returns the index of the task with the specified ID, or -1 if there is no such task.
+     * <p>
+     * IDs are looked up in a hash index, so this takes constant time however many tasks there are.
+     * </p>
+     *
+     * @param id The ID of the task.
+     * @return The index of the task, or -1 if there is no such task.
+     */
+    public int indexOfId(long id) {
+        return tasks.indexOfId(id);
+    }
+
     /**
      * Returns the number of tasks in the list.
      *
@@ -71,6 +202,9 @@ public class TaskList {
 
     /**
      * Adds the specified task to the end of the list and writes the updated task list to storage.
+     * <p>
+     * The task is given the next ID, unless it already has one that no other task in the list has.
+     * </p>
      *
      * @param task The task to be added.
      * @throws DukeException Indicates failure to write to storage.
@@ -78,18 +212,25 @@ public class TaskList {
     public void add(Task task) throws DukeException {
         assert task != null;
 
-        tasks.add(task);
+        PersistentTaskVector oldVersion = getPersistentVersion();
+        applyVersion(() -> tasks.add(task));
+        storage.setNextId(tasks.getNextId());
 
         try {
-            writeToStorage();
+            storage.writeAdded(tasks, tasks.size() - 1);
         } catch (DukeException e) {
-            tasks.remove(task);
+            applyVersion(() -> tasks.remove(tasks.size() - 1));
             throw e;
         }
+
+        recordHistory(oldVersion);
     }
 
     /**
      * Removes the task at the specified index, writes the updated task list to storage, and returns the removed task.
+     * <p>
+     * The tasks after it are not shifted in memory, so removing a task from the middle of a large task list is cheap.
+     * </p>
      *
      * @param index The index of the task to be removed.
      * @return The removed task.
@@ -97,15 +238,21 @@ public class TaskList {
      * @throws DukeException Indicates failure to write to storage.
      */
     public Task removeAt(int index) throws DukeException {
-        Task task = tasks.remove(index);
+        PersistentTaskVector oldVersion = getPersistentVersion();
+        Task task = applyVersion(() -> tasks.remove(index));
 
         try {
-            writeToStorage();
+            storage.writeRemoved(tasks, index);
         } catch (DukeException e) {
-            tasks.add(index, task);
+            applyVersion(() -> {
+                tasks.add(index, task);
+                return null;
+            });
             throw e;
         }
 
+        recordHistory(oldVersion);
+
         return task;
     }
 
@@ -120,25 +267,108 @@ public class TaskList {
     public void update(int index, Task task) throws DukeException {
         assert task != null;
 
-        Task oldTask = tasks.get(index);
-        tasks.set(index, task);
+        PersistentTaskVector oldVersion = getPersistentVersion();
+        Task oldTask = applyVersion(() -> tasks.set(index, task));
+        storage.setNextId(tasks.getNextId());
+
+        try {
+            storage.writeUpdated(tasks, index);
+        } catch (DukeException e) {
+            applyVersion(() -> tasks.set(index, oldTask));
+            throw e;
+        }
+
+        recordHistory(oldVersion);
+    }
+
+    /**
+     * Sets whether the task at index is done and writes the updated task list to storage.
+     * <p>
+     * If the task list is kept as columns of primitives, the done flag is flipped in place, without creating any task
+     * object. Nothing is written if the task is already in the specified state.
+     * </p>
+     *
+     * @param index The index of the task to be updated.
+     * @param isDone Whether the task is done.
+     * @throws IndexOutOfBoundsException Indicates that the index is out of range.
+     * @throws DukeException Indicates failure to write to storage.
+     */
+    public void setDone(int index, boolean isDone) throws DukeException {
+        if (!(tasks.getSlots() instanceof ColumnarTaskList)) {
+            Task task = tasks.get(index);
+            if (task.isDone() != isDone) {
+                update(index, task.setDone(isDone));
+            }
+            return;
+        }
+
+        ColumnarTaskList columnarTasks = (ColumnarTaskList) tasks.getSlots();
+        int slot = tasks.toSlot(index);
+        boolean wasDone = changeInMemory(() -> {
+            boolean oldIsDone = columnarTasks.setDone(slot, isDone);
+            if (oldIsDone != isDone) {
+                ++version;
+            }
+            return oldIsDone;
+        });
+        if (wasDone == isDone) {
+            return;
+        }
 
         try {
-            writeToStorage();
+            storage.writeUpdated(tasks, index);
         } catch (DukeException e) {
-            tasks.set(index, oldTask);
+            applyVersion(() -> columnarTasks.setDone(slot, !isDone));
             throw e;
         }
     }
 
     /**
-     * Writes the task list to the specified storage.
+     * Returns the number of changes made to the task list since it was loaded, which changes whenever the tasks do.
+     * A change that could not be written to storage is counted again when it is taken back.
+     *
+     * @return The number of changes made to the task list.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the tasks in the task list, as a list that later changes to the task list do not affect.
+     * <p>
+     * The snapshot is reused until the task list changes, so taking snapshots of an unchanged task list costs nothing.
+     * </p>
      *
-     * @param storage The storage to write to.
-     * @throws DukeException Indicates failure to write to the specified storage.
+     * @return An unmodifiable snapshot of the tasks in the task list.
      */
-    public void save(Storage storage) throws DukeException {
-        writeToStorage(storage);
+    public List<Task> getSnapshot() {
+        if (snapshot == null || snapshotVersion != version) {
+            snapshot = copyTasks();
+            snapshotVersion = version;
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Writes the task list to the specified task storage.
+     *
+     * @param storage The task storage to write to.
+     * @throws DukeException Indicates failure to write to the specified task storage.
+     */
+    public void save(TaskStorage storage) throws DukeException {
+        assert storage != null;
+
+        storage.write(tasks);
+    }
+
+    /**
+     * Writes any changes to the task list that are yet to be written to storage.
+     *
+     * @throws DukeException Indicates failure to write to storage.
+     */
+    public void flush() throws DukeException {
+        storage.flush();
     }
 
     /**
@@ -147,68 +377,484 @@ public class TaskList {
      * @throws DukeException Indicates failure to write to storage.
      */
     public void clear() throws DukeException {
-        List<Task> oldTasks = tasks;
-        tasks = new ArrayList<Task>();
+        PersistentTaskVector oldVersion = getPersistentVersion();
+        SlottedTaskList oldTasks = tasks;
+        applyVersion(() -> tasks = createEmptyList(oldTasks.getNextId()));
 
         try {
-            writeToStorage();
+            storage.write(tasks);
         } catch (DukeException e) {
-            tasks = oldTasks;
+            applyVersion(() -> tasks = oldTasks);
             throw e;
         }
+
+        recordHistory(oldVersion);
     }
 
-    private void loadFromStorage() throws DukeException {
-        List<Task> tasks = new ArrayList<Task>();
-        String[] taskStorageStrs = storage.read().split("\n");
+    /**
+     * Returns true if the versions of the task list before its latest changes are kept, so that changes can be undone.
+     * Otherwise, returns false.
+     * <p>
+     * Versions are only kept if the tasks are kept in a persistent list, in which keeping a version takes constant
+     * time and little memory.
+     * </p>
+     *
+     * @return True if changes to the task list can be undone. False otherwise.
+     */
+    public boolean keepsHistory() {
+        return backend == Backend.PERSISTENT;
+    }
+
+    /**
+     * Returns true if there is a change to the task list that can be undone. Otherwise, returns false.
+     *
+     * @return True if there is a change that can be undone. False otherwise.
+     */
+    public boolean canUndo() {
+        return !undoHistory.isEmpty();
+    }
+
+    /**
+     * Returns true if there is an undone change to the task list that can be redone. Otherwise, returns false.
+     * <p>
+     * Undone changes can no longer be redone once the task list is changed again.
+     * </p>
+     *
+     * @return True if there is an undone change that can be redone. False otherwise.
+     */
+    public boolean canRedo() {
+        return !redoHistory.isEmpty();
+    }
 
-        for (String taskStorageStr : taskStorageStrs) {
-            if (taskStorageStr.isEmpty()) {
-                continue;
+    /**
+     * Undoes the latest change to the task list that is yet to be undone, and writes the task list to storage.
+     * <p>
+     * The version of the task list before the change is restored as it was kept, which takes time linear in the number
+     * of tasks, as the index of task IDs is rebuilt for it. Tasks get back the IDs they had, and IDs given to tasks
+     * since are not given again.
+     * </p>
+     *
+     * @throws DukeException Indicates failure to write to storage.
+     */
+    public void undo() throws DukeException {
+        assert canUndo();
+
+        restoreVersion(undoHistory, redoHistory);
+    }
+
+    /**
+     * Redoes the last change to the task list that was undone, and writes the task list to storage.
+     *
+     * @throws DukeException Indicates failure to write to storage.
+     */
+    public void redo() throws DukeException {
+        assert canRedo();
+
+        restoreVersion(redoHistory, undoHistory);
+    }
+
+    /**
+     * Merges any change made to the storage outside of the app into the task list, and returns a message describing
+     * the merge, or null if there was no change.
+     * <p>
+     * Changes to the task list that are yet to be written are kept. If they are to the same tasks as the change made
+     * outside of the app, the tasks from that change are added to the end of the task list instead of replacing any
+     * tasks, so that neither change is lost.
+     * </p>
+     *
+     * @return A message describing the merge, or null if there was no change.
+     * @throws DukeException Indicates failure to read the change from storage or to write the merged task list.
+     */
+    @SuppressWarnings("try")
+    public String mergeExternalChange() throws DukeException {
+        try (StorageLock lock = storage.lock()) {
+            return mergeExternalChangeWhileLocked();
+        }
+    }
+
+    /**
+     * Starts calling the specified listener on a background thread whenever the storage may have been changed outside
+     * of the app, after which {@link #mergeExternalChange()} should be called.
+     *
+     * @param listener Called whenever the storage may have been changed.
+     * @throws DukeException Indicates failure to watch the storage.
+     */
+    public void watchExternalChanges(Runnable listener) throws DukeException {
+        assert listener != null;
+
+        storage.watch(listener);
+    }
+
+    /**
+     * Starts calling the specified listener on a background thread with the failure of each write of changes to the
+     * task list that is made after the changes were acknowledged.
+     *
+     * @param listener Called with each failed background write.
+     */
+    public void watchWriteFailures(Consumer<DukeException> listener) {
+        assert listener != null;
+
+        storage.watchWriteFailures(listener);
+    }
+
+    /**
+     * Returns a message describing the tasks that were set aside when loading the task list, or when lazily loaded
+     * tasks were last set aside, because they were corrupted, or null if none were.
+     *
+     * @return A message describing the tasks that were set aside, or null if none were.
+     */
+    public String getRecoveryMessage() {
+        return storage.getRecoveryMessage();
+    }
+
+    /**
+     * Sets aside every lazily loaded task that is incorrect, removes those tasks from the task list, writes the task
+     * list to storage, and returns a message describing the tasks set aside, or null if there were none.
+     * <p>
+     * Lazily loaded tasks are only parsed when first read, so an incorrect task is only found then, such as by a
+     * command failing with an {@link UncheckedDukeException}. Every task yet to be parsed is then parsed, and the
+     * incorrect ones are set aside together in the same way as when loading, such as by moving them to the quarantine
+     * of the storage.
+     * </p>
+     *
+     * @return A message describing the tasks set aside, or null if there were none.
+     * @throws DukeException Indicates failure to set aside the incorrect tasks or to write to storage, or that a task
+     *                       is incorrect and cannot be set aside.
+     */
+    public String setAsideIncorrectTasks() throws DukeException {
+        if (!(tasks.getSlots() instanceof LazyTaskList)) {
+            return null;
+        }
+
+        BitSet incorrectSlots = ((LazyTaskList) tasks.getSlots()).setAsideIncorrectRecords();
+        if (incorrectSlots.isEmpty()) {
+            return null;
+        }
+
+        applyVersion(() -> {
+            tasks.removeSlots(incorrectSlots);
+            return null;
+        });
+
+        // The storage still holds the lines set aside, which later changes written by index must not be applied around
+        storage.write(tasks);
+
+        return storage.getRecoveryMessage();
+    }
+
+    /**
+     * Checks the checksum of every task in the storage of the task list and returns the outcome.
+     *
+     * @return The outcome of checking every task in storage.
+     * @throws DukeException Indicates failure to read from storage, or that the storage does not keep checksums.
+     */
+    public RecordCheck checkRecords() throws DukeException {
+        return storage.checkRecords();
+    }
+
+    /**
+     * Locks the storage of the task list, keeping other processes from changing it until the returned lock is closed.
+     * <p>
+     * Merging changes with {@link #mergeExternalChange()} and then changing the task list while holding the lock
+     * ensures that no change made by another process in between is overwritten.
+     * </p>
+     *
+     * @return The held lock.
+     * @throws DukeException Indicates failure to lock the storage.
+     */
+    public StorageLock lock() throws DukeException {
+        return storage.lock();
+    }
+
+    private String mergeExternalChangeWhileLocked() throws DukeException {
+        TaskChange change = storage.pollExternalChange();
+        if (change == null) {
+            return null;
+        }
+
+        long[] baseHashes = change.getBaseTaskHashes();
+        long[] localHashes = hashTasks();
+
+        int localStart = countMatchingPrefix(baseHashes, localHashes);
+        int localSuffixLength = countMatchingSuffix(baseHashes, localHashes, localStart);
+
+        boolean hasUnwrittenChanges = localStart != baseHashes.length || localHashes.length != baseHashes.length;
+        int localEnd = baseHashes.length - localSuffixLength;
+
+        long assignedIdCount = tasks.getAssignedIdCount();
+
+        int changeStart = change.getUnchangedPrefixLength();
+        int changeEnd = change.getReplacedEnd();
+        List<Task> changedTasks = change.getChangedTasks();
+
+        String message = applyVersion(() -> {
+            // Restoring a version from before the change made outside of the app would silently drop that change
+            undoHistory.clear();
+            redoHistory.clear();
+
+            if (!hasUnwrittenChanges || changeEnd <= localStart) {
+                replaceRange(changeStart, changeEnd, changedTasks);
+                return getMergeMessage(changeEnd - changeStart, changedTasks.size());
+            } else if (changeStart >= localEnd) {
+                // Tasks after the unwritten changes have shifted by the number of tasks those changes added
+                int shift = tasks.size() - baseHashes.length;
+                replaceRange(changeStart + shift, changeEnd + shift, changedTasks);
+                return getMergeMessage(changeEnd - changeStart, changedTasks.size());
+            } else {
+                tasks.addAll(changedTasks);
+                return getConflictMessage(changedTasks);
             }
+        });
 
-            String[] args = taskStorageStr.split(Task.FIELD_SPLIT_REGEX);
-            tasks.add(createTask(args));
+        storage.setNextId(tasks.getNextId());
+
+        // The storage still holds the unwritten changes without the merged change, which would overwrite it, or holds
+        // merged tasks without the IDs they were given
+        if (hasUnwrittenChanges || tasks.getAssignedIdCount() != assignedIdCount) {
+            storage.write(tasks);
         }
 
-        this.tasks = tasks;
+        return message;
     }
 
-    private Task createTask(String[] args) throws DukeException {
-        assert args != null;
-        assert args.length >= TASK_SYMBOL_ARG_INDEX + 1;
+    /**
+     * Returns the current version of the task list if its tasks are kept in a persistent list, or null otherwise.
+     */
+    private PersistentTaskVector getPersistentVersion() {
+        if (!(tasks.getSlots() instanceof PersistentTaskList)) {
+            return null;
+        }
 
-        switch (args[TASK_SYMBOL_ARG_INDEX]) {
-        case "T":
-            return ToDo.createFromStorage(args);
-        case "D":
-            return Deadline.createFromStorage(args);
-        case "E":
-            return Event.createFromStorage(args);
-        default:
-            throw new DukeException("An unknown task type was found in storage.");
+        return ((PersistentTaskList) tasks.getSlots()).snapshot();
+    }
+
+    /**
+     * Makes the specified change to the task list in memory and returns its result.
+     * <p>
+     * Every change to the tasks, their version or the history of their versions is made through this method, and
+     * storage is never written while it runs, so that a subclass can keep readers out for just as long as the change
+     * takes.
+     * </p>
+     *
+     * @param change The change to make.
+     * @param <T> The type of the result of the change.
+     * @return The result of the change.
+     */
+    protected <T> T changeInMemory(Supplier<T> change) {
+        return change.get();
+    }
+
+    /**
+     * Makes the specified change to the tasks in memory as a new version of the task list, and returns its result.
+     */
+    private <T> T applyVersion(Supplier<T> change) {
+        return changeInMemory(() -> {
+            T result = change.get();
+            ++version;
+            return result;
+        });
+    }
+
+    /**
+     * Keeps the specified version from before a change that was written to storage, so that the change can be undone.
+     */
+    private void recordHistory(PersistentTaskVector oldVersion) {
+        if (oldVersion == null) {
+            return;
         }
+
+        changeInMemory(() -> {
+            undoHistory.push(oldVersion);
+            if (undoHistory.size() > MAX_UNDO_COUNT) {
+                undoHistory.removeLast();
+            }
+            redoHistory.clear();
+            return null;
+        });
     }
 
-    private void createNewTaskListAndStorage() throws DukeException {
-        tasks = new ArrayList<Task>();
-        storage.create();
+    /**
+     * Restores the latest version in the first history, keeping the current version in the second history.
+     */
+    private void restoreVersion(Deque<PersistentTaskVector> from, Deque<PersistentTaskVector> to)
+            throws DukeException {
+        PersistentTaskList persistentTasks = (PersistentTaskList) tasks.getSlots();
+        PersistentTaskVector currentVersion = persistentTasks.snapshot();
+        applyVersion(() -> {
+            persistentTasks.restore(from.peek());
+            return null;
+        });
+
+        try {
+            storage.write(tasks);
+        } catch (DukeException e) {
+            applyVersion(() -> {
+                persistentTasks.restore(currentVersion);
+                return null;
+            });
+            throw e;
+        }
+
+        changeInMemory(() -> {
+            from.pop();
+            to.push(currentVersion);
+            return null;
+        });
     }
 
-    private void writeToStorage() throws DukeException {
-        writeToStorage(storage);
+    /**
+     * Returns the number of hashes at the start of the local hashes that match the base hashes.
+     */
+    private static int countMatchingPrefix(long[] baseHashes, long[] localHashes) {
+        int maxMatchLength = Math.min(baseHashes.length, localHashes.length);
+        int length = 0;
+        while (length < maxMatchLength && localHashes[length] == baseHashes[length]) {
+            ++length;
+        }
+
+        return length;
     }
 
-    private void writeToStorage(Storage storage) throws DukeException {
-        assert storage != null;
+    /**
+     * Returns the number of hashes at the end of the local hashes that match the base hashes, not counting into the
+     * matching prefix of the specified length.
+     */
+    private static int countMatchingSuffix(long[] baseHashes, long[] localHashes, int prefixLength) {
+        int maxMatchLength = Math.min(baseHashes.length, localHashes.length) - prefixLength;
+        int length = 0;
+        while (length < maxMatchLength
+                && localHashes[localHashes.length - length - 1] == baseHashes[baseHashes.length - length - 1]) {
+            ++length;
+        }
 
-        StringBuilder data = new StringBuilder();
+        return length;
+    }
 
-        for (Task task : tasks) {
-            data.append(task.getStorageStr());
-            data.append("\n");
+    private long[] hashTasks() {
+        long[] hashes = new long[tasks.size()];
+
+        try {
+            TextTaskStorage.writeStorageStrs(tasks, new LineWriter() {
+                private int index;
+
+                @Override
+                public void writeLine(CharSequence line) {
+                    hashes[index++] = LineChange.hashLine(line);
+                }
+            });
+        } catch (DukeException e) {
+            // Hashing a line never fails
+            throw new AssertionError(e);
         }
 
-        storage.write(data.toString());
+        return hashes;
+    }
+
+    private void replaceRange(int start, int end, List<Task> newTasks) {
+        assert 0 <= start && start <= end && end <= tasks.size();
+
+        tasks.subList(start, end).clear();
+        tasks.addAll(start, newTasks);
+    }
+
+    private String getMergeMessage(int replacedCount, int addedCount) {
+        return String.format("Someone changed the save file behind my back! I've merged in their changes, which "
+                + "replaced %d tasks with %d tasks.", replacedCount, addedCount);
+    }
+
+    private String getConflictMessage(List<Task> addedTasks) {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (int i = 0; i < addedTasks.size(); ++i) {
+            int index = tasks.size() - addedTasks.size() + i;
+            stringBuilder.append('\n');
+            appendListItem(stringBuilder, index, tasks.get(index));
+        }
+
+        return String.format("Someone changed the save file behind my back, and their changes clash with yours! I've "
+                + "kept your changes and added their %d tasks to the end of the list:%s", addedTasks.size(),
+                stringBuilder.toString());
+    }
+
+    /**
+     * Returns a copy of the tasks that later changes to the task list do not affect, without reusing or keeping it as
+     * the snapshot of the task list.
+     */
+    List<Task> copyTasks() {
+        return Collections.unmodifiableList(LazyTaskList.copyOf(tasks));
+    }
+
+    /**
+     * Records the slots of every task in the ID index right away, after which looking up an ID no longer changes the
+     * task list.
+     */
+    void indexAllIds() {
+        tasks.indexStaleSlots();
+    }
+
+    /**
+     * Returns the specified tasks as a list shown to the user, with each task as created by
+     * {@link #getListItemStr(int, Task)}.
+     */
+    static String toListStr(List<Task> tasks) {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (int i = 0; i < tasks.size(); ++i) {
+            appendListItem(stringBuilder, i, tasks.get(i));
+            stringBuilder.append('\n');
+        }
+
+        return stringBuilder.toString().trim();
+    }
+
+    private static void appendListItem(StringBuilder out, int index, Task task) {
+        out.append(index + 1).append('.').append(task.toString()).append(" (#").append(task.getId()).append(')');
+    }
+
+    private void loadFromStorage() throws DukeException {
+        List<Task> loadedTasks = storage.load();
+
+        // Other backends parse every task as they are filled, so incorrect tasks are set aside first, as when loading
+        // eagerly
+        boolean hasSetAsideTasks = false;
+        if (loadedTasks instanceof LazyTaskList && backend != Backend.ARRAY) {
+            LazyTaskList lazyTasks = (LazyTaskList) loadedTasks;
+            BitSet incorrectIndexes = lazyTasks.setAsideIncorrectRecords();
+            lazyTasks.removeMarked(incorrectIndexes);
+            hasSetAsideTasks = !incorrectIndexes.isEmpty();
+        }
+
+        // The IDs of removed tasks may be larger than any loaded, such as after the last task was deleted
+        tasks = new SlottedTaskList(createBackingList(loadedTasks), Math.max(FIRST_ID, storage.loadNextId()));
+        storage.setNextId(tasks.getNextId());
+
+        // Saved right away, so that the IDs the tasks were given are the ones they keep, and the tasks set aside are
+        // not left in storage
+        if (tasks.getAssignedIdCount() > 0 || hasSetAsideTasks) {
+            storage.write(tasks);
+        }
+    }
+
+    private void createNewTaskListAndStorage() throws DukeException {
+        tasks = createEmptyList(FIRST_ID);
+        storage.create();
+    }
+
+    private SlottedTaskList createEmptyList(long nextId) {
+        return new SlottedTaskList(createBackingList(new ArrayList<Task>()), nextId);
+    }
+
+    /**
+     * Returns a list holding the specified tasks, kept in memory using the backend of the task list.
+     */
+    private List<Task> createBackingList(List<Task> tasks) {
+        switch (backend) {
+        case COLUMNAR:
+            return new ColumnarTaskList(tasks);
+        case CHUNKED:
+            return new ChunkedTaskList(tasks);
+        case PERSISTENT:
+            return new PersistentTaskList(tasks);
+        default:
+            return tasks;
+        }
     }
 }
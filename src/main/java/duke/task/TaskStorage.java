@@ -0,0 +1,198 @@
+package duke.task;
+
+import duke.exception.DukeException;
+import duke.io.RecordCheck;
+import duke.io.StorageLock;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Represents a storage that a task list is loaded from and changes to the task list are written to.
+ * <p>
+ * Each change to the task list is reported using the method corresponding to the kind of change, allowing
+ * implementations to write only what has changed. By default, every change writes the whole task list.
+ * </p>
+ */
+public interface TaskStorage {
+    /**
+     * Returns true if the storage exist. Otherwise, returns false.
+     *
+     * @return True if the storage exist. False otherwise.
+     * @throws DukeException Indicates failure to check for the storage.
+     */
+    boolean doesExist() throws DukeException;
+
+    /**
+     * Creates the storage.
+     *
+     * @throws DukeException Indicates failure to create storage.
+     */
+    void create() throws DukeException;
+
+    /**
+     * Returns the tasks stored in the storage.
+     *
+     * @return The tasks stored in the storage.
+     * @throws DukeException Indicates failure to read from storage or incorrect data in storage.
+     */
+    List<Task> load() throws DukeException;
+
+    /**
+     * Returns the next ID kept in the storage, which is the smallest ID that may be given to a new task, or
+     * {@link Task#NO_ID} if the storage keeps none. Must be called after the tasks are loaded.
+     * <p>
+     * The next ID keeps the IDs of removed tasks from being given again once the storage is loaded again, even after
+     * the task with the largest ID is removed. By default, the next ID is not kept, so {@link Task#NO_ID} is always
+     * returned.
+     * </p>
+     *
+     * @return The next ID kept in the storage, or {@link Task#NO_ID} if the storage keeps none.
+     * @throws DukeException Indicates failure to read from storage or an incorrect next ID in storage.
+     */
+    default long loadNextId() throws DukeException {
+        return Task.NO_ID;
+    }
+
+    /**
+     * Sets the next ID to be kept in the storage along with the next change written to it.
+     * <p>
+     * By default, the next ID is not kept, so nothing is done.
+     * </p>
+     *
+     * @param nextId The smallest ID that may be given to a new task.
+     */
+    default void setNextId(long nextId) {
+    }
+
+    /**
+     * Writes all the specified tasks to the storage, replacing what was previously stored.
+     *
+     * @param tasks The tasks to be written to the storage.
+     * @throws DukeException Indicates failure to write to storage.
+     */
+    void write(List<Task> tasks) throws DukeException;
+
+    /**
+     * Writes the task that was added at the specified index of tasks to the storage.
+     *
+     * @param tasks The tasks after the task was added.
+     * @param index The index of the added task.
+     * @throws DukeException Indicates failure to write to storage.
+     */
+    default void writeAdded(List<Task> tasks, int index) throws DukeException {
+        write(tasks);
+    }
+
+    /**
+     * Writes the removal of the task at the specified index of tasks to the storage.
+     *
+     * @param tasks The tasks after the task was removed.
+     * @param index The index the removed task was at.
+     * @throws DukeException Indicates failure to write to storage.
+     */
+    default void writeRemoved(List<Task> tasks, int index) throws DukeException {
+        write(tasks);
+    }
+
+    /**
+     * Writes the task that was updated at the specified index of tasks to the storage.
+     *
+     * @param tasks The tasks after the task was updated.
+     * @param index The index of the updated task.
+     * @throws DukeException Indicates failure to write to storage.
+     */
+    default void writeUpdated(List<Task> tasks, int index) throws DukeException {
+        write(tasks);
+    }
+
+    /**
+     * Writes any changes that the storage has acknowledged but not yet written.
+     * <p>
+     * By default, every change is written as soon as it is reported, so there is nothing to write.
+     * </p>
+     *
+     * @throws DukeException Indicates failure to write to storage.
+     */
+    default void flush() throws DukeException {
+    }
+
+    /**
+     * Starts calling the specified listener with the failure of each write made in the background, after the change
+     * that led to it was acknowledged, as such a failure cannot be thrown by the change.
+     * <p>
+     * By default, every change is written as soon as it is reported, so the listener is never called.
+     * </p>
+     *
+     * @param listener Called with each failed background write, on the thread that made the write.
+     */
+    default void watchWriteFailures(Consumer<DukeException> listener) {
+    }
+
+    /**
+     * Returns the change made to the tasks in the storage outside of the app since they were last loaded or written,
+     * or null if there is none.
+     * <p>
+     * By default, changes made outside of the app are not looked for, so null is always returned.
+     * </p>
+     *
+     * @return The change made to the tasks outside of the app, or null if there is none.
+     * @throws DukeException Indicates failure to read from storage or incorrect data in storage.
+     */
+    default TaskChange pollExternalChange() throws DukeException {
+        return null;
+    }
+
+    /**
+     * Starts calling the specified listener on a background thread whenever the storage may have been changed outside
+     * of the app.
+     * <p>
+     * By default, changes made outside of the app are not looked for, so the listener is never called.
+     * </p>
+     *
+     * @param listener Called whenever the storage may have been changed.
+     * @throws DukeException Indicates failure to watch the storage.
+     */
+    default void watch(Runnable listener) throws DukeException {
+    }
+
+    /**
+     * Returns a message describing the tasks that were set aside when loading because they were corrupted, or null if
+     * none were.
+     * <p>
+     * By default, loading fails on any corrupted task, so null is always returned.
+     * </p>
+     *
+     * @return A message describing the tasks that were set aside, or null if none were.
+     */
+    default String getRecoveryMessage() {
+        return null;
+    }
+
+    /**
+     * Checks the checksum of every task in the storage and returns the outcome.
+     * <p>
+     * By default, tasks are not stored with checksums, so checking always fails.
+     * </p>
+     *
+     * @return The outcome of checking every task.
+     * @throws DukeException Indicates failure to read from storage, or that the storage does not keep checksums.
+     */
+    default RecordCheck checkRecords() throws DukeException {
+        throw new DukeException("This kind of save file has no checksums for me to verify!");
+    }
+
+    /**
+     * Locks the storage, keeping other processes from reading or writing it until the returned lock is closed.
+     * <p>
+     * By default, the storage is not shared with other processes, so nothing is locked.
+     * </p>
+     *
+     * @return The held lock.
+     * @throws DukeException Indicates failure to lock the storage.
+     */
+    default StorageLock lock() throws DukeException {
+        return () -> {
+        };
+    }
+}
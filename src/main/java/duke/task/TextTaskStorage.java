@@ -0,0 +1,709 @@
+package duke.task;
+
+import duke.exception.DukeException;
+import duke.io.LineChange;
+import duke.io.LineHandler;
+import duke.io.LineWriter;
+import duke.io.RecordCheck;
+import duke.io.Storage;
+import duke.io.StorageLock;
+import duke.utils.ChecksumUtils;
+import duke.utils.ParallelUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32C;
+
+/**
+ * Represents a task storage that keeps each task as a line of text in a storage.
+ * <p>
+ * How the lines are parsed when loading is determined by the {@link LoadMode}. Empty lines and lines starting with
+ * {@value #COMMENT_PREFIX}, such as the header of a save file that was shared by several processes, are not tasks and
+ * are skipped.
+ * </p>
+ * <p>
+ * Each line starts with a checksum, as described by {@link ChecksumUtils}, so a corrupted line is caught when it is
+ * parsed rather than loaded as a different task. If the storage has a quarantine, incorrect lines are moved to it when
+ * loading and the remaining tasks are loaded. Otherwise, loading fails on the first incorrect line.
+ * </p>
+ * <p>
+ * The next ID is kept in the header of the storage if it has one. Otherwise, it is kept in a storage of its own, if
+ * one is given, which is only written when the tasks written do not show the next ID themselves, such as after the
+ * task with the largest ID is removed.
+ * </p>
+ */
+public class TextTaskStorage implements TaskStorage {
+    /**
+     * Represents the ways lines of text can be parsed into tasks when loading.
+     */
+    public enum LoadMode {
+        /** Parse the lines one after another on a single thread. */
+        SERIAL,
+        /** Split the lines into chunks at line breaks and parse the chunks concurrently. */
+        PARALLEL,
+        /** Only index where each line starts, and parse each line when its task is first accessed. */
+        LAZY
+    }
+
+    private static final char COMMENT_PREFIX = '#';
+
+    private static final int ID_ARG_INDEX = 0;
+    private static final int TASK_SYMBOL_ARG_INDEX = 0;
+
+    /** Any number with this many digits fits in a long. */
+    private static final int MAX_ID_DIGITS = 18;
+
+    /** Chunks smaller than this are not worth the overhead of parsing them on another thread. */
+    private static final int MIN_CHUNK_LENGTH = 1 << 16;
+
+    /** More chunks than threads keeps threads busy when some chunks parse faster than others. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /** The size of the buffer tasks are encoded into to checksum them when writing. */
+    private static final int CHECKSUM_BUFFER_SIZE = 1 << 10;
+
+    /** The number of line numbers of incorrect lines listed in the recovery message. */
+    private static final int MAX_LISTED_LINE_NUMBERS = 10;
+
+    private final Storage storage;
+    private final LoadMode loadMode;
+    private final Storage quarantine;
+    private final Storage nextIdStorage;
+
+    private String recoveryMessage;
+
+    private volatile long nextId = Task.NO_ID;
+
+    /** The next ID last read from or written to the storage keeping the next ID. */
+    private long storedNextId = Task.NO_ID;
+
+    /**
+     * Creates a TextTaskStorage object that parses lines one after another when loading.
+     *
+     * @param storage The storage to keep the lines of text in.
+     */
+    public TextTaskStorage(Storage storage) {
+        this(storage, LoadMode.SERIAL);
+    }
+
+    /**
+     * Creates a TextTaskStorage object.
+     *
+     * @param storage The storage to keep the lines of text in.
+     * @param loadMode How to parse the lines of text when loading.
+     */
+    public TextTaskStorage(Storage storage, LoadMode loadMode) {
+        this(storage, loadMode, null);
+    }
+
+    /**
+     * Creates a TextTaskStorage object that moves incorrect lines to the specified quarantine when loading.
+     *
+     * @param storage The storage to keep the lines of text in.
+     * @param loadMode How to parse the lines of text when loading.
+     * @param quarantine The storage to add incorrect lines to along with their line numbers, or null if loading should
+     *                   fail on the first incorrect line instead.
+     */
+    public TextTaskStorage(Storage storage, LoadMode loadMode, Storage quarantine) {
+        this(storage, loadMode, quarantine, null);
+    }
+
+    /**
+     * Creates a TextTaskStorage object that keeps the next ID in the specified storage if the storage of the lines has
+     * no header to keep it in.
+     *
+     * @param storage The storage to keep the lines of text in.
+     * @param loadMode How to parse the lines of text when loading.
+     * @param quarantine The storage to add incorrect lines to along with their line numbers, or null if loading should
+     *                   fail on the first incorrect line instead.
+     * @param nextIdStorage The storage to keep the next ID in, or null if it should not be kept.
+     */
+    public TextTaskStorage(Storage storage, LoadMode loadMode, Storage quarantine, Storage nextIdStorage) {
+        assert storage != null;
+        assert loadMode != null;
+
+        this.storage = storage;
+        this.loadMode = loadMode;
+        this.quarantine = quarantine;
+        this.nextIdStorage = nextIdStorage;
+    }
+
+    @Override
+    public boolean doesExist() throws DukeException {
+        return storage.doesExist();
+    }
+
+    @Override
+    public void create() throws DukeException {
+        storage.create();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Incorrect lines, including lines whose checksums do not match, are moved to the quarantine if there is one, and
+     * the storage is rewritten without them. When loading lazily, lines are only parsed when their tasks are first
+     * accessed, so incorrect lines are only found then, and are moved to the quarantine by
+     * {@link TaskList#setAsideIncorrectTasks()}.
+     * </p>
+     *
+     * @return {@inheritDoc}
+     * @throws DukeException {@inheritDoc} Without a quarantine, the error message includes the line number of the
+     *                       first incorrect line.
+     */
+    @Override
+    @SuppressWarnings("try")
+    public List<Task> load() throws DukeException {
+        if (loadMode == LoadMode.LAZY) {
+            return new LazyTaskList(storage.read(), this::quarantineLines);
+        }
+
+        // Held until the incorrect lines are dropped, so that no line written by another process in between is lost
+        try (StorageLock lock = storage.lock()) {
+            List<Task> tasks;
+            switch (loadMode) {
+            case SERIAL:
+                tasks = loadSerially();
+                break;
+            case PARALLEL:
+                tasks = loadInParallel();
+                break;
+            default:
+                throw new AssertionError(loadMode);
+            }
+
+            // The lines are only dropped once they are safely in the quarantine, so that they are not moved again
+            if (recoveryMessage != null) {
+                storage.writeLines(writer -> writeStorageStrs(tasks, writer));
+            }
+
+            return tasks;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tasks are converted to lines of text one at a time as they are written, so the lines are never held in memory
+     * all at once.
+     * </p>
+     *
+     * @param tasks {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public void write(List<Task> tasks) throws DukeException {
+        assert tasks != null;
+
+        writeNextId(tasks);
+        storage.writeLines(writer -> writeStorageStrs(tasks, writer));
+    }
+
+    @Override
+    public long loadNextId() throws DukeException {
+        if (storage.keepsNextId()) {
+            return storage.readNextId();
+        }
+
+        if (nextIdStorage == null || !nextIdStorage.doesExist()) {
+            return Task.NO_ID;
+        }
+
+        try {
+            storedNextId = Long.parseLong(nextIdStorage.read().trim());
+        } catch (NumberFormatException e) {
+            throw new DukeException("The file keeping the next task ID is corrupted!");
+        }
+
+        return storedNextId;
+    }
+
+    @Override
+    public void setNextId(long nextId) {
+        this.nextId = nextId;
+        storage.setNextId(nextId);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the lines that changed are parsed.
+     * </p>
+     *
+     * @return {@inheritDoc}
+     * @throws DukeException {@inheritDoc} The error message includes the line number of the first incorrect line.
+     */
+    @Override
+    public TaskChange pollExternalChange() throws DukeException {
+        LineChange lineChange = storage.pollExternalChange();
+        if (lineChange == null) {
+            return null;
+        }
+
+        List<String> changedLines = lineChange.getChangedLines();
+        List<Task> changedTasks = new ArrayList<Task>(changedLines.size());
+
+        for (int i = 0; i < changedLines.size(); ++i) {
+            try {
+                changedTasks.add(parseTask(changedLines.get(i)));
+            } catch (DukeException e) {
+                throw createLineException(e, lineChange.getChangedLineNumbers()[i]);
+            }
+        }
+
+        return new TaskChange(lineChange.getBaseLineHashes(), lineChange.getUnchangedPrefixLength(),
+                lineChange.getUnchangedSuffixLength(), changedTasks);
+    }
+
+    @Override
+    public void watch(Runnable listener) throws DukeException {
+        storage.watch(listener);
+    }
+
+    @Override
+    public StorageLock lock() throws DukeException {
+        return storage.lock();
+    }
+
+    @Override
+    public String getRecoveryMessage() {
+        return recoveryMessage;
+    }
+
+    @Override
+    public RecordCheck checkRecords() throws DukeException {
+        return storage.checkRecords();
+    }
+
+    /**
+     * Writes the next ID to the storage keeping it, if the storage of the lines has no header to keep it in, the next
+     * ID has grown since it was last written, and the specified tasks do not include the task with the ID just before
+     * it, from which it would be found when loading.
+     * <p>
+     * It is written before the lines, so that a crash in between leaves a next ID that is only larger than needed.
+     * </p>
+     */
+    private void writeNextId(List<Task> tasks) throws DukeException {
+        long newNextId = nextId;
+        if (storage.keepsNextId() || nextIdStorage == null || newNextId <= storedNextId) {
+            return;
+        }
+
+        boolean hasLastId = tasks instanceof SlottedTaskList && ((SlottedTaskList) tasks).indexOfId(newNextId - 1) >= 0;
+        if (hasLastId) {
+            return;
+        }
+
+        nextIdStorage.write(Long.toString(newNextId));
+        storedNextId = newNextId;
+    }
+
+    private List<Task> loadSerially() throws DukeException {
+        List<Task> tasks = new ArrayList<Task>();
+        List<IncorrectLine> incorrectLines = new ArrayList<IncorrectLine>();
+
+        storage.readLines(new LineHandler() {
+            private long lineNumber;
+
+            @Override
+            public void handle(String taskStorageStr) throws DukeException {
+                ++lineNumber;
+
+                if (!isRecord(taskStorageStr, 0, taskStorageStr.length())) {
+                    return;
+                }
+
+                try {
+                    tasks.add(parseTask(taskStorageStr));
+                } catch (DukeException e) {
+                    if (quarantine == null) {
+                        throw createLineException(e, lineNumber);
+                    }
+                    incorrectLines.add(new IncorrectLine(lineNumber, taskStorageStr, e));
+                }
+            }
+        });
+
+        quarantineLines(incorrectLines);
+
+        return tasks;
+    }
+
+    private List<Task> loadInParallel() throws DukeException {
+        String data = storage.read();
+
+        int maxChunkCount = ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD;
+        int chunkCount = Math.max(1, Math.min(maxChunkCount, data.length() / MIN_CHUNK_LENGTH));
+
+        List<Callable<ParsedChunk>> parses = new ArrayList<Callable<ParsedChunk>>();
+
+        int chunkStart = 0;
+        for (int i = 1; i <= chunkCount && chunkStart < data.length(); ++i) {
+            int chunkEnd = findChunkEnd(data, Math.max(chunkStart, (int) ((long) data.length() * i / chunkCount)));
+
+            int start = chunkStart;
+            parses.add(() -> ParsedChunk.parse(data, start, chunkEnd, quarantine == null));
+
+            chunkStart = chunkEnd;
+        }
+
+        List<ParsedChunk> chunks = ParallelUtils.runInParallel(parses);
+
+        int taskCount = 0;
+        for (ParsedChunk chunk : chunks) {
+            taskCount += chunk.tasks.size();
+        }
+
+        List<Task> tasks = new ArrayList<Task>(taskCount);
+        List<IncorrectLine> incorrectLines = new ArrayList<IncorrectLine>();
+        long lineCount = 0;
+
+        for (ParsedChunk chunk : chunks) {
+            for (IncorrectLine incorrectLine : chunk.incorrectLines) {
+                incorrectLines.add(incorrectLine.offsetBy(lineCount));
+            }
+
+            tasks.addAll(chunk.tasks);
+            lineCount += chunk.lineCount;
+        }
+
+        quarantineLines(incorrectLines);
+
+        return tasks;
+    }
+
+    /**
+     * Adds the specified incorrect lines to the quarantine and sets the recovery message, or throws the error of the
+     * first incorrect line if there is no quarantine.
+     */
+    private void quarantineLines(List<IncorrectLine> incorrectLines) throws DukeException {
+        recoveryMessage = null;
+
+        if (incorrectLines.isEmpty()) {
+            return;
+        }
+
+        if (quarantine == null) {
+            IncorrectLine firstLine = incorrectLines.get(0);
+            throw createLineException(firstLine.error, firstLine.lineNumber);
+        }
+
+        // The lines must be safely set aside before loading succeeds, as they are then dropped from the storage
+        quarantine.appendLines(writer -> {
+            for (IncorrectLine incorrectLine : incorrectLines) {
+                writer.writeLine(String.format("line %d: %s", incorrectLine.lineNumber, incorrectLine.line));
+            }
+        });
+
+        StringBuilder lineNumbers = new StringBuilder();
+        for (int i = 0; i < Math.min(incorrectLines.size(), MAX_LISTED_LINE_NUMBERS); ++i) {
+            lineNumbers.append(i == 0 ? "" : ", ").append(incorrectLines.get(i).lineNumber);
+        }
+        if (incorrectLines.size() > MAX_LISTED_LINE_NUMBERS) {
+            lineNumbers.append(", ...");
+        }
+
+        if (incorrectLines.size() == 1) {
+            recoveryMessage = String.format("1 task in the save file is corrupted, so I've moved it to the quarantine "
+                    + "file and loaded the rest. The corrupted task was on line %s.", lineNumbers.toString());
+        } else {
+            recoveryMessage = String.format("%d tasks in the save file are corrupted, so I've moved them to the "
+                    + "quarantine file and loaded the rest. The corrupted tasks were on lines %s.",
+                    incorrectLines.size(), lineNumbers.toString());
+        }
+    }
+
+    /**
+     * Returns the index just after the first line break at or after the specified index, or the length of the data
+     * if there is none.
+     */
+    private static int findChunkEnd(String data, int index) {
+        if (index >= data.length()) {
+            return data.length();
+        }
+
+        int lineBreakIndex = data.indexOf('\n', index);
+        return lineBreakIndex < 0 ? data.length() : lineBreakIndex + 1;
+    }
+
+    /**
+     * Returns true if the line in the specified range of the data holds a task, rather than being empty or a comment.
+     *
+     * @param data The data holding the line.
+     * @param start The index of the first character of the line in the data.
+     * @param end The index just after the last character of the line in the data, excluding the line break.
+     * @return True if the line holds a task. False otherwise.
+     */
+    static boolean isRecord(CharSequence data, int start, int end) {
+        assert data != null;
+
+        return end > start && data.charAt(start) != COMMENT_PREFIX;
+    }
+
+    /**
+     * Returns an exception that adds the line number of the incorrect line to the specified exception.
+     *
+     * @param e The exception thrown when parsing the incorrect line.
+     * @param lineNumber The line number of the incorrect line, starting from 1.
+     * @return The exception with the line number added.
+     */
+    static DukeException createLineException(DukeException e, long lineNumber) {
+        return new DukeException(e, String.format("The incorrect task is on line %d of the save file.", lineNumber));
+    }
+
+    /**
+     * Returns the task described by the specified line of text.
+     *
+     * @param taskStorageStr A line of text that was created by {@link #toRecord(Task)}, or by
+     *                       {@link Task#getStorageStr()} before checksums were kept.
+     * @return The task described by the line of text.
+     * @throws DukeException Indicates a checksum that does not match, or missing data or incorrect data type or format
+     *                       in the line of text.
+     */
+    static Task parseTask(String taskStorageStr) throws DukeException {
+        assert taskStorageStr != null;
+
+        String[] args = Task.splitStorageStr(ChecksumUtils.removeChecksum(taskStorageStr));
+
+        // Lines saved before tasks were given IDs start with the symbol of the task instead
+        if (args.length == 1 || !isId(args[ID_ARG_INDEX])) {
+            return parseFields(args);
+        }
+
+        long id = Long.parseLong(args[ID_ARG_INDEX]);
+        Task task = parseFields(Arrays.copyOfRange(args, ID_ARG_INDEX + 1, args.length));
+
+        return id == Task.NO_ID ? task : task.withId(id);
+    }
+
+    /**
+     * Returns the ID of the task on the line in the specified range of the data, without parsing the rest of the
+     * line, or {@link Task#NO_ID} if the line has none.
+     *
+     * @param data Lines of text that were created by {@link #toRecord(Task)}.
+     * @param start The index of the first character of the line in the data.
+     * @param end The index just after the last character of the line in the data, excluding the line break.
+     * @return The ID of the task on the line, or {@link Task#NO_ID} if the line has none.
+     */
+    static long extractId(String data, int start, int end) {
+        assert data != null;
+
+        int idStart = start + ChecksumUtils.getChecksumLength(data, start, end);
+
+        int idEnd = idStart;
+        while (idEnd < end && idEnd - idStart < MAX_ID_DIGITS && isDigit(data.charAt(idEnd))) {
+            ++idEnd;
+        }
+
+        boolean hasSeparator = idEnd + Task.FIELD_SEPARATOR.length() <= end
+                && data.startsWith(Task.FIELD_SEPARATOR, idEnd);
+        if (idEnd == idStart || !hasSeparator) {
+            return Task.NO_ID;
+        }
+
+        return Long.parseLong(data, idStart, idEnd, 10);
+    }
+
+    /**
+     * Returns the specified line with the specified ID in place of the ID it has, if any.
+     * <p>
+     * The rest of the line is kept as it is. A line whose checksum matches, or that has none, is given a new checksum,
+     * while a line whose checksum does not match is returned unchanged, so that it is still reported as corrupted.
+     * </p>
+     *
+     * @param record A line of text that was created by {@link Task#getStorageStr()}.
+     * @param id The ID to be given to the task on the line.
+     * @return The line with the ID.
+     */
+    static String replaceId(String record, long id) {
+        assert record != null;
+        assert id > Task.NO_ID;
+
+        if (ChecksumUtils.check(record) == ChecksumUtils.Status.INVALID) {
+            return record;
+        }
+
+        int fieldsStart = ChecksumUtils.getChecksumLength(record);
+        if (extractId(record, 0, record.length()) != Task.NO_ID) {
+            fieldsStart = record.indexOf(Task.FIELD_SEPARATOR, fieldsStart) + Task.FIELD_SEPARATOR.length();
+        }
+
+        return ChecksumUtils.addChecksum(id + Task.FIELD_SEPARATOR + record.substring(fieldsStart));
+    }
+
+    private static Task parseFields(String[] args) throws DukeException {
+        switch (args[TASK_SYMBOL_ARG_INDEX]) {
+        case "T":
+            return ToDo.createFromStorage(args);
+        case "D":
+            return Deadline.createFromStorage(args);
+        case "E":
+            return Event.createFromStorage(args);
+        default:
+            throw new DukeException("An unknown task type was found in storage.");
+        }
+    }
+
+    private static boolean isId(String arg) {
+        if (arg.isEmpty() || arg.length() > MAX_ID_DIGITS) {
+            return false;
+        }
+
+        for (int i = 0; i < arg.length(); ++i) {
+            if (!isDigit(arg.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Returns the specified task as a line of text that starts with its checksum.
+     *
+     * @param task The task to be converted.
+     * @return The task as a line of text.
+     */
+    static String toRecord(Task task) {
+        assert task != null;
+
+        return ChecksumUtils.addChecksum(task.getStorageStr());
+    }
+
+    /**
+     * Returns the specified tasks as lines of text, one task per line.
+     *
+     * @param tasks The tasks to be converted.
+     * @return The tasks as lines of text.
+     */
+    static String toStorageStr(List<Task> tasks) {
+        assert tasks != null;
+
+        StringBuilder data = new StringBuilder();
+
+        try {
+            writeStorageStrs(tasks, line -> data.append(line).append('\n'));
+        } catch (DukeException e) {
+            // Appending to a StringBuilder never fails
+            throw new AssertionError(e);
+        }
+
+        return data.toString();
+    }
+
+    /**
+     * Writes the specified tasks as lines of text to the specified writer, one task per line.
+     * <p>
+     * Each line is built in the same builder, which is passed to the writer and then reused for the next line.
+     * </p>
+     *
+     * @param tasks The tasks to be written.
+     * @param writer Writes each line.
+     * @throws DukeException Indicates failure to write a line.
+     */
+    static void writeStorageStrs(List<Task> tasks, LineWriter writer) throws DukeException {
+        assert tasks != null;
+        assert writer != null;
+
+        // Tasks that were loaded lazily and never parsed are written as they were, without parsing them
+        if (tasks instanceof LazyTaskList) {
+            LazyTaskList lazyTasks = (LazyTaskList) tasks;
+            for (int i = 0; i < lazyTasks.size(); ++i) {
+                writer.writeLine(lazyTasks.getStorageStr(i));
+            }
+            return;
+        }
+
+        if (tasks instanceof SlottedTaskList && ((SlottedTaskList) tasks).getSlots() instanceof LazyTaskList) {
+            SlottedTaskList slottedTasks = (SlottedTaskList) tasks;
+            LazyTaskList lazyTasks = (LazyTaskList) slottedTasks.getSlots();
+            for (int i = 0; i < slottedTasks.size(); ++i) {
+                writer.writeLine(lazyTasks.getStorageStr(slottedTasks.toSlot(i)));
+            }
+            return;
+        }
+
+        // The same builder and buffer are reused for every task, so writing creates next to no garbage
+        StringBuilder record = new StringBuilder();
+        CRC32C crc = new CRC32C();
+        byte[] buffer = new byte[CHECKSUM_BUFFER_SIZE];
+
+        for (Task task : tasks) {
+            record.setLength(0);
+            ChecksumUtils.appendChecksumPlaceholder(record);
+            task.appendStorageStr(record);
+            ChecksumUtils.fillChecksum(record, crc, buffer);
+
+            writer.writeLine(record);
+        }
+    }
+
+    /**
+     * Represents an incorrect line found when parsing the lines of the storage.
+     */
+    static class IncorrectLine {
+        private final long lineNumber;
+        private final String line;
+        private final DukeException error;
+
+        IncorrectLine(long lineNumber, String line, DukeException error) {
+            this.lineNumber = lineNumber;
+            this.line = line;
+            this.error = error;
+        }
+
+        IncorrectLine offsetBy(long lineCount) {
+            return new IncorrectLine(lineNumber + lineCount, line, error);
+        }
+    }
+
+    /**
+     * Represents the tasks parsed from a chunk of lines, along with the incorrect lines in the chunk.
+     */
+    private static class ParsedChunk {
+        private final List<Task> tasks = new ArrayList<Task>();
+
+        /** The incorrect lines, with line numbers counted from the start of the chunk. */
+        private final List<IncorrectLine> incorrectLines = new ArrayList<IncorrectLine>();
+
+        /** The number of lines parsed, including the incorrect line if parsing stopped at one. */
+        private long lineCount;
+
+        static ParsedChunk parse(String data, int start, int end, boolean shouldStopAtIncorrectLine) {
+            ParsedChunk chunk = new ParsedChunk();
+
+            int lineStart = start;
+            while (lineStart < end) {
+                int lineEnd = data.indexOf('\n', lineStart);
+                if (lineEnd < 0 || lineEnd > end) {
+                    lineEnd = end;
+                }
+
+                ++chunk.lineCount;
+
+                if (isRecord(data, lineStart, lineEnd)) {
+                    String line = data.substring(lineStart, lineEnd);
+                    try {
+                        chunk.tasks.add(parseTask(line));
+                    } catch (DukeException e) {
+                        chunk.incorrectLines.add(new IncorrectLine(chunk.lineCount, line, e));
+                        if (shouldStopAtIncorrectLine) {
+                            break;
+                        }
+                    }
+                }
+
+                lineStart = lineEnd + 1;
+            }
+
+            return chunk;
+        }
+    }
+}
@@ -3,6 +3,10 @@ package duke.task;
 import duke.exception.DukeException;
 import duke.utils.BooleanUtils;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Represents a to-do task.
  */
@@ -24,6 +28,17 @@ public class ToDo extends Task {
         super(isDone, description);
     }
 
+    /**
+     * Creates a ToDo object with the specified ID.
+     *
+     * @param id ID of the to-do, or {@link #NO_ID} if it has none yet.
+     * @param isDone Is the to-do done.
+     * @param description Description of the to-do.
+     */
+    ToDo(long id, boolean isDone, String description) {
+        super(id, isDone, description);
+    }
+
     /**
      * Returns a ToDo object created using the specified data that was loaded from storage.
      *
@@ -42,19 +57,44 @@ public class ToDo extends Task {
         return new ToDo(isDone, description);
     }
 
+    /**
+     * Returns a ToDo object created using the data read from the specified binary input.
+     * <p>
+     * The symbol of the to-do is expected to have been read already.
+     * </p>
+     *
+     * @param in The input to read data about the to-do from.
+     * @return The ToDo object created using the data read.
+     * @throws IOException Indicates failure to read from the input, including reaching its end.
+     * @throws DukeException Indicates incorrect data type or format in the data read.
+     */
+    public static ToDo createFromBinaryStorage(DataInput in) throws IOException, DukeException {
+        boolean isDone = readValidBinaryIsDone(in);
+        String description = Task.readBinaryStr(in);
+
+        return new ToDo(isDone, description);
+    }
+
+    @Override
+    protected void appendStorageFields(StringBuilder out) {
+        out.append(SYMBOL).append(FIELD_SEPARATOR);
+        super.appendStorageFields(out);
+    }
+
     @Override
-    public String getStorageStr() {
-        return String.format("%c %c %s", SYMBOL, FIELD_DIVIDER, super.getStorageStr());
+    public void writeBinary(DataOutput out) throws IOException {
+        out.writeByte(SYMBOL);
+        super.writeBinary(out);
     }
 
     @Override
-    public String toString() {
-        return String.format("[%c]%s", SYMBOL, super.toString());
+    protected String createDisplayStr() {
+        return String.format("[%c]%s", SYMBOL, super.createDisplayStr());
     }
 
     @Override
     protected Task createCopy() {
-        return new ToDo(isDone(), getDescription());
+        return new ToDo(getId(), isDone(), getDescription());
     }
 
     private static void validateNoMissingData(String[] args) throws DukeException {
@@ -75,4 +115,16 @@ public class ToDo extends Task {
 
         return Boolean.parseBoolean(formattedArgs[1]);
     }
+
+    private static boolean readValidBinaryIsDone(DataInput in) throws IOException, DukeException {
+        assert in != null;
+
+        int doneByte = in.readUnsignedByte();
+
+        if (!BooleanUtils.isBooleanByte(doneByte)) {
+            throw new DukeException("A to-do in storage has an incorrect data type!");
+        }
+
+        return doneByte == 1;
+    }
 }
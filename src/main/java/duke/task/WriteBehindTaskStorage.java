@@ -0,0 +1,449 @@
+package duke.task;
+
+import duke.exception.DukeException;
+import duke.io.RecordCheck;
+import duke.io.StorageLock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Represents a task storage that acknowledges changes immediately and writes them to another task storage later.
+ * <p>
+ * All changes made before a write happens are coalesced into a single write of the whole task list. Writes happen on
+ * a flusher thread after a fixed delay from the first unwritten change, or only when {@link #flush()} is called if no
+ * delay is given.
+ * </p>
+ * <p>
+ * Only the task each change adds, removes or updates is kept when the change is acknowledged. The changes are applied
+ * to a copy of the task list kept for writing when the write happens, so a change costs the same however large the
+ * task list is. Changes that replace the whole task list are kept as a copy of it. The copy is kept in the same way as
+ * the task list keeps its tasks, such as in columns, so that it takes no more memory than the task list does.
+ * </p>
+ * <p>
+ * As changes are acknowledged before they are written, a failed write cannot be rolled back by the task list. A failed
+ * scheduled write is reported to the listener given to {@link #watchWriteFailures(Consumer)} on the flusher thread,
+ * a failed flush is thrown by {@link #flush()}, and the changes are retried on the next write.
+ * </p>
+ */
+public class WriteBehindTaskStorage implements TaskStorage {
+    private static final long NO_FLUSH_DELAY = -1;
+
+    private final TaskStorage storage;
+    private final long flushDelayMillis;
+
+    private final ScheduledExecutorService flusher;
+
+    private final Object flushLock = new Object();
+
+    /** The tasks that replaced the whole task list since the last write, if any, to which the changes are applied. */
+    private List<Task> pendingTasks;
+
+    /** The changes made to the task list since the last write, in the order they were made. */
+    private List<Consumer<List<Task>>> pendingChanges = new ArrayList<Consumer<List<Task>>>();
+
+    /**
+     * Whether the tasks kept for writing may differ from the task list without a change saying so, such as before the
+     * tasks are loaded or after a change made outside of the app is merged, in which case the next change copies the
+     * whole task list instead.
+     */
+    private boolean isCopyStale = true;
+
+    private boolean isFlushScheduled;
+
+    /** Writes the changes yet to be written if the app is terminated without a flush, such as with Ctrl-C. */
+    private final Thread shutdownHook = new Thread(this::flushOnShutdown);
+
+    /** Whether the shutdown hook is registered, which it only is while there are changes yet to be written. */
+    private boolean hasShutdownHook;
+    private volatile Consumer<DukeException> writeFailureListener = e -> System.err.println(e.getMessage());
+
+    /** The tasks as of the changes last taken for writing. Only accessed while holding the flush lock. */
+    private List<Task> writtenTasks;
+
+    /** Whether the tasks kept for writing failed to be written. Only accessed while holding the flush lock. */
+    private boolean hasFailedWrite;
+
+    /**
+     * Creates a WriteBehindTaskStorage object that writes changes after the specified delay.
+     *
+     * @param storage The task storage to write the changes to.
+     * @param flushDelayMillis How long to wait after the first unwritten change before writing, in milliseconds.
+     */
+    public WriteBehindTaskStorage(TaskStorage storage, long flushDelayMillis) {
+        assert storage != null;
+        assert flushDelayMillis >= 0 || flushDelayMillis == NO_FLUSH_DELAY;
+
+        this.storage = storage;
+        this.flushDelayMillis = flushDelayMillis;
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-storage-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates a WriteBehindTaskStorage object that only writes changes when {@link #flush()} is called.
+     *
+     * @param storage The task storage to write the changes to.
+     */
+    public WriteBehindTaskStorage(TaskStorage storage) {
+        this(storage, NO_FLUSH_DELAY);
+    }
+
+    @Override
+    public boolean doesExist() throws DukeException {
+        return storage.doesExist();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The tasks kept for writing start out empty.
+     * </p>
+     *
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public void create() throws DukeException {
+        storage.create();
+        keepWrittenTasks(new ArrayList<Task>());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Lazily loaded tasks are copied for writing without parsing them. Other loaded tasks are not kept, as the task
+     * list may keep them in another way, such as in columns, and are copied from the task list on the first change
+     * instead.
+     * </p>
+     *
+     * @return {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public List<Task> load() throws DukeException {
+        List<Task> tasks = storage.load();
+        keepWrittenTasks(tasks instanceof LazyTaskList ? LazyTaskList.copyOf(tasks) : null);
+
+        return tasks;
+    }
+
+    @Override
+    public long loadNextId() throws DukeException {
+        return storage.loadNextId();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The next ID is set on the underlying task storage right away, and is written along with the next scheduled
+     * write. As IDs only ever grow, a write of older tasks with a newer next ID still keeps IDs from being given again.
+     * </p>
+     *
+     * @param nextId {@inheritDoc}
+     */
+    @Override
+    public void setNextId(long nextId) {
+        storage.setNextId(nextId);
+    }
+
+    /**
+     * Schedules the specified tasks to be written to the underlying task storage.
+     *
+     * @param tasks {@inheritDoc}
+     */
+    @Override
+    public synchronized void write(List<Task> tasks) {
+        assert tasks != null;
+
+        // Tasks are immutable, so copying the list is enough to keep what gets written stable
+        replacePendingTasks(LazyTaskList.copyOf(tasks));
+        scheduleFlush();
+    }
+
+    /**
+     * Schedules the specified tasks to be written to the underlying task storage, keeping only the added task.
+     *
+     * @param tasks {@inheritDoc}
+     * @param index {@inheritDoc}
+     */
+    @Override
+    public synchronized void writeAdded(List<Task> tasks, int index) {
+        Task task = tasks.get(index);
+        addPendingChange(tasks, writtenTasks -> writtenTasks.add(index, task));
+    }
+
+    /**
+     * Schedules the specified tasks to be written to the underlying task storage, keeping only the index of the
+     * removed task.
+     *
+     * @param tasks {@inheritDoc}
+     * @param index {@inheritDoc}
+     */
+    @Override
+    public synchronized void writeRemoved(List<Task> tasks, int index) {
+        addPendingChange(tasks, writtenTasks -> writtenTasks.remove(index));
+    }
+
+    /**
+     * Schedules the specified tasks to be written to the underlying task storage, keeping only the updated task.
+     *
+     * @param tasks {@inheritDoc}
+     * @param index {@inheritDoc}
+     */
+    @Override
+    public synchronized void writeUpdated(List<Task> tasks, int index) {
+        Task task = tasks.get(index);
+        addPendingChange(tasks, writtenTasks -> writtenTasks.set(index, task));
+    }
+
+    /**
+     * Writes all changes that are yet to be written to the underlying task storage.
+     *
+     * @throws DukeException Indicates failure to write to the underlying task storage.
+     */
+    @Override
+    public void flush() throws DukeException {
+        writePendingTasksWhileLocked();
+        storage.flush();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If there is a change, the task list may merge it without writing, so the next change copies the whole task list
+     * rather than being applied to tasks kept from before the merge.
+     * </p>
+     *
+     * @return {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public TaskChange pollExternalChange() throws DukeException {
+        TaskChange change = storage.pollExternalChange();
+
+        if (change != null) {
+            synchronized (this) {
+                isCopyStale = true;
+            }
+        }
+
+        return change;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Until a listener is given, failures are printed to standard error.
+     * </p>
+     *
+     * @param listener {@inheritDoc}
+     */
+    @Override
+    public void watchWriteFailures(Consumer<DukeException> listener) {
+        assert listener != null;
+
+        writeFailureListener = listener;
+    }
+
+    @Override
+    public void watch(Runnable listener) throws DukeException {
+        storage.watch(listener);
+    }
+
+    @Override
+    public String getRecoveryMessage() {
+        return storage.getRecoveryMessage();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the tasks that have been written are checked.
+     * </p>
+     *
+     * @return {@inheritDoc}
+     * @throws DukeException {@inheritDoc}
+     */
+    @Override
+    public RecordCheck checkRecords() throws DukeException {
+        return storage.checkRecords();
+    }
+
+    @Override
+    public StorageLock lock() throws DukeException {
+        return storage.lock();
+    }
+
+    /**
+     * Writes the changes on the flusher thread, reporting a failure to the listener as there is no caller to throw it
+     * to.
+     */
+    private void flushScheduled() {
+        try {
+            writePendingTasksWhileLocked();
+        } catch (DukeException e) {
+            writeFailureListener.accept(new DukeException(e,
+                    "Your latest changes are not saved yet! I'll try again with your next change."));
+        }
+    }
+
+    private void flushOnShutdown() {
+        try {
+            flush();
+        } catch (DukeException e) {
+            // The app is being terminated, so standard error is the only place left to report the failure
+            System.err.println(new DukeException(e, "Your latest changes could not be saved!").getMessage());
+        }
+    }
+
+    @SuppressWarnings("try")
+    private void writePendingTasksWhileLocked() throws DukeException {
+        // The storage is locked before the flush lock, the same order as callers that hold the storage lock themselves
+        try (StorageLock lock = storage.lock()) {
+            synchronized (flushLock) {
+                writePendingTasks();
+            }
+        }
+
+        removeShutdownHookIfWritten();
+    }
+
+    private void writePendingTasks() throws DukeException {
+        assert Thread.holdsLock(flushLock);
+
+        if (!applyPendingChanges() && !hasFailedWrite) {
+            return;
+        }
+
+        try {
+            storage.write(writtenTasks);
+        } catch (DukeException e) {
+            // Retried on the next write, as the changes have already been applied to the tasks kept for writing
+            hasFailedWrite = true;
+            throw e;
+        }
+
+        hasFailedWrite = false;
+    }
+
+    /**
+     * Applies the changes made since they were last taken to the tasks kept for writing, and returns true if there
+     * were any.
+     */
+    private boolean applyPendingChanges() {
+        assert Thread.holdsLock(flushLock);
+
+        List<Task> tasks;
+        List<Consumer<List<Task>>> changes;
+        synchronized (this) {
+            tasks = pendingTasks;
+            changes = pendingChanges;
+
+            pendingTasks = null;
+            pendingChanges = new ArrayList<Consumer<List<Task>>>();
+            isFlushScheduled = false;
+        }
+
+        if (tasks != null) {
+            writtenTasks = tasks;
+        } else if (changes.isEmpty()) {
+            return false;
+        }
+
+        if (!changes.isEmpty() && writtenTasks instanceof PersistentTaskVector) {
+            // Versions of a persistent task list cannot be changed, so their tasks are copied into a list that can be
+            writtenTasks = new ArrayList<Task>(writtenTasks);
+        }
+        for (Consumer<List<Task>> change : changes) {
+            change.accept(writtenTasks);
+        }
+
+        return true;
+    }
+
+    /**
+     * Keeps the specified tasks, which are already in the underlying task storage, as the tasks to apply later changes
+     * to, dropping any changes yet to be written. If null is given, the next change copies the whole task list
+     * instead.
+     */
+    private void keepWrittenTasks(List<Task> tasks) {
+        synchronized (flushLock) {
+            writtenTasks = tasks;
+            hasFailedWrite = false;
+
+            synchronized (this) {
+                pendingTasks = null;
+                pendingChanges.clear();
+                isCopyStale = tasks == null;
+            }
+        }
+    }
+
+    /**
+     * Replaces the tasks to be written with the specified copy of the task list, dropping the changes made before it.
+     */
+    private synchronized void replacePendingTasks(List<Task> tasks) {
+        pendingTasks = tasks;
+        pendingChanges.clear();
+        isCopyStale = false;
+    }
+
+    /**
+     * Keeps the specified change to the specified tasks to be applied to the tasks kept for writing, or copies the
+     * whole task list instead if the tasks kept may differ from it.
+     */
+    private void addPendingChange(List<Task> tasks, Consumer<List<Task>> change) {
+        assert Thread.holdsLock(this);
+
+        if (isCopyStale) {
+            replacePendingTasks(LazyTaskList.copyOf(tasks));
+        } else {
+            pendingChanges.add(change);
+        }
+
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        assert Thread.holdsLock(this);
+
+        if (!hasShutdownHook) {
+            try {
+                Runtime.getRuntime().addShutdownHook(shutdownHook);
+                hasShutdownHook = true;
+            } catch (IllegalStateException e) {
+                // The app is already being terminated, so the hook would never run
+            }
+        }
+
+        if (flushDelayMillis != NO_FLUSH_DELAY && !isFlushScheduled) {
+            isFlushScheduled = true;
+            flusher.schedule(this::flushScheduled, flushDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Removes the shutdown hook if every change has been written, so that a storage that is no longer used is not kept
+     * alive by it.
+     */
+    private synchronized void removeShutdownHookIfWritten() {
+        if (!hasShutdownHook || pendingTasks != null || !pendingChanges.isEmpty()) {
+            return;
+        }
+
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            hasShutdownHook = false;
+        } catch (IllegalStateException e) {
+            // The app is already being terminated, such as by the hook itself, so there is nothing to remove
+        }
+    }
+}
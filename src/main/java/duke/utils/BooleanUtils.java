@@ -13,4 +13,15 @@ public abstract class BooleanUtils {
     public static boolean isBooleanStr(String str) {
         return str != null && (str.equals("true") || str.equals("false"));
     }
+
+    /**
+     * Returns true if a byte read as an unsigned value is a boolean in binary form, that is 0 or 1. Otherwise, returns
+     * false.
+     *
+     * @param value The unsigned byte value to check.
+     * @return True if the byte is a boolean in binary form. False otherwise.
+     */
+    public static boolean isBooleanByte(int value) {
+        return value == 0 || value == 1;
+    }
 }
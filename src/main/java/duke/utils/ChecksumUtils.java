@@ -0,0 +1,317 @@
+package duke.utils;
+
+import duke.exception.DukeException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Contains utility methods for the checksums that guard each record, or line, of the text save file.
+ * <p>
+ * A record with a checksum starts with the CRC32C of the UTF-8 bytes of the rest of the record, as 8 lowercase hex
+ * digits followed by a space. Records without a checksum, such as those saved before checksums were kept, are still
+ * accepted, but cannot be checked. Such records start with a task symbol, so a record that has neither, such as one
+ * whose checksum was damaged, is taken to be corrupted.
+ * </p>
+ */
+public abstract class ChecksumUtils {
+    private static final int CHECKSUM_LENGTH = 8;
+    private static final int PREFIX_LENGTH = CHECKSUM_LENGTH + 1;
+    private static final int HEX_DIGIT_BITS = 4;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final int MAX_UTF8_BYTES_PER_CODE_POINT = 4;
+
+    /** The symbols of the kinds of tasks, one of which starts every record saved before checksums were kept. */
+    private static final String TASK_SYMBOLS = "TDE";
+    private static final String FIELD_SEPARATOR = " | ";
+
+    /**
+     * Represents the outcome of checking the checksum of a record.
+     */
+    public enum Status {
+        /** The record has a checksum that matches the rest of the record. */
+        VALID,
+        /** The record has a checksum that does not match the rest of the record, so the record is corrupted. */
+        INVALID,
+        /** The record was saved before checksums were kept, so it has none and cannot be checked. */
+        MISSING
+    }
+
+    /**
+     * Returns the specified line as a record that starts with its checksum.
+     *
+     * @param line The line to be guarded by a checksum.
+     * @return The line, prefixed by its checksum.
+     */
+    public static String addChecksum(String line) {
+        assert line != null;
+
+        int checksum = computeChecksum(line);
+
+        char[] record = new char[PREFIX_LENGTH + line.length()];
+        for (int i = CHECKSUM_LENGTH - 1; i >= 0; --i) {
+            record[i] = HEX_DIGITS[checksum & 0xf];
+            checksum >>>= HEX_DIGIT_BITS;
+        }
+        record[CHECKSUM_LENGTH] = ' ';
+        line.getChars(0, line.length(), record, PREFIX_LENGTH);
+
+        return new String(record);
+    }
+
+    /**
+     * Appends a placeholder for a checksum to the specified builder, to be filled in by
+     * {@link #fillChecksum(StringBuilder, CRC32C, byte[])} once the rest of the record is appended after it.
+     *
+     * @param record The builder holding the record, which must be empty.
+     */
+    public static void appendChecksumPlaceholder(StringBuilder record) {
+        assert record != null;
+        assert record.length() == 0;
+
+        for (int i = 0; i < CHECKSUM_LENGTH; ++i) {
+            record.append('0');
+        }
+        record.append(' ');
+    }
+
+    /**
+     * Fills in the checksum placeholder at the start of the specified record with the checksum of the rest of the
+     * record, giving the same record as {@link #addChecksum(String)}.
+     * <p>
+     * The record is encoded as UTF-8 into the specified buffer, one buffer's worth at a time, so no garbage is
+     * created.
+     * </p>
+     *
+     * @param record The builder holding the record, which starts with the placeholder from
+     *               {@link #appendChecksumPlaceholder(StringBuilder)}.
+     * @param crc The CRC32C to checksum with, which is reset before it is used.
+     * @param buffer The buffer to encode the record into, which must be able to hold at least 4 bytes.
+     */
+    public static void fillChecksum(StringBuilder record, CRC32C crc, byte[] buffer) {
+        assert record != null && record.length() >= PREFIX_LENGTH;
+        assert crc != null;
+        assert buffer != null && buffer.length >= MAX_UTF8_BYTES_PER_CODE_POINT;
+
+        crc.reset();
+
+        int length = 0;
+        for (int i = PREFIX_LENGTH; i < record.length(); ++i) {
+            if (length > buffer.length - MAX_UTF8_BYTES_PER_CODE_POINT) {
+                crc.update(buffer, 0, length);
+                length = 0;
+            }
+
+            char c = record.charAt(i);
+            if (c < 0x80) {
+                buffer[length++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[length++] = (byte) (0xc0 | (c >> 6));
+                buffer[length++] = (byte) (0x80 | (c & 0x3f));
+            } else if (!Character.isSurrogate(c)) {
+                buffer[length++] = (byte) (0xe0 | (c >> 12));
+                buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buffer[length++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < record.length()
+                    && Character.isLowSurrogate(record.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, record.charAt(++i));
+                buffer[length++] = (byte) (0xf0 | (codePoint >> 18));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                buffer[length++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else {
+                // Like String#getBytes, a lone surrogate is encoded as a question mark
+                buffer[length++] = '?';
+            }
+        }
+        crc.update(buffer, 0, length);
+
+        int checksum = (int) crc.getValue();
+        for (int i = CHECKSUM_LENGTH - 1; i >= 0; --i) {
+            record.setCharAt(i, HEX_DIGITS[checksum & 0xf]);
+            checksum >>>= HEX_DIGIT_BITS;
+        }
+    }
+
+    /**
+     * Returns the specified record without its checksum, after checking that the checksum matches the rest of the
+     * record. Records without a checksum are returned as they are.
+     *
+     * @param record A record, which may or may not start with a checksum.
+     * @return The record without its checksum.
+     * @throws DukeException Indicates that the checksum does not match, so the record is corrupted.
+     */
+    public static String removeChecksum(String record) throws DukeException {
+        assert record != null;
+
+        if (!hasChecksum(record)) {
+            return record;
+        }
+
+        String line = record.substring(PREFIX_LENGTH);
+        if (parseChecksum(record) != computeChecksum(line)) {
+            throw new DukeException("The checksum of the task does not match, so the task is corrupted.");
+        }
+
+        return line;
+    }
+
+    /**
+     * Returns the outcome of checking the checksum of the record in the specified range of the buffer.
+     * <p>
+     * The bytes are checksummed in place, so checking a memory-mapped file copies nothing. The position of the buffer
+     * is changed.
+     * </p>
+     *
+     * @param buffer The buffer holding the UTF-8 bytes of the record.
+     * @param start The index of the first byte of the record in the buffer.
+     * @param end The index just after the last byte of the record in the buffer, excluding the line break.
+     * @param crc The CRC32C to checksum with, which is reset before it is used.
+     * @return The outcome of checking the checksum.
+     */
+    public static Status check(ByteBuffer buffer, int start, int end, CRC32C crc) {
+        assert buffer != null;
+        assert crc != null;
+        assert 0 <= start && start <= end && end <= buffer.limit();
+
+        if (end - start < PREFIX_LENGTH || buffer.get(start + CHECKSUM_LENGTH) != ' ') {
+            return isSavedWithoutChecksum(buffer, start, end) ? Status.MISSING : Status.INVALID;
+        }
+
+        int checksum = 0;
+        for (int i = start; i < start + CHECKSUM_LENGTH; ++i) {
+            int digit = parseHexDigit(buffer.get(i));
+            if (digit < 0) {
+                return isSavedWithoutChecksum(buffer, start, end) ? Status.MISSING : Status.INVALID;
+            }
+            checksum = (checksum << HEX_DIGIT_BITS) | digit;
+        }
+
+        int limit = buffer.limit();
+
+        crc.reset();
+        buffer.limit(end);
+        buffer.position(start + PREFIX_LENGTH);
+        crc.update(buffer);
+        buffer.limit(limit);
+
+        return (int) crc.getValue() == checksum ? Status.VALID : Status.INVALID;
+    }
+
+    /**
+     * Returns the outcome of checking the checksum of the specified record.
+     *
+     * @param record A record, which may or may not start with a checksum.
+     * @return The outcome of checking the checksum.
+     */
+    public static Status check(String record) {
+        assert record != null;
+
+        if (!hasChecksum(record)) {
+            return isSavedWithoutChecksum(record) ? Status.MISSING : Status.INVALID;
+        }
+
+        return parseChecksum(record) == computeChecksum(record.substring(PREFIX_LENGTH)) ? Status.VALID
+                : Status.INVALID;
+    }
+
+    /**
+     * Returns the number of characters the checksum of the specified record takes up, including the space after it,
+     * or 0 if the record has no checksum.
+     *
+     * @param record A record, which may or may not start with a checksum.
+     * @return The length of the checksum of the record, or 0 if it has none.
+     */
+    public static int getChecksumLength(CharSequence record) {
+        assert record != null;
+
+        return getChecksumLength(record, 0, record.length());
+    }
+
+    /**
+     * Returns the number of characters the checksum of the record in the specified range of the data takes up,
+     * including the space after it, or 0 if the record has no checksum.
+     *
+     * @param data The data holding the record.
+     * @param start The index of the first character of the record in the data.
+     * @param end The index just after the last character of the record in the data, excluding the line break.
+     * @return The length of the checksum of the record, or 0 if it has none.
+     */
+    public static int getChecksumLength(CharSequence data, int start, int end) {
+        assert data != null;
+        assert 0 <= start && start <= end && end <= data.length();
+
+        return hasChecksum(data, start, end) ? PREFIX_LENGTH : 0;
+    }
+
+    private static boolean hasChecksum(CharSequence record) {
+        return hasChecksum(record, 0, record.length());
+    }
+
+    private static boolean hasChecksum(CharSequence data, int start, int end) {
+        if (end - start < PREFIX_LENGTH || data.charAt(start + CHECKSUM_LENGTH) != ' ') {
+            return false;
+        }
+
+        for (int i = start; i < start + CHECKSUM_LENGTH; ++i) {
+            if (parseHexDigit(data.charAt(i)) < 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns true if the specified record has the shape of a record saved before checksums were kept, which starts
+     * with a task symbol and a field separator.
+     */
+    private static boolean isSavedWithoutChecksum(String record) {
+        return record.length() > FIELD_SEPARATOR.length() && TASK_SYMBOLS.indexOf(record.charAt(0)) >= 0
+                && record.startsWith(FIELD_SEPARATOR, 1);
+    }
+
+    private static boolean isSavedWithoutChecksum(ByteBuffer buffer, int start, int end) {
+        if (end - start <= FIELD_SEPARATOR.length() || TASK_SYMBOLS.indexOf(buffer.get(start)) < 0) {
+            return false;
+        }
+
+        for (int i = 0; i < FIELD_SEPARATOR.length(); ++i) {
+            if (buffer.get(start + 1 + i) != FIELD_SEPARATOR.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int parseChecksum(String record) {
+        int checksum = 0;
+        for (int i = 0; i < CHECKSUM_LENGTH; ++i) {
+            checksum = (checksum << HEX_DIGIT_BITS) | parseHexDigit(record.charAt(i));
+        }
+
+        return checksum;
+    }
+
+    private static int computeChecksum(String line) {
+        CRC32C crc = new CRC32C();
+        crc.update(line.getBytes(StandardCharsets.UTF_8));
+
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Returns the value of the specified lowercase hex digit, or -1 if it is not one.
+     */
+    private static int parseHexDigit(int c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        } else {
+            return -1;
+        }
+    }
+}
@@ -1,9 +1,23 @@
 package duke.utils;
 
+import duke.LaunchOptions;
 import duke.command.Parser;
 import duke.exception.DukeException;
+import duke.exception.UncheckedDukeException;
+import duke.io.AtomicFileStorage;
+import duke.io.BinaryFileStorage;
 import duke.io.FileStorage;
+import duke.io.JournalFileStorage;
+import duke.io.LockedStorage;
+import duke.io.SegmentedFileStorage;
+import duke.io.Storage;
+import duke.io.StorageLock;
+import duke.io.WatchedStorage;
+import duke.task.JournaledTaskStorage;
 import duke.task.TaskList;
+import duke.task.TaskStorage;
+import duke.task.TextTaskStorage;
+import duke.task.WriteBehindTaskStorage;
 
 import java.nio.file.Path;
 import java.util.function.Consumer;
@@ -13,11 +27,23 @@ import java.util.function.Consumer;
  */
 public abstract class DukeUtils {
     private static final Path SAVE_FILE_PATH = Path.of("./save-data/task-list.csv");
+    private static final Path JOURNAL_SNAPSHOT_FILE_PATH = Path.of("./save-data/task-list.snapshot");
+    private static final Path BINARY_SAVE_FILE_PATH = Path.of("./save-data/task-list.bin");
+    private static final Path SEGMENTS_DIR_PATH = Path.of("./save-data/task-list.segments");
+    private static final Path QUARANTINE_FILE_PATH = Path.of("./save-data/quarantine.txt");
+    private static final Path NEXT_ID_FILE_PATH = Path.of("./save-data/task-list.next-id");
 
     /**
      * Runs the command corresponding to the user's input and prints the response message.
      * <p>
-     * If an error occurs due to the user's input, prints the error message instead.
+     * If an error occurs due to the user's input, prints the error message instead. Any change made to the save file
+     * outside of the app is merged in before the command runs, so the command sees it and does not overwrite it. The
+     * save file stays locked from the merge until the command finishes, so other processes cannot change it in between.
+     * </p>
+     * <p>
+     * If the command fails on a lazily loaded task that is incorrect, the incorrect tasks are set aside while the save
+     * file is still locked, and the user is asked to enter the command again, as the positions of the remaining tasks
+     * may have changed.
      * </p>
      *
      * @param input The user's input.
@@ -25,13 +51,16 @@ public abstract class DukeUtils {
      * @param parser Determines the validity of the input and the command to execute.
      * @param printer Prints to the UI.
      */
+    @SuppressWarnings("try")
     public static void handleInput(String input, TaskList tasks, Parser parser, Consumer<String> printer) {
+        assert tasks != null;
         assert parser != null;
         assert printer != null;
 
         String message;
-        try {
-            message = parser.getCommand(input).run(input, tasks);
+        try (StorageLock lock = tasks.lock()) {
+            printExternalChange(tasks, printer);
+            message = runCommand(input, tasks, parser);
         } catch (DukeException e) {
             message = e.getMessage();
         }
@@ -39,6 +68,29 @@ public abstract class DukeUtils {
         printer.accept(message);
     }
 
+    /**
+     * Merges any change made to the save file outside of the app into the task list, and prints a message describing
+     * the merge if there was a change.
+     *
+     * @param tasks The user's task list.
+     * @param printer Prints to the UI.
+     */
+    public static void printExternalChange(TaskList tasks, Consumer<String> printer) {
+        assert tasks != null;
+        assert printer != null;
+
+        try {
+            String message = tasks.mergeExternalChange();
+            if (message != null) {
+                printer.accept(message);
+            }
+        } catch (DukeException e) {
+            printer.accept(e.getMessage());
+        } catch (UncheckedDukeException e) {
+            printer.accept(e.getCause().getMessage());
+        }
+    }
+
     /**
      * Loads the previously saved task list from storage and returns it.
      * <p>
@@ -46,11 +98,58 @@ public abstract class DukeUtils {
      * task list.
      * </p>
      *
+     * @param options The options the app was launched with, which determine how the task list is kept in storage.
      * @return The task list loaded from storage if it exists. Otherwise, the new task list.
      * @throws DukeException Indicates an error in loading from storage or creating storage.
      */
-    public static TaskList loadTasks() throws DukeException {
-        return new TaskList(new FileStorage(SAVE_FILE_PATH));
+    public static TaskList loadTasks(LaunchOptions options) throws DukeException {
+        assert options != null;
+
+        return new TaskList(applyDurability(createTaskStorage(options), options), getTaskListBackend(options));
+    }
+
+    /**
+     * Prints a message describing the tasks that were set aside when loading the task list because they were
+     * corrupted, if any were.
+     *
+     * @param tasks The user's task list.
+     * @param printer Prints to the UI.
+     */
+    public static void printRecoveryMessage(TaskList tasks, Consumer<String> printer) {
+        assert tasks != null;
+        assert printer != null;
+
+        String message = tasks.getRecoveryMessage();
+        if (message != null) {
+            printer.accept(message);
+        }
+    }
+
+    /**
+     * Writes any changes to the task list that are yet to be written before the app exits, and returns true if the app
+     * can exit.
+     * <p>
+     * If writing fails, prints the error message and returns false instead, so that the app stays open and the changes
+     * are not lost.
+     * </p>
+     *
+     * @param tasks The user's task list.
+     * @param printer Prints to the UI.
+     * @return True if every change was written and the app can exit. False otherwise.
+     */
+    public static boolean flushBeforeExit(TaskList tasks, Consumer<String> printer) {
+        assert tasks != null;
+        assert printer != null;
+
+        try {
+            tasks.flush();
+        } catch (DukeException e) {
+            printer.accept(new DukeException(e, "I'm staying open so that your unsaved changes aren't lost. Say bye "
+                    + "again once you've sorted that out!").getMessage());
+            return false;
+        }
+
+        return true;
     }
 
     /**
@@ -68,4 +167,150 @@ public abstract class DukeUtils {
                 + "seek?", logo);
 
     }
+
+    /**
+     * Runs the command corresponding to the user's input and returns the response message, setting aside the
+     * incorrect tasks if the command fails on a lazily loaded task that is incorrect.
+     */
+    private static String runCommand(String input, TaskList tasks, Parser parser) throws DukeException {
+        try {
+            return parser.getCommand(input).run(input, tasks);
+        } catch (UncheckedDukeException e) {
+            String recoveryMessage = tasks.setAsideIncorrectTasks();
+            if (recoveryMessage == null) {
+                throw e.getCause();
+            }
+
+            throw new DukeException(e.getCause(), String.format("%s\nPlease enter that again!", recoveryMessage));
+        }
+    }
+
+    private static TaskStorage createTaskStorage(LaunchOptions options) throws DukeException {
+        assert options != null;
+
+        switch (options.getStorageMode()) {
+        case JOURNAL:
+            return createJournaledTaskStorage(options);
+        case BINARY:
+            return createBinaryTaskStorage(options);
+        case SEGMENTED:
+            return createSegmentedTaskStorage(options);
+        case TEXT:
+            return new TextTaskStorage(createTextFileStorage(options), getTextLoadMode(options),
+                    new FileStorage(QUARANTINE_FILE_PATH), createNextIdStorage());
+        default:
+            throw new AssertionError(options.getStorageMode());
+        }
+    }
+
+    private static Storage createTextFileStorage(LaunchOptions options) {
+        assert options != null;
+
+        FileStorage storage = options.hasAtomicWrites()
+                ? new AtomicFileStorage(SAVE_FILE_PATH, options.getBackupCount())
+                : new FileStorage(SAVE_FILE_PATH);
+
+        if (options.isSharedSave()) {
+            // Other processes change the save file, so their changes must be merged in before every command
+            return new WatchedStorage(new LockedStorage(storage, SAVE_FILE_PATH), SAVE_FILE_PATH);
+        }
+
+        if (options.isHotReload()) {
+            return new WatchedStorage(storage, SAVE_FILE_PATH);
+        }
+
+        return storage;
+    }
+
+    private static Storage createNextIdStorage() {
+        // Replaced in one step, as a next ID cut short by a crash would be smaller than the one it replaces
+        return new AtomicFileStorage(NEXT_ID_FILE_PATH, 0);
+    }
+
+    private static TextTaskStorage.LoadMode getTextLoadMode(LaunchOptions options) {
+        assert options != null;
+
+        // Keeping tasks in columns, chunks or a trie parses every task anyway, so loading lazily would save nothing
+        if (options.isLazyLoad() && getTaskListBackend(options) == TaskList.Backend.ARRAY) {
+            return TextTaskStorage.LoadMode.LAZY;
+        }
+
+        return getConversionLoadMode(options);
+    }
+
+    private static TaskList.Backend getTaskListBackend(LaunchOptions options) {
+        assert options != null;
+
+        if (options.isCompactMemory()) {
+            return TaskList.Backend.COLUMNAR;
+        }
+
+        if (options.isChunkedList()) {
+            return TaskList.Backend.CHUNKED;
+        }
+
+        return options.isPersistentList() ? TaskList.Backend.PERSISTENT : TaskList.Backend.ARRAY;
+    }
+
+    private static TextTaskStorage.LoadMode getConversionLoadMode(LaunchOptions options) {
+        assert options != null;
+
+        // Converting parses every task anyway, so loading lazily would not save anything
+        return options.isParallelLoad() ? TextTaskStorage.LoadMode.PARALLEL : TextTaskStorage.LoadMode.SERIAL;
+    }
+
+    private static TaskStorage applyDurability(TaskStorage storage, LaunchOptions options) {
+        assert storage != null;
+        assert options != null;
+
+        switch (options.getDurability()) {
+        case SYNC:
+            return storage;
+        case BATCHED:
+            return new WriteBehindTaskStorage(storage, options.getBatchWindowMillis());
+        case ON_EXIT:
+            return new WriteBehindTaskStorage(storage);
+        default:
+            throw new AssertionError(options.getDurability());
+        }
+    }
+
+    private static TaskStorage createJournaledTaskStorage(LaunchOptions options) throws DukeException {
+        JournaledTaskStorage storage = new JournaledTaskStorage(new JournalFileStorage(JOURNAL_SNAPSHOT_FILE_PATH));
+        TaskStorage textStorage = new TextTaskStorage(new FileStorage(SAVE_FILE_PATH), getConversionLoadMode(options),
+                null, createNextIdStorage());
+
+        // Carry over the tasks from the text save file the first time the journal is used
+        if (!storage.doesExist() && textStorage.doesExist()) {
+            storage.convertFrom(textStorage);
+        }
+
+        return storage;
+    }
+
+    private static TaskStorage createBinaryTaskStorage(LaunchOptions options) throws DukeException {
+        BinaryFileStorage storage = new BinaryFileStorage(BINARY_SAVE_FILE_PATH);
+        TaskStorage textStorage = new TextTaskStorage(new FileStorage(SAVE_FILE_PATH), getConversionLoadMode(options),
+                null, createNextIdStorage());
+
+        // Carry over the tasks from the text save file the first time the binary save file is used
+        if (!storage.doesExist() && textStorage.doesExist()) {
+            storage.convertFrom(textStorage);
+        }
+
+        return storage;
+    }
+
+    private static TaskStorage createSegmentedTaskStorage(LaunchOptions options) throws DukeException {
+        SegmentedFileStorage storage = new SegmentedFileStorage(SEGMENTS_DIR_PATH);
+        TaskStorage textStorage = new TextTaskStorage(new FileStorage(SAVE_FILE_PATH), getConversionLoadMode(options),
+                null, createNextIdStorage());
+
+        // Carry over the tasks from the text save file the first time the segments are used
+        if (!storage.doesExist() && textStorage.doesExist()) {
+            storage.convertFrom(textStorage);
+        }
+
+        return storage;
+    }
 }
@@ -1,9 +1,15 @@
 package duke.utils;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 /**
- * Contains constants for LocalDateTime.
+ * Contains constants and utility methods for LocalDateTime.
  */
 public abstract class LocalDateTimeUtils {
     /** The format for any LocalDateTime inputted as a string. */
@@ -22,4 +28,349 @@ public abstract class LocalDateTimeUtils {
     /** The formatter for any LocalDateTime to be outputted. */
     public static final DateTimeFormatter OUTPUT_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(
             "EEE MMM dd, yyyy hh:mm a");
+
+    private static final long MIN_EPOCH_SECOND = toEpochSecond(LocalDateTime.MIN);
+    private static final long MAX_EPOCH_SECOND = toEpochSecond(LocalDateTime.MAX);
+
+    private static final int YEAR_DIGITS = 4;
+    private static final int MAX_PLAIN_YEAR = 9999;
+    private static final int NANOS_PER_MICRO = 1000;
+    private static final int NANOS_PER_MILLI = 1000_000;
+    private static final int MAX_FRACTION_DIGITS = 9;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int SECONDS_PER_HOUR = 60 * SECONDS_PER_MINUTE;
+    private static final int SECONDS_PER_DAY = 24 * SECONDS_PER_HOUR;
+
+    /** The hour that {@link #INPUT_DATE_TIME_FORMATTER} reads as the midnight at the end of the day, at minute 0. */
+    private static final int END_OF_DAY_HOUR = 24;
+
+    /** The indexes of the fields in a string in the format specified in {@link #INPUT_DATE_TIME_FORMAT}. */
+    private static final int INPUT_DAY_INDEX = 0;
+    private static final int INPUT_MONTH_INDEX = 3;
+    private static final int INPUT_YEAR_INDEX = 6;
+    private static final int INPUT_HOUR_INDEX = 11;
+    private static final int INPUT_MINUTE_INDEX = 13;
+    private static final int INPUT_LENGTH = 15;
+
+    /** The indexes of the fields in a string created by {@link LocalDateTime#toString()} with a 4-digit year. */
+    private static final int ISO_MONTH_INDEX = 5;
+    private static final int ISO_DAY_INDEX = 8;
+    private static final int ISO_HOUR_INDEX = 11;
+    private static final int ISO_MINUTE_INDEX = 14;
+    private static final int ISO_SECOND_INDEX = 17;
+    private static final int ISO_FRACTION_INDEX = 20;
+    private static final int ISO_MINUTES_LENGTH = 16;
+    private static final int ISO_SECONDS_LENGTH = 19;
+
+    /**
+     * Returns true if the specified input is in the format specified in {@link #INPUT_DATE_TIME_FORMAT}, as checked by
+     * {@link #INPUT_DATE_TIME_REGEX}. Otherwise, returns false.
+     * <p>
+     * Checks each character in a single pass, without matching a regex.
+     * </p>
+     *
+     * @param input The input to check.
+     * @return True if the input is in the format. False otherwise.
+     */
+    public static boolean isInputDateTimeFormat(CharSequence input) {
+        assert input != null;
+
+        if (input.length() != INPUT_LENGTH) {
+            return false;
+        }
+
+        for (int i = 0; i < INPUT_LENGTH; ++i) {
+            char c = input.charAt(i);
+            boolean isExpected;
+
+            switch (i) {
+            case INPUT_MONTH_INDEX - 1:
+            case INPUT_YEAR_INDEX - 1:
+                isExpected = c == '/';
+                break;
+            case INPUT_HOUR_INDEX - 1:
+                isExpected = c == ' ';
+                break;
+            default:
+                isExpected = isDigit(c);
+                break;
+            }
+
+            if (!isExpected) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the date and time in the specified input, which is in the format specified in
+     * {@link #INPUT_DATE_TIME_FORMAT}.
+     * <p>
+     * Gives the same date and time as parsing with {@link #INPUT_DATE_TIME_FORMATTER}, including moving a day past
+     * the end of a month back to the last day of the month and reading {@code 2400} as the midnight at the end of the
+     * day, but checks and reads the fields in a single pass.
+     * </p>
+     *
+     * @param input The input to parse.
+     * @return The date and time in the input.
+     * @throws DateTimeParseException Indicates that the input is not in the format, or is not a valid date and time.
+     */
+    public static LocalDateTime parseInputDateTime(CharSequence input) {
+        assert input != null;
+
+        if (!isInputDateTimeFormat(input)) {
+            throw new DateTimeParseException("The date and time is not in the input format", input, 0);
+        }
+
+        int day = parseDigits(input, INPUT_DAY_INDEX, 2);
+        int month = parseDigits(input, INPUT_MONTH_INDEX, 2);
+        int year = parseDigits(input, INPUT_YEAR_INDEX, YEAR_DIGITS);
+        int hour = parseDigits(input, INPUT_HOUR_INDEX, 2);
+        int minute = parseDigits(input, INPUT_MINUTE_INDEX, 2);
+
+        boolean isEndOfDay = hour == END_OF_DAY_HOUR && minute == 0;
+
+        try {
+            // The year is a year of the current era, which starts from 1
+            if (year == 0) {
+                throw new DateTimeException("The year must be at least 1");
+            }
+
+            LocalDate firstOfMonth = LocalDate.of(year, month, 1);
+            if (day < 1 || day > 31) {
+                throw new DateTimeException("The day must be from 1 to 31");
+            }
+
+            LocalDate date = firstOfMonth.withDayOfMonth(Math.min(day, firstOfMonth.lengthOfMonth()));
+            LocalTime time = LocalTime.of(isEndOfDay ? 0 : hour, minute);
+
+            return LocalDateTime.of(isEndOfDay ? date.plusDays(1) : date, time);
+        } catch (DateTimeException e) {
+            throw new DateTimeParseException(e.getMessage(), input, 0, e);
+        }
+    }
+
+    /**
+     * Returns the date and time in the specified string, which was created by {@link LocalDateTime#toString()}, as the
+     * number of seconds from the epoch of 1970-01-01T00:00.
+     * <p>
+     * Strings with a 4-digit year are read a character at a time, without creating any objects that outlive the call.
+     * Other strings are parsed with {@link LocalDateTime#parse(CharSequence)}. As with
+     * {@link #toEpochSecond(LocalDateTime)}, any fraction of a second is dropped.
+     * </p>
+     *
+     * @param str The string to parse.
+     * @return The number of seconds from the epoch.
+     * @throws DateTimeParseException Indicates that the string is not a valid date and time.
+     */
+    public static long parseIsoEpochSecond(String str) {
+        assert str != null;
+
+        if (!isSimpleIsoDateTime(str)) {
+            return toEpochSecond(LocalDateTime.parse(str));
+        }
+
+        int year = parseDigits(str, 0, YEAR_DIGITS);
+        int month = parseDigits(str, ISO_MONTH_INDEX, 2);
+        int day = parseDigits(str, ISO_DAY_INDEX, 2);
+        int hour = parseDigits(str, ISO_HOUR_INDEX, 2);
+        int minute = parseDigits(str, ISO_MINUTE_INDEX, 2);
+        int second = str.length() > ISO_MINUTES_LENGTH ? parseDigits(str, ISO_SECOND_INDEX, 2) : 0;
+
+        try {
+            long epochDay = LocalDate.of(year, month, day).toEpochDay();
+            int secondOfDay = LocalTime.of(hour, minute, second).toSecondOfDay();
+
+            return epochDay * SECONDS_PER_DAY + secondOfDay;
+        } catch (DateTimeException e) {
+            throw new DateTimeParseException(e.getMessage(), str, 0, e);
+        }
+    }
+
+    /**
+     * Appends the specified date and time to the specified builder, exactly as {@link LocalDateTime#toString()} would
+     * format it, such as {@code 2021-09-01T23:59}.
+     * <p>
+     * Each field is appended straight from its numeric value, without creating any intermediate strings.
+     * </p>
+     *
+     * @param out The builder to append to.
+     * @param dateTime The date and time to append.
+     */
+    public static void appendIsoDateTime(StringBuilder out, LocalDateTime dateTime) {
+        assert out != null;
+        assert dateTime != null;
+
+        appendIsoDateTime(out, dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(),
+                dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond(), dateTime.getNano());
+    }
+
+    /**
+     * Appends the date and time that is the specified number of seconds from the epoch of 1970-01-01T00:00 to the
+     * specified builder, as {@link #appendIsoDateTime(StringBuilder, LocalDateTime)} would.
+     *
+     * @param out The builder to append to.
+     * @param epochSecond The number of seconds from the epoch.
+     * @throws DateTimeException Indicates that the date and time exceeds the supported range of date and time.
+     */
+    public static void appendIsoDateTime(StringBuilder out, long epochSecond) {
+        assert out != null;
+
+        LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(epochSecond, SECONDS_PER_DAY));
+        int secondOfDay = Math.floorMod(epochSecond, SECONDS_PER_DAY);
+
+        appendIsoDateTime(out, date.getYear(), date.getMonthValue(), date.getDayOfMonth(),
+                secondOfDay / SECONDS_PER_HOUR, secondOfDay / SECONDS_PER_MINUTE % 60, secondOfDay % 60, 0);
+    }
+
+    private static void appendIsoDateTime(StringBuilder out, int year, int month, int day, int hour, int minute,
+            int second, int nano) {
+        if (year < 0) {
+            out.append('-');
+        } else if (year > MAX_PLAIN_YEAR) {
+            out.append('+');
+        }
+        appendPadded(out, Math.abs(year), YEAR_DIGITS);
+
+        out.append('-');
+        appendPadded(out, month, 2);
+        out.append('-');
+        appendPadded(out, day, 2);
+        out.append('T');
+        appendPadded(out, hour, 2);
+        out.append(':');
+        appendPadded(out, minute, 2);
+
+        if (second == 0 && nano == 0) {
+            return;
+        }
+
+        out.append(':');
+        appendPadded(out, second, 2);
+
+        if (nano == 0) {
+            return;
+        }
+
+        // Like LocalTime#toString, only as many groups of three digits as needed are kept
+        out.append('.');
+        if (nano % NANOS_PER_MILLI == 0) {
+            appendPadded(out, nano / NANOS_PER_MILLI, 3);
+        } else if (nano % NANOS_PER_MICRO == 0) {
+            appendPadded(out, nano / NANOS_PER_MICRO, 6);
+        } else {
+            appendPadded(out, nano, 9);
+        }
+    }
+
+    /**
+     * Returns the specified date and time as the number of seconds from the epoch of 1970-01-01T00:00.
+     * <p>
+     * The date and time is treated as being in UTC, as it has no time-zone of its own. Any fraction of a second is
+     * dropped.
+     * </p>
+     *
+     * @param dateTime The date and time to convert.
+     * @return The number of seconds from the epoch.
+     */
+    public static long toEpochSecond(LocalDateTime dateTime) {
+        assert dateTime != null;
+
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the date and time that is the specified number of seconds from the epoch of 1970-01-01T00:00.
+     *
+     * @param epochSecond The number of seconds from the epoch.
+     * @return The date and time that is the specified number of seconds from the epoch.
+     * @throws java.time.DateTimeException Indicates that the result exceeds the supported range of date and time.
+     */
+    public static LocalDateTime fromEpochSecond(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns true if the date and time that is the specified number of seconds from the epoch of 1970-01-01T00:00 is
+     * within the supported range of date and time. Otherwise, returns false.
+     *
+     * @param epochSecond The number of seconds from the epoch.
+     * @return True if the date and time is within the supported range. False otherwise.
+     */
+    public static boolean isSupportedEpochSecond(long epochSecond) {
+        return epochSecond >= MIN_EPOCH_SECOND && epochSecond <= MAX_EPOCH_SECOND;
+    }
+
+    /**
+     * Returns true if the specified string has a 4-digit year and all its fields in the positions
+     * {@link LocalDateTime#toString()} puts them in. Otherwise, returns false.
+     */
+    private static boolean isSimpleIsoDateTime(String str) {
+        int length = str.length();
+        boolean hasValidLength = length == ISO_MINUTES_LENGTH || length == ISO_SECONDS_LENGTH
+                || (length > ISO_FRACTION_INDEX && length <= ISO_FRACTION_INDEX + MAX_FRACTION_DIGITS);
+        if (!hasValidLength) {
+            return false;
+        }
+
+        for (int i = 0; i < length; ++i) {
+            char c = str.charAt(i);
+            boolean isExpected;
+
+            switch (i) {
+            case ISO_MONTH_INDEX - 1:
+            case ISO_DAY_INDEX - 1:
+                isExpected = c == '-';
+                break;
+            case ISO_HOUR_INDEX - 1:
+                isExpected = c == 'T';
+                break;
+            case ISO_MINUTE_INDEX - 1:
+            case ISO_SECOND_INDEX - 1:
+                isExpected = c == ':';
+                break;
+            case ISO_FRACTION_INDEX - 1:
+                isExpected = c == '.';
+                break;
+            default:
+                isExpected = isDigit(c);
+                break;
+            }
+
+            if (!isExpected) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int parseDigits(CharSequence str, int start, int digits) {
+        int value = 0;
+        for (int i = start; i < start + digits; ++i) {
+            value = value * 10 + (str.charAt(i) - '0');
+        }
+
+        return value;
+    }
+
+    private static void appendPadded(StringBuilder out, int value, int digits) {
+        assert value >= 0;
+
+        int length = 1;
+        for (int rest = value / 10; rest > 0; rest /= 10) {
+            ++length;
+        }
+
+        for (int i = length; i < digits; ++i) {
+            out.append('0');
+        }
+        out.append(value);
+    }
 }
@@ -0,0 +1,53 @@
+package duke.utils;
+
+import duke.exception.DukeException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Contains utility methods for running work on the save file in parallel.
+ */
+public abstract class ParallelUtils {
+    /**
+     * Runs the specified jobs in parallel on the common fork-join pool and returns their results in order.
+     *
+     * @param jobs The jobs to run.
+     * @param <T> The type of the results of the jobs.
+     * @return The results of the jobs, in the same order as the jobs.
+     * @throws DukeException Indicates that a job failed, in which case the failure of the earliest failed job is
+     *                       thrown.
+     */
+    public static <T> List<T> runInParallel(List<Callable<T>> jobs) throws DukeException {
+        assert jobs != null;
+
+        List<T> results = new ArrayList<T>(jobs.size());
+
+        try {
+            for (Future<T> future : ForkJoinPool.commonPool().invokeAll(jobs)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DukeException("I was interrupted while accessing the save file!");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof DukeException) {
+                throw (DukeException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new DukeException("I encountered an unexpected error when accessing the save file!");
+        }
+
+        return results;
+    }
+}
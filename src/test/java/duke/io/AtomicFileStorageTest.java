@@ -0,0 +1,88 @@
+package duke.io;
+
+import duke.exception.DukeException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class AtomicFileStorageTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void write_moreWritesThanBackups_keepsLatestBackups() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+
+        AtomicFileStorage storage = new AtomicFileStorage(path, 2);
+        storage.create();
+        storage.write("first");
+        storage.write("second");
+        storage.write("third");
+
+        Assertions.assertEquals("third", Files.readString(path));
+        Assertions.assertEquals("second", Files.readString(tempDir.resolve("task-list.csv.bak.1")));
+        Assertions.assertEquals("first", Files.readString(tempDir.resolve("task-list.csv.bak.2")));
+        Assertions.assertFalse(Files.exists(tempDir.resolve("task-list.csv.bak.3")));
+        Assertions.assertFalse(Files.exists(tempDir.resolve("task-list.csv.tmp")));
+    }
+
+    @Test
+    public void writeLines_existingFile_replacesFileAndKeepsBackup() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+
+        AtomicFileStorage storage = new AtomicFileStorage(path, 1);
+        storage.create();
+        storage.write("first");
+        storage.writeLines(writer -> {
+            writer.writeLine("second");
+            writer.writeLine("third");
+        });
+
+        Assertions.assertEquals("second\nthird\n", Files.readString(path));
+        Assertions.assertEquals("first", Files.readString(tempDir.resolve("task-list.csv.bak.1")));
+        Assertions.assertFalse(Files.exists(tempDir.resolve("task-list.csv.tmp")));
+    }
+
+    @Test
+    public void write_noBackups_keepsNoBackups() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+
+        AtomicFileStorage storage = new AtomicFileStorage(path, 0);
+        storage.create();
+        storage.write("first");
+        storage.write("second");
+
+        Assertions.assertEquals("second", Files.readString(path));
+        Assertions.assertFalse(Files.exists(tempDir.resolve("task-list.csv.bak.1")));
+    }
+
+    @Test
+    public void doesExist_interruptedWrite_keepsOldData() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Files.writeString(path, "old");
+        Files.writeString(tempDir.resolve("task-list.csv.tmp"), "ne");
+
+        AtomicFileStorage storage = new AtomicFileStorage(path, 2);
+
+        Assertions.assertTrue(storage.doesExist());
+        Assertions.assertEquals("old", storage.read());
+        Assertions.assertFalse(Files.exists(tempDir.resolve("task-list.csv.tmp")));
+    }
+
+    @Test
+    public void doesExist_fileMissing_restoresLatestBackup() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Files.writeString(tempDir.resolve("task-list.csv.bak.1"), "latest");
+        Files.writeString(tempDir.resolve("task-list.csv.bak.2"), "older");
+
+        AtomicFileStorage storage = new AtomicFileStorage(path, 2);
+
+        Assertions.assertTrue(storage.doesExist());
+        Assertions.assertEquals("latest", storage.read());
+        Assertions.assertEquals("latest", Files.readString(tempDir.resolve("task-list.csv.bak.1")));
+    }
+}
@@ -0,0 +1,188 @@
+package duke.io;
+
+import duke.exception.DukeException;
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Task;
+import duke.task.TaskList;
+import duke.task.TextTaskStorage;
+import duke.task.ToDo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+public class BinaryFileStorageTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void load_writtenTasks_returnsSameTasks() throws DukeException {
+        BinaryFileStorage storage = new BinaryFileStorage(tempDir.resolve("task-list.bin"));
+        List<Task> tasks = List.of(
+                new ToDo(true, "Hello | world!"),
+                new Deadline(false, "Lorem ipsum", LocalDateTime.of(2000, 2, 4, 4, 20)),
+                new Event(true, "H\u00e9llo w\u00f6rld!", LocalDateTime.of(2000, 2, 4, 4, 20),
+                        LocalDateTime.of(2000, 2, 5, 16, 20)));
+
+        storage.write(tasks);
+        List<Task> loaded = storage.load();
+
+        Assertions.assertEquals(tasks.toString(), loaded.toString());
+    }
+
+    @Test
+    public void load_longDescription_returnsSameDescription() throws DukeException {
+        BinaryFileStorage storage = new BinaryFileStorage(tempDir.resolve("task-list.bin"));
+        String description = "a".repeat(100000);
+
+        storage.write(List.of(new ToDo(false, description)));
+
+        Assertions.assertEquals(description, storage.load().get(0).getDescription());
+    }
+
+    @Test
+    public void convertFrom_textStorage_copiesTasks() throws DukeException, IOException {
+        Path textPath = tempDir.resolve("task-list.csv");
+        Files.writeString(textPath, "T | true | Hello \\| world!\nD | false | Lorem ipsum | 2000-02-04T04:20\n");
+
+        BinaryFileStorage storage = new BinaryFileStorage(tempDir.resolve("task-list.bin"));
+        storage.convertFrom(new TextTaskStorage(new FileStorage(textPath)));
+
+        TaskList tasks = new TaskList(storage);
+
+        Assertions.assertEquals("1.[T][X] Hello | world! (#1)\n"
+                + "2.[D][ ] Lorem ipsum (by: Fri Feb 04, 2000 04:20 AM) (#2)",
+                tasks.toString());
+    }
+
+    @Test
+    public void load_notBinarySaveFile_throwsDukeException() throws IOException {
+        Path path = tempDir.resolve("task-list.bin");
+        Files.writeString(path, "T | true | Hello world!\n");
+
+        Assertions.assertThrows(DukeException.class, () -> {
+            new BinaryFileStorage(path).load();
+        });
+    }
+
+    @Test
+    public void load_truncatedRecord_throwsDukeException() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.bin");
+        new BinaryFileStorage(path).write(List.of(new ToDo(false, "Hello world!")));
+
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 3));
+
+        Assertions.assertThrows(DukeException.class, () -> {
+            new BinaryFileStorage(path).load();
+        });
+    }
+
+    @Test
+    public void writeUpdated_sameRecordLength_onlyRecordChanged() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.bin");
+
+        TaskList tasks = new TaskList(new BinaryFileStorage(path));
+        tasks.add(new ToDo(false, "Hello world!"));
+        tasks.add(new Deadline(false, "Lorem ipsum", LocalDateTime.of(2000, 2, 4, 4, 20)));
+        byte[] before = Files.readAllBytes(path);
+
+        tasks.update(0, tasks.get(0).setDone(true));
+        byte[] after = Files.readAllBytes(path);
+
+        Assertions.assertEquals(before.length, after.length);
+        Assertions.assertEquals(1, countDifferentBytes(before, after));
+        Assertions.assertEquals(tasks.toString(), new TaskList(new BinaryFileStorage(path)).toString());
+    }
+
+    @Test
+    public void writeUpdated_differentRecordLength_rewritesFile() throws DukeException {
+        Path path = tempDir.resolve("task-list.bin");
+
+        TaskList tasks = new TaskList(new BinaryFileStorage(path));
+        tasks.add(new ToDo(false, "Hello world!"));
+        tasks.add(new ToDo(false, "Lorem ipsum"));
+        tasks.update(0, new ToDo(false, "Goodbye cruel world!"));
+        tasks.update(1, tasks.get(1).setDone(true));
+
+        Assertions.assertEquals(tasks.toString(), new TaskList(new BinaryFileStorage(path)).toString());
+    }
+
+    @Test
+    public void writeRemoved_afterLoad_removesTasks() throws DukeException {
+        Path path = tempDir.resolve("task-list.bin");
+
+        TaskList tasks = new TaskList(new BinaryFileStorage(path));
+        tasks.add(new ToDo(false, "Hello world!"));
+        tasks.add(new ToDo(false, "Lorem ipsum"));
+        tasks.add(new ToDo(false, "Goodbye world!"));
+
+        TaskList reloaded = new TaskList(new BinaryFileStorage(path));
+        reloaded.removeAt(2);
+        reloaded.removeAt(0);
+        reloaded.update(0, reloaded.get(0).setDone(true));
+        reloaded.add(new ToDo(false, "Hello again!"));
+
+        Assertions.assertEquals("1.[T][X] Lorem ipsum (#2)\n2.[T][ ] Hello again! (#4)",
+                new TaskList(new BinaryFileStorage(path)).toString());
+    }
+
+    @Test
+    public void load_formatWithoutIds_idsGivenAndKept() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.bin");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x44554b42);
+        out.writeByte(1);
+        new ToDo(false, "Hello world!").writeBinary(out);
+        new ToDo(true, "Lorem ipsum").writeBinary(out);
+        Files.write(path, bytes.toByteArray());
+
+        TaskList tasks = new TaskList(new BinaryFileStorage(path));
+        tasks.setDone(0, true);
+
+        Assertions.assertEquals("1.[T][X] Hello world! (#1)\n2.[T][X] Lorem ipsum (#2)",
+                new TaskList(new BinaryFileStorage(path)).toString());
+    }
+
+    @Test
+    public void load_formatWithoutNextId_idsKeptAndNextIdWritten() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.bin");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x44554b42);
+        out.writeByte(2);
+        new ToDo(false, "Hello world!").writeBinary(out);
+        out.writeLong(3);
+        new ToDo(true, "Lorem ipsum").writeBinary(out);
+        out.writeLong(5);
+        Files.write(path, bytes.toByteArray());
+
+        TaskList tasks = new TaskList(new BinaryFileStorage(path));
+        tasks.removeAt(1);
+
+        TaskList reloaded = new TaskList(new BinaryFileStorage(path));
+        reloaded.add(new ToDo(false, "Goodbye world!"));
+
+        Assertions.assertEquals("1.[T][ ] Hello world! (#3)\n2.[T][ ] Goodbye world! (#6)", reloaded.toString());
+    }
+
+    private static int countDifferentBytes(byte[] first, byte[] second) {
+        int count = 0;
+        for (int i = 0; i < first.length; ++i) {
+            if (first[i] != second[i]) {
+                ++count;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,160 @@
+package duke.io;
+
+import duke.exception.DukeException;
+import duke.utils.ChecksumUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FileStorageTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void readLines_multipleLines_readsEachLineInOrder() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Files.writeString(path, "Hello world!\n\nLorem ipsum\n", StandardCharsets.UTF_8);
+
+        List<String> lines = new ArrayList<String>();
+        new FileStorage(path).readLines(lines::add);
+
+        Assertions.assertEquals(List.of("Hello world!", "", "Lorem ipsum"), lines);
+    }
+
+    @Test
+    public void checkRecords_mixedRecords_countsEachKind() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        String validRecord = ChecksumUtils.addChecksum("T | false | Hello world!");
+        String corruptedRecord = ChecksumUtils.addChecksum("T | false | Lorem ipsum").replace("false", "true");
+        Files.writeString(path, String.join("\n", "# generation 3", validRecord, corruptedRecord, "",
+                "T | true | Saved before checksums", corruptedRecord), StandardCharsets.UTF_8);
+
+        RecordCheck check = new FileStorage(path).checkRecords();
+
+        Assertions.assertEquals(4, check.getRecordCount());
+        Assertions.assertEquals(2, check.getCorruptCount());
+        Assertions.assertEquals(1, check.getUncheckedCount());
+        Assertions.assertEquals(List.of(3L, 6L), check.getCorruptLineNumbers());
+    }
+
+    @Test
+    public void readLines_noTrailingLineBreak_readsLastLine() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Files.writeString(path, "Hello world!\nLorem ipsum", StandardCharsets.UTF_8);
+
+        List<String> lines = new ArrayList<String>();
+        new FileStorage(path).readLines(lines::add);
+
+        Assertions.assertEquals(List.of("Hello world!", "Lorem ipsum"), lines);
+    }
+
+    @Test
+    public void readLines_multiByteCharacters_decodedAsUtf8() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Files.writeString(path, "H\u00e9llo w\u00f6rld! \u4f60\u597d\n", StandardCharsets.UTF_8);
+
+        List<String> lines = new ArrayList<String>();
+        new FileStorage(path).readLines(lines::add);
+
+        Assertions.assertEquals(List.of("H\u00e9llo w\u00f6rld! \u4f60\u597d"), lines);
+    }
+
+    @Test
+    public void readLines_emptyFile_readsNothing() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Files.writeString(path, "", StandardCharsets.UTF_8);
+
+        List<String> lines = new ArrayList<String>();
+        new FileStorage(path).readLines(lines::add);
+
+        Assertions.assertTrue(lines.isEmpty());
+    }
+
+    @Test
+    public void writeLines_multipleLines_writesEachLineWithLineBreak() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Files.writeString(path, "Old contents that are longer than the new ones\n", StandardCharsets.UTF_8);
+
+        new FileStorage(path).writeLines(writer -> {
+            writer.writeLine("Hello world!");
+            writer.writeLine(new StringBuilder("H\u00e9llo w\u00f6rld!"));
+        });
+
+        Assertions.assertEquals("Hello world!\nH\u00e9llo w\u00f6rld!\n",
+                Files.readString(path, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void writeLines_sourceFails_throwsSourceException() {
+        Path path = tempDir.resolve("task-list.csv");
+
+        LineSource source = writer -> {
+            throw new DukeException("Lorem ipsum");
+        };
+
+        DukeException e = Assertions.assertThrows(DukeException.class, () -> new FileStorage(path).writeLines(source));
+
+        Assertions.assertTrue(e.getMessage().endsWith("Lorem ipsum"));
+    }
+
+    @Test
+    public void read_defaultOnReadLines_addsLineBreakAfterEachLine() throws DukeException {
+        Storage storage = new Storage() {
+            @Override
+            public boolean doesExist() {
+                return true;
+            }
+
+            @Override
+            public void create() {
+            }
+
+            @Override
+            public void readLines(LineHandler handler) throws DukeException {
+                handler.handle("Hello world!");
+                handler.handle("Lorem ipsum");
+            }
+
+            @Override
+            public void writeLines(LineSource source) {
+            }
+        };
+
+        Assertions.assertEquals("Hello world!\nLorem ipsum\n", storage.read());
+    }
+
+    @Test
+    public void write_defaultOnWriteLines_writesEachLine() throws DukeException {
+        List<String> lines = new ArrayList<String>();
+        Storage storage = new Storage() {
+            @Override
+            public boolean doesExist() {
+                return true;
+            }
+
+            @Override
+            public void create() {
+            }
+
+            @Override
+            public void readLines(LineHandler handler) {
+            }
+
+            @Override
+            public void writeLines(LineSource source) throws DukeException {
+                source.writeTo(line -> lines.add(line.toString()));
+            }
+        };
+
+        storage.write("Hello world!\n\nLorem ipsum");
+
+        Assertions.assertEquals(List.of("Hello world!", "", "Lorem ipsum"), lines);
+    }
+}
@@ -0,0 +1,79 @@
+package duke.io;
+
+import duke.exception.DukeException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class LockedStorageTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void read_afterWrite_hidesHeader() throws DukeException {
+        LockedStorage storage = createStorage();
+        storage.write("first\nsecond\n");
+
+        Assertions.assertEquals("first\nsecond\n", storage.read());
+    }
+
+    @Test
+    public void readGeneration_afterEachWrite_increasesByOne() throws DukeException, IOException {
+        LockedStorage storage = createStorage();
+        Files.writeString(getPath(), "first\n");
+
+        Assertions.assertEquals(0, storage.readGeneration());
+
+        storage.write("first\n");
+        storage.write("second\n");
+
+        Assertions.assertEquals(2, storage.readGeneration());
+        Assertions.assertEquals(2, createStorage().readGeneration());
+    }
+
+    @Test
+    public void readGeneration_missingFile_returnsZero() throws DukeException {
+        Assertions.assertEquals(0, createStorage().readGeneration());
+    }
+
+    @Test
+    public void lock_heldByOtherStorage_waitsForRelease()
+            throws DukeException, ExecutionException, InterruptedException, TimeoutException {
+        LockedStorage storage = createStorage();
+        LockedStorage otherStorage = createStorage();
+
+        StorageLock lock = storage.lock();
+        CompletableFuture<Void> otherWrite = CompletableFuture.runAsync(() -> {
+            try {
+                otherStorage.write("other\n");
+            } catch (DukeException e) {
+                throw new AssertionError(e);
+            }
+        });
+
+        Assertions.assertThrows(TimeoutException.class, () -> otherWrite.get(200, TimeUnit.MILLISECONDS));
+
+        storage.write("first\n");
+        lock.close();
+        otherWrite.get(5, TimeUnit.SECONDS);
+
+        Assertions.assertEquals("other\n", storage.read());
+        Assertions.assertEquals(2, storage.readGeneration());
+    }
+
+    private LockedStorage createStorage() {
+        return new LockedStorage(new FileStorage(getPath()), getPath());
+    }
+
+    private Path getPath() {
+        return tempDir.resolve("task-list.csv");
+    }
+}
@@ -0,0 +1,92 @@
+package duke.io;
+
+import duke.exception.DukeException;
+import duke.task.TaskList;
+import duke.task.ToDo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+public class SegmentedFileStorageTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void load_changesAcrossSegments_returnsSameTasks() throws DukeException, IOException {
+        Path dir = tempDir.resolve("task-list.segments");
+
+        TaskList tasks = new TaskList(new SegmentedFileStorage(dir, 2));
+        for (int i = 0; i < 7; ++i) {
+            tasks.add(new ToDo(false, "Task " + i));
+        }
+        tasks.update(3, tasks.get(3).setDone(true));
+        tasks.removeAt(1);
+        tasks.removeAt(5);
+        tasks.update(0, new ToDo(true, "Renamed task"));
+
+        TaskList reloaded = new TaskList(new SegmentedFileStorage(dir, 2));
+
+        Assertions.assertEquals(tasks.toString(), reloaded.toString());
+        Assertions.assertEquals(3, countSegments(dir));
+    }
+
+    @Test
+    public void writeUpdated_taskInLaterSegment_earlierSegmentsUntouched() throws DukeException, IOException {
+        Path dir = tempDir.resolve("task-list.segments");
+
+        TaskList tasks = new TaskList(new SegmentedFileStorage(dir, 2));
+        for (int i = 0; i < 4; ++i) {
+            tasks.add(new ToDo(false, "Task " + i));
+        }
+
+        Path firstSegment = dir.resolve("segment-000000.bin");
+        FileTime epoch = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(firstSegment, epoch);
+
+        tasks.update(3, tasks.get(3).setDone(true));
+        tasks.add(new ToDo(false, "Task 4"));
+
+        Assertions.assertEquals(epoch, Files.getLastModifiedTime(firstSegment));
+        Assertions.assertEquals(tasks.toString(), new TaskList(new SegmentedFileStorage(dir, 2)).toString());
+    }
+
+    @Test
+    public void load_differentSegmentSize_resegmentsTasks() throws DukeException, IOException {
+        Path dir = tempDir.resolve("task-list.segments");
+
+        TaskList tasks = new TaskList(new SegmentedFileStorage(dir, 2));
+        for (int i = 0; i < 5; ++i) {
+            tasks.add(new ToDo(false, "Task " + i));
+        }
+
+        TaskList reloaded = new TaskList(new SegmentedFileStorage(dir, 4));
+
+        Assertions.assertEquals(tasks.toString(), reloaded.toString());
+        Assertions.assertEquals(2, countSegments(dir));
+    }
+
+    @Test
+    public void load_missingSegment_exceptionThrown() throws DukeException, IOException {
+        Path dir = tempDir.resolve("task-list.segments");
+
+        TaskList tasks = new TaskList(new SegmentedFileStorage(dir, 2));
+        for (int i = 0; i < 5; ++i) {
+            tasks.add(new ToDo(false, "Task " + i));
+        }
+        Files.delete(dir.resolve("segment-000001.bin"));
+
+        Assertions.assertThrows(DukeException.class, () -> new TaskList(new SegmentedFileStorage(dir, 2)));
+    }
+
+    private static long countSegments(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.list(dir)) {
+            return paths.count();
+        }
+    }
+}
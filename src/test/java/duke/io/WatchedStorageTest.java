@@ -0,0 +1,151 @@
+package duke.io;
+
+import duke.exception.DukeException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class WatchedStorageTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void pollExternalChange_noChange_returnsNull() throws DukeException {
+        WatchedStorage storage = createStorage("first\nsecond\n");
+
+        Assertions.assertNull(storage.pollExternalChange());
+    }
+
+    @Test
+    public void pollExternalChange_linesAppended_returnsOnlyAppendedLines() throws DukeException, IOException {
+        WatchedStorage storage = createStorage("first\nsecond\n");
+        writeExternally("first\nsecond\n\nthird\nfourth\n");
+
+        LineChange change = storage.pollExternalChange();
+
+        Assertions.assertEquals(2, change.getUnchangedPrefixLength());
+        Assertions.assertEquals(0, change.getUnchangedSuffixLength());
+        Assertions.assertEquals(List.of("third", "fourth"), change.getChangedLines());
+        Assertions.assertEquals(4, change.getChangedLineNumbers()[0]);
+        Assertions.assertEquals(5, change.getChangedLineNumbers()[1]);
+        Assertions.assertNull(storage.pollExternalChange());
+    }
+
+    @Test
+    public void pollExternalChange_linesAppended_readsOnlyAppendedBytes() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        int[] readCount = new int[1];
+        WatchedStorage storage = new WatchedStorage(new FileStorage(path) {
+            @Override
+            public void readLines(LineHandler handler) throws DukeException {
+                ++readCount[0];
+                super.readLines(handler);
+            }
+        }, path);
+        storage.create();
+        storage.write("first\nsecond\n");
+        writeExternally("first\nsecond\nthird\n");
+        readCount[0] = 0;
+
+        LineChange change = storage.pollExternalChange();
+        writeExternally("first\nsecond\nthird\n\nfourth\n");
+        LineChange nextChange = storage.pollExternalChange();
+
+        Assertions.assertEquals(0, readCount[0]);
+        Assertions.assertEquals(List.of("third"), change.getChangedLines());
+        Assertions.assertEquals(3, change.getChangedLineNumbers()[0]);
+        Assertions.assertEquals(3, nextChange.getUnchangedPrefixLength());
+        Assertions.assertEquals(List.of("fourth"), nextChange.getChangedLines());
+        Assertions.assertEquals(5, nextChange.getChangedLineNumbers()[0]);
+    }
+
+    @Test
+    public void pollExternalChange_lastLineEditedAndLinesAppended_returnsEditedAndAppendedLines()
+            throws DukeException, IOException {
+        WatchedStorage storage = createStorage("first\nsecond\n");
+        writeExternally("first\nSECOND\nthird\n");
+
+        LineChange change = storage.pollExternalChange();
+
+        Assertions.assertEquals(1, change.getUnchangedPrefixLength());
+        Assertions.assertEquals(0, change.getUnchangedSuffixLength());
+        Assertions.assertEquals(List.of("SECOND", "third"), change.getChangedLines());
+        Assertions.assertNull(storage.pollExternalChange());
+    }
+
+    @Test
+    public void pollExternalChange_lineEdited_returnsOnlyEditedLine() throws DukeException, IOException {
+        WatchedStorage storage = createStorage("first\nsecond\nthird\n");
+        writeExternally("first\nSECOND\nthird\n");
+
+        LineChange change = storage.pollExternalChange();
+
+        Assertions.assertEquals(1, change.getUnchangedPrefixLength());
+        Assertions.assertEquals(1, change.getUnchangedSuffixLength());
+        Assertions.assertEquals(List.of("SECOND"), change.getChangedLines());
+        Assertions.assertEquals(3, change.getBaseLineHashes().length);
+    }
+
+    @Test
+    public void pollExternalChange_sameLinesRewritten_returnsNull() throws DukeException, IOException {
+        WatchedStorage storage = createStorage("first\nsecond\n");
+        writeExternally("first\n\nsecond");
+
+        Assertions.assertNull(storage.pollExternalChange());
+    }
+
+    @Test
+    public void write_unmergedExternalChange_throwsDukeException() throws DukeException, IOException {
+        WatchedStorage storage = createStorage("first\n");
+        writeExternally("first\nsecond\n");
+
+        Assertions.assertThrows(DukeException.class, () -> storage.write("third\n"));
+        Assertions.assertEquals("first\nsecond\n", Files.readString(tempDir.resolve("task-list.csv")));
+
+        storage.pollExternalChange();
+        storage.write("third\n");
+
+        Assertions.assertEquals("third\n", Files.readString(tempDir.resolve("task-list.csv")));
+    }
+
+    @Test
+    public void watch_fileChanged_callsListener() throws DukeException, IOException, InterruptedException {
+        WatchedStorage storage = createStorage("first\n");
+        CountDownLatch latch = new CountDownLatch(1);
+
+        storage.watch(latch::countDown);
+        writeExternally("first\nsecond\n");
+
+        // Some platforms poll for changes every few seconds
+        Assertions.assertTrue(latch.await(30, TimeUnit.SECONDS));
+    }
+
+    private WatchedStorage createStorage(String data) throws DukeException {
+        WatchedStorage storage = new WatchedStorage(new FileStorage(tempDir.resolve("task-list.csv")),
+                tempDir.resolve("task-list.csv"));
+        storage.create();
+        storage.write(data);
+        storage.readLines(new ArrayList<String>()::add);
+
+        return storage;
+    }
+
+    private void writeExternally(String data) throws IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        FileTime lastModifiedTime = Files.getLastModifiedTime(path);
+
+        Files.writeString(path, data);
+
+        // Keeps the change noticeable on file systems whose timestamps are too coarse to tell quick writes apart
+        Files.setLastModifiedTime(path, FileTime.fromMillis(lastModifiedTime.toMillis() + 1000));
+    }
+}
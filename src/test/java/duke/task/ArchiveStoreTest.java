@@ -0,0 +1,64 @@
+package duke.task;
+
+import duke.exception.DukeException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class ArchiveStoreTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void register_sameArchiveTwice_registersOnce() throws DukeException {
+        ArchiveStore store = new ArchiveStore(tempDir.resolve("save-data").resolve("archives.txt"));
+        Path archivePath = tempDir.resolve("archive.csv");
+
+        store.register(archivePath);
+        store.register(tempDir.resolve(".").resolve("archive.csv"));
+
+        Assertions.assertEquals(List.of(archivePath.toAbsolutePath()), store.getArchivePaths());
+    }
+
+    @Test
+    public void search_manyArchives_returnsMatchesOfEachArchive() throws DukeException, IOException {
+        ArchiveStore store = new ArchiveStore(tempDir.resolve("archives.txt"));
+        LocalDateTime dateTime = LocalDateTime.of(2000, 2, 4, 4, 20);
+
+        Path firstPath = archive(store, "first.csv", new ToDo(false, "Buy milk"), new ToDo(true, "Read book"));
+        Path secondPath = archive(store, "second.csv.gz", new Deadline(false, "Return book", dateTime));
+        Path thirdPath = archive(store, "third.csv", new ToDo(false, "Return book"));
+        Files.delete(thirdPath);
+
+        Map<Path, List<Task>> archiveToTasks = store.search("book", null, null);
+
+        Assertions.assertEquals(List.of(firstPath.toAbsolutePath(), secondPath.toAbsolutePath()),
+                List.copyOf(archiveToTasks.keySet()));
+        Assertions.assertEquals("[[T][X] Read book]", archiveToTasks.get(firstPath.toAbsolutePath()).toString());
+
+        archiveToTasks = store.search("", dateTime.minusDays(1), dateTime);
+
+        Assertions.assertEquals(List.of(secondPath.toAbsolutePath()), List.copyOf(archiveToTasks.keySet()));
+    }
+
+    @Test
+    public void search_noArchives_returnsEmptyMap() throws DukeException {
+        Assertions.assertTrue(new ArchiveStore(tempDir.resolve("archives.txt")).search("book", null, null).isEmpty());
+    }
+
+    private Path archive(ArchiveStore store, String fileName, Task... tasks) throws DukeException {
+        Path path = tempDir.resolve(fileName);
+
+        new ArchiveTaskStorage(path).write(List.of(tasks));
+        store.register(path);
+
+        return path;
+    }
+}
@@ -0,0 +1,173 @@
+package duke.task;
+
+import duke.exception.DukeException;
+import duke.exception.UncheckedDukeException;
+import duke.io.FileStorage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+public class ArchiveTaskStorageTest {
+    private static final List<Task> TASKS = List.of(
+            new ToDo(true, "Hello | world!"),
+            new Deadline(false, "Lorem ipsum", LocalDateTime.of(2000, 2, 4, 4, 20)),
+            new Event(true, "H\u00e9llo w\u00f6rld!", LocalDateTime.of(2000, 2, 4, 4, 20),
+                    LocalDateTime.of(2000, 2, 5, 16, 20)));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void load_compressedArchive_returnsSameTasks() throws DukeException, IOException {
+        Path path = tempDir.resolve("archive.csv.gz");
+
+        ArchiveTaskStorage storage = new ArchiveTaskStorage(path);
+        storage.write(TASKS);
+
+        Assertions.assertEquals(TASKS.toString(), storage.load().toString());
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+            Assertions.assertEquals(TextTaskStorage.toStorageStr(TASKS),
+                    new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void write_uncompressedArchive_sameAsSaveFile() throws DukeException, IOException {
+        Path path = tempDir.resolve("archive.csv");
+
+        new ArchiveTaskStorage(path).write(TASKS);
+
+        Assertions.assertEquals(TextTaskStorage.toStorageStr(TASKS), Files.readString(path));
+        Assertions.assertEquals(TASKS.toString(), new TextTaskStorage(new FileStorage(path)).load().toString());
+    }
+
+    @Test
+    public void write_incorrectLazyTask_archiveUnchanged() throws DukeException, IOException {
+        Path path = writeTasks("archive.csv");
+        String archive = Files.readString(path);
+        List<Task> tasks = new LazyTaskList(TextTaskStorage.toStorageStr(TASKS) + "X | 0 | Not a task\n");
+
+        Assertions.assertThrows(UncheckedDukeException.class, () -> new ArchiveTaskStorage(path).write(tasks));
+        Assertions.assertEquals(archive, Files.readString(path));
+        Assertions.assertFalse(Files.exists(Path.of(path + ".tmp")));
+        Assertions.assertEquals(List.of(TASKS.get(1)).toString(),
+                new ArchiveTaskStorage(path).search("lorem", null, null).toString());
+    }
+
+    @Test
+    public void create_missingParentDirectory_createsEmptyArchive() throws DukeException {
+        Path path = tempDir.resolve("archives").resolve("archive.csv.gz");
+
+        ArchiveTaskStorage storage = new ArchiveTaskStorage(path);
+        storage.create();
+
+        Assertions.assertTrue(storage.doesExist());
+        Assertions.assertTrue(storage.load().isEmpty());
+    }
+
+    @Test
+    public void load_compressedArchiveWithManyBlocks_returnsSameTasks() throws DukeException {
+        Path path = tempDir.resolve("archive.csv.gz");
+        List<Task> tasks = createManyTasks();
+
+        ArchiveTaskStorage storage = new ArchiveTaskStorage(path);
+        storage.write(tasks);
+
+        Assertions.assertEquals(tasks.toString(), storage.load().toString());
+    }
+
+    @Test
+    public void search_keyphrase_returnsTasksWithAllWords() throws DukeException {
+        Path path = tempDir.resolve("archive.csv.gz");
+        List<Task> tasks = createManyTasks();
+
+        ArchiveTaskStorage storage = new ArchiveTaskStorage(path);
+        storage.write(tasks);
+
+        Assertions.assertEquals(List.of(tasks.get(777)).toString(), storage.search("TASK 777", null, null).toString());
+        Assertions.assertEquals(List.of(tasks.get(77)).toString(), storage.search("task 77", null, null).toString());
+        Assertions.assertTrue(storage.search("task missing", null, null).isEmpty());
+    }
+
+    @Test
+    public void search_nonAsciiKeyphrase_ignoresCase() throws DukeException {
+        Path path = writeTasks("archive.csv");
+
+        Assertions.assertEquals(List.of(TASKS.get(2)).toString(),
+                new ArchiveTaskStorage(path).search("W\u00d6RLD", null, null).toString());
+    }
+
+    @Test
+    public void search_range_returnsTasksDuringRange() throws DukeException {
+        Path path = tempDir.resolve("archive.csv");
+        List<Task> tasks = createManyTasks();
+
+        ArchiveTaskStorage storage = new ArchiveTaskStorage(path);
+        storage.write(tasks);
+
+        LocalDateTime from = LocalDateTime.of(2000, 1, 1, 0, 0).plusHours(600);
+        LocalDateTime to = from.plusHours(2);
+
+        Assertions.assertEquals(List.of(tasks.get(600), tasks.get(602)).toString(),
+                storage.search("", from, to).toString());
+        Assertions.assertEquals(List.of(tasks.get(602)).toString(), storage.search("602", from, to).toString());
+    }
+
+    @Test
+    public void search_staleIndex_readsWholeArchive() throws DukeException, IOException {
+        Path path = writeTasks("archive.csv");
+        Files.writeString(path, new ToDo(false, "Appended by hand").getStorageStr() + "\n",
+                StandardOpenOption.APPEND);
+
+        Assertions.assertEquals(1, new ArchiveTaskStorage(path).search("hand", null, null).size());
+    }
+
+    @Test
+    public void search_missingIndex_readsWholeArchive() throws DukeException, IOException {
+        Path path = writeTasks("archive.csv.gz");
+        Files.delete(Path.of(path + ArchiveIndex.INDEX_SUFFIX));
+
+        Assertions.assertEquals(List.of(TASKS.get(1)).toString(),
+                new ArchiveTaskStorage(path).search("lorem", null, null).toString());
+    }
+
+    @Test
+    public void search_unrecognisedIndex_throwsDukeException() throws DukeException, IOException {
+        Path path = writeTasks("archive.csv");
+        Files.writeString(Path.of(path + ArchiveIndex.INDEX_SUFFIX), "Not an index");
+
+        Assertions.assertThrows(DukeException.class, () -> new ArchiveTaskStorage(path).search("lorem", null, null));
+    }
+
+    private Path writeTasks(String fileName) throws DukeException {
+        Path path = tempDir.resolve(fileName);
+        new ArchiveTaskStorage(path).write(TASKS);
+        return path;
+    }
+
+    /**
+     * Returns tasks spanning several blocks, where every even task is a deadline an hour after the previous one.
+     */
+    private static List<Task> createManyTasks() {
+        List<Task> tasks = new ArrayList<Task>();
+        LocalDateTime start = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+        for (int i = 0; i < 1000; ++i) {
+            String description = "Task " + i;
+            tasks.add(i % 2 == 0 ? new Deadline(false, description, start.plusHours(i)) : new ToDo(true, description));
+        }
+
+        return tasks;
+    }
+}
@@ -0,0 +1,94 @@
+package duke.task;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class ChunkedTaskListTest {
+    @Test
+    public void remove_fromFront_keepsOrderAndIds() {
+        List<Task> expected = createTasks(10 * ChunkedTaskList.MAX_CHUNK_SIZE + 7);
+        ChunkedTaskList tasks = new ChunkedTaskList(expected);
+
+        for (int i = 0; i < expected.size() - 3; ++i) {
+            Assertions.assertSame(expected.get(i), tasks.remove(0));
+        }
+
+        Assertions.assertEquals(expected.subList(expected.size() - 3, expected.size()), tasks);
+        Assertions.assertEquals(-1, tasks.indexOfId(1));
+        Assertions.assertEquals(2, tasks.indexOfId(expected.size()));
+    }
+
+    @Test
+    public void add_fullChunk_splitsChunk() {
+        List<Task> expected = createTasks(3 * ChunkedTaskList.MAX_CHUNK_SIZE);
+        ChunkedTaskList tasks = new ChunkedTaskList(expected);
+        expected = new ArrayList<Task>(expected);
+
+        // Every chunk is full, so each insertion into the middle splits a chunk until there is room
+        for (int i = 0; i < 100; ++i) {
+            Task task = new ToDo(true, "inserted " + i).withId(expected.size() + 1);
+            int index = ChunkedTaskList.MAX_CHUNK_SIZE + i * 7;
+            expected.add(index, task);
+            tasks.add(index, task);
+        }
+
+        Assertions.assertEquals(expected, tasks);
+        for (Task task : expected) {
+            Assertions.assertEquals(expected.indexOf(task), tasks.indexOfId(task.getId()));
+        }
+    }
+
+    @Test
+    public void remove_randomOperations_sameAsList() {
+        ChunkedTaskList tasks = new ChunkedTaskList();
+        List<Task> expected = new ArrayList<Task>();
+        Random random = new Random(42);
+        long nextId = 1;
+
+        for (int i = 0; i < 50000; ++i) {
+            int operation = random.nextInt(10);
+            if (operation < 5 || expected.isEmpty()) {
+                Task task = new ToDo(false, "task " + i).withId(nextId++);
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, task);
+                tasks.add(index, task);
+            } else if (operation < 9) {
+                int index = random.nextInt(expected.size());
+                Assertions.assertSame(expected.remove(index), tasks.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                Task task = expected.get(index).setDone(true).withId(nextId++);
+                Assertions.assertSame(expected.set(index, task), tasks.set(index, task));
+            }
+        }
+
+        Assertions.assertEquals(expected, tasks);
+        for (int i = 0; i < expected.size(); ++i) {
+            Assertions.assertEquals(i, tasks.indexOfId(expected.get(i).getId()));
+        }
+    }
+
+    @Test
+    public void clear_afterChanges_empty() {
+        ChunkedTaskList tasks = new ChunkedTaskList(createTasks(2 * ChunkedTaskList.MAX_CHUNK_SIZE));
+
+        tasks.clear();
+        tasks.add(new ToDo(false, "again").withId(1));
+
+        Assertions.assertEquals(1, tasks.size());
+        Assertions.assertEquals(0, tasks.indexOfId(1));
+    }
+
+    private List<Task> createTasks(int count) {
+        List<Task> tasks = new ArrayList<Task>();
+        for (int i = 1; i <= count; ++i) {
+            tasks.add(new ToDo(false, "task " + i).withId(i));
+        }
+
+        return tasks;
+    }
+}
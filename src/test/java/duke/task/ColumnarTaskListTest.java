@@ -0,0 +1,86 @@
+package duke.task;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ColumnarTaskListTest {
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2021, 9, 1, 23, 59);
+    private static final LocalDateTime START = LocalDateTime.of(2021, 9, 2, 10, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2021, 9, 2, 12, 30);
+
+    @Test
+    public void get_eachTaskType_sameAsAdded() {
+        List<Task> expected = List.of(new ToDo(true, "read | write"), new Deadline(false, "submit \u00e9ssay", CUTOFF),
+                new Event(true, "", START, END));
+
+        Assertions.assertEquals(toStrings(expected), toStrings(new ColumnarTaskList(expected)));
+    }
+
+    @Test
+    public void add_middle_shiftsLaterTasks() {
+        ColumnarTaskList tasks = new ColumnarTaskList(List.of(new ToDo(false, "first"), new ToDo(true, "third")));
+
+        tasks.add(1, new ToDo(true, "second"));
+        tasks.addAll(0, List.of(new ToDo(false, "zeroth")));
+
+        Assertions.assertEquals(List.of("[T][ ] zeroth", "[T][ ] first", "[T][X] second", "[T][X] third"),
+                toStrings(tasks));
+    }
+
+    @Test
+    public void remove_middle_shiftsLaterTasks() {
+        ColumnarTaskList tasks = new ColumnarTaskList(List.of(new ToDo(false, "first"), new ToDo(true, "second"),
+                new ToDo(false, "third"), new ToDo(true, "fourth")));
+
+        Assertions.assertEquals("[T][X] second", tasks.remove(1).toString());
+        tasks.subList(0, 1).clear();
+
+        Assertions.assertEquals(List.of("[T][ ] third", "[T][X] fourth"), toStrings(tasks));
+    }
+
+    @Test
+    public void set_manyTimes_keepsLatestTasks() {
+        ColumnarTaskList tasks = new ColumnarTaskList(List.of(new ToDo(false, "first"), new ToDo(false, "second")));
+
+        // Enough replaced descriptions to compact them several times
+        for (int i = 0; i < 1000; ++i) {
+            tasks.set(i % 2, new Deadline(i % 3 == 0, "task " + i, CUTOFF));
+        }
+
+        Assertions.assertEquals(List.of(new Deadline(false, "task 998", CUTOFF).toString(),
+                new Deadline(true, "task 999", CUTOFF).toString()), toStrings(tasks));
+    }
+
+    @Test
+    public void setDone_notDone_returnsPreviousFlag() {
+        ColumnarTaskList tasks = new ColumnarTaskList(List.of(new Event(false, "meeting", START, END)));
+
+        Assertions.assertFalse(tasks.setDone(0, true));
+        Assertions.assertTrue(tasks.setDone(0, true));
+        Assertions.assertEquals(new Event(true, "meeting", START, END).toString(), tasks.get(0).toString());
+    }
+
+    @Test
+    public void copyOf_laterChanges_copyUnchanged() {
+        ColumnarTaskList tasks = new ColumnarTaskList(List.of(new ToDo(false, "first")));
+
+        List<Task> copy = LazyTaskList.copyOf(tasks);
+        tasks.set(0, tasks.get(0).setDone(true));
+        tasks.add(new ToDo(false, "second"));
+
+        Assertions.assertEquals(List.of("[T][ ] first"), toStrings(copy));
+    }
+
+    private List<String> toStrings(List<Task> tasks) {
+        List<String> strs = new ArrayList<String>();
+        for (Task task : tasks) {
+            strs.add(task.toString());
+        }
+
+        return strs;
+    }
+}
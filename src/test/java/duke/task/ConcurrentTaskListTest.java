@@ -0,0 +1,241 @@
+package duke.task;
+
+import duke.exception.DukeException;
+import duke.io.FileStorage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ConcurrentTaskListTest {
+    private static final int WRITER_COUNT = 4;
+    private static final int READER_COUNT = 4;
+    private static final int CHANGES_PER_WRITER = 500;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void setDone_arrayBackend_updatesTask() throws DukeException, IOException {
+        ConcurrentTaskList tasks = createTaskList(TaskList.Backend.ARRAY);
+
+        // Marks the task through update, which is a change made as part of another
+        tasks.setDone(1, true);
+
+        Assertions.assertEquals("[T][X] second", tasks.get(1).toString());
+        Assertions.assertEquals("[T][X] second", new TaskList(new FileStorage(getSavePath())).get(1).toString());
+    }
+
+    @Test
+    public void getSnapshot_unchanged_reusesSnapshot() throws DukeException, IOException {
+        ConcurrentTaskList tasks = createTaskList(TaskList.Backend.ARRAY);
+
+        List<Task> snapshot = tasks.getSnapshot();
+        Assertions.assertSame(snapshot, tasks.getSnapshot());
+
+        tasks.add(new ToDo(false, "fourth"));
+        Assertions.assertEquals(3, snapshot.size());
+        Assertions.assertEquals(4, tasks.getSnapshot().size());
+    }
+
+    @Test
+    public void add_writingToStorage_readersNotHeldUp() throws Exception {
+        Files.writeString(getSavePath(), "1 | T | false | first\n2 | T | false | second\n3 | T | false | third\n");
+        CountDownLatch isWriting = new CountDownLatch(1);
+        CountDownLatch canFinishWriting = new CountDownLatch(1);
+        ConcurrentTaskList tasks = new ConcurrentTaskList(new TextTaskStorage(new FileStorage(getSavePath())) {
+            @Override
+            public void write(List<Task> tasks) throws DukeException {
+                isWriting.countDown();
+                try {
+                    canFinishWriting.await();
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+                super.write(tasks);
+            }
+        });
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> write(tasks, "writer"));
+        isWriting.await();
+        try {
+            // Read from another thread, so that a read held up by the write fails the test instead of hanging it
+            CompletableFuture.runAsync(() -> {
+                Assertions.assertEquals(4, tasks.size());
+                Assertions.assertEquals("[T][ ] writer task 0", tasks.get(3).toString());
+                Assertions.assertEquals(4, tasks.getSnapshot().size());
+                Assertions.assertEquals(3, tasks.indexOfId(tasks.get(3).getId()));
+            }).get(10, TimeUnit.SECONDS);
+        } finally {
+            canFinishWriting.countDown();
+        }
+        writer.get();
+    }
+
+    @Test
+    public void add_concurrentReadersAndWriters_consistent() throws Exception {
+        assertConsistentUnderContention(TaskList.Backend.ARRAY);
+    }
+
+    @Test
+    public void add_concurrentReadersAndWritersOnColumns_consistent() throws Exception {
+        assertConsistentUnderContention(TaskList.Backend.COLUMNAR);
+    }
+
+    @Test
+    public void add_concurrentReadersAndWritersOnChunks_consistent() throws Exception {
+        assertConsistentUnderContention(TaskList.Backend.CHUNKED);
+    }
+
+    @Test
+    public void add_concurrentReadersAndWritersOnPersistentList_consistent() throws Exception {
+        assertConsistentUnderContention(TaskList.Backend.PERSISTENT);
+    }
+
+    /**
+     * Adds, marks and removes tasks from several threads while others read the task list, and checks that every read
+     * saw the task list exactly as it was at the version it was read at, and that no change was lost.
+     */
+    private void assertConsistentUnderContention(TaskList.Backend backend) throws Exception {
+        Files.writeString(getSavePath(), "1 | T | false | first\n2 | T | false | second\n3 | T | false | third\n");
+
+        // Every change is written while no other change can be made, so the tasks written are those of its version
+        Map<Long, List<Task>> tasksByVersion = new ConcurrentHashMap<Long, List<Task>>();
+        List<ConcurrentTaskList> createdTasks = new ArrayList<ConcurrentTaskList>();
+        ConcurrentTaskList tasks = new ConcurrentTaskList(new TextTaskStorage(new FileStorage(getSavePath())) {
+            @Override
+            public void write(List<Task> tasks) throws DukeException {
+                tasksByVersion.put(createdTasks.get(0).getVersion(), new ArrayList<Task>(tasks));
+                super.write(tasks);
+            }
+        }, backend);
+        createdTasks.add(tasks);
+        tasksByVersion.put(tasks.getVersion(), new ArrayList<Task>(tasks.getSnapshot()));
+
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+
+        List<CompletableFuture<Map<Long, Read>>> readers = new ArrayList<CompletableFuture<Map<Long, Read>>>();
+        for (int i = 0; i < READER_COUNT; ++i) {
+            readers.add(CompletableFuture.supplyAsync(() -> readUntilDone(tasks, isWriting)));
+        }
+
+        List<CompletableFuture<Void>> writers = new ArrayList<CompletableFuture<Void>>();
+        for (int i = 0; i < WRITER_COUNT; ++i) {
+            String name = "writer " + i;
+            writers.add(CompletableFuture.runAsync(() -> write(tasks, name)));
+        }
+
+        try {
+            for (CompletableFuture<Void> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            isWriting.set(false);
+        }
+        for (CompletableFuture<Map<Long, Read>> reader : readers) {
+            for (Map.Entry<Long, Read> entry : reader.get().entrySet()) {
+                List<Task> expected = tasksByVersion.get(entry.getKey());
+                Read read = entry.getValue();
+                // Compared as shown, with their IDs, as tasks read from columns are new objects on every read
+                Assertions.assertEquals(TaskList.toListStr(expected), TaskList.toListStr(read.snapshot));
+                Assertions.assertEquals(expected.size(), read.size);
+                Assertions.assertEquals(TaskList.getListItemStr(read.index, expected.get(read.index)),
+                        TaskList.getListItemStr(read.index, read.task));
+                Assertions.assertEquals(read.index, read.indexOfId);
+            }
+        }
+
+        // Each writer removes one task for every two it adds
+        Assertions.assertEquals(3 + WRITER_COUNT * (CHANGES_PER_WRITER - CHANGES_PER_WRITER / 2), tasks.size());
+
+        Set<Long> ids = new HashSet<Long>();
+        for (int i = 0; i < tasks.size(); ++i) {
+            Assertions.assertTrue(ids.add(tasks.get(i).getId()));
+            Assertions.assertEquals(i, tasks.indexOfId(tasks.get(i).getId()));
+        }
+        Assertions.assertEquals(tasks.toString(), new TaskList(new FileStorage(getSavePath())).toString());
+    }
+
+    private void write(TaskList tasks, String name) {
+        try {
+            for (int i = 0; i < CHANGES_PER_WRITER; ++i) {
+                tasks.add(new ToDo(false, name + " task " + i));
+                if (i % 2 == 1) {
+                    // The first task always exists, as every writer adds a task before removing one
+                    tasks.setDone(0, true);
+                    tasks.removeAt(0);
+                }
+            }
+        } catch (DukeException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Reads the task list until writing is done, and returns the first read made at each version in which the task
+     * list did not change while it was being read, to be checked against the tasks of that version.
+     */
+    private Map<Long, Read> readUntilDone(TaskList tasks, AtomicBoolean isWriting) {
+        Map<Long, Read> reads = new HashMap<Long, Read>();
+        long lastVersion = -1;
+        int readCount = 0;
+        while (isWriting.get()) {
+            long version = tasks.getVersion();
+            Assertions.assertTrue(version >= lastVersion);
+            lastVersion = version;
+
+            Read read = new Read();
+            read.snapshot = tasks.getSnapshot();
+            read.size = tasks.size();
+            read.index = readCount++ % read.size;
+            try {
+                read.task = tasks.get(read.index);
+            } catch (IndexOutOfBoundsException e) {
+                // Tasks were removed since the size was read, so the read is not of a single version
+                Assertions.assertTrue(tasks.getVersion() != version);
+                continue;
+            }
+            read.indexOfId = tasks.indexOfId(read.task.getId());
+
+            if (tasks.getVersion() == version) {
+                reads.putIfAbsent(version, read);
+            }
+        }
+
+        return reads;
+    }
+
+    /**
+     * Represents the results of reading the task list at a single version.
+     */
+    private static class Read {
+        private List<Task> snapshot;
+        private int size;
+        private int index;
+        private Task task;
+        private int indexOfId;
+    }
+
+    private ConcurrentTaskList createTaskList(TaskList.Backend backend) throws DukeException, IOException {
+        Files.writeString(getSavePath(), "1 | T | false | first\n2 | T | false | second\n3 | T | false | third\n");
+        return new ConcurrentTaskList(new TextTaskStorage(new FileStorage(getSavePath())), backend);
+    }
+
+    private Path getSavePath() {
+        return tempDir.resolve("task-list.csv");
+    }
+}
@@ -0,0 +1,94 @@
+package duke.task;
+
+import duke.exception.DukeException;
+import duke.io.FileStorage;
+import duke.io.JournalFileStorage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class JournaledTaskStorageTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void load_changesWrittenToJournal_replaysChanges() throws DukeException {
+        Path path = tempDir.resolve("task-list.csv");
+
+        TaskList tasks = new TaskList(new JournaledTaskStorage(new JournalFileStorage(path)));
+        tasks.add(new ToDo(false, "Hello world!"));
+        tasks.add(new ToDo(false, "Lorem | ipsum"));
+        tasks.add(new ToDo(false, "Goodbye world!"));
+        tasks.update(1, tasks.get(1).setDone(true));
+        tasks.removeAt(0);
+
+        TaskList reloaded = new TaskList(new JournaledTaskStorage(new JournalFileStorage(path)));
+
+        Assertions.assertEquals(tasks.toString(), reloaded.toString());
+    }
+
+    @Test
+    public void convertFrom_textStorage_textStorageUntouched() throws DukeException, IOException {
+        Path textPath = tempDir.resolve("task-list.csv");
+        Path path = tempDir.resolve("task-list.snapshot");
+        TaskList textTasks = new TaskList(new TextTaskStorage(new FileStorage(textPath)));
+        textTasks.add(new ToDo(false, "Hello world!"));
+        textTasks.add(new ToDo(true, "Lorem ipsum"));
+        String textData = Files.readString(textPath);
+
+        JournaledTaskStorage storage = new JournaledTaskStorage(new JournalFileStorage(path));
+        storage.convertFrom(new TextTaskStorage(new FileStorage(textPath)));
+        TaskList tasks = new TaskList(storage);
+        tasks.add(new ToDo(false, "Goodbye world!"));
+
+        TaskList reloaded = new TaskList(new JournaledTaskStorage(new JournalFileStorage(path)));
+        Assertions.assertEquals(tasks.toString(), reloaded.toString());
+        Assertions.assertEquals(3, reloaded.size());
+        Assertions.assertEquals(textData, Files.readString(textPath));
+    }
+
+    @Test
+    public void load_clearedAfterChanges_journalDiscarded() throws DukeException {
+        Path path = tempDir.resolve("task-list.csv");
+
+        TaskList tasks = new TaskList(new JournaledTaskStorage(new JournalFileStorage(path)));
+        tasks.add(new ToDo(false, "Hello world!"));
+        tasks.clear();
+        tasks.add(new ToDo(true, "Lorem ipsum"));
+
+        TaskList reloaded = new TaskList(new JournaledTaskStorage(new JournalFileStorage(path)));
+
+        Assertions.assertEquals("1.[T][X] Lorem ipsum (#2)", reloaded.toString());
+    }
+
+    @Test
+    public void load_journalOlderThanSnapshot_journalIgnored() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+
+        // As left behind by a crash right after a compaction committed the snapshot
+        Files.writeString(path, "# journal 2\nT | false | Hello world!\n");
+        Files.writeString(tempDir.resolve("task-list.csv.journal.1"), "A 0 T | false | Hello world!\n");
+        Files.writeString(tempDir.resolve("task-list.csv.journal.2"), "U 0 T | true | Hello world!\n");
+
+        TaskList tasks = new TaskList(new JournaledTaskStorage(new JournalFileStorage(path)));
+
+        Assertions.assertEquals("1.[T][X] Hello world! (#1)", tasks.toString());
+        Assertions.assertFalse(Files.exists(tempDir.resolve("task-list.csv.journal.1")));
+    }
+
+    @Test
+    public void load_corruptedJournalEntry_throwsDukeException() throws IOException {
+        Path path = tempDir.resolve("task-list.csv");
+
+        Files.writeString(path, "");
+        Files.writeString(tempDir.resolve("task-list.csv.journal.0"), "R 0\n");
+
+        Assertions.assertThrows(DukeException.class, () -> {
+            new TaskList(new JournaledTaskStorage(new JournalFileStorage(path)));
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package duke.task;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class PersistentTaskListTest {
+    @Test
+    public void of_severalLevels_keepsOrder() {
+        // More tasks than three levels of 32 slots hold, so that the trie has four levels
+        List<Task> expected = createTasks(32 * 32 * 32 + 5);
+
+        PersistentTaskVector tasks = PersistentTaskVector.of(expected);
+
+        Assertions.assertEquals(expected, tasks);
+        Assertions.assertEquals(expected, tasks.toArrayList());
+    }
+
+    @Test
+    public void remove_snapshotTaken_snapshotUnchanged() {
+        List<Task> expected = createTasks(100);
+        PersistentTaskList tasks = new PersistentTaskList(expected);
+
+        PersistentTaskVector snapshot = tasks.snapshot();
+        tasks.remove(0);
+        tasks.set(10, new ToDo(true, "changed").withId(1000));
+        tasks.add(new ToDo(false, "added").withId(1001));
+
+        Assertions.assertEquals(expected, snapshot);
+        Assertions.assertEquals(100, tasks.size());
+        Assertions.assertEquals(10, tasks.indexOfId(1000));
+        Assertions.assertEquals(-1, tasks.indexOfId(1));
+    }
+
+    @Test
+    public void restore_olderVersion_findsIdsOfVersion() {
+        PersistentTaskList tasks = new PersistentTaskList(createTasks(10));
+        PersistentTaskVector snapshot = tasks.snapshot();
+        tasks.remove(3);
+        tasks.clear();
+
+        tasks.restore(snapshot);
+
+        Assertions.assertEquals(10, tasks.size());
+        Assertions.assertEquals(3, tasks.indexOfId(4));
+    }
+
+    @Test
+    public void remove_randomOperations_sameAsListAndSnapshotsUnchanged() {
+        PersistentTaskList tasks = new PersistentTaskList();
+        List<Task> expected = new ArrayList<Task>();
+        List<PersistentTaskVector> snapshots = new ArrayList<PersistentTaskVector>();
+        List<List<Task>> expectedSnapshots = new ArrayList<List<Task>>();
+        Random random = new Random(42);
+        long nextId = 1;
+
+        for (int i = 0; i < 50000; ++i) {
+            int operation = random.nextInt(20);
+            if (operation < 9 || expected.isEmpty()) {
+                Task task = new ToDo(false, "task " + i).withId(nextId++);
+                expected.add(task);
+                tasks.add(task);
+            } else if (operation < 17) {
+                int index = random.nextInt(expected.size());
+                Assertions.assertSame(expected.remove(index), tasks.remove(index));
+            } else if (operation < 18) {
+                // Either takes over the slot of a removed task or rebuilds the list
+                Task task = new ToDo(true, "task " + i).withId(nextId++);
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, task);
+                tasks.add(index, task);
+            } else {
+                int index = random.nextInt(expected.size());
+                Task task = expected.get(index).setDone(true).withId(nextId++);
+                Assertions.assertSame(expected.set(index, task), tasks.set(index, task));
+            }
+
+            if (i % 1000 == 0) {
+                snapshots.add(tasks.snapshot());
+                expectedSnapshots.add(new ArrayList<Task>(expected));
+            }
+        }
+
+        Assertions.assertEquals(expected, tasks);
+        for (int i = 0; i < expected.size(); ++i) {
+            Assertions.assertEquals(i, tasks.indexOfId(expected.get(i).getId()));
+        }
+        Assertions.assertEquals(expectedSnapshots, snapshots);
+    }
+
+    private List<Task> createTasks(int count) {
+        List<Task> tasks = new ArrayList<Task>();
+        for (int i = 1; i <= count; ++i) {
+            tasks.add(new ToDo(false, "task " + i).withId(i));
+        }
+
+        return tasks;
+    }
+}
@@ -0,0 +1,166 @@
+package duke.task;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class SlottedTaskListTest {
+    @Test
+    public void new_missingAndDuplicateIds_givenNewIds() {
+        List<Task> slots = new ArrayList<Task>(List.of(new ToDo(false, "first").withId(5), new ToDo(false, "second"),
+                new ToDo(false, "third").withId(5)));
+
+        SlottedTaskList tasks = new SlottedTaskList(slots, 1);
+
+        Assertions.assertEquals(5, tasks.get(0).getId());
+        Assertions.assertEquals(6, tasks.get(1).getId());
+        Assertions.assertEquals(7, tasks.get(2).getId());
+        Assertions.assertEquals(2, tasks.getAssignedIdCount());
+        Assertions.assertEquals(8, tasks.getNextId());
+    }
+
+    @Test
+    public void remove_lastTask_idNotGivenAgain() {
+        SlottedTaskList tasks = new SlottedTaskList(new ArrayList<Task>(), 1);
+        tasks.add(new ToDo(false, "first"));
+        tasks.add(new ToDo(false, "second"));
+
+        tasks.remove(1);
+        tasks.add(new ToDo(false, "third"));
+
+        Assertions.assertEquals(3, tasks.get(1).getId());
+        Assertions.assertEquals(-1, tasks.indexOfId(2));
+    }
+
+    @Test
+    public void set_taskWithoutId_keepsId() {
+        SlottedTaskList tasks = new SlottedTaskList(new ArrayList<Task>(List.of(new ToDo(false, "first"),
+                new ToDo(false, "second"))), 1);
+        tasks.remove(0);
+
+        tasks.set(0, new ToDo(true, "changed"));
+
+        Assertions.assertEquals(2, tasks.get(0).getId());
+        Assertions.assertEquals(0, tasks.indexOfId(2));
+    }
+
+    @Test
+    public void add_removedTaskPutBack_takesOverSlot() {
+        SlottedTaskList tasks = new SlottedTaskList(new ArrayList<Task>(List.of(new ToDo(false, "first"),
+                new ToDo(false, "second"), new ToDo(false, "third"))), 1);
+
+        Task task = tasks.remove(1);
+        tasks.add(1, task);
+
+        Assertions.assertEquals(3, tasks.getSlots().size());
+        Assertions.assertEquals(task, tasks.get(1));
+        Assertions.assertEquals(1, tasks.indexOfId(2));
+        Assertions.assertEquals(2, tasks.indexOfId(3));
+    }
+
+    @Test
+    public void add_middleInsertsAfterRemovals_laterTasksFoundByIds() {
+        SlottedTaskList tasks = new SlottedTaskList(new ArrayList<Task>(List.of(new ToDo(false, "first"),
+                new ToDo(false, "second"), new ToDo(false, "third"), new ToDo(false, "fourth"))), 1);
+
+        tasks.remove(1);
+        tasks.add(0, new ToDo(false, "fifth"));
+        tasks.remove(3);
+        tasks.add(1, new ToDo(false, "sixth"));
+
+        Assertions.assertEquals(List.of(5L, 6L, 1L, 3L), List.of(tasks.get(0).getId(), tasks.get(1).getId(),
+                tasks.get(2).getId(), tasks.get(3).getId()));
+        Assertions.assertEquals(3, tasks.indexOfId(3));
+        Assertions.assertEquals(2, tasks.indexOfId(1));
+        Assertions.assertEquals(-1, tasks.indexOfId(2));
+        Assertions.assertEquals(-1, tasks.indexOfId(4));
+        Assertions.assertEquals(1, tasks.indexOfId(6));
+    }
+
+    @Test
+    public void remove_randomOperations_sameAsList() {
+        assertSameAsList(new ArrayList<Task>());
+    }
+
+    @Test
+    public void remove_randomOperationsOnColumns_sameAsList() {
+        assertSameAsList(new ColumnarTaskList(List.of()));
+    }
+
+    @Test
+    public void remove_randomOperationsOnChunks_sameAsList() {
+        assertSameAsList(new ChunkedTaskList());
+    }
+
+    @Test
+    public void remove_randomOperationsOnPersistentList_sameAsList() {
+        assertSameAsList(new PersistentTaskList());
+    }
+
+    @Test
+    public void new_chunkedDuplicateIds_givenNewIds() {
+        SlottedTaskList tasks = new SlottedTaskList(new ChunkedTaskList(List.of(new ToDo(false, "first").withId(5),
+                new ToDo(false, "second").withId(5))), 1);
+
+        Assertions.assertEquals(6, tasks.get(1).getId());
+        Assertions.assertEquals(0, tasks.indexOfId(5));
+        Assertions.assertEquals(1, tasks.indexOfId(6));
+    }
+
+    @Test
+    public void copyTasks_removedTasks_notCopied() {
+        SlottedTaskList tasks = new SlottedTaskList(new ColumnarTaskList(List.of(new ToDo(false, "first"),
+                new ToDo(false, "second"), new ToDo(false, "third"), new ToDo(false, "fourth"))), 1);
+        tasks.remove(1);
+
+        List<Task> copy = tasks.copyTasks();
+        tasks.remove(0);
+
+        Assertions.assertEquals(3, copy.size());
+        Assertions.assertEquals("[T][ ] third", copy.get(1).toString());
+        Assertions.assertEquals(3, copy.get(1).getId());
+    }
+
+    private void assertSameAsList(List<Task> slots) {
+        SlottedTaskList tasks = new SlottedTaskList(slots, 1);
+        List<Task> expected = new ArrayList<Task>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 5000; ++i) {
+            int operation = random.nextInt(10);
+            if (operation < 4 || expected.isEmpty()) {
+                tasks.add(new ToDo(false, "task " + i));
+                expected.add(tasks.get(tasks.size() - 1));
+            } else if (operation < 8) {
+                int index = random.nextInt(expected.size());
+                Assertions.assertEquals(expected.remove(index).getId(), tasks.remove(index).getId());
+            } else if (operation < 9) {
+                int index = random.nextInt(expected.size() + 1);
+                tasks.add(index, new ToDo(true, "task " + i));
+                expected.add(index, tasks.get(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                expected.set(index, expected.get(index).setDone(true));
+                tasks.set(index, tasks.get(index).setDone(true));
+            }
+
+            Assertions.assertEquals(expected.size(), tasks.size());
+
+            // Looks up an ID between changes, so that slots that moved are looked up both before and after renumbering
+            if (!expected.isEmpty() && i % 7 == 0) {
+                int index = random.nextInt(expected.size());
+                Assertions.assertEquals(index, tasks.indexOfId(expected.get(index).getId()));
+            }
+        }
+
+        for (int i = 0; i < expected.size(); ++i) {
+            Task task = expected.get(i);
+            Assertions.assertEquals(task.toString(), tasks.get(i).toString());
+            Assertions.assertEquals(task.getId(), tasks.get(i).getId());
+            Assertions.assertEquals(i, tasks.indexOfId(task.getId()));
+        }
+    }
+}
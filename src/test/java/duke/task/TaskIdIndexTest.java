@@ -0,0 +1,52 @@
+package duke.task;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class TaskIdIndexTest {
+    @Test
+    public void get_missingId_noSlot() {
+        TaskIdIndex index = new TaskIdIndex();
+        index.put(1, 0);
+
+        Assertions.assertEquals(TaskIdIndex.NO_SLOT, index.get(2));
+        Assertions.assertFalse(index.remove(2));
+    }
+
+    @Test
+    public void put_existingId_replacesSlot() {
+        TaskIdIndex index = new TaskIdIndex();
+        index.put(7, 0);
+        index.put(7, 3);
+
+        Assertions.assertEquals(3, index.get(7));
+        Assertions.assertEquals(1, index.size());
+    }
+
+    @Test
+    public void remove_randomOperations_sameAsMap() {
+        TaskIdIndex index = new TaskIdIndex();
+        Map<Long, Integer> expected = new HashMap<Long, Integer>();
+        Random random = new Random(42);
+
+        // Few distinct IDs, so that probe sequences collide and are shifted back often
+        for (int i = 0; i < 100000; ++i) {
+            long id = 1 + random.nextInt(i < 50000 ? 64 : 4096);
+            if (random.nextInt(3) == 0) {
+                Assertions.assertEquals(expected.remove(id) != null, index.remove(id));
+            } else {
+                expected.put(id, i);
+                index.put(id, i);
+            }
+        }
+
+        Assertions.assertEquals(expected.size(), index.size());
+        for (long id = 1; id <= 4096; ++id) {
+            Assertions.assertEquals((int) expected.getOrDefault(id, TaskIdIndex.NO_SLOT), index.get(id));
+        }
+    }
+}
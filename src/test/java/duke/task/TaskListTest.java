@@ -0,0 +1,307 @@
+package duke.task;
+
+import duke.exception.DukeException;
+import duke.io.BinaryFileStorage;
+import duke.io.FileStorage;
+import duke.io.JournalFileStorage;
+import duke.io.LockedStorage;
+import duke.io.SegmentedFileStorage;
+import duke.io.StorageLock;
+import duke.io.WatchedStorage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+public class TaskListTest {
+    private static final String SAVE_DATA = "1 | T | false | first\n2 | T | false | second\n3 | T | false | third\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void mergeExternalChange_noUnwrittenChanges_appliesChange() throws DukeException, IOException {
+        TaskList tasks = createTaskList(createStorage());
+        writeExternally(SAVE_DATA.replace("second", "changed") + "T | true | added\n");
+
+        Assertions.assertNotNull(tasks.mergeExternalChange());
+        Assertions.assertEquals("1.[T][ ] first (#1)\n2.[T][ ] changed (#2)\n3.[T][ ] third (#3)\n4.[T][X] added (#4)",
+                tasks.toString());
+        Assertions.assertNull(tasks.mergeExternalChange());
+    }
+
+    @Test
+    public void mergeExternalChange_unwrittenChangeElsewhere_keepsBoth() throws DukeException, IOException {
+        TaskList tasks = createTaskList(new WriteBehindTaskStorage(createStorage()));
+        tasks.add(new ToDo(false, "local"));
+        writeExternally(SAVE_DATA.replace("first", "changed"));
+
+        tasks.mergeExternalChange();
+        tasks.flush();
+
+        List<Task> expected = List.of(new ToDo(false, "changed").withId(1), new ToDo(false, "second").withId(2),
+                new ToDo(false, "third").withId(3), new ToDo(false, "local").withId(4));
+        Assertions.assertEquals(TextTaskStorage.toStorageStr(expected), Files.readString(getSavePath()));
+        Assertions.assertEquals(4, tasks.size());
+    }
+
+    @Test
+    public void mergeExternalChange_clashingUnwrittenChange_keepsBoth() throws DukeException, IOException {
+        TaskList tasks = createTaskList(new WriteBehindTaskStorage(createStorage()));
+        tasks.update(1, tasks.get(1).setDone(true));
+        writeExternally(SAVE_DATA.replace("second", "changed"));
+
+        String message = tasks.mergeExternalChange();
+        tasks.flush();
+
+        Assertions.assertTrue(message.contains("4.[T][ ] changed"));
+        // The external change keeps the ID of the task it changed, which is already taken, so it is given a new one
+        Assertions.assertEquals("1.[T][ ] first (#1)\n2.[T][X] second (#2)\n3.[T][ ] third (#3)\n4.[T][ ] changed (#4)",
+                tasks.toString());
+        Assertions.assertEquals(4, new TaskList(new FileStorage(getSavePath())).size());
+    }
+
+    @Test
+    public void mergeExternalChange_compactClashingUnwrittenChange_keepsBoth() throws DukeException, IOException {
+        TaskList tasks = new TaskList(new WriteBehindTaskStorage(createStorage()), true);
+        tasks.update(1, tasks.get(1).setDone(true));
+        writeExternally(SAVE_DATA.replace("second", "changed").replace("third", "changed too"));
+
+        tasks.mergeExternalChange();
+        tasks.removeAt(0);
+
+        Assertions.assertEquals("1.[T][X] second (#2)\n2.[T][ ] third (#3)\n3.[T][ ] changed (#4)\n"
+                + "4.[T][ ] changed too (#5)", tasks.toString());
+    }
+
+    @Test
+    public void setDone_compactTaskList_writesChangeAndKeepsSnapshot() throws DukeException, IOException {
+        TaskList tasks = new TaskList(createStorage(), true);
+        List<Task> snapshot = tasks.getSnapshot();
+        long version = tasks.getVersion();
+
+        tasks.setDone(0, true);
+        tasks.setDone(0, true);
+
+        Assertions.assertEquals(version + 1, tasks.getVersion());
+        Assertions.assertEquals("[T][ ] first", snapshot.get(0).toString());
+        Assertions.assertEquals("[T][X] first", tasks.getSnapshot().get(0).toString());
+        Assertions.assertSame(tasks.getSnapshot(), tasks.getSnapshot());
+        Assertions.assertEquals("[T][X] first", new TaskList(new FileStorage(getSavePath())).get(0).toString());
+    }
+
+    @Test
+    public void indexOfId_afterRemovalsAndReload_findsTask() throws DukeException, IOException {
+        Files.writeString(getSavePath(), "T | false | first\nT | false | second\nT | false | third\n");
+        TaskList tasks = new TaskList(new TextTaskStorage(new FileStorage(getSavePath())), true);
+
+        tasks.removeAt(1);
+        tasks.add(new ToDo(false, "fourth"));
+
+        TaskList reloaded = new TaskList(new FileStorage(getSavePath()));
+        for (TaskList taskList : List.of(tasks, reloaded)) {
+            Assertions.assertEquals(1, taskList.indexOfId(3));
+            Assertions.assertEquals(2, taskList.indexOfId(4));
+            Assertions.assertEquals(-1, taskList.indexOfId(2));
+        }
+    }
+
+    @Test
+    public void add_afterLastTaskRemovedAndReload_idNotGivenAgain() throws Exception {
+        Path nextIdPath = tempDir.resolve("task-list.next-id");
+        assertIdsNotGivenAgain(() -> new TextTaskStorage(new FileStorage(getSavePath()),
+                TextTaskStorage.LoadMode.SERIAL, null, new FileStorage(nextIdPath)));
+    }
+
+    @Test
+    public void add_afterLastTaskRemovedAndReloadShared_idNotGivenAgain() throws Exception {
+        assertIdsNotGivenAgain(this::createSharedStorage);
+    }
+
+    @Test
+    public void add_afterLastTaskRemovedAndReloadJournaled_idNotGivenAgain() throws Exception {
+        assertIdsNotGivenAgain(() -> new JournaledTaskStorage(new JournalFileStorage(getSavePath())));
+    }
+
+    @Test
+    public void add_afterLastTaskRemovedAndReloadBinary_idNotGivenAgain() throws Exception {
+        assertIdsNotGivenAgain(() -> new BinaryFileStorage(tempDir.resolve("task-list.bin")));
+    }
+
+    @Test
+    public void add_afterLastTaskRemovedAndReloadSegmented_idNotGivenAgain() throws Exception {
+        assertIdsNotGivenAgain(() -> new SegmentedFileStorage(tempDir.resolve("segments"), 2));
+    }
+
+    @Test
+    public void removeAt_chunkedBackend_writesAndFindsIds() throws DukeException, IOException {
+        TaskList tasks = new TaskList(createStorage(), TaskList.Backend.CHUNKED);
+
+        tasks.removeAt(0);
+        tasks.add(new ToDo(false, "fourth"));
+
+        Assertions.assertEquals(2, tasks.indexOfId(4));
+        Assertions.assertEquals(tasks.toString(), new TaskList(new FileStorage(getSavePath())).toString());
+    }
+
+    @Test
+    public void undo_persistentBackend_restoresAndWritesVersions() throws DukeException, IOException {
+        TaskList tasks = new TaskList(createStorage(), TaskList.Backend.PERSISTENT);
+        String original = tasks.toString();
+
+        tasks.removeAt(0);
+        tasks.setDone(0, true);
+        String changed = tasks.toString();
+        tasks.clear();
+
+        tasks.undo();
+        Assertions.assertEquals(changed, tasks.toString());
+        tasks.undo();
+        tasks.undo();
+        Assertions.assertEquals(original, tasks.toString());
+        Assertions.assertEquals(original, new TaskList(new FileStorage(getSavePath())).toString());
+        Assertions.assertFalse(tasks.canUndo());
+
+        tasks.redo();
+        tasks.redo();
+        Assertions.assertEquals(changed, tasks.toString());
+        Assertions.assertEquals(0, tasks.indexOfId(2));
+        Assertions.assertTrue(tasks.canRedo());
+
+        // A new change cannot be followed by an undone one, and is given an ID no undone task held
+        tasks.add(new ToDo(false, "fourth"));
+        Assertions.assertFalse(tasks.canRedo());
+        Assertions.assertEquals(2, tasks.indexOfId(4));
+    }
+
+    @Test
+    public void undo_manyChanges_keepsLatestVersions() throws DukeException, IOException {
+        TaskList tasks = new TaskList(new WriteBehindTaskStorage(createStorage()), TaskList.Backend.PERSISTENT);
+        for (int i = 0; i < 150; ++i) {
+            tasks.add(new ToDo(false, "task " + i));
+        }
+
+        int undoCount = 0;
+        while (tasks.canUndo()) {
+            tasks.undo();
+            ++undoCount;
+        }
+
+        Assertions.assertEquals(100, undoCount);
+        Assertions.assertEquals(53, tasks.size());
+    }
+
+    @Test
+    public void keepsHistory_arrayBackend_false() throws DukeException, IOException {
+        TaskList tasks = createTaskList(createStorage());
+        tasks.removeAt(0);
+
+        Assertions.assertFalse(tasks.keepsHistory());
+        Assertions.assertFalse(tasks.canUndo());
+    }
+
+    @Test
+    public void mergeExternalChange_persistentBackend_dropsHistory() throws DukeException, IOException {
+        TaskList tasks = new TaskList(createStorage(), TaskList.Backend.PERSISTENT);
+        tasks.removeAt(0);
+        writeExternally(SAVE_DATA.replace("first", "changed"));
+
+        tasks.mergeExternalChange();
+
+        Assertions.assertFalse(tasks.canUndo());
+    }
+
+    @Test
+    public void add_unmergedExternalChange_rollsBack() throws DukeException, IOException {
+        TaskList tasks = createTaskList(createStorage());
+        writeExternally(SAVE_DATA + "T | false | added\n");
+
+        Assertions.assertThrows(DukeException.class, () -> tasks.add(new ToDo(false, "local")));
+        Assertions.assertEquals(3, tasks.size());
+    }
+
+    @Test
+    public void add_concurrentSharedTaskLists_keepsEveryTask()
+            throws DukeException, IOException, ExecutionException, InterruptedException {
+        Files.writeString(getSavePath(), SAVE_DATA);
+        TaskList tasks = createTaskList(createSharedStorage());
+        TaskList otherTasks = createTaskList(createSharedStorage());
+
+        CompletableFuture<Void> adds = CompletableFuture.runAsync(() -> addInTurn(tasks, "mine"));
+        addInTurn(otherTasks, "theirs");
+        adds.get();
+
+        tasks.mergeExternalChange();
+        otherTasks.mergeExternalChange();
+
+        Assertions.assertEquals(3 + 2 * 50, new TaskList(createSharedStorage()).size());
+        Assertions.assertEquals(tasks.toString(), otherTasks.toString());
+    }
+
+    /**
+     * Removes the task with the largest ID, and then every task, reloading the task list from a new storage created by
+     * the specified factory after each, and checks that the IDs of the removed tasks are not given again.
+     */
+    private void assertIdsNotGivenAgain(Callable<TaskStorage> storageFactory) throws Exception {
+        TaskList tasks = new TaskList(storageFactory.call());
+        tasks.add(new ToDo(false, "first"));
+        tasks.add(new ToDo(false, "second"));
+        tasks.add(new ToDo(false, "third"));
+        tasks.removeAt(2);
+
+        TaskList reloaded = new TaskList(storageFactory.call());
+        reloaded.add(new ToDo(false, "fourth"));
+        Assertions.assertEquals(4, reloaded.get(2).getId());
+        reloaded.clear();
+
+        TaskList clearedReloaded = new TaskList(storageFactory.call());
+        clearedReloaded.add(new ToDo(false, "fifth"));
+        Assertions.assertEquals(5, clearedReloaded.get(0).getId());
+    }
+
+    private void addInTurn(TaskList tasks, String description) {
+        for (int i = 0; i < 50; ++i) {
+            try (StorageLock lock = tasks.lock()) {
+                tasks.mergeExternalChange();
+                tasks.add(new ToDo(false, description + " " + i));
+            } catch (DukeException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private TaskStorage createSharedStorage() {
+        return new TextTaskStorage(new WatchedStorage(new LockedStorage(new FileStorage(getSavePath()),
+                getSavePath()), getSavePath()));
+    }
+
+    private TaskStorage createStorage() throws IOException {
+        Files.writeString(getSavePath(), SAVE_DATA);
+        return new TextTaskStorage(new WatchedStorage(new FileStorage(getSavePath()), getSavePath()));
+    }
+
+    private TaskList createTaskList(TaskStorage storage) throws DukeException {
+        return new TaskList(storage);
+    }
+
+    private Path getSavePath() {
+        return tempDir.resolve("task-list.csv");
+    }
+
+    private void writeExternally(String data) throws IOException {
+        FileTime lastModifiedTime = Files.getLastModifiedTime(getSavePath());
+
+        Files.writeString(getSavePath(), data);
+
+        // Keeps the change noticeable on file systems whose timestamps are too coarse to tell quick writes apart
+        Files.setLastModifiedTime(getSavePath(), FileTime.fromMillis(lastModifiedTime.toMillis() + 1000));
+    }
+}
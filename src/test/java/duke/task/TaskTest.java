@@ -0,0 +1,51 @@
+package duke.task;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+public class TaskTest {
+    private static final String FIELD_SPLIT_REGEX = " \\| ";
+
+    @Test
+    public void splitStorageStr_escapedDivider_notSplit() {
+        String input = "T | false | Hello \\| world!";
+
+        Assertions.assertArrayEquals(input.split(FIELD_SPLIT_REGEX), Task.splitStorageStr(input));
+    }
+
+    @Test
+    public void splitStorageStr_emptyTrailingFields_sameAsRegexSplit() {
+        String input = "T | false |  | ";
+
+        Assertions.assertArrayEquals(input.split(FIELD_SPLIT_REGEX), Task.splitStorageStr(input));
+    }
+
+    @Test
+    public void splitStorageStr_emptyLeadingField_sameAsRegexSplit() {
+        String input = " | T | true | Hello world!";
+
+        Assertions.assertArrayEquals(input.split(FIELD_SPLIT_REGEX), Task.splitStorageStr(input));
+    }
+
+    @Test
+    public void splitStorageStr_noDivider_returnsWholeString() {
+        String input = "Hello world!";
+
+        Assertions.assertArrayEquals(new String[] {input}, Task.splitStorageStr(input));
+    }
+
+    @Test
+    public void appendStorageStr_dividersInDescription_sameAsStorageStr() {
+        Task task = new Event(true, "|a || b|", LocalDateTime.of(2021, 9, 1, 10, 0),
+                LocalDateTime.of(2021, 9, 1, 12, 0));
+        StringBuilder actual = new StringBuilder("prefix ");
+
+        task.appendStorageStr(actual);
+
+        Assertions.assertEquals("prefix E | true | \\|a \\|\\| b\\| | 2021-09-01T10:00 | 2021-09-01T12:00",
+                actual.toString());
+        Assertions.assertEquals(actual.substring("prefix ".length()), task.getStorageStr());
+    }
+}
@@ -0,0 +1,279 @@
+package duke.task;
+
+import duke.exception.DukeException;
+import duke.exception.UncheckedDukeException;
+import duke.io.FileStorage;
+import duke.utils.ChecksumUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class TextTaskStorageTest {
+    private static final int LINE_COUNT = 20000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void load_parallel_returnsSameTasksAsSerial() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Files.writeString(path, createLines(LINE_COUNT, -1));
+
+        List<Task> serialTasks = new TextTaskStorage(new FileStorage(path), TextTaskStorage.LoadMode.SERIAL).load();
+        List<Task> parallelTasks = new TextTaskStorage(new FileStorage(path), TextTaskStorage.LoadMode.PARALLEL).load();
+
+        Assertions.assertEquals(LINE_COUNT / 2, parallelTasks.size());
+        Assertions.assertEquals(serialTasks.toString(), parallelTasks.toString());
+    }
+
+    @Test
+    public void load_serialIncorrectLine_lineNumberReported() throws IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Files.writeString(path, createLines(LINE_COUNT, 15000));
+
+        DukeException e = Assertions.assertThrows(DukeException.class, () ->
+                new TextTaskStorage(new FileStorage(path), TextTaskStorage.LoadMode.SERIAL).load());
+
+        Assertions.assertTrue(e.getMessage().endsWith("line 15001 of the save file."), e.getMessage());
+    }
+
+    @Test
+    public void load_parallelIncorrectLine_lineNumberReported() throws IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Files.writeString(path, createLines(LINE_COUNT, 15000));
+
+        DukeException e = Assertions.assertThrows(DukeException.class, () ->
+                new TextTaskStorage(new FileStorage(path), TextTaskStorage.LoadMode.PARALLEL).load());
+
+        Assertions.assertTrue(e.getMessage().endsWith("line 15001 of the save file."), e.getMessage());
+    }
+
+    @Test
+    public void load_lazy_returnsSameTasksAsSerial() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Files.writeString(path, createLines(LINE_COUNT, -1));
+
+        List<Task> serialTasks = new TextTaskStorage(new FileStorage(path), TextTaskStorage.LoadMode.SERIAL).load();
+        List<Task> lazyTasks = new TextTaskStorage(new FileStorage(path), TextTaskStorage.LoadMode.LAZY).load();
+
+        Assertions.assertEquals(serialTasks.toString(), lazyTasks.toString());
+    }
+
+    @Test
+    public void load_lazyIncorrectLine_reportedOnAccess() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Files.writeString(path, createLines(LINE_COUNT, 15000));
+
+        TaskList tasks = new TaskList(new TextTaskStorage(new FileStorage(path), TextTaskStorage.LoadMode.LAZY));
+        tasks.add(new ToDo(false, "Hello world!"));
+
+        Assertions.assertEquals(LINE_COUNT / 2 + 1, tasks.size());
+        UncheckedDukeException e = Assertions.assertThrows(UncheckedDukeException.class, () -> tasks.get(7500));
+        Assertions.assertTrue(e.getMessage().endsWith("line 15001 of the save file."), e.getMessage());
+    }
+
+    @Test
+    public void write_lazyUnchangedTasks_writtenVerbatim() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        // Not how the tasks would be written now, so the lines are only kept if they are never parsed
+        Files.writeString(path, "1 | T |  false  | Hello world!\n2 | T | true | Lorem ipsum\n");
+
+        TaskList tasks = new TaskList(new TextTaskStorage(new FileStorage(path), TextTaskStorage.LoadMode.LAZY));
+        tasks.update(1, tasks.get(1).setDone(false));
+        tasks.add(new ToDo(true, "Goodbye world!"));
+
+        Assertions.assertEquals("1 | T |  false  | Hello world!\n"
+                + TextTaskStorage.toRecord(new ToDo(false, "Lorem ipsum").withId(2)) + "\n"
+                + TextTaskStorage.toRecord(new ToDo(true, "Goodbye world!").withId(3)) + "\n", Files.readString(path));
+    }
+
+    @Test
+    public void load_lazyLinesWithoutIds_idsWrittenWithoutParsing() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Files.writeString(path, "T | false | Hello world!\n2 | T | true | Lorem ipsum\nT | true | \n");
+
+        TaskList tasks = new TaskList(new TextTaskStorage(new FileStorage(path), TextTaskStorage.LoadMode.LAZY));
+
+        // The last line is incorrect, but is only reported once it is parsed
+        Assertions.assertEquals(ChecksumUtils.addChecksum("3 | T | false | Hello world!") + "\n"
+                + "2 | T | true | Lorem ipsum\n"
+                + ChecksumUtils.addChecksum("4 | T | true | ") + "\n", Files.readString(path));
+        Assertions.assertEquals(0, tasks.indexOfId(3));
+        Assertions.assertEquals(3, tasks.get(0).getId());
+    }
+
+    @Test
+    public void parseTask_withAndWithoutId_sameFields() throws DukeException {
+        Task task = TextTaskStorage.parseTask(TextTaskStorage.toRecord(new ToDo(true, "Hello world!").withId(42)));
+
+        Assertions.assertEquals(42, task.getId());
+        Assertions.assertEquals("[T][X] Hello world!", task.toString());
+        Assertions.assertEquals(Task.NO_ID, TextTaskStorage.parseTask("T | true | Hello world!").getId());
+        Assertions.assertEquals("[T][X] 42", TextTaskStorage.parseTask("T | true | 42").toString());
+    }
+
+    @Test
+    public void extractId_variousLines_idOrNone() {
+        String record = TextTaskStorage.toRecord(new ToDo(false, "Hello world!").withId(1234));
+
+        Assertions.assertEquals(1234, TextTaskStorage.extractId(record, 0, record.length()));
+        Assertions.assertEquals(1234, TextTaskStorage.extractId("x\n" + record, 2, record.length() + 2));
+        Assertions.assertEquals(Task.NO_ID, TextTaskStorage.extractId("T | false | 12", 0, 14));
+        Assertions.assertEquals(Task.NO_ID, TextTaskStorage.extractId("12", 0, 2));
+    }
+
+    @Test
+    public void load_corruptedLine_lineNumberReported() throws IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Files.writeString(path, TextTaskStorage.toRecord(new ToDo(false, "Hello world!")) + "\n"
+                + TextTaskStorage.toRecord(new ToDo(false, "Lorem ipsum")).replace("false", "true") + "\n");
+
+        DukeException e = Assertions.assertThrows(DukeException.class, () ->
+                new TextTaskStorage(new FileStorage(path), TextTaskStorage.LoadMode.SERIAL).load());
+
+        Assertions.assertTrue(e.getMessage().contains("checksum"), e.getMessage());
+        Assertions.assertTrue(e.getMessage().endsWith("line 2 of the save file."), e.getMessage());
+    }
+
+    @Test
+    public void load_serialWithQuarantine_incorrectLinesQuarantined() throws DukeException, IOException {
+        assertIncorrectLinesQuarantined(TextTaskStorage.LoadMode.SERIAL);
+    }
+
+    @Test
+    public void load_parallelWithQuarantine_incorrectLinesQuarantined() throws DukeException, IOException {
+        assertIncorrectLinesQuarantined(TextTaskStorage.LoadMode.PARALLEL);
+    }
+
+    @Test
+    public void load_sharedSaveHeader_skippedInEveryMode() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Path quarantinePath = tempDir.resolve("quarantine.txt");
+        Files.writeString(path, "# generation 3 next-id 5\n" + TextTaskStorage.toRecord(new ToDo(false, "Hello world!"))
+                + "\n");
+
+        for (TextTaskStorage.LoadMode loadMode : TextTaskStorage.LoadMode.values()) {
+            TextTaskStorage storage = new TextTaskStorage(new FileStorage(path), loadMode,
+                    new FileStorage(quarantinePath));
+            List<Task> tasks = storage.load();
+
+            Assertions.assertEquals(1, tasks.size(), loadMode.toString());
+            Assertions.assertEquals("[T][ ] Hello world!", tasks.get(0).toString());
+            Assertions.assertNull(storage.getRecoveryMessage());
+        }
+        Assertions.assertFalse(Files.exists(quarantinePath));
+    }
+
+    @Test
+    public void load_quarantinedLine_droppedFromStorage() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Path quarantinePath = tempDir.resolve("quarantine.txt");
+        Files.writeString(path, "T | false | Hello world!\nX | false | Incorrect task\n");
+
+        TextTaskStorage storage = new TextTaskStorage(new FileStorage(path), TextTaskStorage.LoadMode.SERIAL,
+                new FileStorage(quarantinePath));
+        storage.load();
+        TextTaskStorage reloadedStorage = new TextTaskStorage(new FileStorage(path), TextTaskStorage.LoadMode.SERIAL,
+                new FileStorage(quarantinePath));
+        List<Task> tasks = reloadedStorage.load();
+
+        Assertions.assertEquals("1 task in the save file is corrupted, so I've moved it to the quarantine file and "
+                + "loaded the rest. The corrupted task was on line 2.", storage.getRecoveryMessage());
+        Assertions.assertNull(reloadedStorage.getRecoveryMessage());
+        Assertions.assertEquals(1, tasks.size());
+        Assertions.assertEquals(TextTaskStorage.toRecord(new ToDo(false, "Hello world!")) + "\n",
+                Files.readString(path));
+        Assertions.assertEquals("line 2: X | false | Incorrect task\n", Files.readString(quarantinePath));
+    }
+
+    @Test
+    public void setAsideIncorrectTasks_lazyWithQuarantine_incorrectLinesQuarantinedOnFirstUse()
+            throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Path quarantinePath = tempDir.resolve("quarantine.txt");
+        String corruptedLine = writeIncorrectLines(path, quarantinePath);
+
+        TaskList tasks = new TaskList(new TextTaskStorage(new FileStorage(path), TextTaskStorage.LoadMode.LAZY,
+                new FileStorage(quarantinePath)));
+        Assertions.assertEquals("line 1: Quarantined earlier\n", Files.readString(quarantinePath));
+        Assertions.assertThrows(UncheckedDukeException.class, () -> tasks.get(7500));
+
+        String message = tasks.setAsideIncorrectTasks();
+
+        Assertions.assertEquals(LINE_COUNT / 2 - 1, tasks.size());
+        Assertions.assertTrue(tasks.get(7500).toString().endsWith("Task 15002"), tasks.get(7500).toString());
+        Assertions.assertFalse(Files.readString(path).contains("Incorrect task"));
+        assertQuarantined(quarantinePath, corruptedLine);
+        Assertions.assertTrue(message.contains("lines 15001, " + (LINE_COUNT + 1)), message);
+        Assertions.assertNull(tasks.setAsideIncorrectTasks());
+    }
+
+    @Test
+    public void load_lazyColumnarWithQuarantine_incorrectLinesQuarantinedOnLoad() throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Path quarantinePath = tempDir.resolve("quarantine.txt");
+        String corruptedLine = writeIncorrectLines(path, quarantinePath);
+
+        TaskList tasks = new TaskList(new TextTaskStorage(new FileStorage(path), TextTaskStorage.LoadMode.LAZY,
+                new FileStorage(quarantinePath)), TaskList.Backend.COLUMNAR);
+
+        Assertions.assertEquals(LINE_COUNT / 2 - 1, tasks.size());
+        assertQuarantined(quarantinePath, corruptedLine);
+        Assertions.assertTrue(tasks.getRecoveryMessage().contains("lines 15001, " + (LINE_COUNT + 1)),
+                tasks.getRecoveryMessage());
+    }
+
+    private void assertIncorrectLinesQuarantined(TextTaskStorage.LoadMode loadMode)
+            throws DukeException, IOException {
+        Path path = tempDir.resolve("task-list.csv");
+        Path quarantinePath = tempDir.resolve("quarantine.txt");
+        String corruptedLine = writeIncorrectLines(path, quarantinePath);
+
+        TextTaskStorage storage = new TextTaskStorage(new FileStorage(path), loadMode,
+                new FileStorage(quarantinePath));
+        List<Task> tasks = storage.load();
+
+        Assertions.assertEquals(LINE_COUNT / 2 - 1, tasks.size());
+        assertQuarantined(quarantinePath, corruptedLine);
+        Assertions.assertTrue(storage.getRecoveryMessage().contains("lines 15001, " + (LINE_COUNT + 1)),
+                storage.getRecoveryMessage());
+    }
+
+    /**
+     * Writes lines with an incorrect line and a corrupted line to the specified path, and a line quarantined earlier
+     * to the specified quarantine path, and returns the corrupted line.
+     */
+    private static String writeIncorrectLines(Path path, Path quarantinePath) throws IOException {
+        String corruptedLine = TextTaskStorage.toRecord(new ToDo(false, "Corrupted")).replace("false", "true");
+        Files.writeString(path, createLines(LINE_COUNT, 15000) + corruptedLine + "\n");
+        Files.writeString(quarantinePath, "line 1: Quarantined earlier\n");
+
+        return corruptedLine;
+    }
+
+    private static void assertQuarantined(Path quarantinePath, String corruptedLine) throws IOException {
+        Assertions.assertEquals("line 1: Quarantined earlier\nline 15001: X | false | Incorrect task\nline "
+                + (LINE_COUNT + 1) + ": " + corruptedLine + "\n", Files.readString(quarantinePath));
+    }
+
+    private static String createLines(int lineCount, int incorrectLineIndex) {
+        StringBuilder data = new StringBuilder();
+
+        for (int i = 0; i < lineCount; ++i) {
+            if (i == incorrectLineIndex) {
+                data.append("X | false | Incorrect task\n");
+            } else if (i % 2 == 0) {
+                data.append(new ToDo(i % 3 == 0, "Task " + i).getStorageStr()).append('\n');
+            } else {
+                data.append("\n");
+            }
+        }
+
+        return data.toString();
+    }
+}
@@ -0,0 +1,162 @@
+package duke.task;
+
+import duke.exception.DukeException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class WriteBehindTaskStorageTest {
+    private static class CountingTaskStorage implements TaskStorage {
+        private List<Task> tasks = new ArrayList<Task>();
+        private volatile int writeCount;
+        private volatile boolean shouldFail;
+        private volatile Class<?> writtenListClass;
+
+        @Override
+        public boolean doesExist() {
+            return true;
+        }
+
+        @Override
+        public void create() {
+        }
+
+        @Override
+        public List<Task> load() {
+            return new ArrayList<Task>(tasks);
+        }
+
+        @Override
+        public void write(List<Task> tasks) throws DukeException {
+            if (shouldFail) {
+                throw new DukeException("Write failed!");
+            }
+
+            this.tasks = new ArrayList<Task>(tasks);
+            writtenListClass = tasks.getClass();
+            writeCount++;
+        }
+    }
+
+    @Test
+    public void flush_onExitAfterChanges_writesOnceWithLatestTasks() throws DukeException {
+        CountingTaskStorage storage = new CountingTaskStorage();
+
+        TaskList tasks = new TaskList(new WriteBehindTaskStorage(storage));
+        tasks.add(new ToDo(false, "Hello world!"));
+        tasks.add(new ToDo(false, "Goodbye world!"));
+        tasks.update(0, tasks.get(0).setDone(true));
+
+        Assertions.assertEquals(0, storage.writeCount);
+
+        tasks.flush();
+
+        Assertions.assertEquals(1, storage.writeCount);
+        Assertions.assertEquals(tasks.toString(), new TaskList(storage).toString());
+    }
+
+    @Test
+    public void flush_nothingChanged_doesNotWrite() throws DukeException {
+        CountingTaskStorage storage = new CountingTaskStorage();
+
+        TaskList tasks = new TaskList(new WriteBehindTaskStorage(storage));
+        tasks.flush();
+
+        Assertions.assertEquals(0, storage.writeCount);
+    }
+
+    @Test
+    public void flush_writeFails_retriedOnNextFlush() throws DukeException {
+        CountingTaskStorage storage = new CountingTaskStorage();
+
+        TaskList tasks = new TaskList(new WriteBehindTaskStorage(storage));
+        tasks.add(new ToDo(false, "Hello world!"));
+
+        storage.shouldFail = true;
+        Assertions.assertThrows(DukeException.class, tasks::flush);
+
+        storage.shouldFail = false;
+        tasks.flush();
+
+        Assertions.assertEquals(1, storage.writeCount);
+        Assertions.assertEquals("1.[T][ ] Hello world! (#1)", new TaskList(storage).toString());
+    }
+
+    @Test
+    public void flush_changesAcrossLoadedTasks_writesChangesInOrder() throws DukeException {
+        CountingTaskStorage storage = new CountingTaskStorage();
+        TaskList initialTasks = new TaskList(storage);
+        for (int i = 1; i <= 5; ++i) {
+            initialTasks.add(new ToDo(false, "task " + i));
+        }
+
+        TaskList tasks = new TaskList(new WriteBehindTaskStorage(storage));
+        tasks.removeAt(1);
+        tasks.setDone(2, true);
+        tasks.add(new ToDo(false, "task 6"));
+        tasks.removeAt(0);
+        tasks.update(0, new ToDo(false, "task 3 renamed"));
+        tasks.flush();
+
+        Assertions.assertEquals(6, storage.writeCount);
+        Assertions.assertEquals(tasks.toString(), new TaskList(storage).toString());
+    }
+
+    @Test
+    public void flush_columnarChangesAcrossLoadedTasks_writesFromColumns() throws DukeException {
+        CountingTaskStorage storage = new CountingTaskStorage();
+        TaskList initialTasks = new TaskList(storage);
+        for (int i = 1; i <= 5; ++i) {
+            initialTasks.add(new ToDo(false, "task " + i));
+        }
+
+        TaskList tasks = new TaskList(new WriteBehindTaskStorage(storage), TaskList.Backend.COLUMNAR);
+        tasks.removeAt(1);
+        tasks.setDone(2, true);
+        tasks.add(new ToDo(false, "task 6"));
+        tasks.flush();
+
+        // The tasks written are a copy of the columns, rather than a task object for every task
+        Assertions.assertEquals(ColumnarTaskList.class, storage.writtenListClass);
+        Assertions.assertEquals(tasks.toString(), new TaskList(storage).toString());
+    }
+
+    @Test
+    public void write_scheduledWriteFails_reportedToListenerNotNextChange() throws Exception {
+        CountingTaskStorage storage = new CountingTaskStorage();
+        TaskList tasks = new TaskList(new WriteBehindTaskStorage(storage, 10));
+        CompletableFuture<DukeException> failure = new CompletableFuture<DukeException>();
+        tasks.watchWriteFailures(failure::complete);
+
+        storage.shouldFail = true;
+        tasks.add(new ToDo(false, "Hello world!"));
+
+        Assertions.assertTrue(failure.get(5, TimeUnit.SECONDS).getMessage().contains("Write failed!"));
+
+        // The next change is kept rather than rolled back, and the failed change is written along with it
+        storage.shouldFail = false;
+        tasks.add(new ToDo(false, "Goodbye world!"));
+        Assertions.assertEquals(2, tasks.size());
+
+        tasks.flush();
+        Assertions.assertEquals(tasks.toString(), new TaskList(storage).toString());
+    }
+
+    @Test
+    public void write_batched_writesAfterDelay() throws DukeException, InterruptedException {
+        CountingTaskStorage storage = new CountingTaskStorage();
+
+        TaskList tasks = new TaskList(new WriteBehindTaskStorage(storage, 10));
+        tasks.add(new ToDo(false, "Hello world!"));
+
+        for (int i = 0; i < 500 && storage.writeCount == 0; i++) {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertEquals(1, storage.writeCount);
+    }
+}
@@ -0,0 +1,81 @@
+package duke.utils;
+
+import duke.exception.DukeException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+public class ChecksumUtilsTest {
+    private static final String LINE = "T | false | Caf\u00e9 \\| bar";
+
+    @Test
+    public void removeChecksum_addedChecksum_returnsLine() throws DukeException {
+        String record = ChecksumUtils.addChecksum(LINE);
+
+        Assertions.assertTrue(record.matches("[0-9a-f]{8} .*"), record);
+        Assertions.assertEquals(LINE, ChecksumUtils.removeChecksum(record));
+    }
+
+    @Test
+    public void removeChecksum_changedRecord_throwsDukeException() {
+        String record = ChecksumUtils.addChecksum(LINE).replace("false", "true");
+
+        Assertions.assertThrows(DukeException.class, () -> ChecksumUtils.removeChecksum(record));
+    }
+
+    @Test
+    public void removeChecksum_noChecksum_returnsRecord() throws DukeException {
+        Assertions.assertEquals(LINE, ChecksumUtils.removeChecksum(LINE));
+        Assertions.assertEquals("deadbeef", ChecksumUtils.removeChecksum("deadbeef"));
+    }
+
+    @Test
+    public void check_bytesOfRecord_agreesWithString() {
+        String validRecord = ChecksumUtils.addChecksum(LINE);
+        String invalidRecord = validRecord.replace("false", "true");
+        byte[] bytes = String.join("\n", validRecord, invalidRecord, LINE).getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int firstEnd = validRecord.getBytes(StandardCharsets.UTF_8).length;
+        int secondEnd = firstEnd + 1 + invalidRecord.getBytes(StandardCharsets.UTF_8).length;
+        CRC32C crc = new CRC32C();
+
+        Assertions.assertEquals(ChecksumUtils.Status.VALID, ChecksumUtils.check(validRecord));
+        Assertions.assertEquals(ChecksumUtils.Status.VALID, ChecksumUtils.check(buffer, 0, firstEnd, crc));
+        Assertions.assertEquals(ChecksumUtils.Status.INVALID, ChecksumUtils.check(invalidRecord));
+        Assertions.assertEquals(ChecksumUtils.Status.INVALID, ChecksumUtils.check(buffer, firstEnd + 1, secondEnd,
+                crc));
+        Assertions.assertEquals(ChecksumUtils.Status.MISSING, ChecksumUtils.check(LINE));
+        Assertions.assertEquals(ChecksumUtils.Status.MISSING, ChecksumUtils.check(buffer, secondEnd + 1, bytes.length,
+                crc));
+    }
+
+    @Test
+    public void check_damagedChecksum_invalid() {
+        String record = ChecksumUtils.addChecksum("2 | " + LINE);
+        String badDigit = record.substring(0, 6) + "X" + record.substring(7);
+        String missingSpace = record.substring(0, 8) + record.substring(9);
+        byte[] bytes = missingSpace.getBytes(StandardCharsets.UTF_8);
+
+        Assertions.assertEquals(ChecksumUtils.Status.INVALID, ChecksumUtils.check(badDigit));
+        Assertions.assertEquals(ChecksumUtils.Status.INVALID, ChecksumUtils.check(missingSpace));
+        Assertions.assertEquals(ChecksumUtils.Status.INVALID, ChecksumUtils.check(ByteBuffer.wrap(bytes), 0,
+                bytes.length, new CRC32C()));
+    }
+
+    @Test
+    public void fillChecksum_multiByteCharacters_sameAsAddChecksum() {
+        // A lone surrogate is encoded as a question mark, and the small buffer is filled many times
+        String line = "T | false | caf\u00e9 \u20ac \ud83d\ude00 \ud83d |" + LINE;
+        StringBuilder record = new StringBuilder();
+
+        ChecksumUtils.appendChecksumPlaceholder(record);
+        record.append(line);
+        ChecksumUtils.fillChecksum(record, new CRC32C(), new byte[5]);
+
+        Assertions.assertEquals(ChecksumUtils.addChecksum(line), record.toString());
+    }
+}
@@ -74,4 +74,107 @@ public class LocalDateTimeUtilsTest {
 
         Assertions.assertEquals(expected, actual);
     }
+
+    @Test
+    public void appendIsoDateTime_variousDateTimes_sameAsToString() {
+        LocalDateTime[] inputs = {
+            LocalDateTime.of(2000, 2, 4, 4, 20),
+            LocalDateTime.of(2021, 12, 31, 23, 59, 7),
+            LocalDateTime.of(999, 1, 1, 0, 0, 0, 120_000_000),
+            LocalDateTime.of(-45, 6, 15, 9, 5, 30, 123_456_000),
+            LocalDateTime.of(12345, 10, 10, 10, 10, 0, 1),
+            LocalDateTime.of(1970, 1, 1, 0, 0),
+        };
+
+        for (LocalDateTime input : inputs) {
+            StringBuilder actual = new StringBuilder();
+            LocalDateTimeUtils.appendIsoDateTime(actual, input);
+
+            Assertions.assertEquals(input.toString(), actual.toString());
+        }
+    }
+
+    @Test
+    public void isInputDateTimeFormat_variousInputs_sameAsInputDateTimeRegex() {
+        String[] inputs = {
+            "04/02/2000 0420", "50/02/2000 2500", "04-02-2000 0420", "04/02/2000 04:20", "4/02/2000 0420",
+            "04/02/2000 04200", "04/02/2000  0420", "", "0a/02/2000 0420", "04/02/2000 042\u0660",
+        };
+
+        for (String input : inputs) {
+            Assertions.assertEquals(input.matches(LocalDateTimeUtils.INPUT_DATE_TIME_REGEX),
+                    LocalDateTimeUtils.isInputDateTimeFormat(input), input);
+        }
+    }
+
+    @Test
+    public void parseInputDateTime_variousInputs_sameAsInputDateTimeFormatter() {
+        String[] inputs = {
+            "04/02/2000 0420", "29/02/2020 2359", "29/02/2021 0000", "31/02/2021 1200", "31/04/2021 1200",
+            "31/12/2021 2400", "32/01/2021 1200", "00/01/2021 1200", "01/13/2021 1200", "01/00/2021 1200",
+            "01/01/0000 1200", "01/01/0001 0000", "01/01/2021 2401", "01/01/2021 2360", "01/01/2021 2500",
+        };
+
+        for (String input : inputs) {
+            LocalDateTime expected;
+            try {
+                expected = LocalDateTime.parse(input, LocalDateTimeUtils.INPUT_DATE_TIME_FORMATTER);
+            } catch (DateTimeParseException e) {
+                expected = null;
+            }
+
+            if (expected == null) {
+                Assertions.assertThrows(DateTimeParseException.class, () -> {
+                    LocalDateTimeUtils.parseInputDateTime(input);
+                }, input);
+            } else {
+                Assertions.assertEquals(expected, LocalDateTimeUtils.parseInputDateTime(input), input);
+            }
+        }
+    }
+
+    @Test
+    public void parseIsoEpochSecond_variousDateTimes_sameAsParse() {
+        String[] inputs = {
+            "2000-02-04T04:20", "2021-12-31T23:59:07", "0999-01-01T00:00:00.120", "1970-01-01T00:00",
+            "1969-12-31T23:59:59.999999999", "-0045-06-15T09:05:30.123456", "+12345-10-10T10:10:00.000000001",
+        };
+
+        for (String input : inputs) {
+            long expected = LocalDateTimeUtils.toEpochSecond(LocalDateTime.parse(input));
+
+            Assertions.assertEquals(expected, LocalDateTimeUtils.parseIsoEpochSecond(input), input);
+        }
+    }
+
+    @Test
+    public void parseIsoEpochSecond_invalidDateTime_throwsDateTimeParseException() {
+        String[] inputs = {"2021-02-30T12:00", "2021-13-01T12:00", "2021-01-01T24:00", "2021-01-01 12:00", ""};
+
+        for (String input : inputs) {
+            Assertions.assertThrows(DateTimeParseException.class, () -> {
+                LocalDateTimeUtils.parseIsoEpochSecond(input);
+            }, input);
+        }
+    }
+
+    @Test
+    public void appendIsoDateTime_variousEpochSeconds_sameAsToString() {
+        LocalDateTime[] inputs = {
+            LocalDateTime.of(2000, 2, 4, 4, 20),
+            LocalDateTime.of(2021, 12, 31, 23, 59, 7),
+            LocalDateTime.of(1969, 12, 31, 23, 59, 59),
+            LocalDateTime.of(-45, 6, 15, 9, 5, 30),
+            LocalDateTime.of(12345, 10, 10, 10, 10, 0),
+            LocalDateTime.MIN.withNano(0),
+            LocalDateTime.MAX.withNano(0),
+        };
+
+        for (LocalDateTime input : inputs) {
+            StringBuilder actual = new StringBuilder();
+            LocalDateTimeUtils.appendIsoDateTime(actual, LocalDateTimeUtils.toEpochSecond(input));
+
+            Assertions.assertEquals(input.toString(), actual.toString());
+        }
+    }
 }